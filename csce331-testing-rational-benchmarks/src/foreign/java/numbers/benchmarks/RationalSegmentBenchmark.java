@@ -0,0 +1,82 @@
+package numbers.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jdk.incubator.foreign.ResourceScope;
+import numbers.Rational;
+import numbers.RationalArray;
+import numbers.RationalSegment;
+
+/**
+ * Compares the off-heap `RationalSegment` against `RationalArray` over a million
+ * `CENTS` values. The segment writes into a destination allocated once, so the
+ * GC profiler shows what stays off the heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "--add-modules", "jdk.incubator.foreign" })
+@State(Scope.Thread)
+public class RationalSegmentBenchmark {
+    static final int SIZE = 1 << 20;
+
+    private ResourceScope scope;
+    private RationalArray left;
+    private RationalArray right;
+    private RationalSegment first;
+    private RationalSegment second;
+    private RationalSegment result;
+
+    @Setup
+    public void setup() {
+        Rational[] values = Operands.CENTS.rationals(2 * SIZE);
+        this.left = new RationalArray(SIZE);
+        this.right = new RationalArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            this.left.set(i, values[2 * i]);
+            this.right.set(i, values[2 * i + 1]);
+        }
+        this.scope = ResourceScope.newConfinedScope();
+        this.first = RationalSegment.copyOf(this.left, this.scope);
+        this.second = RationalSegment.copyOf(this.right, this.scope);
+        this.result = RationalSegment.allocate(SIZE, this.scope);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.scope.close();
+    }
+
+    @Benchmark
+    public RationalArray arrayPlus() {
+        return this.left.plus(this.right);
+    }
+
+    @Benchmark
+    public RationalSegment segmentPlus() {
+        return this.first.plus(this.second, this.result);
+    }
+
+    @Benchmark
+    public Rational arraySum() {
+        return this.left.sum();
+    }
+
+    @Benchmark
+    public Rational segmentSum() {
+        return this.first.sum();
+    }
+}
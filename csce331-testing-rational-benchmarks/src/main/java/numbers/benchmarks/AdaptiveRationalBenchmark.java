@@ -0,0 +1,107 @@
+package numbers.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import numbers.AdaptiveRational;
+import numbers.Rational;
+
+/**
+ * Benchmarks `AdaptiveRational` against `Rational` on the same operands. For
+ * `SMALL` operands both stay on their int paths, while for `NEAR_MAX` and
+ * `COPRIME` operands `Rational` truncates and `AdaptiveRational` pays for exact
+ * long or `BigInteger` results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AdaptiveRationalBenchmark {
+    static final int SIZE = 1024;
+
+    @Param({ "SMALL", "NEAR_MAX", "COPRIME", "REDUCIBLE" })
+    public Operands operands;
+
+    private Rational[] left;
+    private Rational[] right;
+    private AdaptiveRational[] adaptiveLeft;
+    private AdaptiveRational[] adaptiveRight;
+
+    @Setup
+    public void setup() {
+        Rational[] values = this.operands.rationals(2 * SIZE);
+        this.left = new Rational[SIZE];
+        this.right = new Rational[SIZE];
+        this.adaptiveLeft = new AdaptiveRational[SIZE];
+        this.adaptiveRight = new AdaptiveRational[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.left[i] = values[2 * i];
+            this.right[i] = values[2 * i + 1];
+            this.adaptiveLeft[i] = new AdaptiveRational(values[2 * i]);
+            this.adaptiveRight[i] = new AdaptiveRational(values[2 * i + 1]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void rationalPlus(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].plus(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void adaptivePlus(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.adaptiveLeft[i].plus(this.adaptiveRight[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void rationalTimes(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].times(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void adaptiveTimes(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.adaptiveLeft[i].times(this.adaptiveRight[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void rationalCompareTo(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].compareTo(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void adaptiveCompareTo(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.adaptiveLeft[i].compareTo(this.adaptiveRight[i]));
+        }
+    }
+}
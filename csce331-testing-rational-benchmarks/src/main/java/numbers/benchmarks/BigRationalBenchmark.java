@@ -0,0 +1,117 @@
+package numbers.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import numbers.BigRational;
+
+/**
+ * Benchmarks the arithmetic of `BigRational` for members of increasing size.
+ * Members of up to 62 bits take the long fast paths, and larger members show the
+ * cost of `BigInteger` arithmetic and normalization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BigRationalBenchmark {
+    static final int SIZE = 256;
+
+    @Param({ "30", "62", "256", "2048" })
+    public int bits;
+
+    private BigInteger[] numerators;
+    private BigInteger[] denominators;
+    private BigRational[] left;
+    private BigRational[] right;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(Operands.SEED);
+        this.numerators = new BigInteger[SIZE];
+        this.denominators = new BigInteger[SIZE];
+        this.left = new BigRational[SIZE];
+        this.right = new BigRational[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            // A shared factor makes the constructor do real reduction work
+            BigInteger common = new BigInteger(this.bits / 2, random).add(BigInteger.ONE);
+            this.numerators[i] = new BigInteger(this.bits - this.bits / 2, random).multiply(common);
+            this.denominators[i] = new BigInteger(this.bits - this.bits / 2, random).add(BigInteger.ONE)
+                    .multiply(common);
+            this.left[i] = new BigRational(new BigInteger(this.bits, random),
+                    new BigInteger(this.bits, random).add(BigInteger.ONE));
+            this.right[i] = new BigRational(new BigInteger(this.bits, random),
+                    new BigInteger(this.bits, random).add(BigInteger.ONE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void constructor(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(new BigRational(this.numerators[i], this.denominators[i]));
+        }
+    }
+
+    /**
+     * Baseline for `constructor` which normalizes with `BigInteger.gcd` only
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void constructorBigIntegerGCD(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            BigInteger divisor = this.numerators[i].gcd(this.denominators[i]);
+            blackhole.consume(this.numerators[i].divide(divisor));
+            blackhole.consume(this.denominators[i].divide(divisor));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void plus(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].plus(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void times(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].times(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void dividedBy(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].dividedBy(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void compareTo(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].compareTo(this.right[i]));
+        }
+    }
+}
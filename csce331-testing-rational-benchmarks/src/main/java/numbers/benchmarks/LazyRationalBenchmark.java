@@ -0,0 +1,99 @@
+package numbers.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import numbers.LazyRational;
+import numbers.Rational;
+
+/**
+ * Benchmarks chains of operations on `SMALL` operands whose result is observed
+ * once at the end. `Rational` reduces after every step while `LazyRational`
+ * reduces once per chain. The score is the average time of a single step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class LazyRationalBenchmark {
+    static final int SIZE = 1024;
+
+    // Products of up to 8 SMALL operands still fit in long members
+    @Param({ "4", "8" })
+    public int chainLength;
+
+    private Rational[] values;
+    private LazyRational[] lazyValues;
+
+    @Setup
+    public void setup() {
+        this.values = Operands.SMALL.rationals(SIZE);
+        this.lazyValues = new LazyRational[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.lazyValues[i] = new LazyRational(this.values[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void rationalSumChain(Blackhole blackhole) {
+        for (int start = 0; start < SIZE; start += this.chainLength) {
+            Rational sum = Rational.ZERO;
+            for (int i = start; i < start + this.chainLength; i++) {
+                sum = sum.plus(this.values[i]);
+            }
+            blackhole.consume(sum.numerator());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void lazySumChain(Blackhole blackhole) {
+        for (int start = 0; start < SIZE; start += this.chainLength) {
+            LazyRational sum = LazyRational.ZERO;
+            for (int i = start; i < start + this.chainLength; i++) {
+                sum = sum.plus(this.lazyValues[i]);
+            }
+            blackhole.consume(sum.numerator());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void rationalProductChain(Blackhole blackhole) {
+        for (int start = 0; start < SIZE; start += this.chainLength) {
+            Rational product = Rational.ONE;
+            for (int i = start; i < start + this.chainLength; i++) {
+                product = product.times(this.values[i]);
+            }
+            blackhole.consume(product.numerator());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void lazyProductChain(Blackhole blackhole) {
+        for (int start = 0; start < SIZE; start += this.chainLength) {
+            LazyRational product = LazyRational.ONE;
+            for (int i = start; i < start + this.chainLength; i++) {
+                product = product.times(this.lazyValues[i]);
+            }
+            blackhole.consume(product.numerator());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package numbers.benchmarks;
+
+import java.util.SplittableRandom;
+
+import numbers.Rational;
+
+/**
+ * Operand distributions shared by the benchmarks. Every distribution is generated
+ * from a fixed seed so that runs are comparable with each other.
+ */
+public enum Operands {
+    /**
+     * Numerators in [-100, 100] and denominators in [1, 100]
+     */
+    SMALL {
+        @Override
+        int[] nextPair(SplittableRandom random) {
+            return new int[] { random.nextInt(-100, 101), random.nextInt(1, 101) };
+        }
+    },
+
+    /**
+     * Numerators and denominators within 2^20 of `Integer.MAX_VALUE` in magnitude
+     */
+    NEAR_MAX {
+        @Override
+        int[] nextPair(SplittableRandom random) {
+            int numerator = Integer.MAX_VALUE - random.nextInt(1 << 20);
+            return new int[] { random.nextBoolean() ? numerator : -numerator,
+                    Integer.MAX_VALUE - random.nextInt(1 << 20) };
+        }
+    },
+
+    /**
+     * Distinct primes as numerators and denominators, so nothing cancels and every
+     * sum needs the full least common multiple
+     */
+    COPRIME {
+        @Override
+        int[] nextPair(SplittableRandom random) {
+            int numerator = PRIMES[random.nextInt(PRIMES.length)];
+            int denominator = PRIMES[random.nextInt(PRIMES.length)];
+            while (denominator == numerator) {
+                denominator = PRIMES[random.nextInt(PRIMES.length)];
+            }
+            return new int[] { random.nextBoolean() ? numerator : -numerator, denominator };
+        }
+    },
+
+    /**
+     * Small fractions scaled by a large shared factor, so construction does a lot of
+     * reduction and operands share most of their denominators
+     */
+    REDUCIBLE {
+        @Override
+        int[] nextPair(SplittableRandom random) {
+            int factor = 720720 * random.nextInt(1, 5);
+            return new int[] { factor * random.nextInt(-12, 13), factor * random.nextInt(1, 13) };
+        }
+    },
+
+    /**
+     * Amounts in [-1, 1] in steps of 1/100, so denominators divide 100 and sums of
+     * millions of values still fit in a `Rational`
+     */
+    CENTS {
+        @Override
+        int[] nextPair(SplittableRandom random) {
+            return new int[] { random.nextInt(-100, 101), 100 };
+        }
+    };
+
+    private static final int[] PRIMES = { 10007, 10009, 10037, 10039, 10061, 10067, 10069, 10079, 10091, 10093,
+            10099, 10103, 10111, 10133, 10139, 10141, 10151, 10159, 10163, 10169 };
+
+    /**
+     * Seed used for every distribution
+     */
+    public static final long SEED = 0x5EED_CAFEL;
+
+    /**
+     * Creates a raw numerator / denominator pair following this distribution
+     *
+     * @param random source of randomness
+     * @return two element array holding numerator and denominator
+     */
+    abstract int[] nextPair(SplittableRandom random);
+
+    /**
+     * Creates `count` raw numerators and denominators as a flat array of pairs
+     *
+     * @param count number of pairs to create
+     * @return array of length 2 * count with numerators at even indices
+     */
+    public int[] rawPairs(int count) {
+        SplittableRandom random = new SplittableRandom(SEED + this.ordinal());
+        int[] pairs = new int[2 * count];
+        for (int i = 0; i < count; i++) {
+            int[] pair = this.nextPair(random);
+            pairs[2 * i] = pair[0];
+            pairs[2 * i + 1] = pair[1];
+        }
+        return pairs;
+    }
+
+    /**
+     * Creates `count` non-zero `Rational` values following this distribution
+     *
+     * @param count number of values to create
+     * @return array of `Rational` values
+     */
+    public Rational[] rationals(int count) {
+        SplittableRandom random = new SplittableRandom(SEED + this.ordinal());
+        Rational[] values = new Rational[count];
+        for (int i = 0; i < count; i++) {
+            Rational value;
+            do {
+                int[] pair = this.nextPair(random);
+                value = new Rational(pair[0], pair[1]);
+            } while (value.isZero());
+            values[i] = value;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,134 @@
+package numbers.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+
+/**
+ * Benchmarks the batch reductions `Rational.sum`, `product` and `dot` against
+ * loops of `plus` and `times`. Sums and dot products run over `CENTS` values, and
+ * products over the telescoping values (k + 2) / (k + 1). `Rational.alignedSum`
+ * is measured on `CENTS` and on values over the denominators 100, 1000 and 12.
+ * The score is the average time per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalBatchBenchmark {
+    static final int SIZE = 1024;
+
+    private Rational[] left;
+    private Rational[] right;
+    private Rational[] telescoping;
+    private Rational[] mixed;
+
+    @Setup
+    public void setup() {
+        Rational[] values = Operands.CENTS.rationals(2 * SIZE);
+        this.left = new Rational[SIZE];
+        this.right = new Rational[SIZE];
+        this.telescoping = new Rational[SIZE];
+        this.mixed = new Rational[SIZE];
+        SplittableRandom random = new SplittableRandom(Operands.SEED);
+        int[] denominators = { 100, 1000, 12 };
+        for (int i = 0; i < SIZE; i++) {
+            this.mixed[i] = new Rational(random.nextInt(-10000, 10001),
+                    denominators[random.nextInt(denominators.length)]);
+            this.left[i] = values[2 * i];
+            this.right[i] = values[2 * i + 1];
+            this.telescoping[i] = new Rational(i + 2, i + 1);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational loopPlus() {
+        Rational sum = Rational.ZERO;
+        for (Rational value : this.left) {
+            sum = sum.plus(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational sum() {
+        return Rational.sum(this.left);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational loopTimes() {
+        Rational product = Rational.ONE;
+        for (Rational value : this.telescoping) {
+            product = product.times(value);
+        }
+        return product;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational product() {
+        return Rational.product(this.telescoping);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational loopDot() {
+        Rational sum = Rational.ZERO;
+        for (int i = 0; i < SIZE; i++) {
+            sum = sum.plus(this.left[i].times(this.right[i]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational dot() {
+        return Rational.dot(this.left, this.right);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational alignedSum() {
+        return Rational.alignedSum(this.left);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational loopPlusMixed() {
+        Rational sum = Rational.ZERO;
+        for (Rational value : this.mixed) {
+            sum = sum.plus(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational sumMixed() {
+        return Rational.sum(this.mixed);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Rational alignedSumMixed() {
+        return Rational.alignedSum(this.mixed);
+    }
+}
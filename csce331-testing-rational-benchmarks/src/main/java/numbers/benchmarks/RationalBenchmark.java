@@ -0,0 +1,204 @@
+package numbers.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import numbers.Rational;
+
+/**
+ * Benchmarks every public operation of `Rational`. Each invocation runs the
+ * operation over a fixed batch of operands, so the reported score is the average
+ * time of a single operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalBenchmark {
+    static final int SIZE = 1024;
+
+    @Param({ "SMALL", "NEAR_MAX", "COPRIME", "REDUCIBLE" })
+    public Operands operands;
+
+    @Param({ "3" })
+    public int exponent;
+
+    private int[] raw;
+    private Rational[] left;
+    private Rational[] right;
+    private Rational[] bases;
+    private Long[] longs;
+    private Double[] doubles;
+
+    @Setup
+    public void setup() {
+        this.raw = this.operands.rawPairs(SIZE);
+        Rational[] values = this.operands.rationals(2 * SIZE);
+        this.left = new Rational[SIZE];
+        this.right = new Rational[SIZE];
+        this.longs = new Long[SIZE];
+        this.doubles = new Double[SIZE];
+        this.bases = new Rational[SIZE];
+        // Largest component whose power still fits in an int, so powering never overflows
+        int root = (int) Math.floor(Math.pow(Integer.MAX_VALUE, 1D / this.exponent));
+        for (int i = 0; i < SIZE; i++) {
+            this.left[i] = values[2 * i];
+            this.right[i] = values[2 * i + 1];
+            this.longs[i] = values[2 * i + 1].longValue();
+            this.doubles[i] = values[2 * i + 1].doubleValue();
+            this.bases[i] = new Rational(values[2 * i].numerator() % root,
+                    Math.max(1, Math.abs(values[2 * i].denominator() % root)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void defaultConstructor(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(new Rational());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void intConstructor(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(new Rational(this.raw[2 * i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fractionConstructor(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(new Rational(this.raw[2 * i], this.raw[2 * i + 1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void valueOf(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(Rational.valueOf(this.raw[2 * i], this.raw[2 * i + 1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void copyConstructor(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(new Rational(this.left[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void plus(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].plus(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void minus(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].minus(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void times(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].times(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void dividedBy(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].dividedBy(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void raisedToThePowerOf(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.bases[i].raisedToThePowerOf(this.exponent));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void compareToRational(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].compareTo(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void compareToLong(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].compareTo(this.longs[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void compareToDouble(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].compareTo(this.doubles[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void compareExactDouble(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].compareExact(this.doubles[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void equalsRational(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].equals(this.right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void hashCode(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].hashCode());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void toString(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.left[i].toString());
+        }
+    }
+}
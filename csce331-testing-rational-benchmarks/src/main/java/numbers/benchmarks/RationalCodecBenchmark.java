@@ -0,0 +1,95 @@
+package numbers.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+import numbers.RationalArray;
+import numbers.RationalCodec;
+
+/**
+ * Benchmarks `RationalCodec` against writing raw int pairs and Java
+ * serialization, over 65536 values in a direct buffer. Raw int pairs are read
+ * back with `RationalArray.set`, which reduces them like any unchecked input.
+ * The score is the average time per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalCodecBenchmark {
+    static final int SIZE = 1 << 16;
+
+    @Param({ "CENTS", "NEAR_MAX" })
+    public Operands operands;
+
+    private Rational[] values;
+    private RationalArray array;
+    private ByteBuffer buffer;
+    private ByteBuffer encoded;
+    private ByteBuffer raw;
+
+    @Setup
+    public void setup() {
+        this.values = this.operands.rationals(SIZE);
+        this.array = new RationalArray(this.values);
+        this.buffer = ByteBuffer.allocateDirect(SIZE * RationalCodec.MAX_LENGTH + 8);
+        this.encoded = RationalCodec.encode(this.array, ByteBuffer.allocateDirect(this.buffer.capacity())).flip();
+        this.raw = this.rawInts();
+    }
+
+    @Benchmark
+    public ByteBuffer rawInts() {
+        this.buffer.clear().putInt(this.array.length());
+        for (int i = 0; i < this.array.length(); i++) {
+            this.buffer.putInt(this.array.numerator(i)).putInt(this.array.denominator(i));
+        }
+        return this.buffer.flip();
+    }
+
+    @Benchmark
+    public RationalArray readRawInts() {
+        ByteBuffer input = this.raw.duplicate();
+        RationalArray result = new RationalArray(input.getInt());
+        for (int i = 0; i < result.length(); i++) {
+            result.set(i, input.getInt(), input.getInt());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return RationalCodec.encode(this.array, this.buffer.clear()).flip();
+    }
+
+    @Benchmark
+    public RationalArray decode() {
+        return RationalCodec.decodeArray(this.encoded.duplicate());
+    }
+
+    @Benchmark
+    public int javaSerialization() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(this.values);
+        }
+        return bytes.size();
+    }
+}
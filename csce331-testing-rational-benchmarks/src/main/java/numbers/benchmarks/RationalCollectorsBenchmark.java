@@ -0,0 +1,63 @@
+package numbers.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+import numbers.RationalCollectors;
+
+/**
+ * Benchmarks summing a list of `CENTS` values with a left fold of `Rational.plus`
+ * and with `RationalCollectors.summing()` on sequential and parallel streams. The
+ * score is the time of one whole sum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalCollectorsBenchmark {
+    @Param({ "1000000" })
+    public int size;
+
+    private List<Rational> values;
+
+    @Setup
+    public void setup() {
+        this.values = Arrays.asList(Operands.CENTS.rationals(this.size));
+    }
+
+    @Benchmark
+    public Rational reducePlus() {
+        return this.values.stream().reduce(Rational.ZERO, Rational::plus);
+    }
+
+    @Benchmark
+    public Rational summing() {
+        return this.values.stream().collect(RationalCollectors.summing());
+    }
+
+    @Benchmark
+    public Rational parallelSumming() {
+        return this.values.parallelStream().collect(RationalCollectors.summing());
+    }
+
+    @Benchmark
+    public Rational parallelAveraging() {
+        return this.values.parallelStream().collect(RationalCollectors.averaging());
+    }
+}
@@ -0,0 +1,93 @@
+package numbers.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+import numbers.RationalArray;
+import numbers.RationalColumnFile;
+import numbers.RationalColumnWriter;
+import numbers.RationalParser;
+
+/**
+ * Benchmarks loading 4 million `NEAR_MAX` values from a `RationalColumnWriter`
+ * file against parsing the same values from `toString()` text. The score is the
+ * average time per operation, except for opening, which is timed once per
+ * iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RationalColumnFileBenchmark {
+    static final int SIZE = 1 << 22;
+
+    private Path columns;
+    private Path text;
+    private RationalColumnFile file;
+
+    @Setup
+    public void setup() throws IOException {
+        Rational[] values = Operands.NEAR_MAX.rationals(SIZE);
+        this.columns = Files.createTempFile("rational", ".col");
+        this.text = Files.createTempFile("rational", ".txt");
+        StringBuilder builder = new StringBuilder();
+        try (RationalColumnWriter writer = new RationalColumnWriter(this.columns)) {
+            for (Rational value : values) {
+                writer.append(value);
+                value.appendTo(builder).append('\n');
+            }
+        }
+        Files.writeString(this.text, builder);
+        this.file = RationalColumnFile.open(this.columns);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.columns);
+        Files.deleteIfExists(this.text);
+    }
+
+    // Each open maps the file, and mappings are only released by garbage
+    // collection, so opening in a tight loop runs out of mappings
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 50)
+    public Rational openAndGet() throws IOException {
+        RationalColumnFile opened = RationalColumnFile.open(this.columns);
+        return opened.get(opened.size() / 2);
+    }
+
+    @Benchmark
+    public RationalArray readAll() {
+        return this.file.read(0, SIZE);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return this.file.verify();
+    }
+
+    @Benchmark
+    public RationalArray parseText() throws IOException {
+        byte[] bytes = Files.readAllBytes(this.text);
+        return RationalParser.failFast().parseAll(bytes, 0, bytes.length);
+    }
+}
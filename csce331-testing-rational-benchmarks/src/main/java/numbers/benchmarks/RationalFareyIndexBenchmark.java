@@ -0,0 +1,86 @@
+package numbers.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+import numbers.RationalFareyIndex;
+
+/**
+ * Benchmarks snapping 4096 doubles between -100 and 100 to the closest fraction
+ * with a bounded denominator, with `RationalFareyIndex.nearestPacked` and
+ * `nearest`, next to `Rational.approximate` with the same bound. `build`
+ * measures computing the index once. The score is the average time per
+ * operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalFareyIndexBenchmark {
+    static final int SIZE = 4096;
+
+    @Param({ "100", "4096" })
+    public int order;
+
+    private double[] values;
+    private RationalFareyIndex index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.values[i] = (random.nextDouble() - 0.5) * 200;
+        }
+        this.index = new RationalFareyIndex(this.order);
+    }
+
+    @Benchmark
+    public long nearestPacked() {
+        long sum = 0;
+        for (double value : this.values) {
+            sum += this.index.nearestPacked(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long nearest() {
+        long sum = 0;
+        for (double value : this.values) {
+            sum += this.index.nearest(value).denominator();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long approximate() {
+        long sum = 0;
+        for (double value : this.values) {
+            sum += Rational.approximate(value, this.order).denominator();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RationalFareyIndex build() {
+        return new RationalFareyIndex(this.order);
+    }
+}
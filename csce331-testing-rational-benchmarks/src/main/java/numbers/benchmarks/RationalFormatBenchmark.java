@@ -0,0 +1,101 @@
+package numbers.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+
+/**
+ * Benchmarks writing 4096 values as text, one per line, with the previous
+ * `String.format` based `toString()`, the current `toString()`, `appendTo` and
+ * `writeTo`. The score is the average time per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalFormatBenchmark {
+    static final int SIZE = 4096;
+
+    @Param({ "CENTS", "NEAR_MAX" })
+    public Operands operands;
+
+    private Rational[] values;
+    private StringBuilder builder;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        this.values = this.operands.rationals(SIZE);
+        this.values[0] = new Rational(3, Integer.MIN_VALUE);
+        this.builder = new StringBuilder(SIZE * 24);
+        this.buffer = ByteBuffer.allocateDirect(SIZE * 24);
+    }
+
+    @Benchmark
+    public int legacyToString() {
+        this.builder.setLength(0);
+        for (Rational value : this.values) {
+            this.builder.append(legacy(value)).append('\n');
+        }
+        return this.builder.length();
+    }
+
+    @Benchmark
+    public int toStringAppended() {
+        this.builder.setLength(0);
+        for (Rational value : this.values) {
+            this.builder.append(value.toString()).append('\n');
+        }
+        return this.builder.length();
+    }
+
+    @Benchmark
+    public int appendTo() {
+        this.builder.setLength(0);
+        for (Rational value : this.values) {
+            value.appendTo(this.builder).append('\n');
+        }
+        return this.builder.length();
+    }
+
+    @Benchmark
+    public int writeTo() {
+        this.buffer.clear();
+        for (Rational value : this.values) {
+            value.writeTo(this.buffer).put((byte) '\n');
+        }
+        return this.buffer.position();
+    }
+
+    /**
+     * The `toString()` of `Rational` before it wrote digits directly
+     */
+    static String legacy(Rational value) {
+        int numerator = value.numerator();
+        int denominator = value.denominator();
+        if (denominator == 1) {
+            return numerator + "";
+        } else if (denominator < 0 && numerator > 0) {
+            return "-" + numerator + "/" + String.format("%d", denominator).substring(1);
+        } else if (numerator < 0 && denominator < 0) {
+            return String.format("%d", numerator).substring(1) + "/" + String.format("%d", denominator).substring(1);
+        } else {
+            return numerator + "/" + denominator;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package numbers.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+
+/**
+ * Benchmarks converting 4096 prices held as doubles, such as `12.34`, back to
+ * `Rational` with `Rational.approximate` and a denominator of at most 100, next
+ * to the string round trip through `Double.toString` and `Rational.parse` it
+ * replaces. `fromDouble` converts doubles which are exact eighths. The score is
+ * the average time per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalFromDoubleBenchmark {
+    static final int SIZE = 4096;
+
+    private double[] prices;
+    private double[] eighths;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.prices = new double[SIZE];
+        this.eighths = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.prices[i] = (random.nextInt(2000000) - 1000000) / 100.0;
+            this.eighths[i] = (random.nextInt(2000000) - 1000000) / 8.0;
+        }
+    }
+
+    @Benchmark
+    public long stringRoundTrip() {
+        long sum = 0;
+        for (double price : this.prices) {
+            sum += Rational.parse(Double.toString(price)).denominator();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long approximate() {
+        long sum = 0;
+        for (double price : this.prices) {
+            sum += Rational.approximate(price, 100).denominator();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long fromDouble() {
+        long sum = 0;
+        for (double eighth : this.eighths) {
+            sum += Rational.fromDouble(eighth).denominator();
+        }
+        return sum;
+    }
+}
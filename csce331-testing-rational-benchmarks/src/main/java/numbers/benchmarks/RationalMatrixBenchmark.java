@@ -0,0 +1,120 @@
+package numbers.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.BigRational;
+import numbers.Rational;
+import numbers.RationalMatrix;
+
+/**
+ * Benchmarks `RationalMatrix` on square matrices of `CENTS` values. `times` is
+ * measured against multiplying with `plus` and `times` entry by entry, and
+ * `determinant` against naive Gaussian elimination with `BigRational.dividedBy`.
+ * The score is the average time per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalMatrixBenchmark {
+    @Param({ "16", "64" })
+    int size;
+
+    private RationalMatrix left;
+    private RationalMatrix right;
+    private Rational[] constants;
+
+    @Setup
+    public void setup() {
+        Rational[] values = Operands.CENTS.rationals(2 * this.size * this.size + this.size);
+        this.left = new RationalMatrix(this.size, this.size);
+        this.right = new RationalMatrix(this.size, this.size);
+        this.constants = new Rational[this.size];
+        int next = 0;
+        for (int i = 0; i < this.size; i++) {
+            for (int j = 0; j < this.size; j++) {
+                this.left.set(i, j, values[next++]);
+                this.right.set(i, j, values[next++]);
+            }
+            this.constants[i] = values[next++];
+        }
+    }
+
+    @Benchmark
+    public RationalMatrix naiveTimes() {
+        RationalMatrix product = new RationalMatrix(this.size, this.size);
+        for (int i = 0; i < this.size; i++) {
+            for (int j = 0; j < this.size; j++) {
+                Rational sum = Rational.ZERO;
+                for (int k = 0; k < this.size; k++) {
+                    sum = sum.plus(this.left.get(i, k).times(this.right.get(k, j)));
+                }
+                product.set(i, j, sum);
+            }
+        }
+        return product;
+    }
+
+    @Benchmark
+    public RationalMatrix times() {
+        return this.left.times(this.right);
+    }
+
+    @Benchmark
+    public BigRational naiveDeterminant() {
+        BigRational[][] rows = new BigRational[this.size][this.size];
+        for (int i = 0; i < this.size; i++) {
+            for (int j = 0; j < this.size; j++) {
+                rows[i][j] = new BigRational(this.left.get(i, j));
+            }
+        }
+        BigRational determinant = BigRational.ONE;
+        for (int column = 0; column < this.size; column++) {
+            int pivot = column;
+            while (pivot < this.size && rows[pivot][column].isZero()) {
+                pivot++;
+            }
+            if (pivot == this.size) {
+                return BigRational.ZERO;
+            }
+            if (pivot != column) {
+                BigRational[] swapped = rows[pivot];
+                rows[pivot] = rows[column];
+                rows[column] = swapped;
+                determinant = determinant.opposite();
+            }
+            determinant = determinant.times(rows[column][column]);
+            for (int i = column + 1; i < this.size; i++) {
+                BigRational factor = rows[i][column].dividedBy(rows[column][column]);
+                for (int j = column; j < this.size; j++) {
+                    rows[i][j] = rows[i][j].minus(factor.times(rows[column][j]));
+                }
+            }
+        }
+        return determinant;
+    }
+
+    @Benchmark
+    public BigRational determinant() {
+        return this.left.determinant();
+    }
+
+    @Benchmark
+    public BigRational[] solve() {
+        return this.left.solve(this.constants);
+    }
+}
@@ -0,0 +1,77 @@
+package numbers.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.BigRational;
+import numbers.Rational;
+import numbers.RationalMatrix;
+import numbers.RationalModular;
+
+/**
+ * Benchmarks the multi-modular `RationalModular.sum` and `solve` against exact
+ * folds. Sums run over a million `CENTS` values and solves over a 32 x 32 matrix
+ * of `CENTS` values. The score is the average time per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalModularBenchmark {
+    static final int SIZE = 1 << 20;
+    static final int MATRIX_SIZE = 32;
+
+    private Rational[] values;
+    private RationalMatrix matrix;
+    private Rational[] constants;
+
+    @Setup
+    public void setup() {
+        this.values = Operands.CENTS.rationals(SIZE);
+        Rational[] cents = Operands.CENTS.rationals(MATRIX_SIZE * MATRIX_SIZE + MATRIX_SIZE);
+        this.matrix = new RationalMatrix(MATRIX_SIZE, MATRIX_SIZE);
+        this.constants = new Rational[MATRIX_SIZE];
+        for (int i = 0; i < MATRIX_SIZE; i++) {
+            for (int j = 0; j < MATRIX_SIZE; j++) {
+                this.matrix.set(i, j, cents[i * MATRIX_SIZE + j]);
+            }
+            this.constants[i] = cents[MATRIX_SIZE * MATRIX_SIZE + i];
+        }
+    }
+
+    @Benchmark
+    public BigRational bigRationalSum() {
+        BigRational sum = BigRational.ZERO;
+        for (Rational value : this.values) {
+            sum = sum.plus(new BigRational(value));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BigRational modularSum() {
+        return RationalModular.sum(this.values);
+    }
+
+    @Benchmark
+    public BigRational[] bareissSolve() {
+        return this.matrix.solve(this.constants);
+    }
+
+    @Benchmark
+    public BigRational[] modularSolve() {
+        return RationalModular.solve(this.matrix, this.constants);
+    }
+}
@@ -0,0 +1,83 @@
+package numbers.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+import numbers.RationalArray;
+import numbers.RationalParser;
+
+/**
+ * Benchmarks `RationalParser.parseAll` against splitting a `String` and parsing
+ * each component with `Integer.parseInt`. The input is a million values written
+ * with `toString()`, one per line. The score is the average time per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalParserBenchmark {
+    static final int SIZE = 1 << 20;
+
+    @Param({ "CENTS", "NEAR_MAX" })
+    public Operands operands;
+
+    private String text;
+    private byte[] bytes;
+    private ByteBuffer direct;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder();
+        for (Rational value : this.operands.rationals(SIZE)) {
+            builder.append(value).append('\n');
+        }
+        this.text = builder.toString();
+        this.bytes = this.text.getBytes(StandardCharsets.US_ASCII);
+        this.direct = ByteBuffer.allocateDirect(this.bytes.length).put(this.bytes).flip();
+    }
+
+    @Benchmark
+    public Rational[] splitAndParseInt() {
+        String[] lines = this.text.split("\n");
+        Rational[] values = new Rational[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int slash = line.indexOf('/');
+            values[i] = slash < 0 ? new Rational(Integer.parseInt(line))
+                    : new Rational(Integer.parseInt(line.substring(0, slash)),
+                            Integer.parseInt(line.substring(slash + 1)));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public RationalArray parseString() {
+        return RationalParser.failFast().parseAll(this.text);
+    }
+
+    @Benchmark
+    public RationalArray parseBytes() {
+        return RationalParser.failFast().parseAll(this.bytes, 0, this.bytes.length);
+    }
+
+    @Benchmark
+    public RationalArray parseDirectBuffer() {
+        return RationalParser.failFast().parseAll(this.direct);
+    }
+}
@@ -0,0 +1,122 @@
+package numbers.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+
+/**
+ * Benchmarks sorting lists of `Rational` values. Each invocation copies the same
+ * shuffled list and sorts the copy, so the score is the time of one sort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RationalSortBenchmark {
+    /**
+     * The `compareTo(Number)` of `Rational` before it had a `Rational` fast path:
+     * `lessThan` and then `greaterThan`, each dispatching on the type of the
+     * comparand and checking equality before cross multiplying
+     */
+    static final Comparator<Rational> LEGACY_COMPARATOR = (first, second) -> {
+        if (second == null || legacyLessThan(first, second) || (second instanceof Number && isNaN(second))) {
+            return -1;
+        } else if (legacyGreaterThan(first, second)) {
+            return 1;
+        }
+        return 0;
+    };
+
+    @Param({ "SMALL", "NEAR_MAX" })
+    public Operands operands;
+
+    @Param({ "100000", "1000000" })
+    public int size;
+
+    private List<Rational> values;
+
+    @Setup
+    public void setup() {
+        this.values = Arrays.asList(this.operands.rationals(this.size));
+    }
+
+    @Benchmark
+    public List<Rational> legacyCompareTo() {
+        List<Rational> copy = new ArrayList<>(this.values);
+        copy.sort(LEGACY_COMPARATOR);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Rational> naturalOrder() {
+        List<Rational> copy = new ArrayList<>(this.values);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Rational> comparator() {
+        List<Rational> copy = new ArrayList<>(this.values);
+        copy.sort(Rational.COMPARATOR);
+        return copy;
+    }
+
+    /**
+     * Helper which reproduces the previous `lessThan(Number)` for a `Rational`
+     * comparand
+     */
+    private static boolean legacyLessThan(Rational first, Number second) {
+        if (second instanceof Rational) {
+            Rational comparand = (Rational) second;
+            if (comparand == null || first.equals(comparand)) {
+                return false;
+            }
+            return (long) first.numerator() * (long) comparand.denominator() < (long) comparand.numerator()
+                    * (long) first.denominator();
+        }
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Helper which reproduces the previous `greaterThan(Number)` for a `Rational`
+     * comparand
+     */
+    private static boolean legacyGreaterThan(Rational first, Number second) {
+        if (second instanceof Rational) {
+            Rational comparand = (Rational) second;
+            if (comparand == null || first.equals(comparand)) {
+                return false;
+            }
+            return (long) first.numerator() * (long) comparand.denominator() > (long) comparand.numerator()
+                    * (long) first.denominator();
+        }
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Helper which reproduces the NaN checks of the previous `compareTo`
+     */
+    private static boolean isNaN(Number value) {
+        return (value instanceof Double && Double.isNaN((Double) value))
+                || (value instanceof Float && Float.isNaN((Float) value));
+    }
+}
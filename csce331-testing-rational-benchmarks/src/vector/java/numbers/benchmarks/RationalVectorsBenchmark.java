@@ -0,0 +1,98 @@
+package numbers.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import numbers.Rational;
+import numbers.RationalArray;
+import numbers.RationalVectors;
+
+/**
+ * Compares the Vector API kernels in `RationalVectors` against the scalar
+ * `RationalArray` methods over the same columns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+@State(Scope.Thread)
+public class RationalVectorsBenchmark {
+    static final int SIZE = 65536;
+
+    @Param({ "SMALL", "COPRIME", "REDUCIBLE" })
+    public Operands operands;
+
+    private RationalArray left;
+    private RationalArray right;
+    private RationalArray common;
+
+    @Setup
+    public void setup() {
+        Rational[] values = this.operands.rationals(2 * SIZE);
+        this.left = new RationalArray(SIZE);
+        this.right = new RationalArray(SIZE);
+        this.common = new RationalArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            this.left.set(i, values[2 * i]);
+            this.right.set(i, values[2 * i + 1]);
+            // 1009 is prime, so none of these numerators cancel and every denominator stays 1009
+            this.common.set(i, 1 + Math.abs(values[2 * i].numerator() % 1008), 1009);
+        }
+    }
+
+    @Benchmark
+    public RationalArray scalarTimes() {
+        return this.left.times(this.right);
+    }
+
+    @Benchmark
+    public RationalArray vectorTimes() {
+        return RationalVectors.times(this.left, this.right);
+    }
+
+    @Benchmark
+    public RationalArray scalarPlus() {
+        return this.left.plus(this.right);
+    }
+
+    @Benchmark
+    public RationalArray vectorPlus() {
+        return RationalVectors.plus(this.left, this.right);
+    }
+
+    @Benchmark
+    public int[] scalarCompare() {
+        int[] result = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = this.left.get(i).compareTo(this.right.get(i));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] vectorCompare() {
+        return RationalVectors.compare(this.left, this.right);
+    }
+
+    @Benchmark
+    public Rational scalarCommonDenominatorSum() {
+        return this.common.sum();
+    }
+
+    @Benchmark
+    public Rational vectorCommonDenominatorSum() {
+        return RationalVectors.sum(this.common);
+    }
+}
@@ -0,0 +1,391 @@
+package numbers;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * This class stores `Rational` values off the heap, in native memory allocated
+ * from a `ResourceScope`. Each element is a numerator and denominator pair
+ * packed into 8 bytes the same way `RationalLong` packs them, so the bulk
+ * operations run the `RationalLong` kernels directly on native memory without
+ * creating objects, and the garbage collector never has to trace or copy the
+ * data however large it gets. Values round trip exactly with `Rational`.
+ *
+ * Memory is released deterministically by closing the scope a segment was
+ * allocated from, for example with try-with-resources. Bulk operations write
+ * into a destination segment chosen by the caller, which may be one of the
+ * operands, so repeated operations allocate nothing. Elements are written as
+ * they are computed, so when an operation throws, the elements before the one
+ * which failed are already overwritten, even when the destination is an
+ * operand. Accessing a segment after its scope was closed, or from another
+ * thread than the owner of a confined scope, throws an `IllegalStateException`.
+ *
+ * Running code that uses this class requires `--add-modules jdk.incubator.foreign`.
+ */
+public final class RationalSegment {
+    private final MemorySegment _segment;
+    private final long _length;
+
+    private RationalSegment(MemorySegment segment, long length) {
+        this._segment = segment;
+        this._length = length;
+    }
+
+    /**
+     * Allocates a segment of a given length with every element set to 0 / 1
+     *
+     * @param length number of elements
+     * @param scope  `ResourceScope` which owns the memory
+     * @return new `RationalSegment`
+     * @throws IllegalArgumentException when length is negative or too large
+     */
+    public static RationalSegment allocate(long length, ResourceScope scope) throws IllegalArgumentException {
+        if (length < 0 || length > Long.MAX_VALUE / Long.BYTES) {
+            throw new IllegalArgumentException("Invalid length: " + length);
+        }
+        RationalSegment result = uninitialized(length, scope);
+        for (long i = 0; i < length; i++) {
+            MemoryAccess.setLongAtIndex(result._segment, i, RationalLong.ZERO);
+        }
+        return result;
+    }
+
+    /**
+     * Allocates a segment holding the values of a `RationalArray`
+     *
+     * @param values `RationalArray` to be copied
+     * @param scope  `ResourceScope` which owns the memory
+     * @return new `RationalSegment`
+     */
+    public static RationalSegment copyOf(RationalArray values, ResourceScope scope) {
+        RationalSegment result = uninitialized(values.length(), scope);
+        for (int i = 0; i < values.length(); i++) {
+            MemoryAccess.setLongAtIndex(result._segment, i, values.packed(i));
+        }
+        return result;
+    }
+
+    /**
+     * Allocates a segment holding the values of a `Rational[]`
+     *
+     * @param values `Rational` values to be copied
+     * @param scope  `ResourceScope` which owns the memory
+     * @return new `RationalSegment`
+     */
+    public static RationalSegment copyOf(Rational[] values, ResourceScope scope) {
+        RationalSegment result = uninitialized(values.length, scope);
+        for (int i = 0; i < values.length; i++) {
+            MemoryAccess.setLongAtIndex(result._segment, i, RationalLong.fromRational(values[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of elements
+     *
+     * @return length of this segment
+     */
+    public long length() {
+        return this._length;
+    }
+
+    /**
+     * Returns the scope which owns the memory of this segment
+     *
+     * @return `ResourceScope` this segment was allocated from
+     */
+    public ResourceScope scope() {
+        return this._segment.scope();
+    }
+
+    /**
+     * Returns the numerator of an element without creating a `Rational`
+     *
+     * @param index index of the element
+     * @return numerator of the element
+     * @throws IndexOutOfBoundsException when index is out of bounds
+     */
+    public int numerator(long index) throws IndexOutOfBoundsException {
+        return RationalLong.numerator(this.packed(index));
+    }
+
+    /**
+     * Returns the denominator of an element without creating a `Rational`
+     *
+     * @param index index of the element
+     * @return denominator of the element
+     * @throws IndexOutOfBoundsException when index is out of bounds
+     */
+    public int denominator(long index) throws IndexOutOfBoundsException {
+        return RationalLong.denominator(this.packed(index));
+    }
+
+    /**
+     * Returns an element
+     *
+     * @param index index of the element
+     * @return `Rational` with the value of the element
+     * @throws IndexOutOfBoundsException when index is out of bounds
+     */
+    public Rational get(long index) throws IndexOutOfBoundsException {
+        return RationalLong.toRational(this.packed(index));
+    }
+
+    /**
+     * Sets an element
+     *
+     * @param index index of the element
+     * @param value `Rational` value to be stored
+     * @throws IndexOutOfBoundsException when index is out of bounds
+     */
+    public void set(long index, Rational value) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, this._length);
+        MemoryAccess.setLongAtIndex(this._segment, index, RationalLong.fromRational(value));
+    }
+
+    /**
+     * Copies a range of elements onto the heap
+     *
+     * @param from   index of the first element
+     * @param length number of elements
+     * @return `RationalArray` holding the elements
+     * @throws IndexOutOfBoundsException when the range is out of bounds
+     */
+    public RationalArray toRationalArray(long from, int length) throws IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(from, length, this._length);
+        RationalArray result = new RationalArray(length);
+        for (int i = 0; i < length; i++) {
+            result.setPacked(i, MemoryAccess.getLongAtIndex(this._segment, from + i));
+        }
+        return result;
+    }
+
+    /**
+     * Adds another `RationalSegment` element by element into a destination
+     *
+     * @param addend      `RationalSegment` of the same length
+     * @param destination `RationalSegment` of the same length receiving the sums,
+     *                    which may be this segment or addend
+     * @return destination
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when a sum does not fit in int components
+     */
+    public RationalSegment plus(RationalSegment addend, RationalSegment destination)
+            throws IllegalArgumentException, ArithmeticException {
+        this.checkLength(addend);
+        this.checkLength(destination);
+        for (long i = 0; i < this._length; i++) {
+            destination.setPacked(i, RationalLong.plus(this.getPacked(i), addend.getPacked(i)));
+        }
+        return destination;
+    }
+
+    /**
+     * Adds a `Rational` to every element into a destination
+     *
+     * @param addend      `Rational` value to be added to every element
+     * @param destination `RationalSegment` of the same length receiving the sums,
+     *                    which may be this segment
+     * @return destination
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when a sum does not fit in int components
+     */
+    public RationalSegment plus(Rational addend, RationalSegment destination)
+            throws IllegalArgumentException, ArithmeticException {
+        this.checkLength(destination);
+        long scalar = RationalLong.fromRational(addend);
+        for (long i = 0; i < this._length; i++) {
+            destination.setPacked(i, RationalLong.plus(this.getPacked(i), scalar));
+        }
+        return destination;
+    }
+
+    /**
+     * Multiplies by another `RationalSegment` element by element into a
+     * destination
+     *
+     * @param multiplier  `RationalSegment` of the same length
+     * @param destination `RationalSegment` of the same length receiving the
+     *                    products, which may be this segment or multiplier
+     * @return destination
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when a product does not fit in int
+     *                                  components
+     */
+    public RationalSegment times(RationalSegment multiplier, RationalSegment destination)
+            throws IllegalArgumentException, ArithmeticException {
+        this.checkLength(multiplier);
+        this.checkLength(destination);
+        for (long i = 0; i < this._length; i++) {
+            destination.setPacked(i, RationalLong.times(this.getPacked(i), multiplier.getPacked(i)));
+        }
+        return destination;
+    }
+
+    /**
+     * Multiplies every element by a `Rational` into a destination
+     *
+     * @param multiplier  `Rational` value to multiply every element by
+     * @param destination `RationalSegment` of the same length receiving the
+     *                    products, which may be this segment
+     * @return destination
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when a product does not fit in int
+     *                                  components
+     */
+    public RationalSegment times(Rational multiplier, RationalSegment destination)
+            throws IllegalArgumentException, ArithmeticException {
+        this.checkLength(destination);
+        long scalar = RationalLong.fromRational(multiplier);
+        for (long i = 0; i < this._length; i++) {
+            destination.setPacked(i, RationalLong.times(this.getPacked(i), scalar));
+        }
+        return destination;
+    }
+
+    /**
+     * Raises every element to an integer power into a destination
+     *
+     * @param exponent    power of which every element is being raised
+     * @param destination `RationalSegment` of the same length receiving the
+     *                    powers, which may be this segment
+     * @return destination
+     * @throws IllegalArgumentException when the lengths differ, or an element is 0
+     *                                  and exponent is negative
+     * @throws ArithmeticException      when a power does not fit in int
+     *                                  components
+     */
+    public RationalSegment pow(int exponent, RationalSegment destination)
+            throws IllegalArgumentException, ArithmeticException {
+        this.checkLength(destination);
+        for (long i = 0; i < this._length; i++) {
+            destination.setPacked(i, RationalLong.pow(this.getPacked(i), exponent));
+        }
+        return destination;
+    }
+
+    /**
+     * Sums every element exactly, the same way as `Rational.sum`
+     *
+     * @return `Rational` sum of all elements, 0 when this segment is empty
+     * @throws ArithmeticException when the sum does not fit in a `Rational`
+     */
+    public Rational sum() throws ArithmeticException {
+        Rational.Batch batch = new Rational.Batch();
+        for (long i = 0; i < this._length; i++) {
+            long value = this.getPacked(i);
+            batch.add(RationalLong.signedNumerator(value), RationalLong.positiveDenominator(value));
+        }
+        return batch.toRational();
+    }
+
+    /**
+     * Multiplies every element exactly, the same way as `Rational.product`
+     *
+     * @return `Rational` product of all elements, 1 when this segment is empty
+     * @throws ArithmeticException when the product does not fit in a `Rational`
+     */
+    public Rational product() throws ArithmeticException {
+        Rational.Batch batch = new Rational.Batch(1);
+        for (long i = 0; i < this._length; i++) {
+            long value = this.getPacked(i);
+            if (RationalLong.numerator(value) == 0) {
+                return Rational.ZERO;
+            }
+            batch.multiply(RationalLong.signedNumerator(value), RationalLong.positiveDenominator(value));
+        }
+        return batch.toRational();
+    }
+
+    /**
+     * Returns the exact dot product with another segment, the same way as
+     * `Rational.dot`
+     *
+     * @param other `RationalSegment` of the same length
+     * @return `Rational` sum of the products of corresponding elements
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when the result does not fit in a `Rational`
+     */
+    public Rational dot(RationalSegment other) throws IllegalArgumentException, ArithmeticException {
+        this.checkLength(other);
+        Rational.Batch batch = new Rational.Batch();
+        for (long i = 0; i < this._length; i++) {
+            long first = this.getPacked(i);
+            long second = other.getPacked(i);
+            batch.add(RationalLong.signedNumerator(first) * RationalLong.signedNumerator(second),
+                    RationalLong.positiveDenominator(first) * RationalLong.positiveDenominator(second));
+        }
+        return batch.toRational();
+    }
+
+    /**
+     * Returns the smallest element
+     *
+     * @return `Rational` value of the smallest element
+     * @throws NoSuchElementException when this segment is empty
+     */
+    public Rational min() throws NoSuchElementException {
+        return RationalLong.toRational(this.extreme(-1));
+    }
+
+    /**
+     * Returns the largest element
+     *
+     * @return `Rational` value of the largest element
+     * @throws NoSuchElementException when this segment is empty
+     */
+    public Rational max() throws NoSuchElementException {
+        return RationalLong.toRational(this.extreme(1));
+    }
+
+    /**
+     * Helper method which allocates a segment whose elements are all overwritten
+     * by the caller. Native allocations must not be empty, so empty segments get a
+     * slot which is never read.
+     */
+    private static RationalSegment uninitialized(long length, ResourceScope scope) {
+        return new RationalSegment(MemorySegment.allocateNative(Math.max(1, length) * Long.BYTES, Long.BYTES, scope),
+                length);
+    }
+
+    private long packed(long index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, this._length);
+        return this.getPacked(index);
+    }
+
+    private long getPacked(long index) {
+        return MemoryAccess.getLongAtIndex(this._segment, index);
+    }
+
+    private void setPacked(long index, long value) {
+        MemoryAccess.setLongAtIndex(this._segment, index, value);
+    }
+
+    /**
+     * Helper method which finds the smallest (sign -1) or largest (sign 1) element
+     */
+    private long extreme(int sign) throws NoSuchElementException {
+        if (this._length == 0) {
+            throw new NoSuchElementException("RationalSegment is empty");
+        }
+        long best = this.getPacked(0);
+        for (long i = 1; i < this._length; i++) {
+            long value = this.getPacked(i);
+            if (Integer.signum(RationalLong.compare(value, best)) == sign) {
+                best = value;
+            }
+        }
+        return best;
+    }
+
+    private void checkLength(RationalSegment other) throws IllegalArgumentException {
+        if (other._length != this._length) {
+            throw new IllegalArgumentException(
+                    "Lengths must match: " + this._length + " and " + other._length);
+        }
+    }
+}
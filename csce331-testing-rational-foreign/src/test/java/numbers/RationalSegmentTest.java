@@ -0,0 +1,161 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import jdk.incubator.foreign.ResourceScope;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalSegment.
+ */
+public class RationalSegmentTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalSegmentTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalSegmentTest.class);
+    }
+
+    /**
+     * Creates an array of random values with a fixed seed
+     */
+    private static RationalArray randomArray(long seed, int length, int bound) {
+        Random random = new Random(seed);
+        RationalArray values = new RationalArray(length);
+        for (int i = 0; i < length; i++) {
+            values.set(i, random.nextInt(2 * bound + 1) - bound, 1 + random.nextInt(bound));
+        }
+        return values;
+    }
+
+    /**
+     * Values round trip exactly, including a denominator of `Integer.MIN_VALUE`
+     */
+    public void testRoundTrip() {
+        Rational[] edges = { new Rational(0), new Rational(Integer.MIN_VALUE), new Rational(Integer.MAX_VALUE, 7),
+                new Rational(3, Integer.MIN_VALUE), new Rational(-1, Integer.MIN_VALUE) };
+        try (ResourceScope scope = ResourceScope.newConfinedScope()) {
+            RationalSegment segment = RationalSegment.copyOf(edges, scope);
+            assertThat(segment.length(), is(5L));
+            assertThat(segment.scope(), is(scope));
+            assertThat(segment.toRationalArray(0, 5).toArray(), is(edges));
+            for (int i = 0; i < edges.length; i++) {
+                assertThat(segment.get(i), is(edges[i]));
+                assertThat(segment.numerator(i), is(edges[i].numerator()));
+                assertThat(segment.denominator(i), is(edges[i].denominator()));
+            }
+
+            RationalSegment zeros = RationalSegment.allocate(3, scope);
+            assertThat(zeros.toRationalArray(0, 3).toArray(), is(new RationalArray(3).toArray()));
+            zeros.set(1, new Rational(-2, 4));
+            assertThat(zeros.get(1), is(new Rational(-1, 2)));
+            assertThat(RationalSegment.copyOf(new RationalArray(edges), scope).toRationalArray(1, 3).toArray(),
+                    is(new Rational[] { edges[1], edges[2], edges[3] }));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> zeros.get(3));
+            assertThrows(IndexOutOfBoundsException.class, () -> zeros.set(-1, Rational.ONE));
+            assertThrows(IndexOutOfBoundsException.class, () -> zeros.toRationalArray(2, 2));
+            assertThrows(IllegalArgumentException.class, () -> RationalSegment.allocate(-1, scope));
+            assertThrows(IllegalArgumentException.class, () -> RationalSegment.allocate(Long.MAX_VALUE, scope));
+        }
+    }
+
+    /**
+     * Bulk arithmetic matches `RationalArray` and reductions match `Rational`
+     */
+    public void testMatchesRationalArray() {
+        RationalArray left = randomArray(79, 1001, 1000);
+        RationalArray right = randomArray(83, 1001, 1000);
+        Rational scalar = new Rational(-7, 3);
+        try (ResourceScope scope = ResourceScope.newConfinedScope()) {
+            RationalSegment first = RationalSegment.copyOf(left, scope);
+            RationalSegment second = RationalSegment.copyOf(right, scope);
+
+            RationalSegment result = RationalSegment.allocate(1001, scope);
+            assertThat(first.plus(second, result).toRationalArray(0, 1001).toArray(), is(left.plus(right).toArray()));
+            assertThat(first.plus(scalar, result).toRationalArray(0, 1001).toArray(), is(left.plus(scalar).toArray()));
+            assertThat(first.times(second, result).toRationalArray(0, 1001).toArray(),
+                    is(left.times(right).toArray()));
+            assertThat(first.times(scalar, result).toRationalArray(0, 1001).toArray(),
+                    is(left.times(scalar).toArray()));
+            assertThat(first.pow(2, result).toRationalArray(0, 1001).toArray(), is(left.pow(2).toArray()));
+
+            RationalSegment copy = RationalSegment.copyOf(left, scope);
+            assertThat("In place", copy.plus(copy, copy).toRationalArray(0, 1001).toArray(),
+                    is(left.times(new Rational(2)).toArray()));
+
+            // Small denominators keep the sum and dot product within a Rational
+            RationalArray addends = randomArray(97, 1001, 12);
+            RationalArray others = randomArray(101, 1001, 2);
+            RationalSegment small = RationalSegment.copyOf(addends, scope);
+            assertThat(small.sum(), is(Rational.sum(addends.toArray())));
+            assertThat(small.dot(RationalSegment.copyOf(others, scope)),
+                    is(Rational.dot(addends.toArray(), others.toArray())));
+            RationalArray factors = randomArray(89, 9, 10);
+            assertThat(RationalSegment.copyOf(factors, scope).product(), is(Rational.product(factors.toArray())));
+            assertThat(first.min(), is(left.min()));
+            assertThat(first.max(), is(left.max()));
+
+            RationalSegment pair = RationalSegment.copyOf(new Rational[] { new Rational(2, 3), new Rational(3, 4) },
+                    scope);
+            assertThat(pair.product(), is(new Rational(1, 2)));
+            pair.set(0, Rational.ZERO);
+            assertThat(pair.product(), is(Rational.ZERO));
+
+            RationalSegment empty = RationalSegment.allocate(0, scope);
+            assertThat(empty.sum(), is(Rational.ZERO));
+            assertThat(empty.product(), is(Rational.ONE));
+            assertThrows(NoSuchElementException.class, () -> empty.min());
+            assertThrows(NoSuchElementException.class, () -> empty.max());
+            assertThrows(IllegalArgumentException.class, () -> first.plus(empty, result));
+            assertThrows(IllegalArgumentException.class, () -> first.plus(second, empty));
+            assertThrows(IllegalArgumentException.class, () -> first.plus(scalar, empty));
+            assertThrows(IllegalArgumentException.class, () -> first.times(empty, result));
+            assertThrows(IllegalArgumentException.class, () -> first.times(second, empty));
+            assertThrows(IllegalArgumentException.class, () -> first.times(scalar, empty));
+            assertThrows(IllegalArgumentException.class, () -> first.pow(2, empty));
+            assertThrows(IllegalArgumentException.class, () -> first.dot(empty));
+            RationalSegment large = RationalSegment.copyOf(new Rational[] { new Rational(Integer.MAX_VALUE) }, scope);
+            assertThrows(ArithmeticException.class, () -> large.pow(2, large));
+
+            // Only the last element overflows, after the elements before it were
+            // written
+            Rational[] values = { new Rational(1, 2), new Rational(-3), new Rational(Integer.MAX_VALUE) };
+            RationalSegment operand = RationalSegment.copyOf(values, scope);
+            assertThrows(ArithmeticException.class, () -> operand.plus(operand, operand));
+            assertThat(operand.get(0), is(new Rational(1)));
+            assertThat(operand.get(1), is(new Rational(-6)));
+            assertThat(operand.get(2), is(values[2]));
+        }
+    }
+
+    /**
+     * Closing the scope releases the memory, after which the segment cannot be used
+     */
+    public void testClose() {
+        ResourceScope scope = ResourceScope.newConfinedScope();
+        RationalSegment segment = RationalSegment.allocate(16, scope);
+        assertThat(scope.isAlive(), is(true));
+        scope.close();
+        assertThat(scope.isAlive(), is(false));
+        assertThrows(IllegalStateException.class, () -> segment.get(0));
+        assertThrows(IllegalStateException.class, () -> segment.sum());
+    }
+}
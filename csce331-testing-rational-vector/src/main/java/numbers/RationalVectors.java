@@ -0,0 +1,260 @@
+package numbers;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements bulk operations on `RationalArray` columns with the JDK
+ * Vector API. Numerators and denominators are widened into long lanes so cross
+ * multiplication can't overflow, and the data-dependent gcd reduction is done in a
+ * tight scalar pass over primitive buffers afterwards. Results are identical to
+ * the scalar `RationalArray` methods, which are used for the tail of each array.
+ * Lanes whose reduced result does not fit in int components throw an
+ * `ArithmeticException` just like the scalar path. On platforms whose preferred
+ * long vectors hold a single lane every method takes the scalar path.
+ *
+ * Running code that uses this class requires `--add-modules jdk.incubator.vector`.
+ */
+public final class RationalVectors {
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    // Null when the scalar path is taken
+    private static final VectorSpecies<Integer> INTS = intSpecies(LONGS);
+
+    private RationalVectors() {
+    }
+
+    /**
+     * Helper method which returns the int species filling half the bits of a long
+     * species, so widening it gives the long species. A single long lane has no
+     * half-sized shape and gains nothing over scalar code, so it gives null.
+     */
+    static VectorSpecies<Integer> intSpecies(VectorSpecies<Long> longs) {
+        if (longs.length() < 2) {
+            return null;
+        }
+        return VectorSpecies.of(int.class, VectorShape.forBitSize(longs.vectorBitSize() / 2));
+    }
+
+    /**
+     * Compares two arrays element by element with exact cross multiplication
+     *
+     * @param first  first `RationalArray`
+     * @param second `RationalArray` of the same length
+     * @return array holding -1, 0 or 1 as each element of first is less than, equal
+     *         to or greater than the matching element of second
+     * @throws IllegalArgumentException when the lengths differ
+     */
+    public static int[] compare(RationalArray first, RationalArray second) throws IllegalArgumentException {
+        checkLengths(first, second);
+        int length = first.length();
+        int[] result = new int[length];
+        int bound = loopBound(length);
+
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            LongVector firstNumerators = numerators(first, i);
+            LongVector firstDenominators = denominators(first, i);
+            LongVector secondNumerators = numerators(second, i);
+            LongVector secondDenominators = denominators(second, i);
+
+            LongVector left = firstNumerators.mul(secondDenominators);
+            LongVector right = secondNumerators.mul(firstDenominators);
+            LongVector signs = LongVector.zero(LONGS)
+                    .blend(-1L, left.compare(VectorOperators.LT, right))
+                    .blend(1L, left.compare(VectorOperators.GT, right));
+            signs.convertShape(VectorOperators.L2I, INTS, 0).reinterpretAsInts().intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = Integer.signum(RationalLong.compare(first.packed(i), second.packed(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies two arrays element by element
+     *
+     * @param multiplicand first `RationalArray`
+     * @param multiplier   `RationalArray` of the same length
+     * @return `RationalArray` of element products, equal to
+     *         `multiplicand.times(multiplier)`
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when a product does not fit in int
+     *                                  components
+     */
+    public static RationalArray times(RationalArray multiplicand, RationalArray multiplier)
+            throws IllegalArgumentException, ArithmeticException {
+        checkLengths(multiplicand, multiplier);
+        int length = multiplicand.length();
+        RationalArray result = new RationalArray(length);
+        long[] numerators = new long[LONGS.length()];
+        long[] denominators = new long[LONGS.length()];
+        int bound = loopBound(length);
+
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            // Products of two ints always fit in a long lane
+            numerators(multiplicand, i).mul(numerators(multiplier, i)).intoArray(numerators, 0);
+            denominators(multiplicand, i).mul(denominators(multiplier, i)).intoArray(denominators, 0);
+            reduceInto(result, i, numerators, denominators);
+        }
+        for (; i < length; i++) {
+            result.setPacked(i, RationalLong.times(multiplicand.packed(i), multiplier.packed(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Adds two arrays element by element. Lanes whose denominators are equal only
+     * add numerators, the others cross multiply.
+     *
+     * @param augend first `RationalArray`
+     * @param addend `RationalArray` of the same length
+     * @return `RationalArray` of element sums, equal to `augend.plus(addend)`
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when a sum does not fit in int components
+     */
+    public static RationalArray plus(RationalArray augend, RationalArray addend)
+            throws IllegalArgumentException, ArithmeticException {
+        checkLengths(augend, addend);
+        int length = augend.length();
+        RationalArray result = new RationalArray(length);
+        long[] numerators = new long[LONGS.length()];
+        long[] denominators = new long[LONGS.length()];
+        int bound = loopBound(length);
+
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            LongVector firstNumerators = numerators(augend, i);
+            LongVector firstDenominators = denominators(augend, i);
+            LongVector secondNumerators = numerators(addend, i);
+            LongVector secondDenominators = denominators(addend, i);
+
+            // Every component is at most 2^31 in magnitude and no value has both a numerator and a
+            // denominator of 2^31, so the cross multiplied sum stays below 2^63
+            LongVector sum = firstNumerators.mul(secondDenominators).add(secondNumerators.mul(firstDenominators));
+            VectorMask<Long> common = firstDenominators.compare(VectorOperators.EQ, secondDenominators);
+
+            firstNumerators.add(secondNumerators).blend(sum, common.not()).intoArray(numerators, 0);
+            firstDenominators.blend(firstDenominators.mul(secondDenominators), common.not())
+                    .intoArray(denominators, 0);
+            reduceInto(result, i, numerators, denominators);
+        }
+        for (; i < length; i++) {
+            result.setPacked(i, RationalLong.plus(augend.packed(i), addend.packed(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Sums every element. When all elements share one denominator the numerators
+     * are summed in long lanes and the result is reduced once, otherwise this
+     * falls back to `RationalArray.sum()`.
+     *
+     * @param values `RationalArray` to sum
+     * @return `Rational` sum of all elements, 0 when values is empty
+     * @throws ArithmeticException when the sum does not fit in a `Rational`
+     */
+    public static Rational sum(RationalArray values) throws ArithmeticException {
+        int length = values.length();
+        if (length == 0) {
+            return Rational.ZERO;
+        }
+        if (INTS == null) {
+            return values.sum();
+        }
+        int common = values._denominators[0];
+        IntVector commonDenominators = IntVector.broadcast(INTS, common);
+        LongVector sum = LongVector.zero(LONGS);
+        int bound = INTS.loopBound(length);
+
+        // An int array can't hold enough elements for a sum of int numerators to overflow a long
+        int i = 0;
+        for (; i < bound; i += INTS.length()) {
+            if (!IntVector.fromArray(INTS, values._denominators, i).eq(commonDenominators).allTrue()) {
+                return values.sum();
+            }
+            sum = sum.add(IntVector.fromArray(INTS, values._numerators, i)
+                    .convertShape(VectorOperators.I2L, LONGS, 0).reinterpretAsLongs());
+        }
+        long numerator = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            if (values._denominators[i] != common) {
+                return values.sum();
+            }
+            numerator += values._numerators[i];
+        }
+
+        long denominator = Math.abs((long) common);
+        if (common < 0) {
+            numerator = -numerator;
+        }
+        long divisor = Rational.gcd(numerator, denominator);
+        return Rational.fromReducedLongs(numerator / divisor, denominator / divisor);
+    }
+
+    /**
+     * Helper method which returns how many elements the vector loops cover, none
+     * when the scalar path is taken
+     */
+    private static int loopBound(int length) {
+        return INTS == null ? 0 : LONGS.loopBound(length);
+    }
+
+    /**
+     * Helper method which loads numerators into long lanes as if their denominators
+     * were positive
+     */
+    private static LongVector numerators(RationalArray values, int offset) {
+        LongVector numerators = widen(values._numerators, offset);
+        VectorMask<Long> negative = widen(values._denominators, offset).compare(VectorOperators.LT, 0L);
+        return numerators.lanewise(VectorOperators.NEG, negative);
+    }
+
+    /**
+     * Helper method which loads denominators into long lanes made positive
+     */
+    private static LongVector denominators(RationalArray values, int offset) {
+        return widen(values._denominators, offset).lanewise(VectorOperators.ABS);
+    }
+
+    /**
+     * Helper method which loads ints into long lanes
+     */
+    private static LongVector widen(int[] values, int offset) {
+        return IntVector.fromArray(INTS, values, offset)
+                .convertShape(VectorOperators.I2L, LONGS, 0)
+                .reinterpretAsLongs();
+    }
+
+    /**
+     * Helper method which reduces one block of long fractions with positive
+     * denominators and stores them in a `RationalArray`
+     */
+    private static void reduceInto(RationalArray result, int offset, long[] numerators, long[] denominators)
+            throws ArithmeticException {
+        for (int lane = 0; lane < numerators.length; lane++) {
+            long numerator = numerators[lane];
+            long denominator = denominators[lane];
+            if (numerator == 0) {
+                result.setPacked(offset + lane, RationalLong.ZERO);
+                continue;
+            }
+            long divisor = Rational.gcd(numerator, denominator);
+            result.setPacked(offset + lane, RationalLong.reduced(numerator / divisor, denominator / divisor));
+        }
+    }
+
+    /**
+     * Helper method which checks that two arrays have the same length
+     */
+    private static void checkLengths(RationalArray first, RationalArray second) throws IllegalArgumentException {
+        if (first.length() != second.length()) {
+            throw new IllegalArgumentException(
+                    "Lengths must match: " + first.length() + " and " + second.length());
+        }
+    }
+}
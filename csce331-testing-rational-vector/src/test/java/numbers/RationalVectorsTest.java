@@ -0,0 +1,196 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Random;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalVectors.
+ */
+public class RationalVectorsTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalVectorsTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalVectorsTest.class);
+    }
+
+    /**
+     * Int lanes fill half the bits of the long lanes they widen to, and a single
+     * long lane, the preferred species under -XX:MaxVectorSize=8, takes the scalar
+     * path instead of asking for a 32-bit shape. The single-lane surefire
+     * execution runs every other test on that path.
+     */
+    public void testIntSpecies() {
+        assertThat(RationalVectors.intSpecies(LongVector.SPECIES_64), is(nullValue()));
+        assertThat(RationalVectors.intSpecies(LongVector.SPECIES_128), is(IntVector.SPECIES_64));
+        assertThat(RationalVectors.intSpecies(LongVector.SPECIES_512), is(IntVector.SPECIES_256));
+    }
+
+    /**
+     * Creates an array of random values with a fixed seed. Odd lengths make sure
+     * the scalar tail is used as well.
+     */
+    private static RationalArray randomArray(long seed, int length, int bound) {
+        Random random = new Random(seed);
+        RationalArray values = new RationalArray(length);
+        for (int i = 0; i < length; i++) {
+            int denominator = random.nextInt(bound) + 1;
+            values.set(i, random.nextInt(2 * bound + 1) - bound, random.nextBoolean() ? denominator : -denominator);
+        }
+        return values;
+    }
+
+    /**
+     * Comparison matches `RationalLong.compare` for every element
+     */
+    public void testCompare() {
+        RationalArray first = randomArray(1, 1001, 20);
+        RationalArray second = randomArray(2, 1001, 20);
+        first.set(0, 1, Integer.MIN_VALUE);
+        second.set(0, -1, Integer.MIN_VALUE);
+        second.set(1, first.get(1));
+
+        int[] result = RationalVectors.compare(first, second);
+
+        assertThat(result.length, is(1001));
+        assertThat("-1/2^31 < 1/2^31", result[0], is(-1));
+        assertThat("Equal elements compare to 0", result[1], is(0));
+        for (int i = 0; i < result.length; i++) {
+            assertThat("Element " + i, result[i], is(Integer.signum(first.get(i).compareTo(second.get(i)))));
+        }
+    }
+
+    /**
+     * Products match `RationalArray.times`
+     */
+    public void testTimes() {
+        RationalArray first = randomArray(3, 1001, 1000);
+        RationalArray second = randomArray(4, 1001, 1000);
+        first.set(0, 1, 1 << 16);
+        second.set(0, -1, 1 << 15);
+
+        RationalArray product = RationalVectors.times(first, second);
+
+        assertThat("Product lands on a denominator of 2^31", product.get(0), is(new Rational(1, Integer.MIN_VALUE)));
+        assertThat(product.toString(), is(first.times(second).toString()));
+    }
+
+    /**
+     * Products which don't fit in int components throw like the scalar path
+     */
+    public void testTimesOverflow() {
+        RationalArray values = new RationalArray(64);
+        values.set(0, Integer.MAX_VALUE, 1);
+
+        assertThrows(ArithmeticException.class, () -> RationalVectors.times(values, values));
+    }
+
+    /**
+     * Sums match `RationalArray.plus`, with and without shared denominators
+     */
+    public void testPlus() {
+        RationalArray first = randomArray(5, 1001, 1000);
+        RationalArray second = randomArray(6, 1001, 1000);
+        for (int i = 0; i < 1001; i += 3) {
+            second.set(i, second.numerator(i), first.denominator(i));
+        }
+
+        RationalArray sum = RationalVectors.plus(first, second);
+
+        assertThat(sum.toString(), is(first.plus(second).toString()));
+    }
+
+    /**
+     * Sums at the edges of the int range match the scalar path, and sums which
+     * don't fit in int components throw
+     */
+    public void testPlusLimits() {
+        RationalArray first = new RationalArray(64);
+        RationalArray second = new RationalArray(64);
+        for (int i = 0; i < 64; i++) {
+            first.set(i, Integer.MIN_VALUE, Integer.MAX_VALUE - i);
+            second.set(i, Integer.MIN_VALUE + 1, Integer.MIN_VALUE);
+        }
+
+        assertThrows(ArithmeticException.class, () -> RationalVectors.plus(first, second));
+
+        for (int i = 0; i < 64; i++) {
+            first.set(i, 1 - 2 * i, Integer.MIN_VALUE);
+            second.set(i, -1, Integer.MIN_VALUE);
+        }
+        RationalArray sum = RationalVectors.plus(first, second);
+        assertThat(sum.toString(), is(first.plus(second).toString()));
+    }
+
+    /**
+     * Sums of a whole array match `RationalArray.sum`
+     */
+    public void testSum() {
+        RationalArray mixed = randomArray(7, 1001, 12);
+        assertThat(RationalVectors.sum(mixed), is(mixed.sum()));
+
+        RationalArray common = new RationalArray(1001);
+        for (int i = 0; i < 1001; i++) {
+            common.set(i, i % 7 - 3, 100);
+        }
+        common.set(1000, 3, 100);
+        assertThat(RationalVectors.sum(common), is(common.sum()));
+
+        common.set(1000, 3, 10);
+        assertThat("A different denominator in the tail", RationalVectors.sum(common), is(common.sum()));
+
+        assertThat(RationalVectors.sum(new RationalArray(0)), is(sameInstance(Rational.ZERO)));
+
+        // Falls back to RationalArray.sum, whose running sum outgrows a long here
+        RationalArray cancelling = new RationalArray(new Rational[] { new Rational(1, 2147483647),
+                new Rational(1, 2147483629), new Rational(1, 2147483587), new Rational(-1, 2147483647),
+                new Rational(-1, 2147483629), new Rational(-1, 2147483587) });
+        assertThat(RationalVectors.sum(cancelling), is(new Rational()));
+    }
+
+    /**
+     * Sums of values sharing a denominator of 2^31 keep the sign
+     */
+    public void testSumMinValueDenominator() {
+        RationalArray values = new RationalArray(9);
+        for (int i = 0; i < 9; i++) {
+            values.set(i, 1, Integer.MIN_VALUE);
+        }
+
+        assertThat(RationalVectors.sum(values), is(new Rational(9, Integer.MIN_VALUE)));
+    }
+
+    /**
+     * Element-wise operations need arrays of the same length
+     */
+    public void testLengthMismatch() {
+        RationalArray first = new RationalArray(2);
+        RationalArray second = new RationalArray(3);
+
+        assertThrows(IllegalArgumentException.class, () -> RationalVectors.compare(first, second));
+        assertThrows(IllegalArgumentException.class, () -> RationalVectors.times(first, second));
+        assertThrows(IllegalArgumentException.class, () -> RationalVectors.plus(first, second));
+    }
+}
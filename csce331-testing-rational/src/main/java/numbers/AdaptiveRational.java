@@ -0,0 +1,476 @@
+package numbers;
+
+import java.math.BigInteger;
+
+/**
+ * This class implements a rational number which keeps its members in longs while
+ * they fit and transparently promotes to a `BigRational` when a result
+ * overflows. Every result is normalized and demoted again when it fits, so a
+ * value always has exactly one representation and small values never pay for
+ * `BigInteger` arithmetic.
+ *
+ * There are three paths through every operation. When both operands fit in int
+ * members, the products of their members always fit in a long and are computed
+ * without any overflow checks, like `Rational` does. Otherwise long members are
+ * multiplied with overflow checks, and results which overflow are computed by
+ * `BigRational`.
+ */
+public class AdaptiveRational extends Number implements Comparable<AdaptiveRational> {
+    private final long _numerator;
+    private final long _denominator;
+    // Only set when the value does not fit in long members
+    private final BigRational _big;
+
+    /**
+     * `AdaptiveRational` with a value 0 / 1
+     */
+    public final static AdaptiveRational ZERO = new AdaptiveRational(0, 1, null);
+
+    /**
+     * `AdaptiveRational` with a value 1 / 1
+     */
+    public final static AdaptiveRational ONE = new AdaptiveRational(1, 1, null);
+
+    /**
+     * Default constructor. Creates a new `AdaptiveRational` with a value 0 / 1
+     */
+    public AdaptiveRational() {
+        this(0, 1, null);
+    }
+
+    /**
+     * Constructor which creates an `AdaptiveRational` given an integer
+     *
+     * @param numerator Integer value which to reflect in the `AdaptiveRational`
+     */
+    public AdaptiveRational(long numerator) {
+        this(numerator, 1);
+    }
+
+    /**
+     * Constructor which creates an `AdaptiveRational` given a specified numerator
+     * and denominator
+     *
+     * @param numerator   Numerator of `AdaptiveRational`
+     * @param denominator Denominator of `AdaptiveRational`
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public AdaptiveRational(long numerator, long denominator) throws IllegalArgumentException {
+        this(new BigRational(numerator, denominator));
+    }
+
+    /**
+     * Constructor which creates an `AdaptiveRational` given a specified numerator
+     * and denominator
+     *
+     * @param numerator   Numerator of `AdaptiveRational`
+     * @param denominator Denominator of `AdaptiveRational`
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public AdaptiveRational(BigInteger numerator, BigInteger denominator) throws IllegalArgumentException {
+        this(new BigRational(numerator, denominator));
+    }
+
+    /**
+     * Constructor which creates an `AdaptiveRational` with the same value as a
+     * `Rational`
+     *
+     * @param original `Rational` to be copied
+     */
+    public AdaptiveRational(Rational original) {
+        this(new BigRational(original));
+    }
+
+    /**
+     * Constructor which creates an `AdaptiveRational` with the same value as a
+     * `BigRational`, demoting it to long members when they fit
+     *
+     * @param original `BigRational` to be copied
+     */
+    public AdaptiveRational(BigRational original) {
+        super();
+        if (fitsInLong(original.numerator()) && fitsInLong(original.denominator())) {
+            this._numerator = original.numerator().longValue();
+            this._denominator = original.denominator().longValue();
+            this._big = null;
+        } else {
+            this._numerator = 0;
+            this._denominator = 1;
+            this._big = original;
+        }
+    }
+
+    /**
+     * Helper constructor which sets the members directly
+     */
+    private AdaptiveRational(long numerator, long denominator, BigRational big) {
+        super();
+        this._numerator = numerator;
+        this._denominator = denominator;
+        this._big = big;
+    }
+
+    /**
+     * Accessor method for the numerator
+     *
+     * @return numerator with the sign of this value
+     */
+    public BigInteger numerator() {
+        return this._big == null ? BigInteger.valueOf(this._numerator) : this._big.numerator();
+    }
+
+    /**
+     * Accessor method for the denominator
+     *
+     * @return positive denominator
+     */
+    public BigInteger denominator() {
+        return this._big == null ? BigInteger.valueOf(this._denominator) : this._big.denominator();
+    }
+
+    /**
+     * Creates a new `AdaptiveRational` which is the additive inverse of this
+     * object
+     *
+     * @return Additive inverse of current object
+     */
+    public AdaptiveRational opposite() {
+        if (this._big == null) {
+            return new AdaptiveRational(-this._numerator, this._denominator, null);
+        }
+        return new AdaptiveRational(this._big.opposite());
+    }
+
+    /**
+     * Creates a new `AdaptiveRational` which is the reciprocal of this object
+     *
+     * @return Reciprocal of current object
+     * @throws IllegalArgumentException when numerator is 0
+     */
+    public AdaptiveRational reciprocal() throws IllegalArgumentException {
+        if (this._big != null) {
+            return new AdaptiveRational(this._big.reciprocal());
+        } else if (this._numerator == 0) {
+            throw new IllegalArgumentException("Numerator of current object is 0. This will result in a divide by 0");
+        } else if (this._numerator < 0) {
+            return new AdaptiveRational(-this._denominator, -this._numerator, null);
+        }
+        return new AdaptiveRational(this._denominator, this._numerator, null);
+    }
+
+    /**
+     * Multiplies self by another `AdaptiveRational` and returns a new
+     * `AdaptiveRational` with the result. Numerators and denominators are cross
+     * cancelled first, so the product is in lowest terms.
+     *
+     * @param multiplier `AdaptiveRational` value to multiply by
+     * @return `AdaptiveRational` with result of multiplication
+     */
+    public AdaptiveRational times(AdaptiveRational multiplier) {
+        if (this._big == null && multiplier._big == null) {
+            if (this._numerator == 0 || multiplier._numerator == 0) {
+                return ZERO;
+            }
+            long firstGCD = BigRational.gcd(this._numerator, multiplier._denominator);
+            long secondGCD = BigRational.gcd(multiplier._numerator, this._denominator);
+            long firstNumerator = this._numerator / firstGCD;
+            long secondNumerator = multiplier._numerator / secondGCD;
+            long firstDenominator = this._denominator / secondGCD;
+            long secondDenominator = multiplier._denominator / firstGCD;
+
+            if (this.fitsInInt() && multiplier.fitsInInt()) {
+                return new AdaptiveRational(firstNumerator * secondNumerator, firstDenominator * secondDenominator,
+                        null);
+            } else if (RationalLong.productFits(firstNumerator, secondNumerator)
+                    && RationalLong.productFits(firstDenominator, secondDenominator)) {
+                return compact(firstNumerator * secondNumerator, firstDenominator * secondDenominator);
+            }
+        }
+        return new AdaptiveRational(this.toBigRational().times(multiplier.toBigRational()));
+    }
+
+    /**
+     * Divides self by another `AdaptiveRational` and returns a new
+     * `AdaptiveRational` with the result. This implementation multiplies self with
+     * reciprocal of divisor
+     *
+     * @param divisor `AdaptiveRational` value to divide by
+     * @return `AdaptiveRational` result of division
+     * @throws IllegalArgumentException when divisor is equivalent to 0
+     */
+    public AdaptiveRational dividedBy(AdaptiveRational divisor) throws IllegalArgumentException {
+        return this.times(divisor.reciprocal());
+    }
+
+    /**
+     * Adds self by another `AdaptiveRational` and returns resulting
+     * `AdaptiveRational` value. Only the gcd of the denominators can divide the sum
+     * of the cross terms, so the final reduction works on that gcd.
+     *
+     * @param addend `AdaptiveRational` value to be added this object
+     * @return `AdaptiveRational` value which is the result of summing this and
+     *         addend
+     */
+    public AdaptiveRational plus(AdaptiveRational addend) {
+        if (this._big == null && addend._big == null) {
+            long denominatorGCD = BigRational.gcd(this._denominator, addend._denominator);
+            long firstScale = addend._denominator / denominatorGCD;
+            long secondScale = this._denominator / denominatorGCD;
+
+            if (this.fitsInInt() && addend.fitsInInt()) {
+                // Each cross term is below 2^62, so neither the terms nor their sum overflow
+                long tempNumerator = this._numerator * firstScale + addend._numerator * secondScale;
+                long divisor = BigRational.gcd(tempNumerator, denominatorGCD);
+                return new AdaptiveRational(tempNumerator / divisor,
+                        secondScale * (addend._denominator / divisor), null);
+            } else if (RationalLong.productFits(this._numerator, firstScale)
+                    && RationalLong.productFits(addend._numerator, secondScale)) {
+                long firstTerm = this._numerator * firstScale;
+                long secondTerm = addend._numerator * secondScale;
+                long tempNumerator = firstTerm + secondTerm;
+                // The sum overflowed if it has a different sign from both terms
+                if (((firstTerm ^ tempNumerator) & (secondTerm ^ tempNumerator)) >= 0) {
+                    long divisor = BigRational.gcd(tempNumerator, denominatorGCD);
+                    long denominatorScale = addend._denominator / divisor;
+                    if (RationalLong.productFits(secondScale, denominatorScale)) {
+                        return compact(tempNumerator / divisor, secondScale * denominatorScale);
+                    }
+                }
+            }
+        }
+        return new AdaptiveRational(this.toBigRational().plus(addend.toBigRational()));
+    }
+
+    /**
+     * Subtracts given `AdaptiveRational` from self and returns resulting
+     * `AdaptiveRational` value
+     *
+     * @param subtrahend `AdaptiveRational` value to be subtracted
+     * @return `AdaptiveRational` result of subtracting subtrahend to this object
+     */
+    public AdaptiveRational minus(AdaptiveRational subtrahend) {
+        return this.plus(subtrahend.opposite());
+    }
+
+    /**
+     * Returns a new `AdaptiveRational` value which reflects this^exponent. The
+     * numerator and denominator are powered independently, since a reduced
+     * fraction stays reduced.
+     *
+     * @param exponent power of which this is being raised
+     * @return `AdaptiveRational` result of raising this object to the power of
+     *         exponent
+     * @throws IllegalArgumentException when this is 0 and exponent is negative
+     */
+    public AdaptiveRational raisedToThePowerOf(int exponent) throws IllegalArgumentException {
+        return new AdaptiveRational(this.toBigRational().raisedToThePowerOf(exponent));
+    }
+
+    /**
+     * Function for checking if this is zero
+     *
+     * @return boolean as to whether this is 0
+     */
+    public boolean isZero() {
+        return this._big == null && this._numerator == 0;
+    }
+
+    /**
+     * Function for checking if this is 1
+     *
+     * @return boolean as to whether this is 1
+     */
+    public boolean isOne() {
+        return this._big == null && this._numerator == 1 && this._denominator == 1;
+    }
+
+    /**
+     * Function for checking if this is -1
+     *
+     * @return boolean as to whether this is -1
+     */
+    public boolean isMinusOne() {
+        return this._big == null && this._numerator == -1 && this._denominator == 1;
+    }
+
+    /**
+     * Returns whether this object's value is less than a given `AdaptiveRational`
+     *
+     * @param comparand `AdaptiveRational` value to be compared to
+     * @return boolean as to whether or not this value is less than comparand
+     */
+    public boolean lessThan(AdaptiveRational comparand) {
+        return comparand != null && this.compareTo(comparand) < 0;
+    }
+
+    /**
+     * Returns whether this object's value is greater than a given
+     * `AdaptiveRational`
+     *
+     * @param comparand `AdaptiveRational` value to be compared to
+     * @return boolean as to whether or not this value is greater than comparand
+     */
+    public boolean greaterThan(AdaptiveRational comparand) {
+        return comparand != null && this.compareTo(comparand) > 0;
+    }
+
+    /**
+     * Compares this object's value to another `AdaptiveRational` by cross
+     * multiplication. Long members are cross multiplied into 128-bit products.
+     *
+     * @param o `AdaptiveRational` value to be compared to
+     * @return negative, zero or positive as this is less than, equal to or greater
+     *         than o
+     */
+    @Override
+    public int compareTo(AdaptiveRational o) {
+        if (this._big != null || o._big != null) {
+            return this.toBigRational().compareTo(o.toBigRational());
+        } else if (this.fitsInInt() && o.fitsInInt()) {
+            return Long.compare(this._numerator * o._denominator, o._numerator * this._denominator);
+        }
+        int highComparison = Long.compare(Math.multiplyHigh(this._numerator, o._denominator),
+                Math.multiplyHigh(o._numerator, this._denominator));
+        if (highComparison != 0) {
+            return highComparison;
+        }
+        return Long.compareUnsigned(this._numerator * o._denominator, o._numerator * this._denominator);
+    }
+
+    /**
+     * Determines whether this object is equivalent in value to another object.
+     * If given object is not an `AdaptiveRational`, returns false.
+     *
+     * @param object object to check equality of
+     * @return boolean as to whether given object is is equivalent to this
+     *         `AdaptiveRational` value
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        } else if (!(object instanceof AdaptiveRational)) {
+            return false;
+        }
+        // Values are always demoted when they fit, so equal values share a representation
+        AdaptiveRational other = (AdaptiveRational) object;
+        if (this._big != null || other._big != null) {
+            return this._big != null && this._big.equals(other._big);
+        }
+        return this._numerator == other._numerator && this._denominator == other._denominator;
+    }
+
+    /**
+     * Returns hashcode computed from the numerator and denominator
+     *
+     * @return consistent int hashcode
+     */
+    @Override
+    public int hashCode() {
+        if (this._big != null) {
+            return this._big.hashCode();
+        }
+        return 31 * Long.hashCode(this._numerator) + Long.hashCode(this._denominator);
+    }
+
+    /**
+     * Returns a string representation of `AdaptiveRational`
+     * If this is a whole number, returns string of numerator
+     * If this is not a whole number, returns a fraction with negative sign at front
+     *
+     * @return String representation of `AdaptiveRational` object
+     */
+    @Override
+    public String toString() {
+        if (this._big != null) {
+            return this._big.toString();
+        } else if (this._denominator == 1) {
+            return Long.toString(this._numerator);
+        }
+        return this._numerator + "/" + this._denominator;
+    }
+
+    /**
+     * Converts this value to a `BigRational`
+     *
+     * @return `BigRational` with the same value
+     */
+    public BigRational toBigRational() {
+        if (this._big != null) {
+            return this._big;
+        }
+        return BigRational.fromReducedLongs(this._numerator, this._denominator);
+    }
+
+    /**
+     * Converts this value to a `Rational`
+     *
+     * @return `Rational` with the same value
+     * @throws ArithmeticException when the value does not fit in a `Rational`
+     */
+    public Rational toRational() throws ArithmeticException {
+        if (this._big != null) {
+            throw new ArithmeticException(this + " does not fit in a Rational");
+        }
+        return Rational.fromReducedLongs(this._numerator, this._denominator);
+    }
+
+    @Override
+    public int intValue() {
+        return (int) this.longValue();
+    }
+
+    @Override
+    public long longValue() {
+        return this._big == null ? this._numerator / this._denominator : this._big.longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) this.doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        // Both members convert exactly, so the division rounds only once
+        if (this._big == null && Math.abs(this._numerator) <= (1L << 53) && this._denominator <= (1L << 53)) {
+            return (double) this._numerator / this._denominator;
+        }
+        return this.toBigRational().doubleValue();
+    }
+
+    /**
+     * Helper method which returns whether this value has int members, so products
+     * of its members with those of another such value fit in a long
+     */
+    boolean fitsInInt() {
+        return this._numerator == (int) this._numerator && this._denominator <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Helper method which returns whether this value is held in long members
+     */
+    boolean isCompact() {
+        return this._big == null;
+    }
+
+    /**
+     * Helper method which returns whether a `BigInteger` fits in a long that can
+     * be negated
+     */
+    private static boolean fitsInLong(BigInteger value) {
+        return value.bitLength() < Long.SIZE && value.longValue() != Long.MIN_VALUE;
+    }
+
+    /**
+     * Helper method which creates an `AdaptiveRational` from reduced long members
+     * with a positive denominator, promoting it when the numerator can't be
+     * negated
+     */
+    private static AdaptiveRational compact(long numerator, long denominator) {
+        if (numerator == Long.MIN_VALUE) {
+            return new AdaptiveRational(BigRational.fromReducedLongs(numerator, denominator));
+        }
+        return new AdaptiveRational(numerator, denominator, null);
+    }
+}
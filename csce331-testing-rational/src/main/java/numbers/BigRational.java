@@ -0,0 +1,601 @@
+package numbers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * This class implements an arbitrary precision rational number. That is, a value
+ * with a numerator and denominator in which both values are `BigInteger`s, so
+ * results never overflow. The sign is always kept in the numerator.
+ *
+ * Operands whose intermediate results are known to fit in a long from the bit
+ * lengths of their members are computed with long arithmetic, and everything
+ * else with `BigInteger` arithmetic.
+ */
+public class BigRational extends Number implements Comparable<BigRational> {
+    // Below this many bits BigInteger.gcd beats Lehmer's algorithm, which pays for
+    // a few BigInteger allocations per step
+    static final int LEHMER_THRESHOLD = 512;
+    // Members below this many bits can be negated without overflowing a long
+    private static final int LONG_BITS = Long.SIZE - 1;
+
+    private BigInteger _numerator = BigInteger.ZERO;
+    private BigInteger _denominator = BigInteger.ONE;
+
+    /**
+     * `BigRational` with a value 0 / 1
+     */
+    public final static BigRational ZERO = new BigRational();
+
+    /**
+     * `BigRational` with a value 1 / 1
+     */
+    public final static BigRational ONE = fromReduced(BigInteger.ONE, BigInteger.ONE);
+
+    /**
+     * `BigRational` with a value -1 / 1
+     */
+    public final static BigRational MINUS_ONE = fromReduced(BigInteger.ONE.negate(), BigInteger.ONE);
+
+    /**
+     * Default constructor. Creates a new `BigRational` with a value 0 / 1
+     */
+    public BigRational() {
+        super();
+    }
+
+    /**
+     * Constructor which creates a `BigRational` given an integer
+     *
+     * @param numerator Integer value which to reflect in the `BigRational`
+     */
+    public BigRational(long numerator) {
+        this(BigInteger.valueOf(numerator));
+    }
+
+    /**
+     * Constructor which creates a `BigRational` given a specified numerator and
+     * denominator
+     *
+     * @param numerator   Numerator of `BigRational`
+     * @param denominator Denominator of `BigRational`
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public BigRational(long numerator, long denominator) throws IllegalArgumentException {
+        this(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * Constructor which creates a `BigRational` given an integer
+     *
+     * @param numerator Integer value which to reflect in the `BigRational`
+     */
+    public BigRational(BigInteger numerator) {
+        this(numerator, BigInteger.ONE);
+    }
+
+    /**
+     * Constructor which creates a `BigRational` given a specified numerator and
+     * denominator
+     *
+     * @param numerator   Numerator of `BigRational`
+     * @param denominator Denominator of `BigRational`
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public BigRational(BigInteger numerator, BigInteger denominator) throws IllegalArgumentException {
+        super();
+        if (denominator.signum() == 0) {
+            throw new IllegalArgumentException("Denominator must not be 0");
+        }
+
+        this._numerator = numerator;
+        this._denominator = denominator;
+        this.simplify();
+    }
+
+    /**
+     * Constructor which creates a `BigRational` with the same value as a
+     * `Rational`
+     *
+     * @param original `Rational` to be copied
+     */
+    public BigRational(Rational original) {
+        super();
+        // A denominator of Integer.MIN_VALUE carries the sign of the value
+        long numerator = original.numerator();
+        long denominator = original.denominator();
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        this._numerator = BigInteger.valueOf(numerator);
+        this._denominator = BigInteger.valueOf(denominator);
+    }
+
+    /**
+     * Constructor which copies the contents of another `BigRational`
+     *
+     * @param original `BigRational` to be copied
+     */
+    public BigRational(BigRational original) {
+        super();
+        this._numerator = original._numerator;
+        this._denominator = original._denominator;
+    }
+
+    /**
+     * Accessor method for private _numerator member
+     *
+     * @return this._numerator
+     */
+    public BigInteger numerator() {
+        return this._numerator;
+    }
+
+    /**
+     * Accessor method for private _denominator member
+     *
+     * @return this._denominator
+     */
+    public BigInteger denominator() {
+        return this._denominator;
+    }
+
+    /**
+     * Creates a new `BigRational` which is the additive inverse of this object
+     *
+     * @return Additive inverse of current object
+     */
+    public BigRational opposite() {
+        return fromReduced(this._numerator.negate(), this._denominator);
+    }
+
+    /**
+     * Creates a new `BigRational` which is the reciprocal of this object
+     *
+     * @return Reciprocal of current object
+     * @throws IllegalArgumentException when numerator is 0
+     */
+    public BigRational reciprocal() throws IllegalArgumentException {
+        if (this.isZero()) {
+            throw new IllegalArgumentException("Numerator of current object is 0. This will result in a divide by 0");
+        } else if (this._numerator.signum() < 0) {
+            return fromReduced(this._denominator.negate(), this._numerator.negate());
+        }
+        return fromReduced(this._denominator, this._numerator);
+    }
+
+    /**
+     * Multiplies self by another `BigRational` and returns a new `BigRational`
+     * with the result. Numerators and denominators are cross cancelled first, so
+     * the product is in lowest terms without a gcd of the full product.
+     *
+     * @param multiplier `BigRational` value to multiply by
+     * @return `BigRational` with result of multiplication
+     */
+    public BigRational times(BigRational multiplier) {
+        if (this.isZero() || multiplier.isZero()) {
+            return ZERO;
+        }
+
+        // Products of members whose bit lengths sum below 63 can't overflow a long
+        if (bitLength(this._numerator, multiplier._numerator) < LONG_BITS
+                && bitLength(this._denominator, multiplier._denominator) < LONG_BITS) {
+            long firstNumerator = this._numerator.longValue();
+            long firstDenominator = this._denominator.longValue();
+            long secondNumerator = multiplier._numerator.longValue();
+            long secondDenominator = multiplier._denominator.longValue();
+            long firstGCD = gcd(firstNumerator, secondDenominator);
+            long secondGCD = gcd(secondNumerator, firstDenominator);
+            return fromReducedLongs((firstNumerator / firstGCD) * (secondNumerator / secondGCD),
+                    (firstDenominator / secondGCD) * (secondDenominator / firstGCD));
+        }
+
+        BigInteger firstGCD = gcd(this._numerator, multiplier._denominator);
+        BigInteger secondGCD = gcd(multiplier._numerator, this._denominator);
+        return fromReduced(
+                this._numerator.divide(firstGCD).multiply(multiplier._numerator.divide(secondGCD)),
+                this._denominator.divide(secondGCD).multiply(multiplier._denominator.divide(firstGCD)));
+    }
+
+    /**
+     * Divides self by another `BigRational` and returns a new `BigRational` with
+     * the result. This implementation multiplies self with reciprocal of divisor
+     *
+     * @param divisor `BigRational` value to divide by
+     * @return `BigRational` result of division
+     * @throws IllegalArgumentException when divisor is equivalent to 0
+     */
+    public BigRational dividedBy(BigRational divisor) throws IllegalArgumentException {
+        return this.times(divisor.reciprocal());
+    }
+
+    /**
+     * Adds self by another `BigRational` and returns resulting `BigRational`
+     * value. Only the gcd of the denominators can divide the sum of the cross
+     * terms, so the final reduction works on that gcd instead of the full
+     * denominator.
+     *
+     * @param addend `BigRational` value to be added this object
+     * @return `BigRational` value which is the result of summing this and addend
+     */
+    public BigRational plus(BigRational addend) {
+        // Cross terms below 62 bits can be summed without overflowing a long
+        if (bitLength(this._numerator, addend._denominator) < LONG_BITS - 1
+                && bitLength(addend._numerator, this._denominator) < LONG_BITS - 1
+                && bitLength(this._denominator, addend._denominator) < LONG_BITS) {
+            long firstNumerator = this._numerator.longValue();
+            long firstDenominator = this._denominator.longValue();
+            long secondNumerator = addend._numerator.longValue();
+            long secondDenominator = addend._denominator.longValue();
+            long denominatorGCD = gcd(firstDenominator, secondDenominator);
+            long tempNumerator = firstNumerator * (secondDenominator / denominatorGCD)
+                    + secondNumerator * (firstDenominator / denominatorGCD);
+            long divisor = gcd(tempNumerator, denominatorGCD);
+            return fromReducedLongs(tempNumerator / divisor,
+                    (firstDenominator / denominatorGCD) * (secondDenominator / divisor));
+        }
+
+        BigInteger denominatorGCD = gcd(this._denominator, addend._denominator);
+        BigInteger firstScale = addend._denominator.divide(denominatorGCD);
+        BigInteger secondScale = this._denominator.divide(denominatorGCD);
+        BigInteger tempNumerator = this._numerator.multiply(firstScale).add(addend._numerator.multiply(secondScale));
+        BigInteger divisor = gcd(tempNumerator, denominatorGCD);
+        return fromReduced(tempNumerator.divide(divisor),
+                secondScale.multiply(addend._denominator.divide(divisor)));
+    }
+
+    /**
+     * Subtracts given `BigRational` from self and returns resulting `BigRational`
+     * value
+     *
+     * @param subtrahend `BigRational` value to be subtracted
+     * @return `BigRational` result of subtracting subtrahend to this object
+     */
+    public BigRational minus(BigRational subtrahend) {
+        return this.plus(subtrahend.opposite());
+    }
+
+    /**
+     * Returns a new `BigRational` value which reflects this^exponent. A reduced
+     * fraction stays reduced when its numerator and denominator are raised to the
+     * same power, so both are powered independently without any gcd.
+     *
+     * @param exponent power of which this is being raised
+     * @return `BigRational` result of raising this object to the power of exponent
+     * @throws IllegalArgumentException when this is 0 and exponent is negative
+     */
+    public BigRational raisedToThePowerOf(int exponent) throws IllegalArgumentException {
+        if (exponent == 0) {
+            return ONE;
+        } else if (exponent == Integer.MIN_VALUE) {
+            // -Integer.MIN_VALUE does not fit in an int
+            return this.raisedToThePowerOf(exponent / 2).raisedToThePowerOf(2);
+        } else if (exponent < 0) {
+            return this.reciprocal().raisedToThePowerOf(-exponent);
+        }
+        return fromReduced(this._numerator.pow(exponent), this._denominator.pow(exponent));
+    }
+
+    /**
+     * Function for checking if this is zero
+     *
+     * @return boolean as to whether this is 0
+     */
+    public boolean isZero() {
+        return this._numerator.signum() == 0;
+    }
+
+    /**
+     * Function for checking if this is 1
+     *
+     * @return boolean as to whether this is 1
+     */
+    public boolean isOne() {
+        return this._numerator.equals(BigInteger.ONE) && this._denominator.equals(BigInteger.ONE);
+    }
+
+    /**
+     * Function for checking if this is -1
+     *
+     * @return boolean as to whether this is -1
+     */
+    public boolean isMinusOne() {
+        return this._numerator.equals(MINUS_ONE._numerator) && this._denominator.equals(BigInteger.ONE);
+    }
+
+    /**
+     * Returns whether this object's value is less than a given `BigRational`
+     *
+     * @param comparand `BigRational` value to be compared to
+     * @return boolean as to whether or not this value is less than comparand
+     */
+    public boolean lessThan(BigRational comparand) {
+        return comparand != null && this.compareTo(comparand) < 0;
+    }
+
+    /**
+     * Returns whether this object's value is greater than a given `BigRational`
+     *
+     * @param comparand `BigRational` value to be compared to
+     * @return boolean as to whether or not this value is greater than comparand
+     */
+    public boolean greaterThan(BigRational comparand) {
+        return comparand != null && this.compareTo(comparand) > 0;
+    }
+
+    /**
+     * Compares this object's value to another `BigRational`. Values of different
+     * signs are ordered without any multiplication, and values whose members fit
+     * in a long are cross multiplied into 128-bit products.
+     *
+     * @param o `BigRational` value to be compared to
+     * @return negative, zero or positive as this is less than, equal to or greater
+     *         than o
+     */
+    @Override
+    public int compareTo(BigRational o) {
+        int signComparison = Integer.compare(this._numerator.signum(), o._numerator.signum());
+        if (signComparison != 0 || this._numerator.signum() == 0) {
+            return signComparison;
+        }
+
+        if (this.fitsInLong() && o.fitsInLong()) {
+            long firstNumerator = this._numerator.longValue();
+            long secondDenominator = o._denominator.longValue();
+            long secondNumerator = o._numerator.longValue();
+            long firstDenominator = this._denominator.longValue();
+            int highComparison = Long.compare(Math.multiplyHigh(firstNumerator, secondDenominator),
+                    Math.multiplyHigh(secondNumerator, firstDenominator));
+            if (highComparison != 0) {
+                return highComparison;
+            }
+            return Long.compareUnsigned(firstNumerator * secondDenominator, secondNumerator * firstDenominator);
+        }
+        return this._numerator.multiply(o._denominator).compareTo(o._numerator.multiply(this._denominator));
+    }
+
+    /**
+     * Determines whether this object is equivalent in value to another object.
+     * If given object is not a `BigRational`, returns false.
+     *
+     * @param object object to check equality of
+     * @return boolean as to whether given object is is equivalent to this
+     *         `BigRational` value
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        } else if (!(object instanceof BigRational)) {
+            return false;
+        }
+        BigRational other = (BigRational) object;
+        return this._numerator.equals(other._numerator) && this._denominator.equals(other._denominator);
+    }
+
+    /**
+     * Returns hashcode computed from the numerator and denominator. Simplified
+     * values are unique, so equal `BigRational` values have equal hashcodes.
+     *
+     * @return consistent int hashcode
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this._numerator.hashCode() + this._denominator.hashCode();
+    }
+
+    /**
+     * Returns a string representation of `BigRational`
+     * If this is a whole number, returns string of numerator
+     * If this is not a whole number, returns a fraction with negative sign at front
+     *
+     * @return String representation of `BigRational` object
+     */
+    @Override
+    public String toString() {
+        if (this._denominator.equals(BigInteger.ONE)) {
+            return this._numerator.toString();
+        }
+        return this._numerator + "/" + this._denominator;
+    }
+
+    /**
+     * Converts this value to a `Rational`
+     *
+     * @return `Rational` with the same value
+     * @throws ArithmeticException when the value does not fit in a `Rational`
+     */
+    public Rational toRational() throws ArithmeticException {
+        if (this._numerator.bitLength() >= Long.SIZE || this._denominator.bitLength() >= Long.SIZE) {
+            throw new ArithmeticException(this + " does not fit in a Rational");
+        }
+        return Rational.fromReducedLongs(this._numerator.longValue(), this._denominator.longValue());
+    }
+
+    @Override
+    public int intValue() {
+        return this._numerator.divide(this._denominator).intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return this._numerator.divide(this._denominator).longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) this.doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        // Both members convert exactly, so the division rounds only once
+        if (this._numerator.bitLength() <= 53 && this._denominator.bitLength() <= 53) {
+            return this._numerator.doubleValue() / this._denominator.doubleValue();
+        }
+        return new BigDecimal(this._numerator).divide(new BigDecimal(this._denominator), MathContext.DECIMAL128)
+                .doubleValue();
+    }
+
+    /**
+     * Helper method which simplifies the numerator and denominator by ensuring sign
+     * is in numerator and both numbers are divided by their gcd
+     */
+    private void simplify() {
+        if (this._numerator.signum() == 0) {
+            this._denominator = BigInteger.ONE;
+            return;
+        }
+
+        BigInteger divisor = gcd(this._numerator, this._denominator);
+        if (this._denominator.signum() < 0) {
+            divisor = divisor.negate();
+        }
+        this._numerator = this._numerator.divide(divisor);
+        this._denominator = this._denominator.divide(divisor);
+    }
+
+    /**
+     * Helper method which returns whether both members fit in a long with room to
+     * negate them
+     */
+    private boolean fitsInLong() {
+        return this._numerator.bitLength() < LONG_BITS && this._denominator.bitLength() < LONG_BITS;
+    }
+
+    /**
+     * Helper method which returns the sum of the bit lengths of two `BigInteger`s,
+     * which bounds the bit length of their product
+     */
+    private static int bitLength(BigInteger a, BigInteger b) {
+        return a.bitLength() + b.bitLength();
+    }
+
+    /**
+     * Helper method which creates a `BigRational` from members that are already
+     * reduced with a positive denominator
+     */
+    static BigRational fromReduced(BigInteger numerator, BigInteger denominator) {
+        BigRational result = new BigRational();
+        result._numerator = numerator;
+        result._denominator = denominator;
+        return result;
+    }
+
+    /**
+     * Helper method which creates a `BigRational` from long members that are
+     * already reduced with a positive denominator
+     */
+    static BigRational fromReducedLongs(long numerator, long denominator) {
+        return fromReduced(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * Helper method which returns the non-negative greatest common divisor of two
+     * `BigInteger`s. Values that fit in a long use the binary gcd, large values use
+     * Lehmer's algorithm, and everything in between uses `BigInteger.gcd`.
+     *
+     * @param a First `BigInteger` to be compared
+     * @param b Second `BigInteger` to be compared
+     * @return greatest common divisor between two numbers
+     */
+    static BigInteger gcd(BigInteger a, BigInteger b) {
+        if (a.bitLength() < LONG_BITS && b.bitLength() < LONG_BITS) {
+            return BigInteger.valueOf(gcd(a.longValue(), b.longValue()));
+        } else if (Math.min(a.bitLength(), b.bitLength()) < LEHMER_THRESHOLD) {
+            return a.gcd(b);
+        }
+        return lehmerGCD(a.abs(), b.abs());
+    }
+
+    /**
+     * Helper method which implements the binary (Stein's) algorithm for computing
+     * gcd. Only shifts and subtractions are used, which are cheaper than the
+     * divisions of the euclidean algorithm. The absolute value of Long.MIN_VALUE
+     * is handled as the unsigned value 2^63.
+     *
+     * @param a First long to be compared
+     * @param b Second long to be compared
+     * @return greatest common divisor between two numbers, 0 if both are 0
+     */
+    static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        if (a == 0) {
+            return b;
+        } else if (b == 0) {
+            return a;
+        }
+
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>>= Long.numberOfTrailingZeros(a);
+        while (b != 0) {
+            // Both values are odd here, so their difference is even
+            b >>>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long tmp = a;
+                a = b;
+                b = tmp;
+            }
+            b -= a;
+        }
+        return a << shift;
+    }
+
+    /**
+     * Helper method which implements Lehmer's algorithm for computing gcd of two
+     * non-negative values. Euclidean steps are simulated on the leading 62 bits of
+     * both values, and the combined quotients are applied to the full values at
+     * once, so most full precision divisions are replaced by four multiplications
+     * by a long.
+     */
+    private static BigInteger lehmerGCD(BigInteger a, BigInteger b) {
+        if (a.compareTo(b) < 0) {
+            BigInteger tmp = a;
+            a = b;
+            b = tmp;
+        }
+
+        while (b.bitLength() >= LEHMER_THRESHOLD) {
+            int shift = a.bitLength() - (LONG_BITS - 1);
+            long x = a.shiftRight(shift).longValue();
+            long y = b.shiftRight(shift).longValue();
+
+            // Cofactors such that the simulated values are x = A*a + B*b and y = C*a + D*b
+            long A = 1;
+            long B = 0;
+            long C = 0;
+            long D = 1;
+            // Stops once the quotient of the leading bits might differ from the true one
+            while (y + C != 0 && y + D != 0) {
+                long quotient = (x + A) / (y + C);
+                if (quotient != (x + B) / (y + D)) {
+                    break;
+                }
+                long tmp = A - quotient * C;
+                A = C;
+                C = tmp;
+                tmp = B - quotient * D;
+                B = D;
+                D = tmp;
+                tmp = x - quotient * y;
+                x = y;
+                y = tmp;
+            }
+
+            if (B == 0) {
+                // No quotient could be simulated, so one full precision step is taken
+                BigInteger remainder = a.mod(b);
+                a = b;
+                b = remainder;
+            } else {
+                BigInteger nextA = a.multiply(BigInteger.valueOf(A)).add(b.multiply(BigInteger.valueOf(B)));
+                b = a.multiply(BigInteger.valueOf(C)).add(b.multiply(BigInteger.valueOf(D)));
+                a = nextA;
+            }
+        }
+        return a.gcd(b);
+    }
+}
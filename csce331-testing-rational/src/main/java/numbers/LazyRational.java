@@ -0,0 +1,417 @@
+package numbers;
+
+/**
+ * This class implements a rational number with long members which are not
+ * reduced after every operation. Sums and products are kept as plain cross
+ * products, and the gcd reduction only runs when the next result would overflow
+ * a long or when the value is observed through `numerator()`, `denominator()`,
+ * `equals`, `hashCode`, `toString` or a numeric conversion. A chain of
+ * operations on small values therefore does one gcd at the end instead of one
+ * per step.
+ *
+ * Operations throw an `ArithmeticException` when even the reduced result does
+ * not fit in long members.
+ */
+public class LazyRational extends Number implements Comparable<LazyRational> {
+    private final long _numerator;
+    // Always positive, so unreduced values never need a sign fix
+    private final long _denominator;
+    // Reduced form of this value, set on first observation. A single reference is
+    // published so other threads never see a numerator and denominator from
+    // different forms.
+    private LazyRational _normalized;
+
+    /**
+     * `LazyRational` with a value 0 / 1
+     */
+    public final static LazyRational ZERO = new LazyRational(0, 1, true);
+
+    /**
+     * `LazyRational` with a value 1 / 1
+     */
+    public final static LazyRational ONE = new LazyRational(1, 1, true);
+
+    /**
+     * Default constructor. Creates a new `LazyRational` with a value 0 / 1
+     */
+    public LazyRational() {
+        this(0, 1, true);
+    }
+
+    /**
+     * Constructor which creates a `LazyRational` given an integer
+     *
+     * @param numerator Integer value which to reflect in the `LazyRational`
+     */
+    public LazyRational(long numerator) {
+        this(numerator, 1, true);
+    }
+
+    /**
+     * Constructor which creates a `LazyRational` given a specified numerator and
+     * denominator. The fraction is not simplified until it is observed.
+     *
+     * @param numerator   Numerator of `LazyRational`
+     * @param denominator Denominator of `LazyRational`
+     * @throws IllegalArgumentException when denominator is set to 0
+     * @throws ArithmeticException      when the sign can't be moved to the
+     *                                  numerator without overflowing
+     */
+    public LazyRational(long numerator, long denominator) throws IllegalArgumentException, ArithmeticException {
+        this(denominator < 0 ? Math.negateExact(numerator) : numerator, checkedDenominator(denominator), false);
+    }
+
+    /**
+     * Constructor which creates a `LazyRational` with the same value as a
+     * `Rational`
+     *
+     * @param original `Rational` to be copied
+     */
+    public LazyRational(Rational original) {
+        // A denominator of Integer.MIN_VALUE carries the sign of the value
+        this(original.signedNumerator(), original.positiveDenominator(), true);
+    }
+
+    /**
+     * Helper constructor which sets the members directly. Values that are known to
+     * be reduced are their own normalized form.
+     */
+    private LazyRational(long numerator, long denominator, boolean normalized) {
+        super();
+        this._numerator = numerator;
+        this._denominator = denominator;
+        this._normalized = normalized ? this : null;
+    }
+
+    /**
+     * Returns the numerator of the reduced fraction
+     *
+     * @return numerator with the sign of this value
+     */
+    public long numerator() {
+        return this.normalized()._numerator;
+    }
+
+    /**
+     * Returns the denominator of the reduced fraction
+     *
+     * @return positive denominator
+     */
+    public long denominator() {
+        return this.normalized()._denominator;
+    }
+
+    /**
+     * Creates a new `LazyRational` which is the additive inverse of this object
+     *
+     * @return Additive inverse of current object
+     * @throws ArithmeticException when the numerator can't be negated
+     */
+    public LazyRational opposite() throws ArithmeticException {
+        LazyRational value = this._numerator == Long.MIN_VALUE ? this.normalized() : this;
+        return new LazyRational(Math.negateExact(value._numerator), value._denominator, value.isNormalized());
+    }
+
+    /**
+     * Creates a new `LazyRational` which is the reciprocal of this object
+     *
+     * @return Reciprocal of current object
+     * @throws IllegalArgumentException when numerator is 0
+     * @throws ArithmeticException      when the numerator can't be negated
+     */
+    public LazyRational reciprocal() throws IllegalArgumentException, ArithmeticException {
+        if (this._numerator == 0) {
+            throw new IllegalArgumentException("Numerator of current object is 0. This will result in a divide by 0");
+        }
+        LazyRational value = this._numerator == Long.MIN_VALUE ? this.normalized() : this;
+        if (value._numerator < 0) {
+            return new LazyRational(-value._denominator, Math.negateExact(value._numerator), value.isNormalized());
+        }
+        return new LazyRational(value._denominator, value._numerator, value.isNormalized());
+    }
+
+    /**
+     * Multiplies self by another `LazyRational` and returns a new `LazyRational`
+     * with the result. The members are multiplied without any gcd unless a
+     * product would overflow, in which case both operands are reduced and cross
+     * cancelled first.
+     *
+     * @param multiplier `LazyRational` value to multiply by
+     * @return `LazyRational` with result of multiplication
+     * @throws ArithmeticException when the reduced product does not fit in long
+     *                             members
+     */
+    public LazyRational times(LazyRational multiplier) throws ArithmeticException {
+        long numerator = this._numerator * multiplier._numerator;
+        if (RationalLong.productFits(this._numerator, multiplier._numerator, numerator) && numerator != Long.MIN_VALUE
+                && RationalLong.productFits(this._denominator, multiplier._denominator)) {
+            return new LazyRational(numerator, this._denominator * multiplier._denominator, false);
+        }
+
+        LazyRational first = this.normalized();
+        LazyRational second = multiplier.normalized();
+        long firstGCD = BigRational.gcd(first._numerator, second._denominator);
+        long secondGCD = BigRational.gcd(second._numerator, first._denominator);
+        return new LazyRational(
+                Math.multiplyExact(first._numerator / firstGCD, second._numerator / secondGCD),
+                Math.multiplyExact(first._denominator / secondGCD, second._denominator / firstGCD), true);
+    }
+
+    /**
+     * Divides self by another `LazyRational` and returns a new `LazyRational`
+     * with the result. This implementation multiplies self with reciprocal of
+     * divisor
+     *
+     * @param divisor `LazyRational` value to divide by
+     * @return `LazyRational` result of division
+     * @throws IllegalArgumentException when divisor is equivalent to 0
+     * @throws ArithmeticException      when the reduced quotient does not fit in
+     *                                  long members
+     */
+    public LazyRational dividedBy(LazyRational divisor) throws IllegalArgumentException, ArithmeticException {
+        return this.times(divisor.reciprocal());
+    }
+
+    /**
+     * Adds self by another `LazyRational` and returns resulting `LazyRational`
+     * value. The cross products are summed without any gcd unless they would
+     * overflow, in which case both operands are reduced and only the gcd of the
+     * denominators is divided out.
+     *
+     * @param addend `LazyRational` value to be added this object
+     * @return `LazyRational` value which is the result of summing this and addend
+     * @throws ArithmeticException when the reduced sum does not fit in long members
+     */
+    public LazyRational plus(LazyRational addend) throws ArithmeticException {
+        long firstTerm = this._numerator * addend._denominator;
+        long secondTerm = addend._numerator * this._denominator;
+        long numerator = firstTerm + secondTerm;
+        // The sum overflowed if it has a different sign from both terms
+        if (RationalLong.productFits(this._numerator, addend._denominator, firstTerm)
+                && RationalLong.productFits(addend._numerator, this._denominator, secondTerm)
+                && ((firstTerm ^ numerator) & (secondTerm ^ numerator)) >= 0 && numerator != Long.MIN_VALUE
+                && RationalLong.productFits(this._denominator, addend._denominator)) {
+            return new LazyRational(numerator, this._denominator * addend._denominator, false);
+        }
+
+        LazyRational first = this.normalized();
+        LazyRational second = addend.normalized();
+        long denominatorGCD = BigRational.gcd(first._denominator, second._denominator);
+        long tempNumerator = Math.addExact(Math.multiplyExact(first._numerator, second._denominator / denominatorGCD),
+                Math.multiplyExact(second._numerator, first._denominator / denominatorGCD));
+        long divisor = BigRational.gcd(tempNumerator, denominatorGCD);
+        return new LazyRational(tempNumerator / divisor,
+                Math.multiplyExact(first._denominator / denominatorGCD, second._denominator / divisor), true);
+    }
+
+    /**
+     * Subtracts given `LazyRational` from self and returns resulting
+     * `LazyRational` value
+     *
+     * @param subtrahend `LazyRational` value to be subtracted
+     * @return `LazyRational` result of subtracting subtrahend to this object
+     * @throws ArithmeticException when the reduced difference does not fit in long
+     *                             members
+     */
+    public LazyRational minus(LazyRational subtrahend) throws ArithmeticException {
+        return this.plus(subtrahend.opposite());
+    }
+
+    /**
+     * Returns a new `LazyRational` value which reflects this^exponent. The value
+     * is reduced first, since powers grow too fast to defer it, and then the
+     * numerator and denominator are powered independently.
+     *
+     * @param exponent power of which this is being raised
+     * @return `LazyRational` result of raising this object to the power of exponent
+     * @throws IllegalArgumentException when this is 0 and exponent is negative
+     * @throws ArithmeticException      when the result does not fit in long
+     *                                  members
+     */
+    public LazyRational raisedToThePowerOf(int exponent) throws IllegalArgumentException, ArithmeticException {
+        if (exponent == 0) {
+            return ONE;
+        }
+        LazyRational base = exponent < 0 ? this.reciprocal().normalized() : this.normalized();
+        long magnitude = Math.abs((long) exponent);
+        return new LazyRational(RationalLong.power(base._numerator, magnitude),
+                RationalLong.power(base._denominator, magnitude), true);
+    }
+
+    /**
+     * Function for checking if this is zero
+     *
+     * @return boolean as to whether this is 0
+     */
+    public boolean isZero() {
+        return this._numerator == 0;
+    }
+
+    /**
+     * Function for checking if this is 1
+     *
+     * @return boolean as to whether this is 1
+     */
+    public boolean isOne() {
+        return this._numerator == this._denominator;
+    }
+
+    /**
+     * Function for checking if this is -1
+     *
+     * @return boolean as to whether this is -1
+     */
+    public boolean isMinusOne() {
+        return this._numerator == -this._denominator;
+    }
+
+    /**
+     * Returns whether this object's value is less than a given `LazyRational`
+     *
+     * @param comparand `LazyRational` value to be compared to
+     * @return boolean as to whether or not this value is less than comparand
+     */
+    public boolean lessThan(LazyRational comparand) {
+        return comparand != null && this.compareTo(comparand) < 0;
+    }
+
+    /**
+     * Returns whether this object's value is greater than a given `LazyRational`
+     *
+     * @param comparand `LazyRational` value to be compared to
+     * @return boolean as to whether or not this value is greater than comparand
+     */
+    public boolean greaterThan(LazyRational comparand) {
+        return comparand != null && this.compareTo(comparand) > 0;
+    }
+
+    /**
+     * Compares this object's value to another `LazyRational`. The members are
+     * cross multiplied into 128-bit products, so neither value has to be reduced.
+     *
+     * @param o `LazyRational` value to be compared to
+     * @return negative, zero or positive as this is less than, equal to or greater
+     *         than o
+     */
+    @Override
+    public int compareTo(LazyRational o) {
+        int highComparison = Long.compare(Math.multiplyHigh(this._numerator, o._denominator),
+                Math.multiplyHigh(o._numerator, this._denominator));
+        if (highComparison != 0) {
+            return highComparison;
+        }
+        return Long.compareUnsigned(this._numerator * o._denominator, o._numerator * this._denominator);
+    }
+
+    /**
+     * Determines whether this object is equivalent in value to another object.
+     * If given object is not a `LazyRational`, returns false.
+     *
+     * @param object object to check equality of
+     * @return boolean as to whether given object is is equivalent to this
+     *         `LazyRational` value
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        } else if (!(object instanceof LazyRational)) {
+            return false;
+        }
+        LazyRational first = this.normalized();
+        LazyRational second = ((LazyRational) object).normalized();
+        return first._numerator == second._numerator && first._denominator == second._denominator;
+    }
+
+    /**
+     * Returns hashcode computed from the reduced numerator and denominator
+     *
+     * @return consistent int hashcode
+     */
+    @Override
+    public int hashCode() {
+        LazyRational value = this.normalized();
+        return 31 * Long.hashCode(value._numerator) + Long.hashCode(value._denominator);
+    }
+
+    /**
+     * Returns a string representation of the reduced `LazyRational`
+     * If this is a whole number, returns string of numerator
+     * If this is not a whole number, returns a fraction with negative sign at front
+     *
+     * @return String representation of `LazyRational` object
+     */
+    @Override
+    public String toString() {
+        LazyRational value = this.normalized();
+        if (value._denominator == 1) {
+            return Long.toString(value._numerator);
+        }
+        return value._numerator + "/" + value._denominator;
+    }
+
+    /**
+     * Converts this value to a `Rational`
+     *
+     * @return `Rational` with the same value
+     * @throws ArithmeticException when the value does not fit in a `Rational`
+     */
+    public Rational toRational() throws ArithmeticException {
+        LazyRational value = this.normalized();
+        return Rational.fromReducedLongs(value._numerator, value._denominator);
+    }
+
+    @Override
+    public int intValue() {
+        return (int) this.longValue();
+    }
+
+    @Override
+    public long longValue() {
+        LazyRational value = this.normalized();
+        return value._numerator / value._denominator;
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) this.doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        LazyRational value = this.normalized();
+        return (double) value._numerator / value._denominator;
+    }
+
+    /**
+     * Helper method which returns whether this value is known to be reduced
+     */
+    boolean isNormalized() {
+        return this._normalized == this;
+    }
+
+    /**
+     * Helper method which returns the reduced form of this value, computing it on
+     * first use. Racing threads compute the same value, so no locking is needed.
+     */
+    private LazyRational normalized() {
+        LazyRational normalized = this._normalized;
+        if (normalized == null) {
+            long divisor = BigRational.gcd(this._numerator, this._denominator);
+            normalized = new LazyRational(this._numerator / divisor, this._denominator / divisor, true);
+            this._normalized = normalized;
+        }
+        return normalized;
+    }
+
+    /**
+     * Helper method which checks that a denominator is not 0 and returns it made
+     * positive
+     */
+    private static long checkedDenominator(long denominator) throws IllegalArgumentException, ArithmeticException {
+        if (denominator == 0) {
+            throw new IllegalArgumentException("Denominator must not be 0");
+        }
+        return Math.absExact(denominator);
+    }
+}
@@ -0,0 +1,273 @@
+package numbers;
+
+/**
+ * This class implements a mutable rational number meant to be used as an
+ * accumulator. Unlike `Rational`, the arithmetic methods update this object in
+ * place instead of allocating a new value, so running sums and products over
+ * many values allocate nothing until `toRational()` is called.
+ *
+ * The value is held in long components with a positive denominator and is always
+ * kept in lowest terms. Operations throw an `ArithmeticException` instead of
+ * overflowing, in which case the value is left unchanged.
+ */
+public class MutableRational {
+    private long _numerator = 0;
+    private long _denominator = 1;
+
+    /**
+     * Default constructor. Creates a new `MutableRational` with a value 0 / 1
+     */
+    public MutableRational() {
+    }
+
+    /**
+     * Constructor which creates a `MutableRational` holding the value of a
+     * `Rational`
+     *
+     * @param initial `Rational` value to start from
+     */
+    public MutableRational(Rational initial) {
+        this.set(initial);
+    }
+
+    /**
+     * Accessor method for private _numerator member
+     *
+     * @return this._numerator
+     */
+    public long numerator() {
+        return this._numerator;
+    }
+
+    /**
+     * Accessor method for private _denominator member. This is always positive.
+     *
+     * @return this._denominator
+     */
+    public long denominator() {
+        return this._denominator;
+    }
+
+    /**
+     * Function for checking if this is zero
+     *
+     * @return boolean as to whether this is zero
+     */
+    public boolean isZero() {
+        return this._numerator == 0;
+    }
+
+    /**
+     * Overwrites the value of this object with the value of a `Rational`
+     *
+     * @param value `Rational` value to copy
+     * @return this object
+     */
+    public MutableRational set(Rational value) {
+        this._numerator = value.signedNumerator();
+        this._denominator = value.positiveDenominator();
+        return this;
+    }
+
+    /**
+     * Resets this object to 0 / 1 so it can be reused for another batch
+     *
+     * @return this object
+     */
+    public MutableRational reset() {
+        this._numerator = 0;
+        this._denominator = 1;
+        return this;
+    }
+
+    /**
+     * Adds a `Rational` to this object in place
+     *
+     * @param addend `Rational` value to be added to this object
+     * @return this object
+     * @throws ArithmeticException when the result does not fit in long components
+     */
+    public MutableRational add(Rational addend) throws ArithmeticException {
+        return this.add(addend.signedNumerator(), addend.positiveDenominator());
+    }
+
+    /**
+     * Adds another `MutableRational` to this object in place
+     *
+     * @param addend `MutableRational` value to be added to this object
+     * @return this object
+     * @throws ArithmeticException when the result does not fit in long components
+     */
+    public MutableRational add(MutableRational addend) throws ArithmeticException {
+        return this.add(addend._numerator, addend._denominator);
+    }
+
+    /**
+     * Subtracts a `Rational` from this object in place
+     *
+     * @param subtrahend `Rational` value to be subtracted
+     * @return this object
+     * @throws ArithmeticException when the result does not fit in long components
+     */
+    public MutableRational subtract(Rational subtrahend) throws ArithmeticException {
+        return this.add(-subtrahend.signedNumerator(), subtrahend.positiveDenominator());
+    }
+
+    /**
+     * Multiplies this object by a `Rational` in place
+     *
+     * @param multiplier `Rational` value to multiply by
+     * @return this object
+     * @throws ArithmeticException when the result does not fit in long components
+     */
+    public MutableRational multiply(Rational multiplier) throws ArithmeticException {
+        return this.multiply(multiplier.signedNumerator(), multiplier.positiveDenominator());
+    }
+
+    /**
+     * Multiplies this object by another `MutableRational` in place
+     *
+     * @param multiplier `MutableRational` value to multiply by
+     * @return this object
+     * @throws ArithmeticException when the result does not fit in long components
+     */
+    public MutableRational multiply(MutableRational multiplier) throws ArithmeticException {
+        return this.multiply(multiplier._numerator, multiplier._denominator);
+    }
+
+    /**
+     * Divides this object by a `Rational` in place
+     *
+     * @param divisor `Rational` value to divide by
+     * @return this object
+     * @throws IllegalArgumentException when divisor is equivalent to 0
+     * @throws ArithmeticException      when the result does not fit in long
+     *                                  components
+     */
+    public MutableRational divide(Rational divisor) throws IllegalArgumentException, ArithmeticException {
+        if (divisor.isZero()) {
+            throw new IllegalArgumentException("Numerator of divisor is 0. This will result in a divide by 0");
+        }
+        long numerator = divisor.signedNumerator();
+        long denominator = divisor.positiveDenominator();
+        if (numerator < 0) {
+            return this.multiply(-denominator, -numerator);
+        }
+        return this.multiply(denominator, numerator);
+    }
+
+    /**
+     * Creates a `Rational` snapshot of the current value
+     *
+     * @return `Rational` with the same value as this object
+     * @throws ArithmeticException when the value does not fit in a `Rational`
+     */
+    public Rational toRational() throws ArithmeticException {
+        return Rational.fromReducedLongs(this._numerator, this._denominator);
+    }
+
+    /**
+     * Returns a string representation of this value in the same format as
+     * `Rational.toString()`
+     *
+     * @return String representation of this object
+     */
+    @Override
+    public String toString() {
+        if (this._denominator == 1) {
+            return Long.toString(this._numerator);
+        }
+        return this._numerator + "/" + this._denominator;
+    }
+
+    /**
+     * Helper method which adds a reduced fraction with a positive denominator. Only
+     * the gcd of the denominators has to be divided out of the sum, which keeps
+     * intermediate values as small as in `Rational.plus`.
+     */
+    MutableRational add(long numerator, long denominator) {
+        if (!this.tryAdd(numerator, denominator)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return this;
+    }
+
+    /**
+     * Helper method which multiplies by a reduced fraction with a positive
+     * denominator. Numerators and denominators are cross cancelled first, the same
+     * way `Rational.times` does it, so the product is already in lowest terms.
+     */
+    MutableRational multiply(long numerator, long denominator) {
+        if (!this.tryMultiply(numerator, denominator)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return this;
+    }
+
+    /**
+     * Helper method which adds a reduced fraction with a positive denominator
+     * without throwing. Accumulators which fall back to another representation on
+     * overflow use this, since throwing costs far more than the addition itself.
+     *
+     * @return false, leaving the value unchanged, when the result does not fit in
+     *         long components
+     */
+    boolean tryAdd(long numerator, long denominator) {
+        if (numerator == 0) {
+            return true;
+        }
+        long denominatorGCD = Rational.gcd(this._denominator, denominator);
+        long thisScale = denominator / denominatorGCD;
+        long addendScale = this._denominator / denominatorGCD;
+
+        long firstTerm = this._numerator * thisScale;
+        long secondTerm = numerator * addendScale;
+        long tempNumerator = firstTerm + secondTerm;
+        if (!RationalLong.productFits(this._numerator, thisScale, firstTerm)
+                || !RationalLong.productFits(numerator, addendScale, secondTerm)
+                || ((firstTerm ^ tempNumerator) & (secondTerm ^ tempNumerator)) < 0) {
+            return false;
+        }
+        long divisor = Rational.gcd(tempNumerator, denominatorGCD);
+        long reducedDenominator = denominator / divisor;
+        long tempDenominator = addendScale * reducedDenominator;
+        if (!RationalLong.productFits(addendScale, reducedDenominator, tempDenominator)) {
+            return false;
+        }
+
+        this._numerator = tempNumerator / divisor;
+        this._denominator = this._numerator == 0 ? 1 : tempDenominator;
+        return true;
+    }
+
+    /**
+     * Helper method which multiplies by a reduced fraction with a positive
+     * denominator without throwing
+     *
+     * @return false, leaving the value unchanged, when the result does not fit in
+     *         long components
+     */
+    boolean tryMultiply(long numerator, long denominator) {
+        if (this._numerator == 0 || numerator == 0) {
+            this.reset();
+            return true;
+        }
+        long firstGCD = Rational.gcd(this._numerator, denominator);
+        long secondGCD = Rational.gcd(numerator, this._denominator);
+
+        long firstNumerator = this._numerator / firstGCD;
+        long secondNumerator = numerator / secondGCD;
+        long firstDenominator = this._denominator / secondGCD;
+        long secondDenominator = denominator / firstGCD;
+        long tempNumerator = firstNumerator * secondNumerator;
+        long tempDenominator = firstDenominator * secondDenominator;
+        if (!RationalLong.productFits(firstNumerator, secondNumerator, tempNumerator)
+                || !RationalLong.productFits(firstDenominator, secondDenominator, tempDenominator)) {
+            return false;
+        }
+
+        this._numerator = tempNumerator;
+        this._denominator = tempDenominator;
+        return true;
+    }
+}
@@ -1,6 +1,15 @@
 package numbers;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class implements a rational number. That is, a value with an numerator
@@ -11,6 +20,32 @@ public class Rational extends Number implements Comparable<Number> {
     private int _denominator = 1;
     private final static float FLOAT_PRECISION = 1F/1048576F;
     private final static double DOUBLE_PRECISION = 1D/1048576D;
+    // Powers of ten up to 10^9, enough for the digits of any component
+    private final static long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L };
+    // Size of the denominator tables used when aligning batches, a power of two
+    private final static int ALIGNMENT_SLOTS = 8;
+
+    /**
+     * Canonical `Rational` with a value 0 / 1
+     */
+    public final static Rational ZERO = valueOf(0);
+
+    /**
+     * Canonical `Rational` with a value 1 / 1
+     */
+    public final static Rational ONE = valueOf(1);
+
+    /**
+     * Canonical `Rational` with a value -1 / 1
+     */
+    public final static Rational MINUS_ONE = valueOf(-1);
+
+    /**
+     * `Comparator` which orders `Rational` values by their exact value. Sorting
+     * with it skips the `Number` dispatch of `compareTo`.
+     */
+    public final static Comparator<Rational> COMPARATOR = Rational::compare;
 
     /**
      * Default constructor. Creates a new `Rational` with a value 0 / 1
@@ -56,6 +91,237 @@ public class Rational extends Number implements Comparable<Number> {
         this(original.numerator(), original.denominator());
     }
 
+    /**
+     * Factory method which returns a `Rational` given an integer. Small values are
+     * returned from a cache instead of being allocated.
+     * 
+     * @param numerator Integer value which to reflect in the `Rational`
+     * @return `Rational` with value numerator / 1
+     */
+    public static Rational valueOf(int numerator) {
+        return valueOf(numerator, 1);
+    }
+
+    /**
+     * Factory method which returns a `Rational` given a specified numerator and
+     * denominator. Like `Integer.valueOf`, values whose simplified numerator and
+     * denominator are within the cache bound are returned as shared canonical
+     * instances. The bound defaults to 16 and can be changed with the
+     * `numbers.Rational.cacheBound` system property.
+     * 
+     * @param numerator   Numerator of `Rational`
+     * @param denominator Denominator of `Rational`
+     * @return `Rational` with value numerator / denominator
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public static Rational valueOf(int numerator, int denominator) throws IllegalArgumentException {
+        // Flips both signs like simplify() would, unless one of them can't be negated
+        if (denominator < 0 && denominator != Integer.MIN_VALUE && numerator != Integer.MIN_VALUE) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        int bound = Cache.BOUND;
+        if (denominator > 0 && denominator <= bound && numerator >= -bound && numerator <= bound) {
+            return Cache.VALUES[Cache.index(numerator, denominator)];
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * Factory method which parses a `Rational` from text. Accepts the fractions
+     * `toString()` writes, such as `-3/4` or `-3/2147483648`, as well as decimal
+     * and scientific notation such as `-2.375` or `1.25e-3`, which are converted
+     * exactly.
+     * 
+     * @param text characters holding a single value
+     * @return `Rational` with the parsed value
+     * @throws NumberFormatException when text is not a valid value or the value
+     *                               does not fit in a `Rational`
+     */
+    public static Rational parse(CharSequence text) throws NumberFormatException {
+        return RationalParser.parse(text::charAt, 0, text.length());
+    }
+
+    /**
+     * Factory method which parses a `Rational` from a range of ASCII bytes, in the
+     * formats accepted by `parse(CharSequence)`
+     * 
+     * @param bytes  array holding a single value
+     * @param offset index of the first byte of the value
+     * @param length number of bytes of the value
+     * @return `Rational` with the parsed value
+     * @throws NumberFormatException     when the bytes are not a valid value or the
+     *                                   value does not fit in a `Rational`
+     * @throws IndexOutOfBoundsException when the range is out of bounds
+     */
+    public static Rational parse(byte[] bytes, int offset, int length)
+            throws NumberFormatException, IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return RationalParser.parse(index -> bytes[index], offset, offset + length);
+    }
+
+    /**
+     * Factory method which parses a `Rational` from the remaining ASCII bytes of a
+     * buffer, in the formats accepted by `parse(CharSequence)`. The position of the
+     * buffer is not changed.
+     * 
+     * @param buffer buffer holding a single value
+     * @return `Rational` with the parsed value
+     * @throws NumberFormatException when the bytes are not a valid value or the
+     *                               value does not fit in a `Rational`
+     */
+    public static Rational parse(ByteBuffer buffer) throws NumberFormatException {
+        return RationalParser.parse(buffer::get, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * Factory method which returns the exact value of a double. A finite double is
+     * an integer mantissa times a power of two, so values such as `0.375` become
+     * `3/8` without rounding. Values without a short binary form, such as `0.1`,
+     * need a denominator far larger than an int and should use `approximate`
+     * instead.
+     *
+     * @param value double to be converted
+     * @return `Rational` with exactly the value of the double
+     * @throws IllegalArgumentException when value is NaN or infinite
+     * @throws ArithmeticException      when the value does not fit in a `Rational`
+     */
+    public static Rational fromDouble(double value) throws IllegalArgumentException, ArithmeticException {
+        checkFinite(value);
+        if (value == 0) {
+            return ZERO;
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        long mantissa = oddMantissa(bits);
+        int exponent = binaryExponent(bits);
+        long numerator = bits < 0 ? -mantissa : mantissa;
+        if (exponent >= 0) {
+            // An integer of at least 2^32 fits in neither an int nor the shift
+            if (64 - Long.numberOfLeadingZeros(mantissa) + exponent > 32) {
+                throw new ArithmeticException(value + " does not fit in a Rational");
+            }
+            return fromReducedLongs(numerator << exponent, 1);
+        }
+        if (-exponent > 31) {
+            throw new ArithmeticException(value + " does not fit in a Rational");
+        }
+        return fromReducedLongs(numerator, 1L << -exponent);
+    }
+
+    /**
+     * Factory method which returns the `Rational` closest to a double among those
+     * whose denominator is at most maxDenominator, such as `1/10` for `0.1`, or
+     * `355/113` for `Math.PI` with a bound of 113. On a tie the candidate with the
+     * smaller denominator, then the smaller magnitude, is returned.
+     *
+     * The continued fraction of the exact value of the double is expanded with
+     * long arithmetic until the bound is reached, and the last convergent is
+     * compared with the semiconvergent at the bound. This takes O(log
+     * maxDenominator) steps and allocates nothing but the result.
+     *
+     * @param value          double to be approximated
+     * @param maxDenominator largest denominator of the result
+     * @return closest `Rational` with a denominator of at most maxDenominator
+     * @throws IllegalArgumentException when value is NaN or infinite, or
+     *                                  maxDenominator is less than 1
+     * @throws ArithmeticException      when the integer part of value does not fit
+     *                                  in an int
+     */
+    public static Rational approximate(double value, int maxDenominator)
+            throws IllegalArgumentException, ArithmeticException {
+        checkFinite(value);
+        if (maxDenominator < 1) {
+            throw new IllegalArgumentException("Max denominator must be positive");
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        int exponent = binaryExponent(bits);
+        if (value == 0 || exponent >= 0) {
+            return fromDouble(value);
+        }
+        long mantissa = oddMantissa(bits);
+        // Numerators of negative values may reach -2^31
+        long maxNumerator = bits < 0 ? 1L << 31 : Integer.MAX_VALUE;
+        int shift = -exponent;
+        // Convergents stay below the integer part plus one, so the numerator bound
+        // only has to be checked for large values
+        long integer = shift < 64 ? mantissa >>> shift : 0;
+        boolean numeratorBounded = integer < maxNumerator / maxDenominator;
+
+        // Two consecutive convergents p/q of |value| = mantissa / 2^shift, each with
+        // its error e = q * mantissa - p * 2^shift. The errors are the remainders of
+        // Euclid's algorithm, so the next term is |e0 / e1| and nothing overflows.
+        long p0 = 0;
+        long q0 = 1;
+        long e0 = mantissa;
+        long p1;
+        long q1;
+        long e1;
+        if (shift < 63) {
+            p1 = 1;
+            q1 = 0;
+            e1 = -(1L << shift);
+        } else {
+            // The value is below 2^-10 and 2^shift does not fit in a long, so the
+            // second term, 2^shift / mantissa, is computed directly
+            if (compareToPowerOfTwo(maxDenominator + 1L, mantissa, shift) <= 0) {
+                // The term exceeds the bound, leaving 0 and 1 / maxDenominator
+                if (compareToPowerOfTwo(2L * maxDenominator, mantissa, shift) <= 0) {
+                    return ZERO;
+                }
+                return fromReducedLongs(bits < 0 ? -1 : 1, maxDenominator);
+            }
+            // 2^shift is below 2^84 here, so few doublings remain
+            long remainder = (1L << 62) % mantissa;
+            for (int i = 62; i < shift; i++) {
+                remainder = (remainder << 1) % mantissa;
+            }
+            // The division is exact and its quotient fits, so multiplying by the
+            // inverse of the odd mantissa modulo 2^64 gives it
+            long inverse = mantissa;
+            for (int i = 0; i < 5; i++) {
+                inverse *= 2 - mantissa * inverse;
+            }
+            p1 = 1;
+            q1 = ((shift < 64 ? 1L << shift : 0) - remainder) * inverse;
+            e1 = -remainder;
+        }
+
+        while (e1 != 0) {
+            long term = Math.abs(e0) / Math.abs(e1);
+            long steps = term;
+            if (p1 > 0 && !numeratorBounded) {
+                steps = Math.min(steps, (maxNumerator - p0) / p1);
+            }
+            if (q1 > 0) {
+                steps = Math.min(steps, (maxDenominator - q0) / q1);
+            }
+            if (steps < term) {
+                if (q1 == 0) {
+                    throw new ArithmeticException(value + " does not fit in a Rational");
+                }
+                // The semiconvergent replaces the convergent when it is strictly closer
+                long p = steps * p1 + p0;
+                long q = steps * q1 + q0;
+                long e = steps * e1 + e0;
+                if (steps > 0 && compareProducts(Math.abs(e), q1, Math.abs(e1), q) < 0) {
+                    p1 = p;
+                    q1 = q;
+                }
+                break;
+            }
+            long p = term * p1 + p0;
+            long q = term * q1 + q0;
+            long e = term * e1 + e0;
+            p0 = p1;
+            q0 = q1;
+            e0 = e1;
+            p1 = p;
+            q1 = q;
+            e1 = e;
+        }
+        return fromReducedLongs(bits < 0 ? -p1 : p1, q1);
+    }
+
     /**
      * Accessor method for private _numerator member
      * 
@@ -81,7 +347,7 @@ public class Rational extends Number implements Comparable<Number> {
      * @return Additive inverse of current object
      */
     public Rational opposite() {
-        return new Rational(-this._numerator, this._denominator);
+        return valueOf(-this._numerator, this._denominator);
     }
 
     /**
@@ -95,7 +361,7 @@ public class Rational extends Number implements Comparable<Number> {
         if (this._numerator == 0) {
             throw new IllegalArgumentException("Numerator of current object is 0. This will result in a divide by 0");
         }
-        return new Rational(this._denominator, this._numerator);
+        return valueOf(this._denominator, this._numerator);
     }
 
     /**
@@ -107,15 +373,15 @@ public class Rational extends Number implements Comparable<Number> {
      */
     public Rational times(Rational multiplier) {
         if (this.isZero() || multiplier.isZero()) {
-            return new Rational();
+            return ZERO;
         }
 
         // Attempts to reduce overflow by switching numerators and denominators which
         // simplifies the equation.
 
-        Rational reduced1 = new Rational(this._numerator, multiplier.denominator());
-        Rational reduced2 = new Rational(multiplier.numerator(), this._denominator);
-        return new Rational(reduced1.numerator() * reduced2.numerator(),
+        Rational reduced1 = valueOf(this._numerator, multiplier.denominator());
+        Rational reduced2 = valueOf(multiplier.numerator(), this._denominator);
+        return valueOf(reduced1.numerator() * reduced2.numerator(),
                 reduced1.denominator() * reduced2.denominator());
     }
 
@@ -140,8 +406,8 @@ public class Rational extends Number implements Comparable<Number> {
      */
     public Rational plus(Rational addend) {
         // Find the greatest common devisor between the numerators and denominators
-        int numeratorGCD = (int) this.gcd(this._numerator, addend.numerator());
-        int denominatorGCD = (int) this.gcd(this._denominator, addend.denominator());
+        int numeratorGCD = (int) gcd(this._numerator, addend.numerator());
+        int denominatorGCD = (int) gcd(this._denominator, addend.denominator());
 
         // Create firstNumeratorTerm and secondNumeratorTerm for easier readability
         // These will be added together to form the numerator
@@ -149,7 +415,7 @@ public class Rational extends Number implements Comparable<Number> {
         long secondNumeratorTerm = (addend.numerator() / numeratorGCD) * (this.denominator() / denominatorGCD);
 
         long tempNumerator = firstNumeratorTerm + secondNumeratorTerm;
-        long tempDenominator = this.lcm(this.denominator(), addend.denominator());
+        long tempDenominator = lcm(this.denominator(), addend.denominator());
 
         long divisor = gcd(tempNumerator, tempDenominator);
         tempNumerator /= divisor;
@@ -157,7 +423,7 @@ public class Rational extends Number implements Comparable<Number> {
 
         tempNumerator *= numeratorGCD;
 
-        return new Rational((int) tempNumerator, (int) tempDenominator);
+        return valueOf((int) tempNumerator, (int) tempDenominator);
     }
 
     /**
@@ -171,38 +437,170 @@ public class Rational extends Number implements Comparable<Number> {
     }
 
     /**
-     * Implements fast powering algorithm to return a new `Rational` value.
-     * The new `Rational` value will reflect this^exponent
+     * Returns a new `Rational` value which reflects this^exponent. A reduced
+     * fraction stays reduced when its numerator and denominator are raised to the
+     * same power, so both are powered independently in long arithmetic without
+     * any gcd or intermediate `Rational`. When the result may not fit, use
+     * `BigRational.raisedToThePowerOf` for an exact result.
      * 
      * @param exponent power of which this is being raised
      * @return `Rational` result of raising this object to the power of exponent
+     * @throws IllegalArgumentException when this is 0 and exponent is negative
+     * @throws ArithmeticException      when the result does not fit in a
+     *                                  `Rational`
      */
-    public Rational raisedToThePowerOf(int exponent) throws IllegalArgumentException {
+    public Rational raisedToThePowerOf(int exponent) throws IllegalArgumentException, ArithmeticException {
         if (exponent == 0) {
-            return new Rational(1, 1);
-        } else if (exponent < 0) {
-            return this.reciprocal().raisedToThePowerOf(-exponent);
-        }
-
-        // Saves what is being powered (reciprocal if exponent is negative)
-        Rational base = new Rational(this);
-
-        // Object to be stored as result later
-        Rational result = new Rational(1, 1);
-
-        // Fast powering which multiplies base times self or result based on if exponent
-        // is even
-        while (exponent > 0) {
-            if (exponent % 2 == 0) {
-                base = base.times(base);
-                exponent /= 2;
-            } else {
-                result = result.times(base);
-                exponent -= 1;
+            return ONE;
+        }
+        long power = RationalLong.pow(RationalLong.pack(this._numerator, this._denominator), exponent);
+        return fromReduced(RationalLong.numerator(power), RationalLong.denominator(power));
+    }
+
+    /**
+     * Returns the exact sum of an array of `Rational` values. The sum is kept in
+     * unreduced long registers and only normalized when the next step would
+     * overflow, instead of reducing after every addition as `plus` does. Operands
+     * which share the running denominator, or divide it, are added without growing
+     * it. If even the normalized sum does not fit in long registers, the rest of the
+     * sum is computed with `BigRational`.
+     * 
+     * @param values `Rational` values to be added
+     * @return `Rational` sum of the values, 0 for an empty array
+     * @throws ArithmeticException when the sum does not fit in a `Rational`
+     */
+    public static Rational sum(Rational[] values) throws ArithmeticException {
+        Batch batch = new Batch();
+        for (Rational value : values) {
+            batch.add(value.signedNumerator(), value.positiveDenominator());
+        }
+        return batch.toRational();
+    }
+
+    /**
+     * Returns the exact product of an array of `Rational` values, normalizing only
+     * when the unreduced product would overflow
+     * 
+     * @param values `Rational` values to be multiplied
+     * @return `Rational` product of the values, 1 for an empty array
+     * @throws ArithmeticException when the product does not fit in a `Rational`
+     */
+    public static Rational product(Rational[] values) throws ArithmeticException {
+        Batch batch = new Batch(1);
+        for (Rational value : values) {
+            if (value.isZero()) {
+                return ZERO;
             }
+            batch.multiply(value.signedNumerator(), value.positiveDenominator());
         }
+        return batch.toRational();
+    }
 
-        return result;
+    /**
+     * Returns the exact dot product of two arrays of `Rational` values. Each term
+     * is formed in long registers, where the product of two int members always
+     * fits, and the terms are summed the same way as in `sum`.
+     * 
+     * @param first  First array of `Rational` values
+     * @param second Second array of `Rational` values
+     * @return `Rational` sum of the products of corresponding values
+     * @throws IllegalArgumentException when the arrays have different lengths
+     * @throws ArithmeticException      when the result does not fit in a `Rational`
+     */
+    public static Rational dot(Rational[] first, Rational[] second)
+            throws IllegalArgumentException, ArithmeticException {
+        if (first.length != second.length) {
+            throw new IllegalArgumentException(
+                    "Arrays have different lengths: " + first.length + " and " + second.length);
+        }
+        Batch batch = new Batch();
+        for (int i = 0; i < first.length; i++) {
+            batch.add(first[i].signedNumerator() * second[i].signedNumerator(),
+                    first[i].positiveDenominator() * second[i].positiveDenominator());
+        }
+        return batch.toRational();
+    }
+
+    /**
+     * Returns the least common multiple of the denominators of an array of
+     * `Rational` values, that is the smallest denominator all of them can be
+     * written over. Repeated denominators are only folded in once.
+     * 
+     * @param values `Rational` values to be aligned
+     * @return positive common denominator, 1 for an empty array
+     * @throws ArithmeticException when the common denominator does not fit in a
+     *                             long
+     */
+    public static long commonDenominator(Rational[] values) throws ArithmeticException {
+        long denominator = alignedDenominator(values, new long[ALIGNMENT_SLOTS]);
+        if (denominator == 0) {
+            throw new ArithmeticException("Common denominator does not fit in a long");
+        }
+        return denominator;
+    }
+
+    /**
+     * Rescales the numerators of an array of `Rational` values to a common
+     * denominator, such as the one returned by `commonDenominator`. Element i of
+     * the result over the denominator equals values[i], so aligned values can be
+     * added and compared as plain longs.
+     * 
+     * @param values      `Rational` values to be aligned
+     * @param denominator positive common denominator of the values
+     * @return numerators of the values over denominator
+     * @throws IllegalArgumentException when denominator is not a positive multiple
+     *                                  of every denominator
+     * @throws ArithmeticException      when a numerator does not fit in a long
+     */
+    public static long[] alignNumerators(Rational[] values, long denominator)
+            throws IllegalArgumentException, ArithmeticException {
+        long[] denominators = new long[ALIGNMENT_SLOTS];
+        long[] scales = new long[ALIGNMENT_SLOTS];
+        long[] numerators = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            long valueDenominator = values[i].positiveDenominator();
+            if (denominator <= 0 || denominator % valueDenominator != 0) {
+                throw new IllegalArgumentException(
+                        denominator + " is not a common denominator of " + values[i]);
+            }
+            numerators[i] = Math.multiplyExact(values[i].signedNumerator(),
+                    scale(valueDenominator, denominator, denominators, scales));
+        }
+        return numerators;
+    }
+
+    /**
+     * Returns the exact sum of an array of `Rational` values by aligning them to
+     * their common denominator and adding the rescaled numerators as plain longs.
+     * This is fastest when the values share a handful of denominators. When the
+     * common denominator or the aligned sum does not fit in a long, the sum is
+     * computed by `sum` instead.
+     * 
+     * @param values `Rational` values to be added
+     * @return `Rational` sum of the values, 0 for an empty array
+     * @throws ArithmeticException when the sum does not fit in a `Rational`
+     */
+    public static Rational alignedSum(Rational[] values) throws ArithmeticException {
+        long[] denominators = new long[ALIGNMENT_SLOTS];
+        long[] scales = new long[ALIGNMENT_SLOTS];
+        long denominator = alignedDenominator(values, denominators);
+        if (denominator == 0) {
+            return sum(values);
+        }
+
+        long total = 0;
+        for (Rational value : values) {
+            long numerator = value.signedNumerator();
+            long scale = scale(value.positiveDenominator(), denominator, denominators, scales);
+            long scaled = numerator * scale;
+            long next = total + scaled;
+            if (!RationalLong.productFits(numerator, scale, scaled) || ((total ^ next) & (scaled ^ next)) < 0) {
+                return sum(values);
+            }
+            total = next;
+        }
+        long divisor = gcd(total, denominator);
+        return fromReducedLongs(total / divisor, denominator / divisor);
     }
 
     /**
@@ -240,11 +638,7 @@ public class Rational extends Number implements Comparable<Number> {
      *         value
      */
     public boolean lessThan(Rational comparand) {
-        if (comparand == null || this.equals(comparand)) {
-            return false;
-        }
-        return (long) this._numerator * (long) comparand._denominator < (long) comparand._numerator
-                * (long) this._denominator;
+        return comparand != null && compare(this, comparand) < 0;
     }
 
     /**
@@ -270,7 +664,7 @@ public class Rational extends Number implements Comparable<Number> {
             }
             return Double.compare(this.doubleValue(), comparand.doubleValue()) < 0;
         } else if (comparand instanceof Number) {
-            return BigDecimal.valueOf(comparand.longValue()).compareTo(BigDecimal.valueOf(this.doubleValue())) > 0;
+            return this.compareExact(comparand) < 0;
         } else {
             return false;
         }
@@ -284,11 +678,7 @@ public class Rational extends Number implements Comparable<Number> {
      *         `Rational` value
      */
     public boolean greaterThan(Rational comparand) {
-        if (comparand == null || this.equals(comparand)) {
-            return false;
-        }
-        return (long) this._numerator * (long) comparand._denominator > (long) comparand._numerator
-                * (long) this._denominator;
+        return comparand != null && compare(this, comparand) > 0;
     }
 
     /**
@@ -314,7 +704,7 @@ public class Rational extends Number implements Comparable<Number> {
             }
             return Double.compare(this.doubleValue(), comparand.doubleValue()) > 0;
         } else if (comparand instanceof Number) {
-            return BigDecimal.valueOf(comparand.longValue()).compareTo(BigDecimal.valueOf(this.doubleValue())) < 0;
+            return this.compareExact(comparand) > 0;
         } else {
             return false;
         }
@@ -348,13 +738,14 @@ public class Rational extends Number implements Comparable<Number> {
     }
 
     /**
-     * Returns hashcode based on the string representation of this value
+     * Returns hashcode computed from the numerator and denominator. Simplified
+     * values are unique, so equal `Rational` values have equal hashcodes.
      * 
      * @return consistent int hashcode
      */
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return 31 * this._numerator + this._denominator;
     }
 
     /**
@@ -365,17 +756,162 @@ public class Rational extends Number implements Comparable<Number> {
      * @return String representation of `Rational` object
      */
     public String toString() {
+        // The components are widened so a denominator of Integer.MIN_VALUE can be
+        // negated, and concatenation writes their digits straight into the result
+        long numerator = this.signedNumerator();
         if (this._denominator == 1) {
-            return this._numerator + "";
-        } else if (this._denominator < 0 && this._numerator > 0) {
-            // In the case where the denominator is the min_value, simplifying did not work,
-            // so we have to represent it differently.
-            return "-" + this._numerator + "/" + String.format("%d", this._denominator).substring(1);
-        } else if (this._numerator < 0 && this._denominator < 0) {
-            return String.format("%d", this._numerator).substring(1) + "/"
-                    + String.format("%d", this._denominator).substring(1);
+            return Long.toString(numerator);
+        }
+        return numerator + "/" + Math.abs((long) this._denominator);
+    }
+
+    /**
+     * Appends the characters of `toString()` to a `StringBuilder` without creating
+     * an intermediate `String`
+     * 
+     * @param builder `StringBuilder` to be appended to
+     * @return builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return appendTo(builder, this._numerator, this._denominator);
+    }
+
+    /**
+     * Appends the characters of `toString()` to an `Appendable` one at a time,
+     * without creating an intermediate `String`
+     * 
+     * @param out `Appendable` to be appended to
+     * @return out
+     * @throws IOException when out throws it
+     */
+    public Appendable appendTo(Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return this.appendTo((StringBuilder) out);
+        }
+        long numerator = this.signedNumerator();
+        if (numerator < 0) {
+            out.append('-');
+        }
+        appendDigits(out, Math.abs(numerator));
+        if (this._denominator != 1) {
+            out.append('/');
+            appendDigits(out, Math.abs((long) this._denominator));
+        }
+        return out;
+    }
+
+    /**
+     * Writes the characters of `toString()` as ASCII bytes at the position of a
+     * buffer, and advances the position past them
+     * 
+     * @param buffer `ByteBuffer` to be written to
+     * @return buffer
+     * @throws BufferOverflowException when fewer bytes remain than are written, in
+     *                                 which case nothing is written
+     * @throws ReadOnlyBufferException when buffer is read-only
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer) throws BufferOverflowException, ReadOnlyBufferException {
+        int length = length(this._numerator, this._denominator);
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        int position = buffer.position();
+        if (buffer.hasArray()) {
+            encode(this._numerator, this._denominator, buffer.array(), buffer.arrayOffset() + position);
         } else {
-            return this._numerator + "/" + this._denominator;
+            encode(this._numerator, this._denominator, buffer, position);
+        }
+        return buffer.position(position + length);
+    }
+
+    /**
+     * Helper method which appends the characters of `toString()` for a reduced
+     * numerator and denominator, so arrays of components can be formatted without
+     * creating a `Rational` for each element
+     */
+    static StringBuilder appendTo(StringBuilder builder, int numerator, int denominator) {
+        builder.append(RationalLong.signedNumerator(numerator, denominator));
+        if (denominator != 1) {
+            builder.append('/').append(Math.abs((long) denominator));
+        }
+        return builder;
+    }
+
+    /**
+     * Helper method which returns the number of characters of `toString()`
+     */
+    private static int length(int numerator, int denominator) {
+        long signed = RationalLong.signedNumerator(numerator, denominator);
+        int length = (signed < 0 ? 1 : 0) + digits(Math.abs(signed));
+        return denominator == 1 ? length : length + 1 + digits(Math.abs((long) denominator));
+    }
+
+    /**
+     * Helper method which returns the number of decimal digits of a value between 0
+     * and 2^31
+     */
+    private static int digits(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Helper method which writes the characters of `toString()` into bytes starting
+     * at offset. Digits are written from the last one backwards, so each digit costs
+     * one division.
+     */
+    private static void encode(int numerator, int denominator, byte[] bytes, int offset) {
+        long signed = RationalLong.signedNumerator(numerator, denominator);
+        int index = offset + length(numerator, denominator);
+        if (denominator != 1) {
+            for (long value = Math.abs((long) denominator); value != 0; value /= 10) {
+                bytes[--index] = (byte) ('0' + value % 10);
+            }
+            bytes[--index] = '/';
+        }
+        long value = Math.abs(signed);
+        do {
+            bytes[--index] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (signed < 0) {
+            bytes[--index] = '-';
+        }
+    }
+
+    /**
+     * Helper method which writes the characters of `toString()` into a buffer
+     * without a backing array, starting at index and leaving its position unchanged
+     */
+    private static void encode(int numerator, int denominator, ByteBuffer buffer, int index) {
+        long signed = RationalLong.signedNumerator(numerator, denominator);
+        int end = index + length(numerator, denominator);
+        if (denominator != 1) {
+            for (long value = Math.abs((long) denominator); value != 0; value /= 10) {
+                buffer.put(--end, (byte) ('0' + value % 10));
+            }
+            buffer.put(--end, (byte) '/');
+        }
+        long value = Math.abs(signed);
+        do {
+            buffer.put(--end, (byte) ('0' + value % 10));
+            value /= 10;
+        } while (value != 0);
+        if (signed < 0) {
+            buffer.put(--end, (byte) '-');
+        }
+    }
+
+    /**
+     * Helper method which appends the digits of a value between 0 and 2^31 from the
+     * first one, since an `Appendable` can only be written forwards
+     */
+    private static void appendDigits(Appendable out, long value) throws IOException {
+        for (int i = digits(value) - 1; i >= 0; i--) {
+            out.append((char) ('0' + value / POWERS_OF_TEN[i] % 10));
         }
     }
 
@@ -411,7 +947,7 @@ public class Rational extends Number implements Comparable<Number> {
      * @param b Second long to be compared
      * @return greatest common divisor between two numbers
      */
-    private long gcd(long a, long b) {
+    static long gcd(long a, long b) {
         if (a == 0 && b == 0) {
             return 1;
         }
@@ -433,13 +969,368 @@ public class Rational extends Number implements Comparable<Number> {
      * @param b Second number to be compared
      * @return least common multiple of two numbers
      */
-    private int lcm(int a, int b) {
+    private static int lcm(int a, int b) {
         return a * (b / (int) gcd(a, b));
     }
 
+    /**
+     * Helper method which computes the least common multiple of the denominators
+     * of values. Denominators are remembered in a small direct mapped table, so a
+     * denominator repeated throughout a batch is only folded into the multiple once.
+     * 
+     * @param values       `Rational` values to be aligned
+     * @param denominators Empty table of ALIGNMENT_SLOTS denominators
+     * @return common denominator, or 0 when it does not fit in a long
+     */
+    private static long alignedDenominator(Rational[] values, long[] denominators) {
+        long multiple = 1;
+        for (Rational value : values) {
+            long denominator = value.positiveDenominator();
+            int slot = alignmentSlot(denominator);
+            if (denominators[slot] == denominator) {
+                continue;
+            }
+            denominators[slot] = denominator;
+            if (multiple % denominator != 0) {
+                long factor = multiple / gcd(multiple, denominator);
+                long next = factor * denominator;
+                if (!RationalLong.productFits(factor, denominator, next)) {
+                    return 0;
+                }
+                multiple = next;
+            }
+        }
+        return multiple;
+    }
+
+    /**
+     * Helper method which returns commonDenominator / denominator, remembering the
+     * quotient in the same direct mapped table as `alignedDenominator`
+     */
+    private static long scale(long denominator, long commonDenominator, long[] denominators, long[] scales) {
+        int slot = alignmentSlot(denominator);
+        if (denominators[slot] != denominator || scales[slot] == 0) {
+            denominators[slot] = denominator;
+            scales[slot] = commonDenominator / denominator;
+        }
+        return scales[slot];
+    }
+
+    /**
+     * Helper method which hashes a denominator to a slot of the alignment tables
+     */
+    private static int alignmentSlot(long denominator) {
+        return (int) ((denominator * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - Integer.numberOfTrailingZeros(ALIGNMENT_SLOTS)));
+    }
+
+    /**
+     * Helper which creates a `Rational` from a reduced fraction held in long
+     * components with a positive denominator. A denominator of 2^31 is stored the
+     * same way `simplify()` leaves it, as `Integer.MIN_VALUE` with the sign of the
+     * numerator flipped.
+     * 
+     * @param numerator   Numerator of the reduced fraction
+     * @param denominator Positive denominator of the reduced fraction
+     * @return `Rational` with the same value
+     * @throws ArithmeticException when the fraction does not fit in int components
+     */
+    static Rational fromReducedLongs(long numerator, long denominator) throws ArithmeticException {
+        long packed = RationalLong.reduced(numerator, denominator);
+        return fromReduced(RationalLong.numerator(packed), RationalLong.denominator(packed));
+    }
+
+    /**
+     * Helper which creates a `Rational` from members which are already in the form
+     * `simplify()` leaves them, without computing their gcd again. Cached values
+     * are shared the same way `valueOf` shares them.
+     * 
+     * @param numerator   Numerator of the reduced fraction
+     * @param denominator Denominator of the reduced fraction
+     * @return `Rational` with value numerator / denominator
+     */
+    static Rational fromReduced(int numerator, int denominator) {
+        int bound = Cache.BOUND;
+        if (denominator > 0 && denominator <= bound && numerator >= -bound && numerator <= bound) {
+            return Cache.VALUES[Cache.index(numerator, denominator)];
+        }
+        Rational result = new Rational();
+        result._numerator = numerator;
+        result._denominator = denominator;
+        return result;
+    }
+
+    /**
+     * Helper method which returns the numerator widened to a long and carrying the
+     * sign of the value, which a denominator of `Integer.MIN_VALUE` holds
+     *
+     * @return signed numerator of this value
+     */
+    long signedNumerator() {
+        return RationalLong.signedNumerator(this._numerator, this._denominator);
+    }
+
+    /**
+     * Helper method which returns the magnitude of the denominator widened to a long
+     *
+     * @return positive denominator of this value
+     */
+    long positiveDenominator() {
+        return Math.abs((long) this._denominator);
+    }
+
+    /**
+     * Helper method which throws when a double is NaN or infinite
+     */
+    static void checkFinite(double value) throws IllegalArgumentException {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Value must be finite: " + value);
+        }
+    }
+
+    /**
+     * Helper method which returns the mantissa of a nonzero double with its
+     * trailing zero bits removed, so it is odd
+     */
+    private static long oddMantissa(long bits) {
+        long mantissa = bits & 0xFFFFFFFFFFFFFL;
+        if ((bits & 0x7FF0000000000000L) != 0) {
+            mantissa |= 1L << 52;
+        }
+        return mantissa >>> Long.numberOfTrailingZeros(mantissa);
+    }
+
+    /**
+     * Helper method which returns the exponent e of a nonzero double such that
+     * |value| = oddMantissa(bits) * 2^e
+     */
+    private static int binaryExponent(long bits) {
+        int exponent = (int) (bits >>> 52) & 0x7FF;
+        long mantissa = bits & 0xFFFFFFFFFFFFFL;
+        if (exponent == 0) {
+            // Subnormal values have no implicit leading bit
+            exponent = 1;
+        } else {
+            mantissa |= 1L << 52;
+        }
+        return exponent - 1075 + Long.numberOfTrailingZeros(mantissa);
+    }
+
+    /**
+     * Helper method which compares first * second with third * fourth, all
+     * nonnegative, using 128-bit products
+     */
+    private static int compareProducts(long first, long second, long third, long fourth) {
+        int highComparison = Long.compare(Math.multiplyHigh(first, second), Math.multiplyHigh(third, fourth));
+        if (highComparison != 0) {
+            return highComparison;
+        }
+        return Long.compareUnsigned(first * second, third * fourth);
+    }
+
+    /**
+     * Helper method which compares first * second, both nonnegative, with
+     * 2^exponent for an exponent of at least 63
+     */
+    private static int compareToPowerOfTwo(long first, long second, int exponent) {
+        if (exponent >= 127) {
+            return -1;
+        }
+        long high = exponent >= 64 ? 1L << (exponent - 64) : 0;
+        long low = exponent >= 64 ? 0 : Long.MIN_VALUE;
+        int highComparison = Long.compare(Math.multiplyHigh(first, second), high);
+        if (highComparison != 0) {
+            return highComparison;
+        }
+        return Long.compareUnsigned(first * second, low);
+    }
+
+    /**
+     * Helper method which compares numerator / denominator with mantissa *
+     * 2^exponent. All arguments are positive, the numerator and denominator are at
+     * most 2^31 and the mantissa is below 2^53.
+     *
+     * @param numerator   Numerator of the fraction
+     * @param denominator Denominator of the fraction
+     * @param mantissa    Mantissa of the binary value
+     * @param exponent    Exponent of the binary value
+     * @return -1, 0 or 1 as the fraction is less than, equal to or greater than the
+     *         binary value
+     */
+    private static int compareMagnitude(long numerator, long denominator, long mantissa, int exponent) {
+        int trailingZeros = Long.numberOfTrailingZeros(mantissa);
+        mantissa >>>= trailingZeros;
+        exponent += trailingZeros;
+
+        if (exponent >= 0) {
+            // An integer of at least 2^32 exceeds any fraction
+            if (64 - Long.numberOfLeadingZeros(mantissa) + exponent > 32) {
+                return -1;
+            }
+            return Long.compare(numerator, (mantissa << exponent) * denominator);
+        }
+
+        // Compares numerator * 2^shift with mantissa * denominator, which is below 2^84
+        int shift = -exponent;
+        if (64 - Long.numberOfLeadingZeros(numerator) + shift > 84) {
+            return 1;
+        }
+        long shiftedHigh = shift < 64 ? numerator >>> (64 - shift) : numerator << (shift - 64);
+        long shiftedLow = shift < 64 ? numerator << shift : 0;
+        int highComparison = Long.compare(shiftedHigh, Math.multiplyHigh(mantissa, denominator));
+        if (highComparison != 0) {
+            return highComparison;
+        }
+        return Integer.signum(Long.compareUnsigned(shiftedLow, mantissa * denominator));
+    }
+
+    /**
+     * Compares two `Rational` values exactly with a single cross multiplication.
+     * Both members fit in 32 bits, so the long products never overflow.
+     * 
+     * @param first  first `Rational` value
+     * @param second second `Rational` value
+     * @return -1, 0 or 1 as first is less than, equal to or greater than second
+     */
+    public static int compare(Rational first, Rational second) {
+        return Long.compare(first.signedNumerator() * second.positiveDenominator(),
+                second.signedNumerator() * first.positiveDenominator());
+    }
+
+    /**
+     * Compares this object's value to a `Number`. Unlike `compareTo`, `Float` and
+     * `Double` comparands are compared against the exact value of their IEEE
+     * representation rather than within a tolerance. Integral comparands are
+     * compared with 128-bit cross multiplication and `BigInteger` and `BigDecimal`
+     * comparands without truncation. Other `Number` types, such as `LongAdder`,
+     * are compared through their `doubleValue`, so the result is only as exact as
+     * that double.
+     * 
+     * Only `BigDecimal` comparands with a positive scale, the same sign as this
+     * value and at most 10 integer digits allocate, two `BigDecimal` values each.
+     * 
+     * @param comparand `Number` value to be compared to
+     * @return -1, 0 or 1 as this is less than, equal to or greater than comparand.
+     *         `null` and NaN are treated as greater than every value, as in
+     *         `compareTo`
+     */
+    public int compareExact(Number comparand) {
+        if (comparand instanceof Rational) {
+            return compare(this, (Rational) comparand);
+        } else if (comparand instanceof Long || comparand instanceof Integer || comparand instanceof Short
+                || comparand instanceof Byte || comparand instanceof AtomicLong || comparand instanceof AtomicInteger) {
+            return this.compareExact(comparand.longValue());
+        } else if (comparand instanceof BigInteger) {
+            return this.compareExact((BigInteger) comparand);
+        } else if (comparand instanceof BigDecimal) {
+            return this.compareExact((BigDecimal) comparand);
+        } else if (comparand == null) {
+            return -1;
+        } else {
+            return this.compareExact(comparand.doubleValue());
+        }
+    }
+
+    /**
+     * Compares this object's value to a long exactly
+     * 
+     * @param comparand long value to be compared to
+     * @return -1, 0 or 1 as this is less than, equal to or greater than comparand
+     */
+    public int compareExact(long comparand) {
+        // Compares numerator with comparand * denominator as 128-bit values
+        long numerator = this.signedNumerator();
+        long denominator = this.positiveDenominator();
+        int highComparison = Long.compare(numerator >> 63, Math.multiplyHigh(comparand, denominator));
+        if (highComparison != 0) {
+            return highComparison;
+        }
+        return Integer.signum(Long.compareUnsigned(numerator, comparand * denominator));
+    }
+
+    /**
+     * Compares this object's value to the exact value of a double. The double is
+     * decomposed into its mantissa and binary exponent, so no rounding occurs.
+     * 
+     * @param comparand double value to be compared to
+     * @return -1, 0 or 1 as this is less than, equal to or greater than comparand.
+     *         NaN is treated as greater than every value
+     */
+    public int compareExact(double comparand) {
+        if (Double.isNaN(comparand)) {
+            return -1;
+        }
+        long numerator = this.signedNumerator();
+        int sign = Long.signum(numerator);
+        int comparandSign = comparand > 0 ? 1 : comparand < 0 ? -1 : 0;
+        if (sign != comparandSign) {
+            return Integer.compare(sign, comparandSign);
+        } else if (sign == 0) {
+            return 0;
+        } else if (Double.isInfinite(comparand)) {
+            return -sign;
+        }
+
+        long bits = Double.doubleToRawLongBits(comparand);
+        int exponent = (int) (bits >>> 52) & 0x7FF;
+        long mantissa = bits & 0xFFFFFFFFFFFFFL;
+        if (exponent == 0) {
+            // Subnormal values have no implicit leading bit
+            exponent = 1;
+        } else {
+            mantissa |= 1L << 52;
+        }
+        // |comparand| = mantissa * 2^exponent
+        exponent -= 1075;
+        return sign * compareMagnitude(Math.abs(numerator), this.positiveDenominator(), mantissa, exponent);
+    }
+
+    /**
+     * Compares this object's value to a `BigInteger` exactly
+     * 
+     * @param comparand `BigInteger` value to be compared to
+     * @return -1, 0 or 1 as this is less than, equal to or greater than comparand
+     */
+    public int compareExact(BigInteger comparand) {
+        if (comparand.bitLength() < 64) {
+            return this.compareExact(comparand.longValue());
+        }
+        // Beyond the range of long, and so of any Rational
+        return -comparand.signum();
+    }
+
+    /**
+     * Compares this object's value to a `BigDecimal` exactly
+     * 
+     * @param comparand `BigDecimal` value to be compared to
+     * @return -1, 0 or 1 as this is less than, equal to or greater than comparand
+     */
+    public int compareExact(BigDecimal comparand) {
+        long numerator = this.signedNumerator();
+        int sign = Long.signum(numerator);
+        if (sign != comparand.signum()) {
+            return Integer.compare(sign, comparand.signum());
+        } else if (sign == 0) {
+            return 0;
+        }
+
+        int integerDigits = comparand.precision() - comparand.scale();
+        if (integerDigits > 10) {
+            // At least 10^10, beyond the range of any Rational
+            return -sign;
+        } else if (comparand.scale() <= 0) {
+            return this.compareExact(comparand.longValue());
+        }
+        return BigDecimal.valueOf(numerator)
+                .compareTo(comparand.multiply(BigDecimal.valueOf(this.positiveDenominator())));
+    }
+
     @Override
     public int compareTo(Number o) {
-        if (o == null || this.lessThan(o) || (o instanceof Double && Double.isNaN((Double) o))
+        if (o instanceof Rational) {
+            return compare(this, (Rational) o);
+        } else if (!(o instanceof Float || o instanceof Double)) {
+            return this.compareExact(o);
+        } else if (this.lessThan(o) || (o instanceof Double && Double.isNaN((Double) o))
                 || (o instanceof Float && Float.isNaN((Float) o))) {
             return -1;
         } else if (this.greaterThan(o)) {
@@ -473,4 +1364,163 @@ public class Rational extends Number implements Comparable<Number> {
     public Rational clone() {
         return new Rational(this);
     }
+
+    /**
+     * Holder of the canonical instances returned by `valueOf`. Entries cover every
+     * numerator in [-BOUND, BOUND] and denominator in [1, BOUND], and unreduced
+     * entries share the instance of their reduced form.
+     */
+    private static class Cache {
+        static final int BOUND = Math.max(1, Math.min(1024, Integer.getInteger("numbers.Rational.cacheBound", 16)));
+        static final Rational[] VALUES = new Rational[(2 * BOUND + 1) * BOUND];
+
+        static {
+            // Reduced forms never have a larger denominator, so they are created first
+            for (int denominator = 1; denominator <= BOUND; denominator++) {
+                for (int numerator = -BOUND; numerator <= BOUND; numerator++) {
+                    int divisor = (int) gcd(numerator, denominator);
+                    int reduced = index(numerator / divisor, denominator / divisor);
+                    if (VALUES[reduced] == null) {
+                        VALUES[reduced] = new Rational(numerator / divisor, denominator / divisor);
+                    }
+                    VALUES[index(numerator, denominator)] = VALUES[reduced];
+                }
+            }
+        }
+
+        static int index(int numerator, int denominator) {
+            return (denominator - 1) * (2 * BOUND + 1) + numerator + BOUND;
+        }
+    }
+
+    /**
+     * Running value of `sum`, `product` and `dot`. The registers hold an unreduced
+     * fraction with a positive denominator until an operation would overflow them,
+     * at which point they are normalized and, failing that, replaced by an exact
+     * `BigRational`.
+     */
+    static final class Batch {
+        private long _numerator;
+        private long _denominator = 1;
+        private BigRational _overflow = null;
+
+        Batch() {
+            this(0);
+        }
+
+        Batch(long numerator) {
+            this._numerator = numerator;
+        }
+
+        void add(long numerator, long denominator) {
+            if (this._overflow == null) {
+                if (denominator == this._denominator) {
+                    long sum = this._numerator + numerator;
+                    if (((this._numerator ^ sum) & (numerator ^ sum)) >= 0) {
+                        this._numerator = sum;
+                        return;
+                    }
+                } else if (this._denominator % denominator == 0) {
+                    if (this.tryAdd(numerator, 1, this._denominator / denominator)) {
+                        return;
+                    }
+                } else if (this.tryAdd(numerator, denominator, this._denominator)) {
+                    return;
+                }
+
+                // Overflow is imminent, so both fractions are reduced first
+                this.normalize();
+                long divisor = gcd(numerator, denominator);
+                numerator /= divisor;
+                denominator /= divisor;
+                long denominatorGCD = gcd(this._denominator, denominator);
+                if (this.tryAdd(numerator, denominator / denominatorGCD, this._denominator / denominatorGCD)) {
+                    return;
+                }
+                this._overflow = BigRational.fromReducedLongs(this._numerator, this._denominator);
+            }
+            this._overflow = this._overflow.plus(new BigRational(numerator, denominator));
+        }
+
+        void multiply(long numerator, long denominator) {
+            if (this._overflow == null) {
+                if (this.tryMultiply(numerator, denominator)) {
+                    return;
+                }
+
+                // Overflow is imminent, so the product is reduced and cross cancelled
+                this.normalize();
+                long firstGCD = gcd(this._numerator, denominator);
+                long secondGCD = gcd(numerator, this._denominator);
+                this._numerator /= firstGCD;
+                this._denominator /= secondGCD;
+                if (this.tryMultiply(numerator / secondGCD, denominator / firstGCD)) {
+                    return;
+                }
+                this._overflow = BigRational.fromReducedLongs(this._numerator, this._denominator);
+                numerator /= secondGCD;
+                denominator /= firstGCD;
+            }
+            this._overflow = this._overflow.times(new BigRational(numerator, denominator));
+        }
+
+        Rational toRational() throws ArithmeticException {
+            if (this._overflow != null) {
+                return this._overflow.toRational();
+            }
+            this.normalize();
+            return fromReducedLongs(this._numerator, this._denominator);
+        }
+
+        /**
+         * Helper method which adds a fraction to the registers once both are scaled to
+         * a common denominator. The registers become (registers numerator *
+         * registerScale + numerator * addendScale) / (registers denominator *
+         * registerScale).
+         *
+         * @return false, leaving the registers unchanged, on overflow
+         */
+        private boolean tryAdd(long numerator, long registerScale, long addendScale) {
+            long firstTerm = this._numerator * registerScale;
+            long secondTerm = numerator * addendScale;
+            long sum = firstTerm + secondTerm;
+            long product = this._denominator * registerScale;
+            if (!RationalLong.productFits(this._numerator, registerScale, firstTerm)
+                    || !RationalLong.productFits(numerator, addendScale, secondTerm)
+                    || ((firstTerm ^ sum) & (secondTerm ^ sum)) < 0
+                    || !RationalLong.productFits(this._denominator, registerScale, product)) {
+                return false;
+            }
+            this._numerator = sum;
+            this._denominator = product;
+            return true;
+        }
+
+        /**
+         * Helper method which multiplies a fraction into the registers
+         *
+         * @return false, leaving the registers unchanged, on overflow
+         */
+        private boolean tryMultiply(long numerator, long denominator) {
+            long product = this._numerator * numerator;
+            long denominatorProduct = this._denominator * denominator;
+            if (!RationalLong.productFits(this._numerator, numerator, product)
+                    || !RationalLong.productFits(this._denominator, denominator, denominatorProduct)) {
+                return false;
+            }
+            this._numerator = product;
+            this._denominator = denominatorProduct;
+            return true;
+        }
+
+        /**
+         * Helper method which reduces the registers to lowest terms
+         */
+        private void normalize() {
+            long divisor = gcd(this._numerator, this._denominator);
+            this._numerator /= divisor;
+            this._denominator /= divisor;
+        }
+
+    }
 }
@@ -0,0 +1,318 @@
+package numbers;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a fixed length array of rational numbers stored as two
+ * parallel int arrays, one for numerators and one for denominators. Compared to a
+ * `Rational[]` this needs no object header or reference per element and keeps
+ * the values contiguous, so bulk operations scan memory sequentially.
+ *
+ * Elements are normalized the same way `Rational` normalizes its members. Bulk
+ * operations throw an `ArithmeticException` when a result does not fit in int
+ * components instead of truncating it.
+ */
+public class RationalArray {
+    final int[] _numerators;
+    final int[] _denominators;
+
+    /**
+     * Constructor which creates a `RationalArray` of a given length with every
+     * element set to 0 / 1
+     *
+     * @param length number of elements
+     * @throws NegativeArraySizeException when length is negative
+     */
+    public RationalArray(int length) throws NegativeArraySizeException {
+        this._numerators = new int[length];
+        this._denominators = new int[length];
+        Arrays.fill(this._denominators, 1);
+    }
+
+    /**
+     * Constructor which copies the values of a `Rational[]`
+     *
+     * @param values `Rational` values to be copied
+     */
+    public RationalArray(Rational[] values) {
+        this._numerators = new int[values.length];
+        this._denominators = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            this._numerators[i] = values[i].numerator();
+            this._denominators[i] = values[i].denominator();
+        }
+    }
+
+    /**
+     * Constructor which wraps arrays of reduced components without copying them
+     */
+    RationalArray(int[] numerators, int[] denominators) {
+        this._numerators = numerators;
+        this._denominators = denominators;
+    }
+
+    /**
+     * Returns the number of elements
+     *
+     * @return length of this array
+     */
+    public int length() {
+        return this._numerators.length;
+    }
+
+    /**
+     * Returns the numerator of an element without creating a `Rational`
+     *
+     * @param index index of the element
+     * @return numerator of the element
+     */
+    public int numerator(int index) {
+        return this._numerators[index];
+    }
+
+    /**
+     * Returns the denominator of an element without creating a `Rational`
+     *
+     * @param index index of the element
+     * @return denominator of the element
+     */
+    public int denominator(int index) {
+        return this._denominators[index];
+    }
+
+    /**
+     * Creates a `Rational` holding the value of an element
+     *
+     * @param index index of the element
+     * @return `Rational` value of the element
+     */
+    public Rational get(int index) {
+        return Rational.valueOf(this._numerators[index], this._denominators[index]);
+    }
+
+    /**
+     * Sets an element to the value of a `Rational`
+     *
+     * @param index index of the element
+     * @param value `Rational` value to store
+     */
+    public void set(int index, Rational value) {
+        this._numerators[index] = value.numerator();
+        this._denominators[index] = value.denominator();
+    }
+
+    /**
+     * Sets an element to a numerator and denominator, simplifying them the same way
+     * the `Rational` constructor does
+     *
+     * @param index       index of the element
+     * @param numerator   numerator of the element
+     * @param denominator denominator of the element
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public void set(int index, int numerator, int denominator) throws IllegalArgumentException {
+        this.setPacked(index, RationalLong.of(numerator, denominator));
+    }
+
+    /**
+     * Creates a `Rational[]` holding the values of this array
+     *
+     * @return array of `Rational` values
+     */
+    public Rational[] toArray() {
+        Rational[] values = new Rational[this.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.get(i);
+        }
+        return values;
+    }
+
+    /**
+     * Adds another `RationalArray` element by element and returns a new
+     * `RationalArray` with the result
+     *
+     * @param addend `RationalArray` of the same length
+     * @return `RationalArray` of element sums
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when a sum does not fit in int components
+     */
+    public RationalArray plus(RationalArray addend) throws IllegalArgumentException, ArithmeticException {
+        this.checkLength(addend);
+        RationalArray result = new RationalArray(this.length());
+        for (int i = 0; i < this.length(); i++) {
+            result.setPacked(i, RationalLong.plus(this.packed(i), addend.packed(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Adds a `Rational` to every element and returns a new `RationalArray` with
+     * the result
+     *
+     * @param addend `Rational` value to be added to every element
+     * @return `RationalArray` of element sums
+     * @throws ArithmeticException when a sum does not fit in int components
+     */
+    public RationalArray plus(Rational addend) throws ArithmeticException {
+        long scalar = RationalLong.fromRational(addend);
+        RationalArray result = new RationalArray(this.length());
+        for (int i = 0; i < this.length(); i++) {
+            result.setPacked(i, RationalLong.plus(this.packed(i), scalar));
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies by another `RationalArray` element by element and returns a new
+     * `RationalArray` with the result
+     *
+     * @param multiplier `RationalArray` of the same length
+     * @return `RationalArray` of element products
+     * @throws IllegalArgumentException when the lengths differ
+     * @throws ArithmeticException      when a product does not fit in int
+     *                                  components
+     */
+    public RationalArray times(RationalArray multiplier) throws IllegalArgumentException, ArithmeticException {
+        this.checkLength(multiplier);
+        RationalArray result = new RationalArray(this.length());
+        for (int i = 0; i < this.length(); i++) {
+            result.setPacked(i, RationalLong.times(this.packed(i), multiplier.packed(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies every element by a `Rational` and returns a new `RationalArray`
+     * with the result
+     *
+     * @param multiplier `Rational` value to multiply every element by
+     * @return `RationalArray` of element products
+     * @throws ArithmeticException when a product does not fit in int components
+     */
+    public RationalArray times(Rational multiplier) throws ArithmeticException {
+        long scalar = RationalLong.fromRational(multiplier);
+        RationalArray result = new RationalArray(this.length());
+        for (int i = 0; i < this.length(); i++) {
+            result.setPacked(i, RationalLong.times(this.packed(i), scalar));
+        }
+        return result;
+    }
+
+    /**
+     * Raises every element to an integer power and returns a new `RationalArray`
+     * with the result. Numerators and denominators are powered independently, so
+     * no element is reduced or allocated on the way.
+     *
+     * @param exponent power of which every element is being raised
+     * @return `RationalArray` of element powers
+     * @throws IllegalArgumentException when an element is 0 and exponent is
+     *                                  negative
+     * @throws ArithmeticException      when a power does not fit in int
+     *                                  components
+     */
+    public RationalArray pow(int exponent) throws IllegalArgumentException, ArithmeticException {
+        RationalArray result = new RationalArray(this.length());
+        for (int i = 0; i < this.length(); i++) {
+            result.setPacked(i, RationalLong.pow(this.packed(i), exponent));
+        }
+        return result;
+    }
+
+    /**
+     * Sums every element exactly, like `Rational.sum`. The running sum moves to a
+     * `BigRational` when it outgrows a long, so it may exceed the int range as
+     * long as the final result fits.
+     *
+     * @return `Rational` sum of all elements, 0 when this array is empty
+     * @throws ArithmeticException when the sum does not fit in a `Rational`
+     */
+    public Rational sum() throws ArithmeticException {
+        Rational.Batch sum = new Rational.Batch();
+        for (int i = 0; i < this.length(); i++) {
+            long value = this.packed(i);
+            sum.add(RationalLong.signedNumerator(value), RationalLong.positiveDenominator(value));
+        }
+        return sum.toRational();
+    }
+
+    /**
+     * Returns the smallest element
+     *
+     * @return `Rational` value of the smallest element
+     * @throws NoSuchElementException when this array is empty
+     */
+    public Rational min() throws NoSuchElementException {
+        return this.get(this.extremeIndex(-1));
+    }
+
+    /**
+     * Returns the largest element
+     *
+     * @return `Rational` value of the largest element
+     * @throws NoSuchElementException when this array is empty
+     */
+    public Rational max() throws NoSuchElementException {
+        return this.get(this.extremeIndex(1));
+    }
+
+    /**
+     * Returns a string representation of the elements in the same format as
+     * `Arrays.toString`
+     *
+     * @return String representation of this array
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.length(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            Rational.appendTo(builder, this._numerators[i], this._denominators[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Helper method which returns an element packed the way `RationalLong` expects
+     */
+    long packed(int index) {
+        return RationalLong.pack(this._numerators[index], this._denominators[index]);
+    }
+
+    /**
+     * Helper method which stores an element packed the way `RationalLong` produces
+     */
+    void setPacked(int index, long value) {
+        this._numerators[index] = RationalLong.numerator(value);
+        this._denominators[index] = RationalLong.denominator(value);
+    }
+
+    /**
+     * Helper method which finds the index of the smallest (sign -1) or largest
+     * (sign 1) element
+     */
+    private int extremeIndex(int sign) throws NoSuchElementException {
+        if (this.length() == 0) {
+            throw new NoSuchElementException("RationalArray is empty");
+        }
+        int extreme = 0;
+        for (int i = 1; i < this.length(); i++) {
+            if (Integer.signum(RationalLong.compare(this.packed(i), this.packed(extreme))) == sign) {
+                extreme = i;
+            }
+        }
+        return extreme;
+    }
+
+    /**
+     * Helper method which checks that another array has the same length
+     */
+    private void checkLength(RationalArray other) throws IllegalArgumentException {
+        if (other.length() != this.length()) {
+            throw new IllegalArgumentException(
+                    "Lengths must match: " + this.length() + " and " + other.length());
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package numbers;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class converts `Rational` values to and from a compact binary form.
+ *
+ * A value is written as its numerator, carrying the sign, as a zigzag varint,
+ * followed by its denominator minus 1 as an unsigned varint. A varint stores 7
+ * bits per byte, low bits first, and sets the high bit of every byte but the
+ * last. Values with small components take 2 to 4 bytes, and no value takes
+ * more than 10. A denominator of 2^31 is written like any other, so every
+ * `Rational` round trips.
+ *
+ * Decoding expects bytes written by this class: malformed varints and
+ * denominators out of range are rejected, but values are not reduced again.
+ * Every method works on heap and direct buffers alike, using absolute indexes,
+ * and leaves the position unchanged when it throws.
+ */
+public final class RationalCodec {
+    /**
+     * Largest number of bytes a single value is written with
+     */
+    public static final int MAX_LENGTH = 10;
+
+    private RationalCodec() {
+    }
+
+    /**
+     * Returns the number of bytes a value is written with
+     *
+     * @param value `Rational` to be measured
+     * @return encoded length in bytes
+     */
+    public static int encodedLength(Rational value) {
+        return length(value.numerator(), value.denominator());
+    }
+
+    /**
+     * Writes a value at the position of a buffer and advances the position past it
+     *
+     * @param value  `Rational` to be written
+     * @param buffer `ByteBuffer` to be written to
+     * @return buffer
+     * @throws BufferOverflowException when fewer bytes remain than are written, in
+     *                                 which case nothing is written
+     */
+    public static ByteBuffer encode(Rational value, ByteBuffer buffer) throws BufferOverflowException {
+        int numerator = value.numerator();
+        int denominator = value.denominator();
+        if (buffer.remaining() < length(numerator, denominator)) {
+            throw new BufferOverflowException();
+        }
+        return buffer.position(put(buffer, buffer.position(), numerator, denominator));
+    }
+
+    /**
+     * Writes the number of values followed by every value at the position of a
+     * buffer, and advances the position past them
+     *
+     * @param values `Rational` values to be written
+     * @param buffer `ByteBuffer` to be written to
+     * @return buffer
+     * @throws BufferOverflowException when fewer bytes remain than are written, in
+     *                                 which case nothing is written
+     */
+    public static ByteBuffer encode(Rational[] values, ByteBuffer buffer) throws BufferOverflowException {
+        if (buffer.remaining() < maxLength(values.length)) {
+            long length = varintLength(values.length);
+            for (Rational value : values) {
+                length += length(value.numerator(), value.denominator());
+            }
+            if (buffer.remaining() < length) {
+                throw new BufferOverflowException();
+            }
+        }
+        int index = putVarint(buffer, buffer.position(), values.length);
+        for (Rational value : values) {
+            index = put(buffer, index, value.numerator(), value.denominator());
+        }
+        return buffer.position(index);
+    }
+
+    /**
+     * Writes the number of values followed by every value at the position of a
+     * buffer, and advances the position past them. Reads the same as
+     * `encode(Rational[], ByteBuffer)`.
+     *
+     * @param values `RationalArray` to be written
+     * @param buffer `ByteBuffer` to be written to
+     * @return buffer
+     * @throws BufferOverflowException when fewer bytes remain than are written, in
+     *                                 which case nothing is written
+     */
+    public static ByteBuffer encode(RationalArray values, ByteBuffer buffer) throws BufferOverflowException {
+        int[] numerators = values._numerators;
+        int[] denominators = values._denominators;
+        if (buffer.remaining() < maxLength(numerators.length)) {
+            long length = varintLength(numerators.length);
+            for (int i = 0; i < numerators.length; i++) {
+                length += length(numerators[i], denominators[i]);
+            }
+            if (buffer.remaining() < length) {
+                throw new BufferOverflowException();
+            }
+        }
+        int index = putVarint(buffer, buffer.position(), numerators.length);
+        for (int i = 0; i < numerators.length; i++) {
+            index = put(buffer, index, numerators[i], denominators[i]);
+        }
+        return buffer.position(index);
+    }
+
+    /**
+     * Reads a value at the position of a buffer and advances the position past it
+     *
+     * @param buffer `ByteBuffer` to be read from
+     * @return `Rational` which was read
+     * @throws BufferUnderflowException when the buffer ends inside the value
+     * @throws IllegalArgumentException when the bytes are not a valid value
+     */
+    public static Rational decode(ByteBuffer buffer) throws BufferUnderflowException, IllegalArgumentException {
+        Reader reader = new Reader(buffer);
+        long value = reader.next();
+        buffer.position(reader._index);
+        return Rational.fromReduced(RationalLong.numerator(value), RationalLong.denominator(value));
+    }
+
+    /**
+     * Reads values written by `encode(RationalArray, ByteBuffer)` or
+     * `encode(Rational[], ByteBuffer)` at the position of a buffer, and advances
+     * the position past them
+     *
+     * @param buffer `ByteBuffer` to be read from
+     * @return `RationalArray` with the values which were read
+     * @throws BufferUnderflowException when the buffer ends inside the values
+     * @throws IllegalArgumentException when the bytes are not valid values
+     */
+    public static RationalArray decodeArray(ByteBuffer buffer)
+            throws BufferUnderflowException, IllegalArgumentException {
+        Reader reader = new Reader(buffer);
+        int count = reader.varint();
+        // Every value takes at least 2 bytes, which also rejects negative counts
+        if (Integer.toUnsignedLong(count) > (reader._limit - reader._index) / 2) {
+            throw new BufferUnderflowException();
+        }
+        int[] numerators = new int[count];
+        int[] denominators = new int[count];
+        for (int i = 0; i < count; i++) {
+            long value = reader.next();
+            numerators[i] = RationalLong.numerator(value);
+            denominators[i] = RationalLong.denominator(value);
+        }
+        buffer.position(reader._index);
+        return new RationalArray(numerators, denominators);
+    }
+
+    /**
+     * Helper method which returns the most bytes count values can be written with,
+     * so the exact length only has to be computed when the buffer is nearly full
+     */
+    private static long maxLength(int count) {
+        return varintLength(count) + (long) count * MAX_LENGTH;
+    }
+
+    /**
+     * Helper method which returns the number of bytes a numerator and denominator
+     * are written with
+     */
+    private static int length(int numerator, int denominator) {
+        return varintLength(zigzag(numerator, denominator)) + varintLength(Math.abs(denominator) - 1);
+    }
+
+    /**
+     * Helper method which returns the number of bytes of an unsigned varint
+     */
+    private static int varintLength(int value) {
+        return (Integer.SIZE - Integer.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+    /**
+     * Helper method which zigzag encodes the numerator carrying the sign of the
+     * value, so small magnitudes of either sign take few bytes. The numerator of a
+     * denominator of `Integer.MIN_VALUE` is odd, so negating it cannot overflow.
+     */
+    private static int zigzag(int numerator, int denominator) {
+        int signed = denominator < 0 ? -numerator : numerator;
+        return (signed << 1) ^ (signed >> 31);
+    }
+
+    /**
+     * Helper method which writes a value at index, returning the index after it.
+     * The denominator minus 1 of 2^31 is `Integer.MAX_VALUE`.
+     */
+    private static int put(ByteBuffer buffer, int index, int numerator, int denominator) {
+        index = putVarint(buffer, index, zigzag(numerator, denominator));
+        return putVarint(buffer, index, Math.abs(denominator) - 1);
+    }
+
+    private static int putVarint(ByteBuffer buffer, int index, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put(index++, (byte) (value | 0x80));
+            value >>>= 7;
+        }
+        buffer.put(index++, (byte) value);
+        return index;
+    }
+
+    /**
+     * Reads varints from a buffer with an absolute index, so the position only
+     * moves once everything was read
+     */
+    private static final class Reader {
+        private final ByteBuffer _buffer;
+        private final int _limit;
+        private int _index;
+
+        Reader(ByteBuffer buffer) {
+            this._buffer = buffer;
+            this._limit = buffer.limit();
+            this._index = buffer.position();
+        }
+
+        /**
+         * Reads a value, returning it packed
+         */
+        long next() throws BufferUnderflowException, IllegalArgumentException {
+            int zigzag = this.varint();
+            int numerator = (zigzag >>> 1) ^ -(zigzag & 1);
+            long denominator = Integer.toUnsignedLong(this.varint()) + 1;
+            if (denominator > 1L << 31) {
+                throw new IllegalArgumentException("Denominator out of range: " + denominator);
+            }
+            if (denominator == 1L << 31) {
+                return RationalLong.pack(-numerator, Integer.MIN_VALUE);
+            }
+            return RationalLong.pack(numerator, (int) denominator);
+        }
+
+        int varint() throws BufferUnderflowException, IllegalArgumentException {
+            int value = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+                if (this._index == this._limit) {
+                    throw new BufferUnderflowException();
+                }
+                byte b = this._buffer.get(this._index++);
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    if (shift == 28 && b > 0x0F) {
+                        break;
+                    }
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at index " + (this._index - 1));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package numbers;
+
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+
+/**
+ * This class provides `Collector` implementations which sum, multiply and
+ * average streams of `Rational` values exactly, including on parallel streams.
+ *
+ * Each worker accumulates into a `MutableRational`, so elements are folded in
+ * without allocating while the running value fits in long components. When it
+ * overflows, the running value is moved into a `BigRational` partial and the
+ * accumulator starts over. Partials are merged pairwise, like a binary counter,
+ * so both the partials of one worker and the results of different workers are
+ * combined as a balanced tree rather than a left fold. Only the final result has
+ * to fit in a `Rational`.
+ */
+public final class RationalCollectors {
+    private RationalCollectors() {
+    }
+
+    /**
+     * Returns a `Collector` which sums `Rational` values. An empty stream sums to 0.
+     *
+     * The finisher throws an `ArithmeticException` when the sum does not fit in a
+     * `Rational`.
+     *
+     * @return `Collector` producing the exact sum of the elements
+     */
+    public static Collector<Rational, ?, Rational> summing() {
+        return Collector.of(() -> new Partial(false), Partial::accept, Partial::combine, Partial::result,
+                Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a `Collector` which multiplies `Rational` values. An empty stream
+     * multiplies to 1.
+     *
+     * The finisher throws an `ArithmeticException` when the product does not fit in
+     * a `Rational`.
+     *
+     * @return `Collector` producing the exact product of the elements
+     */
+    public static Collector<Rational, ?, Rational> product() {
+        return Collector.of(() -> new Partial(true), Partial::accept, Partial::combine, Partial::result,
+                Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a `Collector` which computes the arithmetic mean of `Rational` values.
+     * The average of an empty stream is 0, as with `Collectors.averagingDouble`.
+     *
+     * The finisher throws an `ArithmeticException` when the mean does not fit in a
+     * `Rational`.
+     *
+     * @return `Collector` producing the exact mean of the elements
+     */
+    public static Collector<Rational, ?, Rational> averaging() {
+        return Collector.of(() -> new Partial(false), Partial::accept, Partial::combine, Partial::average,
+                Characteristics.UNORDERED);
+    }
+
+    /**
+     * Mutable reduction state of one worker. The value is the sum or product of the
+     * long accumulator and every non-null partial.
+     */
+    private static final class Partial {
+        private final boolean _product;
+        private final MutableRational _accumulator = new MutableRational();
+        // Partial at index level covers about 2^level overflowed accumulators
+        private final BigRational[] _levels = new BigRational[Long.SIZE];
+        private long _count = 0;
+
+        Partial(boolean product) {
+            this._product = product;
+            this.resetAccumulator();
+        }
+
+        void accept(Rational value) {
+            long numerator = value.signedNumerator();
+            long denominator = value.positiveDenominator();
+            this._count++;
+            if (!this.tryApply(numerator, denominator)) {
+                this.push(0, this.flushAccumulator());
+                // An identity accumulator holds any reduced int fraction
+                this.tryApply(numerator, denominator);
+            }
+        }
+
+        Partial combine(Partial other) {
+            for (int level = 0; level < other._levels.length; level++) {
+                if (other._levels[level] != null) {
+                    this.push(level, other._levels[level]);
+                }
+            }
+            if (!this.tryApply(other._accumulator.numerator(), other._accumulator.denominator())) {
+                this.push(0, other.flushAccumulator());
+            }
+            this._count += other._count;
+            return this;
+        }
+
+        Rational result() {
+            return this.total().toRational();
+        }
+
+        Rational average() {
+            if (this._count == 0) {
+                return Rational.ZERO;
+            }
+            return this.total().dividedBy(new BigRational(this._count)).toRational();
+        }
+
+        /**
+         * Helper method which combines the accumulator with every partial, smallest
+         * partials first
+         */
+        private BigRational total() {
+            BigRational total = BigRational.fromReducedLongs(this._accumulator.numerator(),
+                    this._accumulator.denominator());
+            for (BigRational partial : this._levels) {
+                if (partial != null) {
+                    total = this.apply(partial, total);
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Helper method which inserts a partial at a level, merging it with the
+         * partial already there and carrying the result upwards
+         */
+        private void push(int level, BigRational value) {
+            while (this._levels[level] != null) {
+                value = this.apply(this._levels[level], value);
+                this._levels[level] = null;
+                level++;
+            }
+            this._levels[level] = value;
+        }
+
+        /**
+         * Helper method which moves the accumulator into a `BigRational` and resets it
+         */
+        private BigRational flushAccumulator() {
+            BigRational value = BigRational.fromReducedLongs(this._accumulator.numerator(),
+                    this._accumulator.denominator());
+            this.resetAccumulator();
+            return value;
+        }
+
+        private void resetAccumulator() {
+            if (this._product) {
+                this._accumulator.set(Rational.ONE);
+            } else {
+                this._accumulator.reset();
+            }
+        }
+
+        private boolean tryApply(long numerator, long denominator) {
+            return this._product ? this._accumulator.tryMultiply(numerator, denominator)
+                    : this._accumulator.tryAdd(numerator, denominator);
+        }
+
+        private BigRational apply(BigRational first, BigRational second) {
+            return this._product ? first.times(second) : first.plus(second);
+        }
+    }
+}
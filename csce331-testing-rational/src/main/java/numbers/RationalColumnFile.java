@@ -0,0 +1,276 @@
+package numbers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * This class reads a file written by `RationalColumnWriter` by mapping it into
+ * memory. Opening only reads the header, so it takes the same time for any file
+ * size, and values are read from the mapped columns when they are accessed.
+ * `Rational` objects are only created by `get` and `stream`, while `numerator`,
+ * `denominator` and `read` work on the columns directly.
+ *
+ * Files larger than a single mapping are mapped in windows of whole chunks. The
+ * checksum is only compared by `verify()`, since it has to read the whole file.
+ * A `RationalColumnFile` is immutable and can be read from many threads at once.
+ */
+public final class RationalColumnFile {
+    // Largest number of bytes mapped at once, a multiple of every chunk length
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    private final long _count;
+    private final int _chunkSize;
+    private final int _chunksPerWindow;
+    private final long _checksum;
+    private final ByteBuffer[] _windows;
+    private final ByteBuffer _statistics;
+
+    private RationalColumnFile(long count, int chunkSize, long checksum, ByteBuffer[] windows,
+            ByteBuffer statistics) {
+        this._count = count;
+        this._chunkSize = chunkSize;
+        this._chunksPerWindow = WINDOW_BYTES / (2 * Integer.BYTES * chunkSize);
+        this._checksum = checksum;
+        this._windows = windows;
+        this._statistics = statistics;
+    }
+
+    /**
+     * Opens a file written by `RationalColumnWriter`. The file is mapped read-only
+     * and must not be truncated while it is open.
+     *
+     * @param path file to be opened
+     * @return `RationalColumnFile` reading the file
+     * @throws IOException when the file cannot be read or is not a valid file
+     */
+    public static RationalColumnFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < RationalColumnWriter.HEADER_LENGTH) {
+                throw new IOException("Not a rational column file: " + path);
+            }
+            ByteBuffer header = ByteBuffer.allocate(RationalColumnWriter.HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                channel.read(header, header.position());
+            }
+            if (header.getLong(0) != RationalColumnWriter.MAGIC) {
+                throw new IOException("Not a rational column file: " + path);
+            }
+            if (header.getInt(8) != RationalColumnWriter.VERSION) {
+                throw new IOException("Unsupported version " + header.getInt(8) + ": " + path);
+            }
+            int chunkSize = header.getInt(12);
+            long count = header.getLong(16);
+            long statisticsOffset = header.getLong(24);
+            if (chunkSize < 1 || chunkSize > RationalColumnWriter.MAX_CHUNK_SIZE || count < 0
+                    || statisticsOffset != RationalColumnWriter.HEADER_LENGTH + 2L * Integer.BYTES * count
+                    || size != statisticsOffset
+                            + 4L * Integer.BYTES * RationalColumnWriter.chunkCount(count, chunkSize)) {
+                throw new IOException("Corrupt header: " + path);
+            }
+
+            long windowBytes = WINDOW_BYTES / (2 * Integer.BYTES * chunkSize) * 2L * Integer.BYTES * chunkSize;
+            ByteBuffer[] windows = new ByteBuffer[(int) ((statisticsOffset - RationalColumnWriter.HEADER_LENGTH
+                    + windowBytes - 1) / windowBytes)];
+            for (int i = 0; i < windows.length; i++) {
+                long offset = RationalColumnWriter.HEADER_LENGTH + i * windowBytes;
+                windows[i] = map(channel, offset, Math.min(windowBytes, statisticsOffset - offset));
+            }
+            ByteBuffer statistics = map(channel, statisticsOffset, size - statisticsOffset);
+            return new RationalColumnFile(count, chunkSize, header.getLong(32), windows, statistics);
+        }
+    }
+
+    /**
+     * Accessor method for the number of values in the file
+     *
+     * @return number of values
+     */
+    public long size() {
+        return this._count;
+    }
+
+    /**
+     * Accessor method for the number of values per chunk
+     *
+     * @return chunk size the file was written with
+     */
+    public int chunkSize() {
+        return this._chunkSize;
+    }
+
+    /**
+     * Returns the number of chunks, the last of which may be shorter than
+     * `chunkSize()`
+     *
+     * @return number of chunks
+     */
+    public int chunkCount() {
+        return RationalColumnWriter.chunkCount(this._count, this._chunkSize);
+    }
+
+    /**
+     * Returns the numerator of a value without creating a `Rational`
+     *
+     * @param index index of the value
+     * @return numerator of the value
+     * @throws IndexOutOfBoundsException when index is out of bounds
+     */
+    public int numerator(long index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, this._count);
+        return this.column(index, 0);
+    }
+
+    /**
+     * Returns the denominator of a value without creating a `Rational`
+     *
+     * @param index index of the value
+     * @return denominator of the value
+     * @throws IndexOutOfBoundsException when index is out of bounds
+     */
+    public int denominator(long index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, this._count);
+        return this.column(index, this.length(index / this._chunkSize));
+    }
+
+    /**
+     * Returns a value
+     *
+     * @param index index of the value
+     * @return `Rational` with the value
+     * @throws IndexOutOfBoundsException when index is out of bounds
+     */
+    public Rational get(long index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, this._count);
+        int numerator = this.column(index, 0);
+        int denominator = this.column(index, this.length(index / this._chunkSize));
+        return Rational.fromReduced(numerator, denominator);
+    }
+
+    /**
+     * Copies a range of values into a `RationalArray`, column by column
+     *
+     * @param from   index of the first value
+     * @param length number of values
+     * @return `RationalArray` holding the values
+     * @throws IndexOutOfBoundsException when the range is out of bounds
+     */
+    public RationalArray read(long from, int length) throws IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(from, length, this._count);
+        int[] numerators = new int[length];
+        int[] denominators = new int[length];
+        int copied = 0;
+        while (copied < length) {
+            long index = from + copied;
+            int chunk = (int) (index / this._chunkSize);
+            int offset = (int) (index % this._chunkSize);
+            int count = Math.min(length - copied, this.length(chunk) - offset);
+            ByteBuffer window = this._windows[chunk / this._chunksPerWindow];
+            int base = this.chunkBase(chunk);
+            window.slice(base + Integer.BYTES * offset, Integer.BYTES * count).order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer().get(numerators, copied, count);
+            window.slice(base + Integer.BYTES * (this.length(chunk) + offset), Integer.BYTES * count)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(denominators, copied, count);
+            copied += count;
+        }
+        return new RationalArray(numerators, denominators);
+    }
+
+    /**
+     * Returns a sequential `Stream` of every value in order, creating each
+     * `Rational` as it is reached. Calling `parallel()` on it splits the range of
+     * indexes.
+     *
+     * @return `Stream` of the values
+     */
+    public Stream<Rational> stream() {
+        return LongStream.range(0, this._count).mapToObj(this::get);
+    }
+
+    /**
+     * Returns the smallest value of a chunk, so chunks can be skipped without
+     * reading them
+     *
+     * @param chunk index of the chunk
+     * @return smallest value in the chunk
+     * @throws IndexOutOfBoundsException when chunk is out of bounds
+     */
+    public Rational chunkMin(int chunk) throws IndexOutOfBoundsException {
+        return this.statistic(chunk, 0);
+    }
+
+    /**
+     * Returns the largest value of a chunk, so chunks can be skipped without
+     * reading them
+     *
+     * @param chunk index of the chunk
+     * @return largest value in the chunk
+     * @throws IndexOutOfBoundsException when chunk is out of bounds
+     */
+    public Rational chunkMax(int chunk) throws IndexOutOfBoundsException {
+        return this.statistic(chunk, 1);
+    }
+
+    /**
+     * Computes the checksum of the chunks and statistics and compares it with the
+     * one in the header. Reads the whole file.
+     *
+     * @return whether the checksums match
+     */
+    public boolean verify() {
+        CRC32C checksum = new CRC32C();
+        for (ByteBuffer window : this._windows) {
+            checksum.update(window.duplicate());
+        }
+        checksum.update(this._statistics.duplicate());
+        return checksum.getValue() == this._checksum;
+    }
+
+    /**
+     * Helper method which maps a range of the file
+     */
+    private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Helper method which reads the int at index in a column of its chunk, where
+     * column is 0 for numerators and the chunk length for denominators
+     */
+    private int column(long index, int column) {
+        int chunk = (int) (index / this._chunkSize);
+        int offset = (int) (index % this._chunkSize);
+        return this._windows[chunk / this._chunksPerWindow].getInt(this.chunkBase(chunk)
+                + Integer.BYTES * (column + offset));
+    }
+
+    /**
+     * Helper method which returns the byte offset of a chunk in its window
+     */
+    private int chunkBase(int chunk) {
+        return 2 * Integer.BYTES * this._chunkSize * (chunk % this._chunksPerWindow);
+    }
+
+    /**
+     * Helper method which returns the number of values in a chunk
+     */
+    private int length(long chunk) {
+        return (int) Math.min(this._chunkSize, this._count - chunk * this._chunkSize);
+    }
+
+    private Rational statistic(int chunk, int which) throws IndexOutOfBoundsException {
+        Objects.checkIndex(chunk, this.chunkCount());
+        int offset = 4 * Integer.BYTES * chunk + 2 * Integer.BYTES * which;
+        return Rational.fromReduced(this._statistics.getInt(offset), this._statistics.getInt(offset + Integer.BYTES));
+    }
+}
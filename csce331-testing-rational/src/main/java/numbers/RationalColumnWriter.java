@@ -0,0 +1,186 @@
+package numbers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * This class writes `Rational` values to a file which `RationalColumnFile` maps
+ * into memory.
+ *
+ * Values are written in chunks, each holding a column of numerators followed by
+ * a column of denominators as little-endian ints. The last chunk may be shorter.
+ * After the chunks comes a footer with the smallest and largest value of every
+ * chunk, and the header at the start of the file, holding the number of values
+ * and a CRC32C checksum of everything after it, is written when the writer is
+ * closed. Only the current chunk is held in memory, so files of any size can be
+ * written one value at a time.
+ */
+public final class RationalColumnWriter implements Closeable {
+    static final long MAGIC = 0x31304C4F43544152L; // "RATCOL01" in little-endian order
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = 64;
+    // Chunks must fit in a single mapping of the reader
+    static final int MAX_CHUNK_SIZE = 1 << 27;
+
+    /**
+     * Number of values per chunk when none is given
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    private final FileChannel _channel;
+    private final int _chunkSize;
+    private final ByteBuffer _chunk;
+    private final CRC32C _checksum = new CRC32C();
+    // Smallest and largest value of each chunk, packed
+    private long[] _statistics = new long[32];
+    private long _count;
+    private int _length;
+    private long _min;
+    private long _max;
+    private boolean _closed;
+
+    /**
+     * Constructor which creates or truncates a file and writes chunks of the
+     * default size to it
+     *
+     * @param path file to be written
+     * @throws IOException when the file cannot be opened
+     */
+    public RationalColumnWriter(Path path) throws IOException {
+        this(path, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor which creates or truncates a file and writes chunks of a given
+     * size to it
+     *
+     * @param path      file to be written
+     * @param chunkSize number of values per chunk
+     * @throws IllegalArgumentException when chunkSize is not between 1 and 2^27
+     * @throws IOException              when the file cannot be opened
+     */
+    public RationalColumnWriter(Path path, int chunkSize) throws IllegalArgumentException, IOException {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        this._chunkSize = chunkSize;
+        this._chunk = ByteBuffer.allocateDirect(2 * Integer.BYTES * chunkSize).order(ByteOrder.LITTLE_ENDIAN);
+        this._channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this._channel.position(HEADER_LENGTH);
+    }
+
+    /**
+     * Appends a value to the file
+     *
+     * @param value `Rational` to be appended
+     * @throws IOException           when the file cannot be written
+     * @throws IllegalStateException when this writer was closed
+     */
+    public void append(Rational value) throws IOException, IllegalStateException {
+        this.append(value.numerator(), value.denominator());
+    }
+
+    /**
+     * Appends every value of an array to the file
+     *
+     * @param values `RationalArray` to be appended
+     * @throws IOException           when the file cannot be written
+     * @throws IllegalStateException when this writer was closed
+     */
+    public void append(RationalArray values) throws IOException, IllegalStateException {
+        for (int i = 0; i < values._numerators.length; i++) {
+            this.append(values._numerators[i], values._denominators[i]);
+        }
+    }
+
+    /**
+     * Helper method which appends a reduced numerator and denominator
+     */
+    private void append(int numerator, int denominator) throws IOException, IllegalStateException {
+        if (this._closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        long value = RationalLong.pack(numerator, denominator);
+        if (this._length == 0 || RationalLong.compare(value, this._min) < 0) {
+            this._min = value;
+        }
+        if (this._length == 0 || RationalLong.compare(value, this._max) > 0) {
+            this._max = value;
+        }
+        this._chunk.putInt(Integer.BYTES * this._length, numerator);
+        this._chunk.putInt(Integer.BYTES * (this._chunkSize + this._length), denominator);
+        this._count++;
+        if (++this._length == this._chunkSize) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Writes the last chunk, the footer and the header, and closes the file. Does
+     * nothing when this writer was already closed.
+     *
+     * @throws IOException when the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (this._closed) {
+            return;
+        }
+        this._closed = true;
+        try (FileChannel channel = this._channel) {
+            if (this._length > 0) {
+                this.flush();
+            }
+            int chunks = chunkCount(this._count, this._chunkSize);
+            long statisticsOffset = channel.position();
+            ByteBuffer footer = ByteBuffer.allocate(4 * Integer.BYTES * chunks).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < 2 * chunks; i++) {
+                footer.putInt(RationalLong.numerator(this._statistics[i]))
+                        .putInt(RationalLong.denominator(this._statistics[i]));
+            }
+            this.write(footer.flip());
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC).putInt(VERSION).putInt(this._chunkSize).putLong(this._count)
+                    .putLong(statisticsOffset).putLong(this._checksum.getValue());
+            channel.write(header.clear(), 0);
+        }
+    }
+
+    /**
+     * Helper method which writes the current chunk, with the denominators moved
+     * next to the numerators when the chunk is not full
+     */
+    private void flush() throws IOException {
+        int chunk = (int) ((this._count - 1) / this._chunkSize);
+        if (2 * chunk + 2 > this._statistics.length) {
+            this._statistics = Arrays.copyOf(this._statistics, 2 * this._statistics.length);
+        }
+        this._statistics[2 * chunk] = this._min;
+        this._statistics[2 * chunk + 1] = this._max;
+
+        int bytes = Integer.BYTES * this._length;
+        this.write(this._chunk.clear().limit(bytes));
+        this.write(this._chunk.limit(Integer.BYTES * this._chunkSize + bytes).position(Integer.BYTES * this._chunkSize));
+        this._length = 0;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        this._checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            this._channel.write(buffer);
+        }
+    }
+
+    static int chunkCount(long count, int chunkSize) {
+        return (int) ((count + chunkSize - 1) / chunkSize);
+    }
+}
@@ -0,0 +1,408 @@
+package numbers;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * This class snaps doubles to fractions whose denominator is at most a fixed
+ * order N. The Farey sequence F_N, every reduced fraction from 0 to 1 with a
+ * denominator of at most N in increasing order, is computed once into a `long[]`
+ * of values packed like `RationalLong`. A query splits the magnitude of the
+ * double into its integer and fractional parts, finds the fractional part with
+ * a binary search and adds the integer part back, allocating nothing when the
+ * packed result is used. Comparisons with the double are exact.
+ *
+ * The search only covers one bucket of a table splitting [0, 1) into a power
+ * of two of equal parts, one for every two to four fractions. Neighbouring
+ * fractions are at least 1 / N^2 apart, so no bucket holds more than 14 of them,
+ * and a query touches two or three cache lines however long the sequence is.
+ *
+ * F_N holds about 0.304 N^2 fractions, taking at most 10 bytes each with the
+ * table, so an order of 1000 takes 3 MB and the largest order, 84052, takes 19
+ * GB. Large sequences are built in parallel on the common `ForkJoinPool`: each
+ * task fills the fractions between two boundaries i / S, starting at the rank of
+ * its first boundary, which is counted with the Möbius function rather than by
+ * walking the sequence, and the buckets are then filled the same way. A
+ * `RationalFareyIndex` is immutable and can be queried from many threads at once.
+ */
+public final class RationalFareyIndex {
+    // Sequences with fewer fractions are built by a single task
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    /**
+     * Largest order whose sequence fits in an array. F_84052 holds 2147434365
+     * fractions, while F_84053 holds 2147518417, more than the 2^31 - 9 an array
+     * can.
+     */
+    public static final int MAX_ORDER = 84052;
+    // Bytes of the header of an array on a 64-bit JVM
+    private static final int ARRAY_HEADER = 16;
+
+    private final int _order;
+    private final long[] _fractions;
+    // Index of the largest fraction at most j / (length - 1) for each bucket j,
+    // and the index of the second to last fraction at the end
+    private final int[] _buckets;
+
+    /**
+     * Constructor which computes the Farey sequence of an order
+     *
+     * @param order largest denominator of the fractions
+     * @throws IllegalArgumentException when order is not between 1 and
+     *                                  `MAX_ORDER`
+     */
+    public RationalFareyIndex(int order) throws IllegalArgumentException {
+        // Checked before the sieve, whose arrays and running time grow with order
+        if (order < 1 || order > MAX_ORDER) {
+            throw new IllegalArgumentException("Order must be between 1 and " + MAX_ORDER);
+        }
+        byte[] mobius = mobius(order);
+        long size = rank(mobius, 1, 1) + 1;
+        this._order = order;
+        this._fractions = new long[(int) size];
+
+        int segments = size < PARALLEL_THRESHOLD ? 1 : Math.min(order, 4 * ForkJoinPool.getCommonPoolParallelism());
+        IntStream indices = IntStream.range(0, segments);
+        if (segments > 1) {
+            indices = indices.parallel();
+        }
+        indices.forEach(segment -> this.fill(mobius, segment, segments));
+
+        // A power of two, so scaling a fraction to its bucket is exact
+        int bucketCount = Math.max(1, Integer.highestOneBit(this._fractions.length) >>> 1);
+        this._buckets = new int[bucketCount + 1];
+        this._buckets[bucketCount] = this._fractions.length - 2;
+        IntStream bucketSegments = IntStream.range(0, segments);
+        if (segments > 1) {
+            bucketSegments = bucketSegments.parallel();
+        }
+        bucketSegments.forEach(segment -> this.fillBuckets(segment, segments));
+    }
+
+    /**
+     * Accessor method for the order
+     *
+     * @return largest denominator of the fractions
+     */
+    public int order() {
+        return this._order;
+    }
+
+    /**
+     * Returns the number of fractions in the sequence, including 0 / 1 and 1 / 1
+     *
+     * @return length of the Farey sequence
+     */
+    public int size() {
+        return this._fractions.length;
+    }
+
+    /**
+     * Returns a fraction of the sequence
+     *
+     * @param index index of the fraction, from 0 for 0 / 1 to size() - 1 for 1 / 1
+     * @return `Rational` at index
+     * @throws IndexOutOfBoundsException when index is out of bounds
+     */
+    public Rational get(int index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, this._fractions.length);
+        long value = this._fractions[index];
+        return Rational.fromReduced(RationalLong.numerator(value), RationalLong.denominator(value));
+    }
+
+    /**
+     * Returns the number of bytes the precomputed sequence takes on the heap
+     *
+     * @return size of the arrays of fractions and buckets in bytes, including
+     *         their headers
+     */
+    public long footprint() {
+        return 2 * ARRAY_HEADER + (long) Long.BYTES * this._fractions.length
+                + (long) Integer.BYTES * this._buckets.length;
+    }
+
+    /**
+     * Returns the closest fraction to a double among those whose denominator is at
+     * most the order. On a tie the one with the smaller denominator, then the
+     * smaller magnitude, is returned, so the result is the same as
+     * `Rational.approximate(value, order())`.
+     *
+     * @param value double to be snapped
+     * @return closest `Rational` with a denominator of at most the order
+     * @throws IllegalArgumentException when value is NaN or infinite
+     * @throws ArithmeticException      when the result does not fit in a `Rational`
+     */
+    public Rational nearest(double value) throws IllegalArgumentException, ArithmeticException {
+        return toRational(this.nearestPacked(value));
+    }
+
+    /**
+     * Returns the closest fraction to a double like `nearest`, packed like
+     * `RationalLong`
+     *
+     * @param value double to be snapped
+     * @return packed closest value with a denominator of at most the order
+     * @throws IllegalArgumentException when value is NaN or infinite
+     * @throws ArithmeticException      when the result does not fit in a `Rational`
+     */
+    public long nearestPacked(double value) throws IllegalArgumentException, ArithmeticException {
+        return this.snap(value, 0);
+    }
+
+    /**
+     * Returns the largest fraction which is at most a double, among those whose
+     * denominator is at most the order
+     *
+     * @param value double to be snapped
+     * @return largest `Rational` less than or equal to value
+     * @throws IllegalArgumentException when value is NaN or infinite
+     * @throws ArithmeticException      when the result does not fit in a `Rational`
+     */
+    public Rational floor(double value) throws IllegalArgumentException, ArithmeticException {
+        return toRational(this.floorPacked(value));
+    }
+
+    /**
+     * Returns the largest fraction which is at most a double like `floor`, packed
+     * like `RationalLong`
+     *
+     * @param value double to be snapped
+     * @return packed largest value less than or equal to value
+     * @throws IllegalArgumentException when value is NaN or infinite
+     * @throws ArithmeticException      when the result does not fit in a `Rational`
+     */
+    public long floorPacked(double value) throws IllegalArgumentException, ArithmeticException {
+        return this.snap(value, -1);
+    }
+
+    /**
+     * Returns the smallest fraction which is at least a double, among those whose
+     * denominator is at most the order
+     *
+     * @param value double to be snapped
+     * @return smallest `Rational` greater than or equal to value
+     * @throws IllegalArgumentException when value is NaN or infinite
+     * @throws ArithmeticException      when the result does not fit in a `Rational`
+     */
+    public Rational ceiling(double value) throws IllegalArgumentException, ArithmeticException {
+        return toRational(this.ceilingPacked(value));
+    }
+
+    /**
+     * Returns the smallest fraction which is at least a double like `ceiling`,
+     * packed like `RationalLong`
+     *
+     * @param value double to be snapped
+     * @return packed smallest value greater than or equal to value
+     * @throws IllegalArgumentException when value is NaN or infinite
+     * @throws ArithmeticException      when the result does not fit in a `Rational`
+     */
+    public long ceilingPacked(double value) throws IllegalArgumentException, ArithmeticException {
+        return this.snap(value, 1);
+    }
+
+    /**
+     * Helper method which snaps a value down for a direction of -1, to the
+     * closest fraction for 0 and up for 1. Works on the magnitude, whose
+     * fractional part is exact, and flips the direction for negative values.
+     */
+    private long snap(double value, int direction) throws IllegalArgumentException, ArithmeticException {
+        Rational.checkFinite(value);
+        boolean negative = value < 0;
+        double magnitude = Math.abs(value);
+        if (magnitude >= 0x1p32) {
+            throw new ArithmeticException(value + " does not fit in a Rational");
+        }
+        long integer = (long) magnitude;
+        double fraction = magnitude - integer;
+        if (negative) {
+            direction = -direction;
+        }
+
+        int index = this.floorIndex(fraction);
+        long result = this._fractions[index];
+        if (direction > 0 && compare(fraction, RationalLong.numerator(result), RationalLong.denominator(result)) != 0) {
+            result = this._fractions[index + 1];
+        } else if (direction == 0) {
+            // Neighbours a/b < c/d of a Farey sequence have bc - ad = 1, so their
+            // midpoint is (2ad + 1) / 2bd
+            long next = this._fractions[index + 1];
+            long lowDenominator = RationalLong.denominator(result);
+            long highDenominator = RationalLong.denominator(next);
+            int side = compare(fraction, 2L * RationalLong.numerator(result) * highDenominator + 1,
+                    2 * lowDenominator * highDenominator);
+            if (side > 0 || side == 0 && highDenominator < lowDenominator) {
+                result = next;
+            }
+        }
+
+        long denominator = RationalLong.denominator(result);
+        long numerator = integer * denominator + RationalLong.numerator(result);
+        return RationalLong.reduced(negative ? -numerator : numerator, denominator);
+    }
+
+    /**
+     * Helper method which returns the index of the largest fraction at most a
+     * fraction in [0, 1), which is never the last one
+     */
+    private int floorIndex(double fraction) {
+        int bucket = (int) (fraction * (this._buckets.length - 1));
+        return this.floorIndex(fraction, this._buckets[bucket], this._buckets[bucket + 1] + 1);
+    }
+
+    /**
+     * Helper method which binary searches between a fraction at most value and a
+     * fraction above it
+     */
+    private int floorIndex(double fraction, int low, int high) {
+        long[] fractions = this._fractions;
+        while (high - low > 1) {
+            int middle = (low + high) >>> 1;
+            long value = fractions[middle];
+            if (compare(fraction, RationalLong.numerator(value), RationalLong.denominator(value)) >= 0) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Helper method which compares a double with numerator / denominator, both
+     * below 2^53. A rounded product can only land on the numerator, never past
+     * it, so only then does the exact error of the product decide.
+     */
+    private static int compare(double fraction, long numerator, long denominator) {
+        double product = fraction * denominator;
+        if (product != numerator) {
+            return product < numerator ? -1 : 1;
+        }
+        return (int) Math.signum(Math.fma(fraction, (double) denominator, (double) -numerator));
+    }
+
+    /**
+     * Helper method which fills the buckets from segment / segments up to the
+     * next boundary, searching for the first and walking to the others. Parallel
+     * builds have at least 2^14 buckets, so no range is empty.
+     */
+    private void fillBuckets(int segment, int segments) {
+        long bucketCount = this._buckets.length - 1;
+        int from = (int) (bucketCount * segment / segments);
+        int to = (int) (bucketCount * (segment + 1) / segments);
+        int index = this.floorIndex((double) from / bucketCount, 0, this._fractions.length - 1);
+        for (int bucket = from; bucket < to; bucket++) {
+            // Moves on while the next fraction p/q is at most bucket / bucketCount
+            while (RationalLong.numerator(this._fractions[index + 1]) * bucketCount
+                    <= (long) bucket * RationalLong.denominator(this._fractions[index + 1])) {
+                index++;
+            }
+            this._buckets[bucket] = index;
+        }
+    }
+
+    private static Rational toRational(long value) {
+        return Rational.fromReduced(RationalLong.numerator(value), RationalLong.denominator(value));
+    }
+
+    /**
+     * Helper method which fills the fractions from segment / segments up to the
+     * next boundary, starting from the rank of the first one and stepping with
+     * the next term rule of Farey sequences
+     */
+    private void fill(byte[] mobius, int segment, int segments) {
+        long divisor = Rational.gcd(segment, segments);
+        long a = segment / divisor;
+        long b = segments / divisor;
+        int index = (int) rank(mobius, a, b);
+        int end = this._fractions.length;
+        if (segment + 1 < segments) {
+            long nextDivisor = Rational.gcd(segment + 1, segments);
+            end = (int) rank(mobius, (segment + 1) / nextDivisor, segments / nextDivisor);
+        }
+
+        // The successor c/d of a/b has bc - ad = 1 and the largest such d up to
+        // the order
+        long c = 1;
+        long d = this._order;
+        if (a > 0) {
+            long residue = Math.floorMod(-inverse(a, b), b);
+            d = residue + (this._order - residue) / b * b;
+            c = (a * d + 1) / b;
+        }
+        for (; index < end; index++) {
+            this._fractions[index] = RationalLong.pack((int) a, (int) b);
+            long k = (this._order + b) / d;
+            long nextC = k * c - a;
+            long nextD = k * d - b;
+            a = c;
+            b = d;
+            c = nextC;
+            d = nextD;
+        }
+    }
+
+    /**
+     * Helper method which counts the reduced fractions in (0, a/b] with a
+     * denominator of at most the order, which is the index of a/b in the sequence.
+     * Sums floor(q a / b) over every denominator q and removes the fractions which
+     * are not reduced by Möbius inversion.
+     */
+    private static long rank(byte[] mobius, long a, long b) {
+        int order = mobius.length - 1;
+        long count = 0;
+        for (int divisor = 1; divisor <= order; divisor++) {
+            if (mobius[divisor] != 0) {
+                long sum = 0;
+                for (long q = 1, last = order / divisor; q <= last; q++) {
+                    sum += q * a / b;
+                }
+                count += mobius[divisor] * sum;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Helper method which returns the Möbius function up to order with a sieve
+     */
+    private static byte[] mobius(int order) {
+        byte[] mobius = new byte[order + 1];
+        Arrays.fill(mobius, (byte) 1);
+        boolean[] composite = new boolean[order + 1];
+        for (int p = 2; p <= order; p++) {
+            if (!composite[p]) {
+                for (int m = p; m <= order; m += p) {
+                    composite[m] = m > p;
+                    mobius[m] = (byte) -mobius[m];
+                }
+                for (long m = (long) p * p; m <= order; m += (long) p * p) {
+                    mobius[(int) m] = 0;
+                }
+            }
+        }
+        return mobius;
+    }
+
+    /**
+     * Helper method which returns the inverse of value modulo a coprime modulus
+     * with the extended Euclidean algorithm
+     */
+    private static long inverse(long value, long modulus) {
+        long remainder = modulus;
+        long nextRemainder = value % modulus;
+        long coefficient = 0;
+        long nextCoefficient = 1;
+        while (nextRemainder != 0) {
+            long quotient = remainder / nextRemainder;
+            long swap = remainder - quotient * nextRemainder;
+            remainder = nextRemainder;
+            nextRemainder = swap;
+            swap = coefficient - quotient * nextCoefficient;
+            coefficient = nextCoefficient;
+            nextCoefficient = swap;
+        }
+        return coefficient;
+    }
+}
@@ -0,0 +1,304 @@
+package numbers;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements a hash map keyed on rational numbers. Keys are stored
+ * packed the way `RationalLong` packs them in an open addressing table with
+ * linear probing, so lookups by numerator and denominator or by packed value
+ * allocate no key objects.
+ *
+ * @param <V> type of the mapped values
+ */
+public class RationalHashMap<V> {
+    // A packed value with a denominator of 0 is never a valid key
+    private static final long EMPTY = 0L;
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] _keys;
+    private Object[] _values;
+    private int _size = 0;
+
+    /**
+     * Default constructor. Creates an empty `RationalHashMap`
+     */
+    public RationalHashMap() {
+        this(MINIMUM_CAPACITY / 2);
+    }
+
+    /**
+     * Constructor which creates an empty `RationalHashMap` sized to hold a number
+     * of entries without growing
+     *
+     * @param expectedSize number of entries expected
+     * @throws IllegalArgumentException when expectedSize is negative
+     */
+    public RationalHashMap(int expectedSize) throws IllegalArgumentException {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < 2L * expectedSize) {
+            capacity <<= 1;
+        }
+        this._keys = new long[capacity];
+        this._values = new Object[capacity];
+    }
+
+    /**
+     * Returns the number of entries
+     *
+     * @return number of entries in this map
+     */
+    public int size() {
+        return this._size;
+    }
+
+    /**
+     * Function for checking if this map has no entries
+     *
+     * @return boolean as to whether this map is empty
+     */
+    public boolean isEmpty() {
+        return this._size == 0;
+    }
+
+    /**
+     * Maps a key to a value
+     *
+     * @param key   `Rational` key
+     * @param value value to be associated with key
+     * @return the previous value associated with key, or null if there was none
+     */
+    public V put(Rational key, V value) {
+        return this.insert(RationalLong.fromRational(key), value);
+    }
+
+    /**
+     * Maps a key given by its numerator and denominator to a value. The fraction is
+     * simplified first, so 2/4 and 1/2 are the same key.
+     *
+     * @param numerator   numerator of the key
+     * @param denominator denominator of the key
+     * @param value       value to be associated with the key
+     * @return the previous value associated with the key, or null if there was none
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public V put(int numerator, int denominator, V value) throws IllegalArgumentException {
+        return this.insert(RationalLong.of(numerator, denominator), value);
+    }
+
+    /**
+     * Maps a packed key to a value. The fraction is simplified first, so packed
+     * 2/4 and 1/2 are the same key.
+     *
+     * @param key   key packed by `RationalLong`
+     * @param value value to be associated with key
+     * @return the previous value associated with key, or null if there was none
+     * @throws IllegalArgumentException when the key has a denominator of 0
+     */
+    public V put(long key, V value) throws IllegalArgumentException {
+        return this.insert(RationalLong.of(RationalLong.numerator(key), RationalLong.denominator(key)), value);
+    }
+
+    /**
+     * Returns the value mapped to a key
+     *
+     * @param key `Rational` key
+     * @return the value associated with key, or null if there is none
+     */
+    public V get(Rational key) {
+        return this.get(RationalLong.fromRational(key));
+    }
+
+    /**
+     * Returns the value mapped to a key given by its numerator and denominator
+     *
+     * @param numerator   numerator of the key
+     * @param denominator denominator of the key
+     * @return the value associated with the key, or null if there is none
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public V get(int numerator, int denominator) throws IllegalArgumentException {
+        return this.get(RationalLong.of(numerator, denominator));
+    }
+
+    /**
+     * Returns the value mapped to a packed key. The key must be in lowest terms,
+     * as every `RationalLong` method returns it, or it is never found.
+     *
+     * @param key key packed by `RationalLong`
+     * @return the value associated with key, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = this.slotOf(key);
+        return this._keys[slot] == key ? (V) this._values[slot] : null;
+    }
+
+    /**
+     * Returns the value mapped to a key, or a default value when there is none
+     *
+     * @param key          `Rational` key
+     * @param defaultValue value to return when key is not mapped
+     * @return the value associated with key, or defaultValue
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Rational key, V defaultValue) {
+        int slot = this.slotOf(RationalLong.fromRational(key));
+        return this._keys[slot] == EMPTY ? defaultValue : (V) this._values[slot];
+    }
+
+    /**
+     * Function for checking if a key is mapped
+     *
+     * @param key `Rational` key
+     * @return boolean as to whether key is mapped
+     */
+    public boolean containsKey(Rational key) {
+        return this.containsKey(RationalLong.fromRational(key));
+    }
+
+    /**
+     * Function for checking if a packed key is mapped. The key must be in lowest
+     * terms, as every `RationalLong` method returns it, or it is never found.
+     *
+     * @param key key packed by `RationalLong`
+     * @return boolean as to whether key is mapped
+     */
+    public boolean containsKey(long key) {
+        return key != EMPTY && this._keys[this.slotOf(key)] == key;
+    }
+
+    /**
+     * Removes the mapping of a key
+     *
+     * @param key `Rational` key
+     * @return the value that was associated with key, or null if there was none
+     */
+    public V remove(Rational key) {
+        return this.remove(RationalLong.fromRational(key));
+    }
+
+    /**
+     * Removes the mapping of a packed key, which must be in lowest terms like the
+     * key of `get`. Later entries of the same probe run are shifted back so
+     * lookups never need tombstones.
+     *
+     * @param key key packed by `RationalLong`
+     * @return the value that was associated with key, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = this.slotOf(key);
+        if (key == EMPTY || this._keys[slot] != key) {
+            return null;
+        }
+        V previous = (V) this._values[slot];
+        int mask = this._keys.length - 1;
+
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (this._keys[next] == EMPTY) {
+                break;
+            }
+            // Moves an entry into the hole unless its home slot lies cyclically in (slot, next]
+            int home = hash(this._keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                this._keys[slot] = this._keys[next];
+                this._values[slot] = this._values[next];
+                slot = next;
+            }
+        }
+        this._keys[slot] = EMPTY;
+        this._values[slot] = null;
+        this._size--;
+        return previous;
+    }
+
+    /**
+     * Removes every entry
+     */
+    public void clear() {
+        Arrays.fill(this._keys, EMPTY);
+        Arrays.fill(this._values, null);
+        this._size = 0;
+    }
+
+    /**
+     * Performs an action for every entry. Keys are handed out as `Rational`
+     * values, in no particular order.
+     *
+     * @param action action to perform on each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<Rational, ? super V> action) {
+        for (int i = 0; i < this._keys.length; i++) {
+            if (this._keys[i] != EMPTY) {
+                action.accept(RationalLong.toRational(this._keys[i]), (V) this._values[i]);
+            }
+        }
+    }
+
+    /**
+     * Helper method which maps a key already in lowest terms to a value
+     */
+    @SuppressWarnings("unchecked")
+    private V insert(long key, V value) {
+        int slot = this.slotOf(key);
+        if (this._keys[slot] == key) {
+            V previous = (V) this._values[slot];
+            this._values[slot] = value;
+            return previous;
+        }
+
+        this._keys[slot] = key;
+        this._values[slot] = value;
+        this._size++;
+        if (2 * this._size > this._keys.length) {
+            this.resize(2 * this._keys.length);
+        }
+        return null;
+    }
+
+    /**
+     * Helper method which returns the slot holding a key, or the empty slot where
+     * it would be inserted
+     */
+    private int slotOf(long key) {
+        int mask = this._keys.length - 1;
+        int slot = hash(key) & mask;
+        while (this._keys[slot] != EMPTY && this._keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Helper method which rehashes every entry into a table of a new capacity
+     */
+    private void resize(int capacity) {
+        long[] keys = this._keys;
+        Object[] values = this._values;
+        this._keys = new long[capacity];
+        this._values = new Object[capacity];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                int slot = this.slotOf(keys[i]);
+                this._keys[slot] = keys[i];
+                this._values[slot] = values[i];
+            }
+        }
+    }
+
+    /**
+     * Helper method which spreads the bits of a packed key, since numerators and
+     * denominators are often small and share their low bits
+     */
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -0,0 +1,132 @@
+package numbers;
+
+import java.util.function.Consumer;
+
+/**
+ * This class implements a hash set of rational numbers backed by a
+ * `RationalHashMap`, so membership checks by numerator and denominator or by
+ * packed value allocate no key objects.
+ */
+public class RationalHashSet {
+    private static final Object PRESENT = new Object();
+
+    private final RationalHashMap<Object> _map;
+
+    /**
+     * Default constructor. Creates an empty `RationalHashSet`
+     */
+    public RationalHashSet() {
+        this._map = new RationalHashMap<>();
+    }
+
+    /**
+     * Constructor which creates an empty `RationalHashSet` sized to hold a number
+     * of values without growing
+     *
+     * @param expectedSize number of values expected
+     * @throws IllegalArgumentException when expectedSize is negative
+     */
+    public RationalHashSet(int expectedSize) throws IllegalArgumentException {
+        this._map = new RationalHashMap<>(expectedSize);
+    }
+
+    /**
+     * Returns the number of values
+     *
+     * @return number of values in this set
+     */
+    public int size() {
+        return this._map.size();
+    }
+
+    /**
+     * Function for checking if this set has no values
+     *
+     * @return boolean as to whether this set is empty
+     */
+    public boolean isEmpty() {
+        return this._map.isEmpty();
+    }
+
+    /**
+     * Adds a value
+     *
+     * @param value `Rational` value to add
+     * @return boolean as to whether the value was not already present
+     */
+    public boolean add(Rational value) {
+        return this._map.put(value, PRESENT) == null;
+    }
+
+    /**
+     * Adds a packed value. The fraction is simplified first, so packed 2/4 and 1/2
+     * are the same value.
+     *
+     * @param value value packed by `RationalLong`
+     * @return boolean as to whether the value was not already present
+     * @throws IllegalArgumentException when the value has a denominator of 0
+     */
+    public boolean add(long value) throws IllegalArgumentException {
+        return this._map.put(value, PRESENT) == null;
+    }
+
+    /**
+     * Function for checking if a value is present
+     *
+     * @param value `Rational` value
+     * @return boolean as to whether the value is present
+     */
+    public boolean contains(Rational value) {
+        return this._map.containsKey(value);
+    }
+
+    /**
+     * Function for checking if a value given by its numerator and denominator is
+     * present. The fraction is simplified first.
+     *
+     * @param numerator   numerator of the value
+     * @param denominator denominator of the value
+     * @return boolean as to whether the value is present
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public boolean contains(int numerator, int denominator) throws IllegalArgumentException {
+        return this._map.containsKey(RationalLong.of(numerator, denominator));
+    }
+
+    /**
+     * Function for checking if a packed value is present. The value must be in
+     * lowest terms, as every `RationalLong` method returns it, or it is never found.
+     *
+     * @param value value packed by `RationalLong`
+     * @return boolean as to whether the value is present
+     */
+    public boolean contains(long value) {
+        return this._map.containsKey(value);
+    }
+
+    /**
+     * Removes a value
+     *
+     * @param value `Rational` value to remove
+     * @return boolean as to whether the value was present
+     */
+    public boolean remove(Rational value) {
+        return this._map.remove(value) != null;
+    }
+
+    /**
+     * Removes every value
+     */
+    public void clear() {
+        this._map.clear();
+    }
+
+    /**
+     * Performs an action for every value, in no particular order
+     *
+     * @param action action to perform on each value
+     */
+    public void forEach(Consumer<Rational> action) {
+        this._map.forEach((value, present) -> action.accept(value));
+    }
+}
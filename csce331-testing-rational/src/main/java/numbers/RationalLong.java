@@ -0,0 +1,321 @@
+package numbers;
+
+/**
+ * This class implements rational arithmetic on values packed into a single long.
+ * The numerator is stored in the upper 32 bits and the denominator in the lower 32
+ * bits, normalized the same way `Rational` normalizes its members. Packed values
+ * can be kept in locals and `long[]` arrays without allocating any objects.
+ *
+ * Operations throw an `ArithmeticException` when a result does not fit in int
+ * components instead of truncating it.
+ */
+public final class RationalLong {
+    /**
+     * Packed value of 0 / 1
+     */
+    public static final long ZERO = pack(0, 1);
+
+    /**
+     * Packed value of 1 / 1
+     */
+    public static final long ONE = pack(1, 1);
+
+    private RationalLong() {
+    }
+
+    /**
+     * Creates a packed value from an integer
+     *
+     * @param numerator Integer value to pack
+     * @return packed value of numerator / 1
+     */
+    public static long of(int numerator) {
+        return pack(numerator, 1);
+    }
+
+    /**
+     * Creates a packed value from a numerator and denominator. The fraction is
+     * simplified exactly like the `Rational` constructor does it.
+     *
+     * @param numerator   Numerator of the value
+     * @param denominator Denominator of the value
+     * @return packed value in lowest terms
+     * @throws IllegalArgumentException when denominator is set to 0
+     */
+    public static long of(int numerator, int denominator) throws IllegalArgumentException {
+        if (denominator == 0) {
+            throw new IllegalArgumentException("Denominator must not be 0");
+        }
+        if (numerator == 0) {
+            return ZERO;
+        }
+
+        long divisor = Rational.gcd(numerator, denominator);
+        numerator /= divisor;
+        denominator /= divisor;
+
+        // Flips both signs if we have -a / -b or a / -b
+        // Don't do this if denominator is -2147483648
+        if (denominator < 0 && denominator != Integer.MIN_VALUE) {
+            numerator *= -1;
+            denominator *= -1;
+        }
+        return pack(numerator, denominator);
+    }
+
+    /**
+     * Returns the numerator of a packed value
+     *
+     * @param value packed value
+     * @return numerator stored in the upper 32 bits
+     */
+    public static int numerator(long value) {
+        return (int) (value >> 32);
+    }
+
+    /**
+     * Returns the denominator of a packed value
+     *
+     * @param value packed value
+     * @return denominator stored in the lower 32 bits
+     */
+    public static int denominator(long value) {
+        return (int) value;
+    }
+
+    /**
+     * Packs a `Rational` without allocating
+     *
+     * @param value `Rational` to pack
+     * @return packed value with the same numerator and denominator
+     */
+    public static long fromRational(Rational value) {
+        return pack(value.numerator(), value.denominator());
+    }
+
+    /**
+     * Creates a `Rational` from a packed value
+     *
+     * @param value packed value
+     * @return `Rational` with the same numerator and denominator
+     */
+    public static Rational toRational(long value) {
+        return Rational.valueOf(numerator(value), denominator(value));
+    }
+
+    /**
+     * Adds two packed values
+     *
+     * @param augend first packed value
+     * @param addend second packed value
+     * @return packed sum in lowest terms
+     * @throws ArithmeticException when the sum does not fit in int components
+     */
+    public static long plus(long augend, long addend) throws ArithmeticException {
+        long firstNumerator = signedNumerator(augend);
+        long firstDenominator = positiveDenominator(augend);
+        long secondNumerator = signedNumerator(addend);
+        long secondDenominator = positiveDenominator(addend);
+
+        // Only the gcd of the denominators can divide the sum of the cross terms
+        long denominatorGCD = Rational.gcd(firstDenominator, secondDenominator);
+        long tempNumerator = Math.addExact(firstNumerator * (secondDenominator / denominatorGCD),
+                secondNumerator * (firstDenominator / denominatorGCD));
+        if (tempNumerator == 0) {
+            return ZERO;
+        }
+        long divisor = Rational.gcd(tempNumerator, denominatorGCD);
+        return reduced(tempNumerator / divisor, (firstDenominator / denominatorGCD) * (secondDenominator / divisor));
+    }
+
+    /**
+     * Subtracts one packed value from another
+     *
+     * @param minuend    packed value to subtract from
+     * @param subtrahend packed value to be subtracted
+     * @return packed difference in lowest terms
+     * @throws ArithmeticException when the difference does not fit in int
+     *                             components
+     */
+    public static long minus(long minuend, long subtrahend) throws ArithmeticException {
+        long negated = reduced(-signedNumerator(subtrahend), positiveDenominator(subtrahend));
+        return plus(minuend, negated);
+    }
+
+    /**
+     * Multiplies two packed values. Numerators and denominators are cross
+     * cancelled the same way `Rational.times` does it.
+     *
+     * @param multiplicand first packed value
+     * @param multiplier   second packed value
+     * @return packed product in lowest terms
+     * @throws ArithmeticException when the product does not fit in int components
+     */
+    public static long times(long multiplicand, long multiplier) throws ArithmeticException {
+        long firstNumerator = signedNumerator(multiplicand);
+        long firstDenominator = positiveDenominator(multiplicand);
+        long secondNumerator = signedNumerator(multiplier);
+        long secondDenominator = positiveDenominator(multiplier);
+        if (firstNumerator == 0 || secondNumerator == 0) {
+            return ZERO;
+        }
+
+        long firstGCD = Rational.gcd(firstNumerator, secondDenominator);
+        long secondGCD = Rational.gcd(secondNumerator, firstDenominator);
+        return reduced((firstNumerator / firstGCD) * (secondNumerator / secondGCD),
+                (firstDenominator / secondGCD) * (secondDenominator / firstGCD));
+    }
+
+    /**
+     * Divides one packed value by another
+     *
+     * @param dividend packed value to be divided
+     * @param divisor  packed value to divide by
+     * @return packed quotient in lowest terms
+     * @throws IllegalArgumentException when divisor is equivalent to 0
+     * @throws ArithmeticException      when the quotient does not fit in int
+     *                                  components
+     */
+    public static long dividedBy(long dividend, long divisor) throws IllegalArgumentException, ArithmeticException {
+        return times(dividend, reciprocal(divisor));
+    }
+
+    /**
+     * Returns the reciprocal of a packed value
+     *
+     * @param value packed value
+     * @return packed reciprocal
+     * @throws IllegalArgumentException when the numerator is 0
+     * @throws ArithmeticException      when the reciprocal does not fit in int
+     *                                  components
+     */
+    public static long reciprocal(long value) throws IllegalArgumentException, ArithmeticException {
+        long numerator = signedNumerator(value);
+        long denominator = positiveDenominator(value);
+        if (numerator == 0) {
+            throw new IllegalArgumentException("Numerator of value is 0. This will result in a divide by 0");
+        } else if (numerator < 0) {
+            return reduced(-denominator, -numerator);
+        }
+        return reduced(denominator, numerator);
+    }
+
+    /**
+     * Raises a packed value to an integer power. A reduced fraction stays reduced
+     * when its numerator and denominator are raised to the same power, so both are
+     * powered independently without any gcd.
+     *
+     * @param value    packed value
+     * @param exponent power of which value is being raised
+     * @return packed value of value^exponent
+     * @throws IllegalArgumentException when value is 0 and exponent is negative
+     * @throws ArithmeticException      when the result does not fit in int
+     *                                  components
+     */
+    public static long pow(long value, int exponent) throws IllegalArgumentException, ArithmeticException {
+        if (exponent == 0) {
+            return ONE;
+        } else if (exponent < 0) {
+            value = reciprocal(value);
+        }
+        long magnitude = Math.abs((long) exponent);
+        return reduced(power(signedNumerator(value), magnitude), power(positiveDenominator(value), magnitude));
+    }
+
+    /**
+     * Compares two packed values by cross multiplication
+     *
+     * @param first  first packed value
+     * @param second second packed value
+     * @return negative, zero or positive as first is less than, equal to or greater
+     *         than second
+     */
+    public static int compare(long first, long second) {
+        return Long.compare(signedNumerator(first) * positiveDenominator(second),
+                signedNumerator(second) * positiveDenominator(first));
+    }
+
+    /**
+     * Helper method which packs a numerator and denominator without simplifying
+     */
+    static long pack(int numerator, int denominator) {
+        return ((long) numerator << 32) | (denominator & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Helper method which packs a reduced fraction held in long components with a
+     * positive denominator. A denominator of 2^31 is stored as `Integer.MIN_VALUE`
+     * with the sign of the numerator flipped, matching `Rational`.
+     *
+     * @throws ArithmeticException when the fraction does not fit in int components
+     */
+    static long reduced(long numerator, long denominator) throws ArithmeticException {
+        if (denominator == -(long) Integer.MIN_VALUE) {
+            numerator = -numerator;
+            denominator = Integer.MIN_VALUE;
+        }
+        if (numerator != (int) numerator || denominator != (int) denominator) {
+            throw new ArithmeticException(numerator + "/" + denominator + " does not fit in a Rational");
+        }
+        return pack((int) numerator, (int) denominator);
+    }
+
+    /**
+     * Helper method which returns the numerator of a packed value as if its
+     * denominator were positive
+     */
+    static long signedNumerator(long value) {
+        return signedNumerator(numerator(value), denominator(value));
+    }
+
+    /**
+     * Helper method which returns a numerator widened to a long and carrying the
+     * sign of the value. It only differs from numerator when the denominator is
+     * `Integer.MIN_VALUE`.
+     */
+    static long signedNumerator(int numerator, int denominator) {
+        return denominator < 0 ? -(long) numerator : numerator;
+    }
+
+    /**
+     * Helper method which returns the denominator of a packed value made positive
+     */
+    static long positiveDenominator(long value) {
+        return Math.abs((long) denominator(value));
+    }
+
+    /**
+     * Helper method which returns whether the product of two longs fits in a long
+     */
+    static boolean productFits(long a, long b) {
+        return productFits(a, b, a * b);
+    }
+
+    /**
+     * Helper method which returns whether an already computed product of two longs
+     * is exact, by checking that the upper half of the 128-bit product is only sign
+     */
+    static boolean productFits(long a, long b, long product) {
+        return Math.multiplyHigh(a, b) == product >> 63;
+    }
+
+    /**
+     * Helper method which implements fast powering on a long, throwing on overflow
+     */
+    static long power(long base, long exponent) throws ArithmeticException {
+        if (base == 1 || base == -1) {
+            return (exponent & 1) == 0 ? 1 : base;
+        }
+        long result = 1;
+        while (true) {
+            if ((exponent & 1) == 1) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>= 1;
+            if (exponent == 0) {
+                return result;
+            }
+            base = Math.multiplyExact(base, base);
+        }
+    }
+}
@@ -0,0 +1,634 @@
+package numbers;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * This class implements a dense matrix of rational numbers stored row by row as
+ * two parallel int arrays, the same way `RationalArray` stores its elements.
+ *
+ * `determinant()`, `rank()`, `inverse()` and `solve()` never divide fractions.
+ * Each row is first multiplied by the least common multiple of its denominators,
+ * which leaves an integer matrix, and that matrix is reduced with fraction-free
+ * Bareiss elimination. Every division in Bareiss elimination is exact and every
+ * intermediate entry is a minor of the scaled matrix, so entries grow linearly
+ * with the size of the matrix instead of exploding the way denominators do when
+ * eliminating with `Rational.dividedBy`. Results are returned as `BigRational`
+ * since they rarely fit in int components.
+ *
+ * `times()` scales the rows of the left matrix and the columns of the right
+ * matrix to common denominators the same way, and multiplies the resulting long
+ * matrices into 128 bit accumulators. The product is computed in cache sized
+ * blocks, with bands of rows split across the common `ForkJoinPool`.
+ */
+public class RationalMatrix {
+    // Side of the blocks of the inner dimension and of the result columns
+    // processed together by `times()`
+    static final int BLOCK = 64;
+    // Multiply-adds below which a band of rows is multiplied without splitting
+    static final int TASK_THRESHOLD = 1 << 15;
+    // Entry updates in one elimination step from which rows are updated in
+    // parallel
+    static final int PARALLEL_THRESHOLD = 1 << 12;
+    // Largest magnitude in bits for which 128 bit accumulators cannot overflow
+    private static final int ACCUMULATOR_BITS = 126;
+
+    final int _rows;
+    final int _columns;
+    final int[] _numerators;
+    final int[] _denominators;
+
+    /**
+     * Constructor which creates a `RationalMatrix` of given dimensions with every
+     * entry set to 0 / 1
+     *
+     * @param rows    number of rows
+     * @param columns number of columns
+     * @throws IllegalArgumentException when a dimension is negative
+     */
+    public RationalMatrix(int rows, int columns) throws IllegalArgumentException {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Dimensions must not be negative: " + rows + "x" + columns);
+        }
+        this._rows = rows;
+        this._columns = columns;
+        this._numerators = new int[Math.multiplyExact(rows, columns)];
+        this._denominators = new int[this._numerators.length];
+        Arrays.fill(this._denominators, 1);
+    }
+
+    /**
+     * Constructor which copies the values of a `Rational[][]` given row by row
+     *
+     * @param values `Rational` values to be copied
+     * @throws IllegalArgumentException when the rows have different lengths
+     */
+    public RationalMatrix(Rational[][] values) throws IllegalArgumentException {
+        this(values.length, values.length == 0 ? 0 : values[0].length);
+        for (int i = 0; i < this._rows; i++) {
+            if (values[i].length != this._columns) {
+                throw new IllegalArgumentException(
+                        "Rows have different lengths: " + this._columns + " and " + values[i].length);
+            }
+            for (int j = 0; j < this._columns; j++) {
+                this.set(i, j, values[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Creates an identity matrix
+     *
+     * @param size number of rows and columns
+     * @return square `RationalMatrix` with ones on the diagonal
+     * @throws IllegalArgumentException when size is negative
+     */
+    public static RationalMatrix identity(int size) throws IllegalArgumentException {
+        RationalMatrix identity = new RationalMatrix(size, size);
+        for (int i = 0; i < size; i++) {
+            identity._numerators[i * size + i] = 1;
+        }
+        return identity;
+    }
+
+    /**
+     * Returns the number of rows
+     *
+     * @return number of rows
+     */
+    public int rows() {
+        return this._rows;
+    }
+
+    /**
+     * Returns the number of columns
+     *
+     * @return number of columns
+     */
+    public int columns() {
+        return this._columns;
+    }
+
+    /**
+     * Creates a `Rational` holding the value of an entry
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return `Rational` value of the entry
+     * @throws IndexOutOfBoundsException when an index is out of bounds
+     */
+    public Rational get(int row, int column) throws IndexOutOfBoundsException {
+        int index = this.index(row, column);
+        return Rational.fromReduced(this._numerators[index], this._denominators[index]);
+    }
+
+    /**
+     * Overwrites an entry with the value of a `Rational`
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @param value  `Rational` value to store
+     * @throws IndexOutOfBoundsException when an index is out of bounds
+     */
+    public void set(int row, int column, Rational value) throws IndexOutOfBoundsException {
+        int index = this.index(row, column);
+        this._numerators[index] = value.numerator();
+        this._denominators[index] = value.denominator();
+    }
+
+    /**
+     * Multiplies this matrix by another matrix
+     *
+     * @param multiplier `RationalMatrix` to multiply by on the right
+     * @return new `RationalMatrix` with the product
+     * @throws IllegalArgumentException when the columns of this matrix do not
+     *                                  match the rows of multiplier
+     * @throws ArithmeticException      when an entry of the product does not fit
+     *                                  in a `Rational`
+     */
+    public RationalMatrix times(RationalMatrix multiplier) throws IllegalArgumentException, ArithmeticException {
+        if (this._columns != multiplier._rows) {
+            throw new IllegalArgumentException("Inner dimensions must match: " + this._rows + "x" + this._columns
+                    + " and " + multiplier._rows + "x" + multiplier._columns);
+        }
+        int inner = this._columns;
+        long[] rowScales = new long[this._rows];
+        long[] columnScales = new long[multiplier._columns];
+        long[] left = this.scaled(this._rows, inner, inner, 1, rowScales);
+        long[] right = multiplier.scaled(multiplier._columns, inner, 1, multiplier._columns, columnScales);
+        if (left == null || right == null
+                || bits(left) + bits(right) + Long.SIZE - Long.numberOfLeadingZeros(inner) > ACCUMULATOR_BITS) {
+            return this.timesByDot(multiplier);
+        }
+
+        RationalMatrix product = new RationalMatrix(this._rows, multiplier._columns);
+        long[] high = new long[product._numerators.length];
+        long[] low = new long[product._numerators.length];
+        ForkJoinPool.commonPool()
+                .invoke(new MultiplyTask(left, right, high, low, inner, product._columns, 0, product._rows));
+        for (int i = 0; i < product._rows; i++) {
+            for (int j = 0; j < product._columns; j++) {
+                int index = i * product._columns + j;
+                product.setQuotient(index, high[index], low[index], rowScales[i], columnScales[j]);
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Computes the determinant of this matrix exactly
+     *
+     * @return `BigRational` determinant
+     * @throws IllegalArgumentException when this matrix is not square
+     */
+    public BigRational determinant() throws IllegalArgumentException {
+        this.checkSquare();
+        if (this._rows == 0) {
+            return BigRational.ONE;
+        }
+        BigInteger[] scales = new BigInteger[this._rows];
+        BigInteger[][] rows = this.scaledRows(null, 0, scales);
+        if (eliminate(rows, this._columns, false) < this._rows) {
+            return BigRational.ZERO;
+        }
+        BigInteger scale = BigInteger.ONE;
+        for (BigInteger rowScale : scales) {
+            scale = scale.multiply(rowScale);
+        }
+        return new BigRational(rows[this._rows - 1][this._columns - 1], scale);
+    }
+
+    /**
+     * Computes the rank of this matrix, which need not be square
+     *
+     * @return number of linearly independent rows
+     */
+    public int rank() {
+        BigInteger[] scales = new BigInteger[this._rows];
+        return eliminate(this.scaledRows(null, 0, scales), this._columns, false);
+    }
+
+    /**
+     * Computes the inverse of this matrix exactly
+     *
+     * @return `BigRational[][]` holding the inverse row by row
+     * @throws IllegalArgumentException when this matrix is not square
+     * @throws ArithmeticException      when this matrix is singular
+     */
+    public BigRational[][] inverse() throws IllegalArgumentException, ArithmeticException {
+        this.checkSquare();
+        int size = this._rows;
+        BigInteger[] scales = new BigInteger[size];
+        BigInteger[][] rows = this.scaledRows(null, size, scales);
+        // Solving the scaled rows against the scales themselves gives the inverse
+        // of the unscaled matrix
+        for (int i = 0; i < size; i++) {
+            rows[i][size + i] = scales[i];
+        }
+        checkRegular(eliminate(rows, size, true), size);
+
+        BigRational[][] inverse = new BigRational[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                inverse[i][j] = new BigRational(rows[i][size + j], rows[i][i]);
+            }
+        }
+        return inverse;
+    }
+
+    /**
+     * Solves the linear system `this * x = constants` exactly
+     *
+     * @param constants right hand side with one value per row
+     * @return `BigRational[]` holding the unique solution x
+     * @throws IllegalArgumentException when this matrix is not square or the
+     *                                  lengths do not match
+     * @throws ArithmeticException      when this matrix is singular
+     */
+    public BigRational[] solve(Rational[] constants) throws IllegalArgumentException, ArithmeticException {
+        this.checkSquare();
+        if (constants.length != this._rows) {
+            throw new IllegalArgumentException("Lengths must match: " + this._rows + " and " + constants.length);
+        }
+        int size = this._rows;
+        BigInteger[][] rows = this.scaledRows(constants, 1, new BigInteger[size]);
+        checkRegular(eliminate(rows, size, true), size);
+
+        BigRational[] solution = new BigRational[size];
+        for (int i = 0; i < size; i++) {
+            solution[i] = new BigRational(rows[i][size], rows[i][i]);
+        }
+        return solution;
+    }
+
+    /**
+     * Returns a string representation of the rows in the same format as
+     * `Arrays.deepToString`
+     *
+     * @return String representation of this matrix
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this._rows; i++) {
+            builder.append(i > 0 ? ", [" : "[");
+            for (int j = 0; j < this._columns; j++) {
+                if (j > 0) {
+                    builder.append(", ");
+                }
+                int index = i * this._columns + j;
+                Rational.appendTo(builder, this._numerators[index], this._denominators[index]);
+            }
+            builder.append(']');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Helper method which runs fraction-free Bareiss elimination in place on
+     * integer rows, over the first pivotColumns columns. Columns without a pivot
+     * are skipped, so the rows end up in echelon form. When reduce is set, entries
+     * above each pivot are eliminated too and elimination stops at the first
+     * column without a pivot; every pivot then ends up equal to the last one.
+     *
+     * Rows are swapped to bring the smallest nonzero pivot up, and the row moved
+     * down is negated, so the last pivot of a square matrix of full rank is its
+     * determinant.
+     *
+     * @return number of pivots found
+     */
+    private static int eliminate(BigInteger[][] rows, int pivotColumns, boolean reduce) {
+        BigInteger previous = BigInteger.ONE;
+        int rank = 0;
+        for (int column = 0; column < pivotColumns && rank < rows.length; column++) {
+            int pivotIndex = -1;
+            for (int i = rank; i < rows.length; i++) {
+                BigInteger candidate = rows[i][column];
+                if (candidate.signum() != 0
+                        && (pivotIndex < 0 || candidate.bitLength() < rows[pivotIndex][column].bitLength())) {
+                    pivotIndex = i;
+                }
+            }
+            if (pivotIndex < 0) {
+                if (reduce) {
+                    return rank;
+                }
+                continue;
+            }
+            if (pivotIndex != rank) {
+                BigInteger[] swapped = rows[rank];
+                rows[rank] = rows[pivotIndex];
+                rows[pivotIndex] = negate(swapped);
+            }
+
+            int k = rank;
+            int c = column;
+            BigInteger[] pivotRow = rows[k];
+            BigInteger pivot = pivotRow[c];
+            BigInteger divisor = previous;
+            IntStream updated = IntStream.range(reduce ? 0 : k + 1, rows.length).filter(i -> i != k);
+            if ((long) (rows.length - (reduce ? 1 : k + 1)) * (pivotRow.length - c) >= PARALLEL_THRESHOLD) {
+                updated = updated.parallel();
+            }
+            updated.forEach(i -> {
+                updateRow(rows[i], pivotRow, c, pivot, divisor);
+                if (i < k) {
+                    rows[i][i] = pivot;
+                }
+            });
+            previous = pivot;
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Helper method which applies one Bareiss step to a row, replacing each entry
+     * right of the pivot column with (pivot * entry - factor * pivotEntry) /
+     * previous, where the division is exact
+     */
+    private static void updateRow(BigInteger[] row, BigInteger[] pivotRow, int column, BigInteger pivot,
+            BigInteger previous) {
+        BigInteger factor = row[column];
+        boolean divide = !previous.equals(BigInteger.ONE);
+        for (int j = column + 1; j < row.length; j++) {
+            BigInteger value = row[j].multiply(pivot);
+            if (factor.signum() != 0 && pivotRow[j].signum() != 0) {
+                value = value.subtract(factor.multiply(pivotRow[j]));
+            }
+            row[j] = divide ? value.divide(previous) : value;
+        }
+        row[column] = BigInteger.ZERO;
+    }
+
+    /**
+     * Helper method which negates every entry of a row in place
+     */
+    private static BigInteger[] negate(BigInteger[] row) {
+        for (int j = 0; j < row.length; j++) {
+            row[j] = row[j].negate();
+        }
+        return row;
+    }
+
+    /**
+     * Helper method which multiplies every row by the least common multiple of its
+     * denominators, and of the denominator of its constant when there are
+     * constants, leaving integer rows with room for extra columns. Constants are
+     * stored in the first extra column. The multiple of each row is written to
+     * scales.
+     */
+    BigInteger[][] scaledRows(Rational[] constants, int extraColumns, BigInteger[] scales) {
+        BigInteger[][] rows = new BigInteger[this._rows][this._columns + extraColumns];
+        for (int i = 0; i < this._rows; i++) {
+            int start = i * this._columns;
+            long multiple = constants == null ? 1 : constants[i].positiveDenominator();
+            BigInteger bigMultiple = null;
+            for (int j = 0; j < this._columns; j++) {
+                long denominator = this.positiveDenominator(start + j);
+                if (bigMultiple != null) {
+                    bigMultiple = lcm(bigMultiple, denominator);
+                } else if (multiple % denominator != 0) {
+                    long factor = multiple / Rational.gcd(multiple, denominator);
+                    long next = factor * denominator;
+                    if (RationalLong.productFits(factor, denominator, next)) {
+                        multiple = next;
+                    } else {
+                        bigMultiple = lcm(BigInteger.valueOf(multiple), denominator);
+                    }
+                }
+            }
+
+            BigInteger[] row = rows[i];
+            Arrays.fill(row, BigInteger.ZERO);
+            for (int j = 0; j < this._columns; j++) {
+                row[j] = scaledNumerator(this.signedNumerator(start + j), this.positiveDenominator(start + j),
+                        multiple, bigMultiple);
+            }
+            if (constants != null) {
+                row[this._columns] = scaledNumerator(constants[i].signedNumerator(),
+                        constants[i].positiveDenominator(), multiple, bigMultiple);
+            }
+            scales[i] = bigMultiple == null ? BigInteger.valueOf(multiple) : bigMultiple;
+        }
+        return rows;
+    }
+
+    /**
+     * Helper method which returns numerator * (multiple / denominator), where
+     * multiple is held in bigMultiple once it no longer fits in a long
+     */
+    private static BigInteger scaledNumerator(long numerator, long denominator, long multiple,
+            BigInteger bigMultiple) {
+        if (bigMultiple != null) {
+            return BigInteger.valueOf(numerator).multiply(bigMultiple.divide(BigInteger.valueOf(denominator)));
+        }
+        long scale = multiple / denominator;
+        long scaled = numerator * scale;
+        if (RationalLong.productFits(numerator, scale, scaled)) {
+            return BigInteger.valueOf(scaled);
+        }
+        return BigInteger.valueOf(numerator).multiply(BigInteger.valueOf(scale));
+    }
+
+    /**
+     * Helper method which scales the entries of this matrix to a common
+     * denominator per line, where a line is a row or a column depending on the
+     * strides. The scaled numerators are returned in the same row major order and
+     * the common denominator of each line is written to scales.
+     *
+     * @return scaled numerators, or null when a common denominator or a scaled
+     *         numerator does not fit in a long
+     */
+    private long[] scaled(int lines, int length, int lineStride, int entryStride, long[] scales) {
+        long[] scaled = new long[this._numerators.length];
+        for (int line = 0; line < lines; line++) {
+            long multiple = 1;
+            for (int k = 0; k < length; k++) {
+                long denominator = this.positiveDenominator(line * lineStride + k * entryStride);
+                if (multiple % denominator != 0) {
+                    long factor = multiple / Rational.gcd(multiple, denominator);
+                    long next = factor * denominator;
+                    if (!RationalLong.productFits(factor, denominator, next)) {
+                        return null;
+                    }
+                    multiple = next;
+                }
+            }
+            for (int k = 0; k < length; k++) {
+                int index = line * lineStride + k * entryStride;
+                long numerator = this.signedNumerator(index);
+                long scale = multiple / this.positiveDenominator(index);
+                scaled[index] = numerator * scale;
+                if (!RationalLong.productFits(numerator, scale, scaled[index])) {
+                    return null;
+                }
+            }
+            scales[line] = multiple;
+        }
+        return scaled;
+    }
+
+    /**
+     * Helper method which stores the reduced value of a 128 bit numerator over
+     * rowScale * columnScale at an index
+     */
+    private void setQuotient(int index, long high, long low, long rowScale, long columnScale) {
+        long denominator = rowScale * columnScale;
+        Rational value;
+        if (high == low >> 63 && RationalLong.productFits(rowScale, columnScale, denominator)) {
+            long divisor = Rational.gcd(low, denominator);
+            value = Rational.fromReducedLongs(low / divisor, denominator / divisor);
+        } else {
+            BigInteger numerator = BigInteger.valueOf(high).shiftLeft(Long.SIZE)
+                    .add(BigInteger.valueOf(low >>> 1).shiftLeft(1)).add(BigInteger.valueOf(low & 1));
+            value = new BigRational(numerator, BigInteger.valueOf(rowScale).multiply(BigInteger.valueOf(columnScale)))
+                    .toRational();
+        }
+        this._numerators[index] = value.numerator();
+        this._denominators[index] = value.denominator();
+    }
+
+    /**
+     * Helper method which multiplies entry by entry with `Rational.dot`, for
+     * matrices whose common denominators or products do not fit the primitive
+     * accumulators
+     */
+    private RationalMatrix timesByDot(RationalMatrix multiplier) {
+        RationalMatrix product = new RationalMatrix(this._rows, multiplier._columns);
+        Rational[] row = new Rational[this._columns];
+        Rational[] column = new Rational[this._columns];
+        for (int i = 0; i < this._rows; i++) {
+            for (int k = 0; k < this._columns; k++) {
+                row[k] = this.get(i, k);
+            }
+            for (int j = 0; j < multiplier._columns; j++) {
+                for (int k = 0; k < this._columns; k++) {
+                    column[k] = multiplier.get(k, j);
+                }
+                product.set(i, j, Rational.dot(row, column));
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Helper method which returns the number of bits of the largest magnitude in
+     * values
+     */
+    private static int bits(long[] values) {
+        long bits = 0;
+        for (long value : values) {
+            bits |= value ^ (value >> 63);
+        }
+        // Negative values are complemented above, so add one bit for the sign
+        return Long.SIZE - Long.numberOfLeadingZeros(bits) + 1;
+    }
+
+    private static BigInteger lcm(BigInteger multiple, long denominator) {
+        BigInteger value = BigInteger.valueOf(denominator);
+        return multiple.divide(multiple.gcd(value)).multiply(value);
+    }
+
+    private static void checkRegular(int rank, int size) throws ArithmeticException {
+        if (rank < size) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+    }
+
+    void checkSquare() throws IllegalArgumentException {
+        if (this._rows != this._columns) {
+            throw new IllegalArgumentException("Matrix is not square: " + this._rows + "x" + this._columns);
+        }
+    }
+
+    private int index(int row, int column) {
+        Objects.checkIndex(row, this._rows);
+        Objects.checkIndex(column, this._columns);
+        return row * this._columns + column;
+    }
+
+    private long signedNumerator(int index) {
+        return RationalLong.signedNumerator(this._numerators[index], this._denominators[index]);
+    }
+
+    private long positiveDenominator(int index) {
+        return Math.abs((long) this._denominators[index]);
+    }
+
+    /**
+     * Task which multiplies a band of rows of the scaled left matrix by the scaled
+     * right matrix into 128 bit accumulators, splitting the band in half until it
+     * is small enough
+     */
+    private static final class MultiplyTask extends RecursiveAction {
+        private final long[] _left;
+        private final long[] _right;
+        private final long[] _high;
+        private final long[] _low;
+        private final int _inner;
+        private final int _columns;
+        private final int _from;
+        private final int _to;
+
+        MultiplyTask(long[] left, long[] right, long[] high, long[] low, int inner, int columns, int from, int to) {
+            this._left = left;
+            this._right = right;
+            this._high = high;
+            this._low = low;
+            this._inner = inner;
+            this._columns = columns;
+            this._from = from;
+            this._to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this._to - this._from > 1
+                    && (long) (this._to - this._from) * this._inner * this._columns > TASK_THRESHOLD) {
+                int middle = (this._from + this._to) >>> 1;
+                invokeAll(new MultiplyTask(this._left, this._right, this._high, this._low, this._inner,
+                        this._columns, this._from, middle),
+                        new MultiplyTask(this._left, this._right, this._high, this._low, this._inner,
+                                this._columns, middle, this._to));
+                return;
+            }
+            for (int kk = 0; kk < this._inner; kk += BLOCK) {
+                int kEnd = Math.min(kk + BLOCK, this._inner);
+                for (int jj = 0; jj < this._columns; jj += BLOCK) {
+                    int jEnd = Math.min(jj + BLOCK, this._columns);
+                    for (int i = this._from; i < this._to; i++) {
+                        this.multiplyBlock(i, kk, kEnd, jj, jEnd);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Helper method which adds the products of one block of a row of the left
+         * matrix with one block of the right matrix to the accumulators of a row
+         */
+        private void multiplyBlock(int i, int kStart, int kEnd, int jStart, int jEnd) {
+            int rowStart = i * this._columns;
+            for (int k = kStart; k < kEnd; k++) {
+                long a = this._left[i * this._inner + k];
+                if (a == 0) {
+                    continue;
+                }
+                int rightStart = k * this._columns;
+                for (int j = jStart; j < jEnd; j++) {
+                    long b = this._right[rightStart + j];
+                    long productLow = a * b;
+                    long low = this._low[rowStart + j] + productLow;
+                    long carry = Long.compareUnsigned(low, productLow) < 0 ? 1 : 0;
+                    this._high[rowStart + j] += Math.multiplyHigh(a, b) + carry;
+                    this._low[rowStart + j] = low;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package numbers;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * This class computes large exact sums and linear solves with multi-modular
+ * arithmetic. The computation runs independently modulo several primes just below
+ * 2^31, where every intermediate value fits in a long, and the residues are
+ * combined with the Chinese remainder theorem. The exact numerator and
+ * denominator of a solution are then recovered by rational reconstruction, while
+ * a sum is combined directly over a common multiple of its denominators.
+ *
+ * Enough primes are used for their product to exceed twice proven bounds on the
+ * result, so the recovered value is always exact. The arithmetic modulo each
+ * prime stays within a word, unlike chained `Rational` or `BigRational`
+ * arithmetic, and the primes are processed in parallel on the common
+ * `ForkJoinPool`. Scaling the inputs to integers, combining the residues and
+ * recovering the result still use `BigInteger` values.
+ */
+public final class RationalModular {
+    // Every prime used is above 2^PRIME_BITS
+    private static final int PRIME_BITS = 30;
+    // Values summed modulo one prime by a single task
+    static final int CHUNK = 1 << 14;
+    // Size of the table of denominators already folded into a common multiple
+    private static final int SEEN_BITS = 10;
+    private static final int SEEN_SLOTS = 1 << SEEN_BITS;
+
+    // Primes below 2^31 in decreasing order, extended on demand
+    private static long[] primes = new long[0];
+
+    private RationalModular() {
+    }
+
+    /**
+     * Sums `Rational` values exactly. An empty array sums to 0.
+     *
+     * A common multiple of the denominators is known up front, so only the
+     * numerator over it is computed modulo the primes, and no reconstruction is
+     * needed.
+     *
+     * @param values `Rational` values to be summed
+     * @return `BigRational` holding the exact sum
+     */
+    public static BigRational sum(Rational[] values) {
+        BigInteger denominator = commonMultiple(values);
+        // The numerator over the common multiple is at most count * 2^31 times the
+        // multiple, and the modulus must exceed twice that
+        long bits = denominator.bitLength() + Integer.SIZE + Long.SIZE - Long.numberOfLeadingZeros(values.length) + 1;
+        CrtTree tree = evaluate(bits, Integer.MAX_VALUE, prime -> sumModulo(values, prime,
+                denominator.mod(BigInteger.valueOf(prime)).longValue()));
+        BigInteger numerator = tree.combine(0);
+        if (numerator.shiftLeft(1).compareTo(tree._modulus) > 0) {
+            numerator = numerator.subtract(tree._modulus);
+        }
+        return new BigRational(numerator, denominator);
+    }
+
+    /**
+     * Solves the linear system `matrix * x = constants` exactly
+     *
+     * @param matrix    square `RationalMatrix` of coefficients
+     * @param constants right hand side with one value per row
+     * @return `BigRational[]` holding the unique solution x
+     * @throws IllegalArgumentException when matrix is not square or the lengths
+     *                                  do not match
+     * @throws ArithmeticException      when matrix is singular
+     */
+    public static BigRational[] solve(RationalMatrix matrix, Rational[] constants)
+            throws IllegalArgumentException, ArithmeticException {
+        matrix.checkSquare();
+        if (constants.length != matrix.rows()) {
+            throw new IllegalArgumentException("Lengths must match: " + matrix.rows() + " and " + constants.length);
+        }
+        int size = matrix.rows();
+        BigInteger[][] rows = matrix.scaledRows(constants, 1, new BigInteger[size]);
+
+        // By Cramer's rule and Hadamard's inequality, the numerators and the
+        // denominator of the solution are bounded by the product of the row norms
+        long bits = 0;
+        for (BigInteger[] row : rows) {
+            BigInteger squares = BigInteger.ZERO;
+            for (BigInteger entry : row) {
+                squares = squares.add(entry.multiply(entry));
+            }
+            bits += (squares.bitLength() + 1) / 2;
+        }
+        // A nonzero determinant is divisible by at most this many of the primes
+        int unluckyLimit = (int) Math.min(Integer.MAX_VALUE, bits / PRIME_BITS);
+        // Reconstruction is unique when the modulus exceeds 2 * N * D
+        CrtTree tree = evaluate(2 * bits + 1, unluckyLimit, prime -> solveModulo(rows, prime));
+        if (tree == null) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+        BigInteger bound = BigInteger.ONE.shiftLeft(Math.toIntExact(bits));
+        return IntStream.range(0, size).parallel()
+                .mapToObj(component -> reconstruct(tree.combine(component), tree._modulus, bound, bound))
+                .toArray(BigRational[]::new);
+    }
+
+    /**
+     * Helper method which runs a computation modulo primes until their product
+     * exceeds 2^bits. Primes for which the computation returns null are skipped as
+     * unlucky.
+     *
+     * @return tree combining the residues of every lucky prime, or null after more
+     *         than unluckyLimit unlucky primes
+     */
+    private static CrtTree evaluate(long bits, int unluckyLimit, LongFunction<long[]> computation) {
+        List<long[]> residues = new ArrayList<>();
+        List<Long> moduli = new ArrayList<>();
+        int next = 0;
+        int unlucky = 0;
+        while ((long) moduli.size() * PRIME_BITS < bits) {
+            int needed = Math.toIntExact((bits + PRIME_BITS - 1) / PRIME_BITS - moduli.size());
+            long[] batch = Arrays.copyOfRange(primes(next + needed), next, next + needed);
+            next += needed;
+            long[][] results = Arrays.stream(batch).parallel().mapToObj(computation).toArray(long[][]::new);
+            for (int i = 0; i < batch.length; i++) {
+                if (results[i] == null) {
+                    unlucky++;
+                } else {
+                    residues.add(results[i]);
+                    moduli.add(batch[i]);
+                }
+            }
+            if (unlucky > unluckyLimit) {
+                return null;
+            }
+        }
+        return new CrtTree(moduli.stream().mapToLong(Long::longValue).toArray(), residues, 0, moduli.size());
+    }
+
+    /**
+     * Helper method which recovers n / d from n * d^-1 modulo a modulus, given
+     * |n| <= numeratorBound and 0 < d <= denominatorBound with 2 * numeratorBound *
+     * denominatorBound < modulus. This runs the extended euclidean algorithm on
+     * the modulus and the residue until the remainder drops to numeratorBound.
+     */
+    static BigRational reconstruct(BigInteger residue, BigInteger modulus, BigInteger numeratorBound,
+            BigInteger denominatorBound) throws ArithmeticException {
+        BigInteger previousRemainder = modulus;
+        BigInteger remainder = residue;
+        BigInteger previousCoefficient = BigInteger.ZERO;
+        BigInteger coefficient = BigInteger.ONE;
+        while (remainder.compareTo(numeratorBound) > 0) {
+            BigInteger[] division = previousRemainder.divideAndRemainder(remainder);
+            previousRemainder = remainder;
+            remainder = division[1];
+            BigInteger nextCoefficient = previousCoefficient.subtract(division[0].multiply(coefficient));
+            previousCoefficient = coefficient;
+            coefficient = nextCoefficient;
+        }
+        if (coefficient.abs().compareTo(denominatorBound) > 0 || !remainder.gcd(coefficient).equals(BigInteger.ONE)) {
+            throw new ArithmeticException("No fraction within the bounds has residue " + residue);
+        }
+        if (coefficient.signum() < 0) {
+            return BigRational.fromReduced(remainder.negate(), coefficient.negate());
+        }
+        return BigRational.fromReduced(remainder, coefficient);
+    }
+
+    /**
+     * Helper method which computes a common multiple of the denominators of
+     * values. The multiple is kept in a long while it fits, and every time it
+     * overflows it is set aside and a new one is started. Denominators already
+     * folded in are remembered in a direct mapped table, so a denominator repeated
+     * across the array is only counted once. The multiples set aside are then
+     * multiplied as a balanced tree.
+     */
+    private static BigInteger commonMultiple(Rational[] values) {
+        long[] seen = new long[SEEN_SLOTS];
+        List<BigInteger> multiples = new ArrayList<>();
+        long multiple = 1;
+        for (Rational value : values) {
+            long denominator = value.positiveDenominator();
+            int slot = (int) ((denominator * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - SEEN_BITS));
+            if (seen[slot] == denominator || multiple % denominator == 0) {
+                continue;
+            }
+            seen[slot] = denominator;
+            long factor = multiple / Rational.gcd(multiple, denominator);
+            long next = factor * denominator;
+            if (!RationalLong.productFits(factor, denominator, next)) {
+                multiples.add(BigInteger.valueOf(multiple));
+                next = denominator;
+            }
+            multiple = next;
+        }
+        multiples.add(BigInteger.valueOf(multiple));
+        return product(multiples, 0, multiples.size());
+    }
+
+    private static BigInteger product(List<BigInteger> factors, int from, int to) {
+        if (to - from == 1) {
+            return factors.get(from);
+        }
+        int middle = (from + to) >>> 1;
+        return product(factors, from, middle).multiply(product(factors, middle, to));
+    }
+
+    /**
+     * Helper method which sums values modulo a prime as a single fraction A / B,
+     * in parallel chunks for large arrays, and scales the sum by the common
+     * multiple of the denominators
+     *
+     * @return the numerator over the common multiple modulo prime, or null when
+     *         a denominator is divisible by prime
+     */
+    private static long[] sumModulo(Rational[] values, long prime, long commonMultiple) {
+        int chunks = (values.length + CHUNK - 1) / CHUNK;
+        IntStream indices = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            indices = indices.parallel();
+        }
+        long[] fraction = indices.mapToObj(chunk -> {
+            long numerator = 0;
+            long denominator = 1;
+            for (int i = chunk * CHUNK; i < Math.min(values.length, (chunk + 1) * CHUNK); i++) {
+                long valueNumerator = Math.floorMod(values[i].signedNumerator(), prime);
+                long valueDenominator = values[i].positiveDenominator() % prime;
+                numerator = (numerator * valueDenominator + valueNumerator * denominator) % prime;
+                denominator = denominator * valueDenominator % prime;
+            }
+            return new long[] { numerator, denominator };
+        }).reduce(new long[] { 0, 1 }, (first, second) -> new long[] {
+                (first[0] * second[1] + second[0] * first[1]) % prime, first[1] * second[1] % prime });
+        if (fraction[1] == 0) {
+            return null;
+        }
+        return new long[] { fraction[0] * inverse(fraction[1], prime) % prime * commonMultiple % prime };
+    }
+
+    /**
+     * Helper method which solves integer rows augmented with their constants
+     * modulo a prime with Gauss-Jordan elimination
+     *
+     * @return the solution modulo prime, or null when the matrix is singular
+     *         modulo prime
+     */
+    private static long[] solveModulo(BigInteger[][] rows, long prime) {
+        int size = rows.length;
+        BigInteger bigPrime = BigInteger.valueOf(prime);
+        long[][] reduced = new long[size][size + 1];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j <= size; j++) {
+                BigInteger entry = rows[i][j];
+                reduced[i][j] = entry.bitLength() < Long.SIZE ? Math.floorMod(entry.longValue(), prime)
+                        : entry.mod(bigPrime).longValue();
+            }
+        }
+
+        for (int column = 0; column < size; column++) {
+            int pivot = column;
+            while (pivot < size && reduced[pivot][column] == 0) {
+                pivot++;
+            }
+            if (pivot == size) {
+                return null;
+            }
+            long[] pivotRow = reduced[pivot];
+            reduced[pivot] = reduced[column];
+            reduced[column] = pivotRow;
+
+            long scale = inverse(pivotRow[column], prime);
+            for (int j = column; j <= size; j++) {
+                pivotRow[j] = pivotRow[j] * scale % prime;
+            }
+            for (int i = 0; i < size; i++) {
+                long factor = reduced[i][column];
+                if (i == column || factor == 0) {
+                    continue;
+                }
+                long[] row = reduced[i];
+                long negated = prime - factor;
+                for (int j = column; j <= size; j++) {
+                    row[j] = (row[j] + negated * pivotRow[j]) % prime;
+                }
+            }
+        }
+
+        long[] solution = new long[size];
+        for (int i = 0; i < size; i++) {
+            solution[i] = reduced[i][size];
+        }
+        return solution;
+    }
+
+    /**
+     * Helper method which returns the inverse of a nonzero value modulo a prime
+     */
+    private static long inverse(long value, long prime) {
+        long previousRemainder = prime;
+        long remainder = value;
+        long previousCoefficient = 0;
+        long coefficient = 1;
+        while (remainder != 0) {
+            long quotient = previousRemainder / remainder;
+            long nextRemainder = previousRemainder - quotient * remainder;
+            previousRemainder = remainder;
+            remainder = nextRemainder;
+            long nextCoefficient = previousCoefficient - quotient * coefficient;
+            previousCoefficient = coefficient;
+            coefficient = nextCoefficient;
+        }
+        return Math.floorMod(previousCoefficient, prime);
+    }
+
+    /**
+     * Helper method which returns at least count primes below 2^31 in decreasing
+     * order, finding more when needed
+     */
+    static synchronized long[] primes(int count) {
+        if (primes.length < count) {
+            long[] grown = Arrays.copyOf(primes, Math.max(count, 2 * primes.length));
+            long candidate = primes.length == 0 ? Integer.MAX_VALUE : primes[primes.length - 1] - 2;
+            for (int i = primes.length; i < grown.length; candidate -= 2) {
+                if (isPrime(candidate)) {
+                    grown[i++] = candidate;
+                }
+            }
+            primes = grown;
+        }
+        return primes;
+    }
+
+    /**
+     * Helper method which runs the Miller-Rabin test with the bases 2, 7 and 61,
+     * which is deterministic for odd values below 4759123141
+     */
+    static boolean isPrime(long value) {
+        long odd = value - 1;
+        int twos = Long.numberOfTrailingZeros(odd);
+        odd >>= twos;
+        for (long base : new long[] { 2, 7, 61 }) {
+            long power = power(base % value, odd, value);
+            if (power == 0 || power == 1 || power == value - 1) {
+                continue;
+            }
+            boolean composite = true;
+            for (int i = 1; i < twos && composite; i++) {
+                power = power * power % value;
+                composite = power != value - 1;
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method which implements fast powering modulo a value below 2^31
+     */
+    private static long power(long base, long exponent, long modulus) {
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = result * base % modulus;
+            }
+            base = base * base % modulus;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Balanced product tree of the primes, which combines residues with the
+     * Chinese remainder theorem two halves at a time. The inverse needed at each
+     * node is computed once and shared by every component.
+     */
+    private static final class CrtTree {
+        private final BigInteger _modulus;
+        private final CrtTree _left;
+        private final CrtTree _right;
+        // Inverse of the left modulus modulo the right modulus
+        private final BigInteger _inverse;
+        private final List<long[]> _residues;
+        private final int _index;
+
+        CrtTree(long[] moduli, List<long[]> residues, int from, int to) {
+            this._residues = residues;
+            this._index = from;
+            if (to - from == 1) {
+                this._modulus = BigInteger.valueOf(moduli[from]);
+                this._left = null;
+                this._right = null;
+                this._inverse = null;
+            } else {
+                int middle = (from + to) >>> 1;
+                this._left = new CrtTree(moduli, residues, from, middle);
+                this._right = new CrtTree(moduli, residues, middle, to);
+                this._modulus = this._left._modulus.multiply(this._right._modulus);
+                this._inverse = this._left._modulus.modInverse(this._right._modulus);
+            }
+        }
+
+        /**
+         * Returns the value in [0, modulus) with the residues of one component
+         */
+        BigInteger combine(int component) {
+            if (this._left == null) {
+                return BigInteger.valueOf(this._residues.get(this._index)[component]);
+            }
+            BigInteger low = this._left.combine(component);
+            BigInteger high = this._right.combine(component);
+            BigInteger lift = high.subtract(low).multiply(this._inverse).mod(this._right._modulus);
+            return low.add(this._left._modulus.multiply(lift));
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package numbers;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class parses `Rational` values from text, either one value at a time
+ * through `Rational.parse` or many values at once with `parseAll`.
+ *
+ * A value is written either as a fraction, the way `Rational.toString()` writes
+ * it, such as `17`, `-3/4` or `-3/2147483648`, or in decimal and scientific
+ * notation, such as `2.375`, `-.5` or `1.25e-3`. Decimals are converted exactly,
+ * so `0.1` parses to 1/10, and may have up to 18 significant digits. Text is
+ * read in place from a `CharSequence`, a `byte[]` range or a `ByteBuffer`, one
+ * character at a time, without creating any intermediate `String`. Bytes are
+ * read as ASCII.
+ *
+ * A parser created with `failFast()` throws a `NumberFormatException` for the
+ * first invalid value. A parser created with `collectingErrors()` skips invalid
+ * values, records a `ParseError` for each of them, and keeps going.
+ */
+public final class RationalParser {
+    static final String EMPTY = "Empty value";
+    static final String INVALID_CHARACTER = "Invalid character";
+    static final String MISSING_DIGITS = "Missing digits";
+    static final String ZERO_DENOMINATOR = "Denominator must not be 0";
+    static final String TOO_LARGE = "Value does not fit in a Rational";
+
+    // Decimal exponents beyond this can never give a value which fits
+    private static final int EXPONENT_LIMIT = 1 << 20;
+    private static final long[] POWERS_OF_TEN = new long[19];
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final boolean _collectErrors;
+    private final List<ParseError> _errors = new ArrayList<>();
+    // Reason the last value failed to parse, or null
+    private String _failure;
+
+    private RationalParser(boolean collectErrors) {
+        this._collectErrors = collectErrors;
+    }
+
+    /**
+     * Creates a parser which throws on the first invalid value
+     *
+     * @return new fail-fast `RationalParser`
+     */
+    public static RationalParser failFast() {
+        return new RationalParser(false);
+    }
+
+    /**
+     * Creates a parser which skips invalid values and records them in `errors()`
+     *
+     * @return new error collecting `RationalParser`
+     */
+    public static RationalParser collectingErrors() {
+        return new RationalParser(true);
+    }
+
+    /**
+     * Returns the errors recorded so far by an error collecting parser, in the
+     * order they were found
+     *
+     * @return unmodifiable view of the recorded errors
+     */
+    public List<ParseError> errors() {
+        return Collections.unmodifiableList(this._errors);
+    }
+
+    /**
+     * Parses every value in text. Values are separated by whitespace or commas.
+     *
+     * @param text characters to be parsed
+     * @return `RationalArray` with the valid values in order
+     * @throws NumberFormatException when a value is invalid and this parser is
+     *                               fail-fast
+     */
+    public RationalArray parseAll(CharSequence text) throws NumberFormatException {
+        return this.parseAll(text::charAt, 0, text.length());
+    }
+
+    /**
+     * Parses every value in a range of ASCII bytes. Values are separated by
+     * whitespace or commas.
+     *
+     * @param bytes  array holding the text
+     * @param offset index of the first byte to be parsed
+     * @param length number of bytes to be parsed
+     * @return `RationalArray` with the valid values in order
+     * @throws NumberFormatException     when a value is invalid and this parser is
+     *                                   fail-fast
+     * @throws IndexOutOfBoundsException when the range is out of bounds
+     */
+    public RationalArray parseAll(byte[] bytes, int offset, int length)
+            throws NumberFormatException, IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return this.parseAll(index -> bytes[index], offset, offset + length);
+    }
+
+    /**
+     * Parses every value in the remaining ASCII bytes of a buffer, without moving
+     * its position. Values are separated by whitespace or commas.
+     *
+     * @param buffer buffer holding the text
+     * @return `RationalArray` with the valid values in order
+     * @throws NumberFormatException when a value is invalid and this parser is
+     *                               fail-fast
+     */
+    public RationalArray parseAll(ByteBuffer buffer) throws NumberFormatException {
+        return this.parseAll(buffer::get, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * Helper method which parses a single value spanning a whole source, throwing
+     * when it is invalid
+     */
+    static Rational parse(Source source, int start, int end) throws NumberFormatException {
+        RationalParser parser = new RationalParser(false);
+        long value = parser.parseValue(source, start, end);
+        if (parser._failure != null) {
+            throw new NumberFormatException(parser._failure + " at offset " + start);
+        }
+        return Rational.fromReduced(RationalLong.numerator(value), RationalLong.denominator(value));
+    }
+
+    private RationalArray parseAll(Source source, int start, int end) throws NumberFormatException {
+        int[] numerators = new int[16];
+        int[] denominators = new int[16];
+        int count = 0;
+        int index = start;
+        while (true) {
+            while (index < end && isSeparator(source.at(index))) {
+                index++;
+            }
+            if (index == end) {
+                break;
+            }
+            int tokenStart = index;
+            while (index < end && !isSeparator(source.at(index))) {
+                index++;
+            }
+
+            long value = this.parseValue(source, tokenStart, index);
+            if (this._failure != null) {
+                if (!this._collectErrors) {
+                    throw new NumberFormatException(this._failure + " at offset " + tokenStart);
+                }
+                this._errors.add(new ParseError(tokenStart, index - tokenStart, this._failure));
+                continue;
+            }
+            if (count == numerators.length) {
+                numerators = Arrays.copyOf(numerators, 2 * count);
+                denominators = Arrays.copyOf(denominators, 2 * count);
+            }
+            numerators[count] = RationalLong.numerator(value);
+            denominators[count] = RationalLong.denominator(value);
+            count++;
+        }
+        return new RationalArray(Arrays.copyOf(numerators, count), Arrays.copyOf(denominators, count));
+    }
+
+    /**
+     * Helper method which parses one value from start to end. On failure the
+     * reason is stored in _failure and 0 is returned, so invalid values cost no
+     * exception.
+     *
+     * @return packed reduced value
+     */
+    private long parseValue(Source source, int start, int end) {
+        this._failure = null;
+        if (start == end) {
+            return this.fail(EMPTY);
+        }
+        int index = start;
+        boolean negative = false;
+        int c = source.at(index);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            index++;
+        }
+
+        // Digits are accumulated into mantissa * 10^zeros, so trailing zeros only
+        // have to fit once a nonzero digit follows them
+        long mantissa = 0;
+        long zeros = 0;
+        long exponent = 0;
+        int digits = 0;
+        boolean decimal = false;
+        for (; index < end; index++) {
+            c = source.at(index);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (decimal) {
+                    exponent--;
+                }
+                if (c == '0') {
+                    zeros++;
+                    continue;
+                }
+                mantissa = this.appendDigit(mantissa, zeros, c - '0');
+                zeros = 0;
+                if (this._failure != null) {
+                    return 0;
+                }
+            } else if (c == '.' && !decimal) {
+                decimal = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return this.fail(index < end && c != '.' && c != '/' && c != 'e' && c != 'E' ? INVALID_CHARACTER
+                    : MISSING_DIGITS);
+        }
+        if (negative) {
+            mantissa = -mantissa;
+        }
+
+        if (index < end && c == '/' && !decimal) {
+            long numerator = this.scale(mantissa, zeros);
+            if (this._failure != null) {
+                return 0;
+            }
+            return this.parseDenominator(source, index + 1, end, numerator);
+        }
+        if (index < end && (c == 'e' || c == 'E')) {
+            long power = this.parseExponent(source, index + 1, end);
+            if (this._failure != null) {
+                return 0;
+            }
+            exponent += power;
+        } else if (index < end) {
+            return this.fail(INVALID_CHARACTER);
+        }
+        return this.decimal(mantissa, zeros + exponent);
+    }
+
+    /**
+     * Helper method which parses the denominator of a fraction and reduces it
+     * with its numerator
+     */
+    private long parseDenominator(Source source, int index, int end, long numerator) {
+        boolean negative = false;
+        if (index < end && (source.at(index) == '-' || source.at(index) == '+')) {
+            negative = source.at(index) == '-';
+            index++;
+        }
+        if (index == end) {
+            return this.fail(MISSING_DIGITS);
+        }
+        long denominator = 0;
+        for (; index < end; index++) {
+            int c = source.at(index);
+            if (c < '0' || c > '9') {
+                return this.fail(INVALID_CHARACTER);
+            }
+            denominator = this.appendDigit(denominator, 0, c - '0');
+            if (this._failure != null) {
+                return 0;
+            }
+        }
+        if (denominator == 0) {
+            return this.fail(ZERO_DENOMINATOR);
+        }
+        if (negative) {
+            numerator = -numerator;
+        }
+        long divisor = Rational.gcd(numerator, denominator);
+        return this.fit(numerator / divisor, denominator / divisor);
+    }
+
+    /**
+     * Helper method which parses the decimal exponent of scientific notation,
+     * clamping it to a range where every value is either 0 or does not fit
+     */
+    private long parseExponent(Source source, int index, int end) {
+        boolean negative = false;
+        if (index < end && (source.at(index) == '-' || source.at(index) == '+')) {
+            negative = source.at(index) == '-';
+            index++;
+        }
+        if (index == end) {
+            return this.fail(MISSING_DIGITS);
+        }
+        long exponent = 0;
+        for (; index < end; index++) {
+            int c = source.at(index);
+            if (c < '0' || c > '9') {
+                return this.fail(INVALID_CHARACTER);
+            }
+            exponent = Math.min(EXPONENT_LIMIT, exponent * 10 + c - '0');
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    /**
+     * Helper method which converts mantissa * 10^exponent exactly. Negative
+     * exponents give a denominator of 2^k * 5^k, whose factors are cancelled
+     * against the mantissa directly instead of with a gcd.
+     */
+    private long decimal(long mantissa, long exponent) {
+        if (mantissa == 0) {
+            return RationalLong.ZERO;
+        }
+        if (exponent >= 0) {
+            long numerator = this.scale(mantissa, exponent);
+            return this._failure != null ? 0 : this.fit(numerator, 1);
+        }
+        if (exponent < -2 * Long.SIZE) {
+            return this.fail(TOO_LARGE);
+        }
+        int places = (int) -exponent;
+        int twos = Math.min(places, Long.numberOfTrailingZeros(mantissa));
+        mantissa >>= twos;
+        int fives = 0;
+        while (fives < places && mantissa % 5 == 0) {
+            mantissa /= 5;
+            fives++;
+        }
+        // The denominator fits when it is at most 2^31
+        long denominator = 1;
+        for (int i = fives; i < places; i++) {
+            denominator *= 5;
+            if (denominator > 1L << 31) {
+                return this.fail(TOO_LARGE);
+            }
+        }
+        if (places - twos > 31 || denominator << (places - twos) > 1L << 31) {
+            return this.fail(TOO_LARGE);
+        }
+        return this.fit(mantissa, denominator << (places - twos));
+    }
+
+    /**
+     * Helper method which returns value * 10^zeros, or fails when it does not fit
+     * in a long
+     */
+    private long scale(long value, long zeros) {
+        if (value == 0 || zeros == 0) {
+            return value;
+        }
+        if (zeros >= POWERS_OF_TEN.length) {
+            return this.fail(TOO_LARGE);
+        }
+        long power = POWERS_OF_TEN[(int) zeros];
+        long scaled = value * power;
+        if (!RationalLong.productFits(value, power, scaled)) {
+            return this.fail(TOO_LARGE);
+        }
+        return scaled;
+    }
+
+    /**
+     * Helper method which returns value * 10^(zeros + 1) + digit, or fails when it
+     * does not fit in a long
+     */
+    private long appendDigit(long value, long zeros, int digit) {
+        long shifted = this.scale(value, zeros + 1);
+        if (this._failure != null) {
+            return 0;
+        }
+        long appended = shifted + digit;
+        if (appended < 0) {
+            return this.fail(TOO_LARGE);
+        }
+        return appended;
+    }
+
+    /**
+     * Helper method which packs a reduced fraction with a positive denominator,
+     * or fails when it does not fit in int components. A denominator of 2^31 is
+     * stored the way `Rational` stores it.
+     */
+    private long fit(long numerator, long denominator) {
+        if (denominator == 1L << 31) {
+            numerator = -numerator;
+            denominator = Integer.MIN_VALUE;
+        }
+        if (numerator != (int) numerator || denominator != (int) denominator) {
+            return this.fail(TOO_LARGE);
+        }
+        return RationalLong.pack((int) numerator, (int) denominator);
+    }
+
+    private long fail(String reason) {
+        this._failure = reason;
+        return 0;
+    }
+
+    private static boolean isSeparator(int c) {
+        return c == ' ' || c == ',' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    /**
+     * Text read one character at a time, so every input type shares one parser
+     */
+    interface Source {
+        int at(int index);
+    }
+
+    /**
+     * Describes a value which could not be parsed
+     */
+    public static final class ParseError {
+        private final int _offset;
+        private final int _length;
+        private final String _reason;
+
+        ParseError(int offset, int length, String reason) {
+            this._offset = offset;
+            this._length = length;
+            this._reason = reason;
+        }
+
+        /**
+         * Accessor method for private _offset member
+         *
+         * @return index of the first character of the invalid value
+         */
+        public int offset() {
+            return this._offset;
+        }
+
+        /**
+         * Accessor method for private _length member
+         *
+         * @return number of characters of the invalid value
+         */
+        public int length() {
+            return this._length;
+        }
+
+        /**
+         * Accessor method for private _reason member
+         *
+         * @return why the value is invalid
+         */
+        public String reason() {
+            return this._reason;
+        }
+
+        /**
+         * Returns a string representation of this error
+         *
+         * @return reason followed by the range of the invalid value
+         */
+        @Override
+        public String toString() {
+            return this._reason + " at offset " + this._offset + " (length " + this._length + ")";
+        }
+    }
+}
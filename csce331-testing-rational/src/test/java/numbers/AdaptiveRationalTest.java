@@ -0,0 +1,302 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for AdaptiveRational.
+ */
+public class AdaptiveRationalTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public AdaptiveRationalTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(AdaptiveRationalTest.class);
+    }
+
+    ///////////////////////////////////
+    // REPRESENTATION TESTS
+    ///////////////////////////////////
+
+    /**
+     * Values are simplified with the sign in the numerator
+     */
+    public void testConstructors() {
+        assertThat(new AdaptiveRational().isZero(), is(true));
+        assertThat(new AdaptiveRational(5).toString(), is("5"));
+        assertThat(new AdaptiveRational(6, -8).toString(), is("-3/4"));
+        assertThat(new AdaptiveRational(BigInteger.valueOf(-10), BigInteger.valueOf(-4)).toString(), is("5/2"));
+        assertThat(new AdaptiveRational(new Rational(3, Integer.MIN_VALUE)).toString(), is("-3/2147483648"));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveRational(1, 0));
+    }
+
+    /**
+     * Values are held in long members exactly when they fit
+     */
+    public void testRepresentation() {
+        assertThat(new AdaptiveRational(Long.MAX_VALUE, 3).isCompact(), is(true));
+        assertThat(new AdaptiveRational(Long.MIN_VALUE, 3).isCompact(), is(false));
+        assertThat(new AdaptiveRational(Long.MIN_VALUE, 2).isCompact(), is(true));
+        assertThat(new AdaptiveRational(BigInteger.ONE.shiftLeft(64), BigInteger.ONE).isCompact(), is(false));
+
+        assertThat(new AdaptiveRational(Integer.MIN_VALUE, Integer.MAX_VALUE).fitsInInt(), is(true));
+        assertThat(new AdaptiveRational(1, 1L << 31).fitsInInt(), is(false));
+        assertThat(new AdaptiveRational(1L << 31).fitsInInt(), is(false));
+    }
+
+    /**
+     * Results are promoted when they overflow and demoted when they shrink
+     */
+    public void testPromotionAndDemotion() {
+        AdaptiveRational large = new AdaptiveRational(Long.MAX_VALUE, 5);
+
+        AdaptiveRational square = large.times(large);
+        assertThat(square.isCompact(), is(false));
+        assertThat(square.numerator(), is(BigInteger.valueOf(Long.MAX_VALUE).pow(2)));
+        assertThat(square.denominator(), is(BigInteger.valueOf(25)));
+
+        AdaptiveRational back = square.dividedBy(large);
+        assertThat(back.isCompact(), is(true));
+        assertThat(back, is(large));
+
+        AdaptiveRational sum = large.plus(large);
+        assertThat(sum.isCompact(), is(false));
+        assertThat(sum.minus(large).isCompact(), is(true));
+        assertThat(sum.minus(large), is(large));
+    }
+
+    /**
+     * A result of Long.MIN_VALUE can't be negated, so it is promoted
+     */
+    public void testMinimumLongResult() {
+        AdaptiveRational half = new AdaptiveRational(-(1L << 62));
+
+        AdaptiveRational sum = half.plus(half);
+        assertThat(sum.isCompact(), is(false));
+        assertThat(sum.numerator(), is(BigInteger.valueOf(Long.MIN_VALUE)));
+        assertThat(sum.opposite().numerator(), is(BigInteger.ONE.shiftLeft(63)));
+
+        AdaptiveRational product = half.times(new AdaptiveRational(2));
+        assertThat(product.isCompact(), is(false));
+        assertThat(product, is(sum));
+    }
+
+    ///////////////////////////////////
+    // ARITHMETIC TESTS
+    ///////////////////////////////////
+
+    /**
+     * Int sized values take the unchecked path
+     */
+    public void testIntArithmetic() {
+        AdaptiveRational first = new AdaptiveRational(Integer.MAX_VALUE, 3);
+        AdaptiveRational second = new AdaptiveRational(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        assertThat(first.plus(second).toBigRational(), is(first.toBigRational().plus(second.toBigRational())));
+        assertThat(first.times(second).toBigRational(), is(first.toBigRational().times(second.toBigRational())));
+        assertThat(new AdaptiveRational(1, 6).plus(new AdaptiveRational(1, 3)), is(new AdaptiveRational(1, 2)));
+        assertThat(new AdaptiveRational(2, 3).times(new AdaptiveRational(9, 4)), is(new AdaptiveRational(3, 2)));
+        assertThat(new AdaptiveRational(2, 3).times(AdaptiveRational.ZERO), is(AdaptiveRational.ZERO));
+        assertThat(AdaptiveRational.ZERO.times(new AdaptiveRational(2, 3)), is(AdaptiveRational.ZERO));
+    }
+
+    /**
+     * Long sized values take the checked path
+     */
+    public void testLongArithmetic() {
+        AdaptiveRational first = new AdaptiveRational(1L << 40, 3);
+        AdaptiveRational second = new AdaptiveRational(5, 1L << 40);
+
+        AdaptiveRational third = new AdaptiveRational(5, 7);
+
+        assertThat(first.times(second), is(new AdaptiveRational(5, 3)));
+        assertThat(first.plus(third).toBigRational(), is(first.toBigRational().plus(third.toBigRational())));
+        assertThat(first.plus(third).isCompact(), is(true));
+        assertThat(first.minus(first), is(AdaptiveRational.ZERO));
+    }
+
+    /**
+     * Sums whose scaled cross terms or denominator overflow are promoted
+     */
+    public void testPlusOverflow() {
+        AdaptiveRational first = new AdaptiveRational(1, (1L << 40) + 1);
+        AdaptiveRational second = new AdaptiveRational(1, (1L << 40) - 1);
+        AdaptiveRational sum = first.plus(second);
+        assertThat(sum.isCompact(), is(false));
+        assertThat(sum.toBigRational(), is(first.toBigRational().plus(second.toBigRational())));
+
+        AdaptiveRational scaled = new AdaptiveRational(1L << 40, 3);
+        AdaptiveRational other = new AdaptiveRational(1, 1L << 30);
+        assertThat(scaled.plus(other).toBigRational(), is(scaled.toBigRational().plus(other.toBigRational())));
+    }
+
+    /**
+     * Opposites, reciprocals and powers work on every representation
+     */
+    public void testUnaryOperations() {
+        AdaptiveRational value = new AdaptiveRational(-2, 3);
+        AdaptiveRational big = new AdaptiveRational(BigInteger.ONE.shiftLeft(70), BigInteger.valueOf(3));
+
+        assertThat(value.opposite(), is(new AdaptiveRational(2, 3)));
+        assertThat(value.reciprocal(), is(new AdaptiveRational(-3, 2)));
+        assertThat(new AdaptiveRational(5, 7).reciprocal(), is(new AdaptiveRational(7, 5)));
+        assertThat(big.opposite().opposite(), is(big));
+        assertThat(big.reciprocal().reciprocal(), is(big));
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveRational.ZERO.reciprocal());
+
+        assertThat(value.raisedToThePowerOf(3), is(new AdaptiveRational(-8, 27)));
+        assertThat(value.raisedToThePowerOf(-2), is(new AdaptiveRational(9, 4)));
+        assertThat(value.raisedToThePowerOf(100).isCompact(), is(false));
+        assertThat(big.raisedToThePowerOf(0), is(AdaptiveRational.ONE));
+    }
+
+    /**
+     * Arithmetic agrees with `BigRational` across all magnitudes
+     */
+    public void testMatchesBigRational() {
+        Random random = new Random(17);
+        for (int i = 0; i < 3000; i++) {
+            AdaptiveRational first = randomValue(random);
+            AdaptiveRational second = randomValue(random);
+            BigRational bigFirst = first.toBigRational();
+            BigRational bigSecond = second.toBigRational();
+
+            assertResult(first.plus(second), bigFirst.plus(bigSecond));
+            assertResult(first.minus(second), bigFirst.minus(bigSecond));
+            assertResult(first.times(second), bigFirst.times(bigSecond));
+            assertThat(Integer.signum(first.compareTo(second)), is(Integer.signum(bigFirst.compareTo(bigSecond))));
+        }
+    }
+
+    /**
+     * Helper which returns a value whose members have a random bit length
+     */
+    private static AdaptiveRational randomValue(Random random) {
+        BigInteger numerator = new BigInteger(1 + random.nextInt(80), random);
+        BigInteger denominator = new BigInteger(1 + random.nextInt(80), random).add(BigInteger.ONE);
+        return new AdaptiveRational(random.nextBoolean() ? numerator : numerator.negate(), denominator);
+    }
+
+    /**
+     * Helper which checks a result against `BigRational` and that it is demoted
+     * whenever it fits
+     */
+    private static void assertResult(AdaptiveRational actual, BigRational expected) {
+        assertThat(actual.toBigRational(), is(expected));
+        assertThat(actual.isCompact(), is(new AdaptiveRational(expected).isCompact()));
+        assertThat(actual, is(new AdaptiveRational(expected)));
+    }
+
+    ///////////////////////////////////
+    // COMPARISON TESTS
+    ///////////////////////////////////
+
+    /**
+     * Identity values are recognized
+     */
+    public void testIdentities() {
+        AdaptiveRational big = new AdaptiveRational(BigInteger.ONE.shiftLeft(70), BigInteger.ONE);
+
+        assertThat(new AdaptiveRational(0, 3).isZero(), is(true));
+        assertThat(new AdaptiveRational(3, 3).isOne(), is(true));
+        assertThat(new AdaptiveRational(-3, 3).isMinusOne(), is(true));
+        assertThat(new AdaptiveRational(1, 2).isOne(), is(false));
+        assertThat(new AdaptiveRational(-1, 2).isMinusOne(), is(false));
+        assertThat(new AdaptiveRational(2).isOne(), is(false));
+        assertThat(new AdaptiveRational(-2).isMinusOne(), is(false));
+        assertThat(big.isZero(), is(false));
+        assertThat(big.isOne(), is(false));
+        assertThat(big.isMinusOne(), is(false));
+    }
+
+    /**
+     * Values are ordered across representations
+     */
+    public void testCompareTo() {
+        AdaptiveRational small = new AdaptiveRational(1, 3);
+        AdaptiveRational large = new AdaptiveRational(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        AdaptiveRational larger = new AdaptiveRational(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1);
+        AdaptiveRational big = new AdaptiveRational(BigInteger.ONE.shiftLeft(70), BigInteger.ONE);
+
+        assertThat(small.compareTo(new AdaptiveRational(1, 2)) < 0, is(true));
+        assertThat(small.compareTo(new AdaptiveRational(2, 6)), is(0));
+        assertThat(large.compareTo(larger) > 0, is(true));
+        assertThat(larger.compareTo(large) < 0, is(true));
+        assertThat(large.compareTo(new AdaptiveRational(Long.MAX_VALUE - 1, Long.MAX_VALUE)), is(0));
+        assertThat(big.compareTo(large) > 0, is(true));
+        assertThat(small.compareTo(big) < 0, is(true));
+
+        assertThat(small.lessThan(big), is(true));
+        assertThat(big.greaterThan(small), is(true));
+        assertThat(small.lessThan(null), is(false));
+        assertThat(small.greaterThan(null), is(false));
+    }
+
+    /**
+     * Equal values are equal and hash equally
+     */
+    public void testEqualsAndHashCode() {
+        AdaptiveRational half = new AdaptiveRational(1, 2);
+        AdaptiveRational big = new AdaptiveRational(BigInteger.ONE.shiftLeft(70), BigInteger.ONE);
+        AdaptiveRational sameBig = new AdaptiveRational(BigInteger.ONE.shiftLeft(71), BigInteger.TWO);
+
+        assertThat(half.equals(half), is(true));
+        assertThat(half.equals(new AdaptiveRational(2, 4)), is(true));
+        assertThat(half.hashCode(), is(new AdaptiveRational(2, 4).hashCode()));
+        assertThat(half.equals(new AdaptiveRational(1, 3)), is(false));
+        assertThat(half.equals(new AdaptiveRational(3, 2)), is(false));
+        assertThat(big.equals(sameBig), is(true));
+        assertThat(big.hashCode(), is(sameBig.hashCode()));
+        assertThat(big.equals(half), is(false));
+        assertThat(half.equals(big), is(false));
+        assertThat(half.equals(new Rational(1, 2)), is(false));
+    }
+
+    ///////////////////////////////////
+    // CONVERSION TESTS
+    ///////////////////////////////////
+
+    /**
+     * Conversions truncate and round like `Rational`
+     */
+    public void testConversions() {
+        AdaptiveRational value = new AdaptiveRational(-7, 2);
+        AdaptiveRational big = new AdaptiveRational(BigInteger.ONE.shiftLeft(70).add(BigInteger.ONE),
+                BigInteger.TWO);
+
+        assertThat(value.intValue(), is(-3));
+        assertThat(value.longValue(), is(-3L));
+        assertThat(value.floatValue(), is(-3.5F));
+        assertThat(value.doubleValue(), is(-3.5D));
+        assertThat(new AdaptiveRational(Long.MAX_VALUE, 2).doubleValue(), is(Long.MAX_VALUE / 2D));
+        assertThat(new AdaptiveRational(1, Long.MAX_VALUE).doubleValue(), is(1D / Long.MAX_VALUE));
+        assertThat(big.longValue(), is(0L));
+        assertThat(big.doubleValue(), is(Math.pow(2, 69)));
+        assertThat(big.toString(), is("1180591620717411303425/2"));
+
+        assertThat(value.toRational(), is(new Rational(-7, 2)));
+        assertThat(value.numerator(), is(BigInteger.valueOf(-7)));
+        assertThat(value.denominator(), is(BigInteger.TWO));
+        assertThat(big.denominator(), is(BigInteger.TWO));
+        assertThrows(ArithmeticException.class, () -> big.toRational());
+        assertThrows(ArithmeticException.class, () -> new AdaptiveRational(1L << 40).toRational());
+    }
+}
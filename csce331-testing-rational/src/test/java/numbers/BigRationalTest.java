@@ -0,0 +1,380 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for BigRational.
+ */
+public class BigRationalTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public BigRationalTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(BigRationalTest.class);
+    }
+
+    /**
+     * Helper which returns 2^exponent
+     */
+    private static BigInteger twoTo(int exponent) {
+        return BigInteger.ONE.shiftLeft(exponent);
+    }
+
+    ///////////////////////////////////
+    // CONSTRUCTOR TESTS
+    ///////////////////////////////////
+
+    /**
+     * Values are simplified with the sign in the numerator
+     */
+    public void testConstructors() {
+        BigRational zero = new BigRational();
+        assertThat(zero.numerator(), is(BigInteger.ZERO));
+        assertThat(zero.denominator(), is(BigInteger.ONE));
+
+        BigRational whole = new BigRational(7);
+        assertThat(whole.numerator(), is(BigInteger.valueOf(7)));
+        assertThat(whole.denominator(), is(BigInteger.ONE));
+
+        BigRational fraction = new BigRational(6, -8);
+        assertThat(fraction.numerator(), is(BigInteger.valueOf(-3)));
+        assertThat(fraction.denominator(), is(BigInteger.valueOf(4)));
+
+        BigRational negatives = new BigRational(BigInteger.valueOf(-10), BigInteger.valueOf(-4));
+        assertThat(negatives.toString(), is("5/2"));
+
+        assertThat(new BigRational(0, -5).denominator(), is(BigInteger.ONE));
+        assertThat(new BigRational(Long.MIN_VALUE, Long.MIN_VALUE).isOne(), is(true));
+        assertThat(new BigRational(fraction), is(fraction));
+    }
+
+    /**
+     * A denominator of 0 is rejected
+     */
+    public void testZeroDenominator() {
+        assertThrows(IllegalArgumentException.class, () -> new BigRational(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BigRational(BigInteger.ONE, BigInteger.ZERO));
+    }
+
+    /**
+     * Large members are reduced by their gcd
+     */
+    public void testConstructorLargeValues() {
+        BigInteger prime = BigInteger.valueOf(1_000_000_007);
+        BigInteger numerator = twoTo(600).multiply(prime);
+        BigInteger denominator = twoTo(700).multiply(prime).negate();
+
+        BigRational value = new BigRational(numerator, denominator);
+
+        assertThat(value.numerator(), is(BigInteger.ONE.negate()));
+        assertThat(value.denominator(), is(twoTo(100)));
+    }
+
+    /**
+     * `Rational` values convert in both directions, including values with a
+     * denominator of Integer.MIN_VALUE
+     */
+    public void testRationalConversion() {
+        BigRational half = new BigRational(new Rational(-1, 2));
+        assertThat(half, is(new BigRational(-1, 2)));
+        assertThat(half.toRational(), is(new Rational(-1, 2)));
+
+        BigRational tiny = new BigRational(new Rational(3, Integer.MIN_VALUE));
+        assertThat(tiny.numerator(), is(BigInteger.valueOf(-3)));
+        assertThat(tiny.denominator(), is(twoTo(31)));
+        assertThat(tiny.toRational(), is(new Rational(3, Integer.MIN_VALUE)));
+
+        assertThrows(ArithmeticException.class, () -> new BigRational(1L << 40).toRational());
+        assertThrows(ArithmeticException.class, () -> new BigRational(twoTo(64)).toRational());
+        assertThrows(ArithmeticException.class, () -> new BigRational(BigInteger.ONE, twoTo(64)).toRational());
+    }
+
+    ///////////////////////////////////
+    // ARITHMETIC TESTS
+    ///////////////////////////////////
+
+    /**
+     * Opposites and reciprocals keep the sign in the numerator
+     */
+    public void testOppositeAndReciprocal() {
+        BigRational value = new BigRational(-2, 3);
+
+        assertThat(value.opposite(), is(new BigRational(2, 3)));
+        assertThat(value.reciprocal(), is(new BigRational(-3, 2)));
+        assertThat(value.reciprocal().denominator(), is(BigInteger.valueOf(2)));
+        assertThat(new BigRational(5, 7).reciprocal(), is(new BigRational(7, 5)));
+        assertThrows(IllegalArgumentException.class, () -> BigRational.ZERO.reciprocal());
+    }
+
+    /**
+     * Products are in lowest terms
+     */
+    public void testTimes() {
+        assertThat(new BigRational(2, 3).times(new BigRational(9, 4)), is(new BigRational(3, 2)));
+        assertThat(new BigRational(-2, 3).times(new BigRational(3, -2)), is(BigRational.ONE));
+        assertThat(new BigRational(2, 3).times(BigRational.ZERO), is(BigRational.ZERO));
+        assertThat(BigRational.ZERO.times(new BigRational(2, 3)), is(BigRational.ZERO));
+    }
+
+    /**
+     * Products which overflow a long are computed exactly
+     */
+    public void testTimesOverflow() {
+        BigRational large = new BigRational(Integer.MAX_VALUE * 3L, 7);
+        BigRational product = large.times(large).times(large);
+
+        BigInteger expected = BigInteger.valueOf(Integer.MAX_VALUE * 3L).pow(3);
+        assertThat(product, is(new BigRational(expected, BigInteger.valueOf(343))));
+        assertThat(product.dividedBy(large), is(large.times(large)));
+    }
+
+    /**
+     * Quotients are in lowest terms
+     */
+    public void testDividedBy() {
+        assertThat(new BigRational(1, 2).dividedBy(new BigRational(-1, 4)), is(new BigRational(-2)));
+        assertThrows(IllegalArgumentException.class, () -> BigRational.ONE.dividedBy(BigRational.ZERO));
+    }
+
+    /**
+     * Sums and differences are in lowest terms
+     */
+    public void testPlusAndMinus() {
+        assertThat(new BigRational(1, 6).plus(new BigRational(1, 3)), is(new BigRational(1, 2)));
+        assertThat(new BigRational(1, 2).plus(new BigRational(-1, 2)), is(BigRational.ZERO));
+        assertThat(new BigRational(3, 4).minus(new BigRational(5, 6)), is(new BigRational(-1, 12)));
+        assertThat(new BigRational(1, 4).plus(new BigRational(1, 4)).denominator(), is(BigInteger.valueOf(2)));
+    }
+
+    /**
+     * Sums which overflow a long are computed exactly
+     */
+    public void testPlusOverflow() {
+        BigRational large = new BigRational((1L << 61) + 1, 3);
+        BigRational sum = large.plus(large).plus(large).plus(large);
+
+        assertThat(sum, is(new BigRational(BigInteger.valueOf((1L << 61) + 1).shiftLeft(2), BigInteger.valueOf(3))));
+        assertThat(sum.minus(large).minus(large), is(large.plus(large)));
+
+        BigRational small = new BigRational(1, (1L << 61) - 1);
+        BigRational smaller = new BigRational(1, (1L << 61) + 1);
+        assertThat(small.minus(smaller),
+                is(new BigRational(BigInteger.valueOf(2), twoTo(122).subtract(BigInteger.ONE))));
+    }
+
+    /**
+     * Powers are computed on the numerator and denominator independently
+     */
+    public void testRaisedToThePowerOf() {
+        BigRational value = new BigRational(-2, 3);
+
+        assertThat(value.raisedToThePowerOf(0), is(BigRational.ONE));
+        assertThat(value.raisedToThePowerOf(3), is(new BigRational(-8, 27)));
+        assertThat(value.raisedToThePowerOf(-2), is(new BigRational(9, 4)));
+        assertThat(value.raisedToThePowerOf(100), is(new BigRational(twoTo(100), BigInteger.valueOf(3).pow(100))));
+        assertThat(BigRational.MINUS_ONE.raisedToThePowerOf(Integer.MIN_VALUE), is(BigRational.ONE));
+        assertThrows(IllegalArgumentException.class, () -> BigRational.ZERO.raisedToThePowerOf(-1));
+    }
+
+    /**
+     * Arithmetic agrees with `Rational` wherever `Rational` does not overflow
+     */
+    public void testMatchesRational() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            Rational first = new Rational(random.nextInt(2001) - 1000, random.nextInt(1000) + 1);
+            Rational second = new Rational(random.nextInt(2001) - 1000, random.nextInt(1000) + 1);
+            BigRational bigFirst = new BigRational(first);
+            BigRational bigSecond = new BigRational(second);
+
+            assertThat(bigFirst.plus(bigSecond).toRational(), is(first.plus(second)));
+            assertThat(bigFirst.minus(bigSecond).toRational(), is(first.minus(second)));
+            assertThat(bigFirst.times(bigSecond).toRational(), is(first.times(second)));
+            assertThat(Integer.signum(bigFirst.compareTo(bigSecond)), is(Integer.signum(first.compareTo(second))));
+        }
+    }
+
+    ///////////////////////////////////
+    // COMPARISON TESTS
+    ///////////////////////////////////
+
+    /**
+     * Identity values are recognized
+     */
+    public void testIdentities() {
+        assertThat(new BigRational(0, 3).isZero(), is(true));
+        assertThat(new BigRational(3, 3).isOne(), is(true));
+        assertThat(new BigRational(-3, 3).isMinusOne(), is(true));
+        assertThat(new BigRational(2, 2).isMinusOne(), is(false));
+        assertThat(new BigRational(-1, 2).isMinusOne(), is(false));
+        assertThat(new BigRational(1, 2).isOne(), is(false));
+        assertThat(new BigRational(1).isOne(), is(true));
+    }
+
+    /**
+     * Values are ordered by sign and then by cross multiplication
+     */
+    public void testCompareTo() {
+        assertThat(new BigRational(-1, 2).compareTo(new BigRational(1, 3)) < 0, is(true));
+        assertThat(new BigRational(1, 3).compareTo(BigRational.ZERO) > 0, is(true));
+        assertThat(BigRational.ZERO.compareTo(new BigRational()), is(0));
+        assertThat(new BigRational(1, 3).compareTo(new BigRational(1, 2)) < 0, is(true));
+        assertThat(new BigRational(-1, 3).compareTo(new BigRational(-1, 2)) > 0, is(true));
+        assertThat(new BigRational(2, 4).compareTo(new BigRational(1, 2)), is(0));
+    }
+
+    /**
+     * Values whose cross products exceed a long are ordered exactly
+     */
+    public void testCompareToLargeValues() {
+        long large = (1L << 61) - 1;
+        BigRational first = new BigRational(large, large - 2);
+        BigRational second = new BigRational(large - 1, large - 3);
+        assertThat(first.compareTo(second) < 0, is(true));
+        assertThat(second.compareTo(first) > 0, is(true));
+
+        BigRational huge = new BigRational(twoTo(200).add(BigInteger.ONE), twoTo(200));
+        assertThat(huge.compareTo(BigRational.ONE) > 0, is(true));
+        assertThat(BigRational.ONE.compareTo(huge) < 0, is(true));
+        assertThat(huge.compareTo(new BigRational(huge)), is(0));
+    }
+
+    /**
+     * Strict comparisons are false for null and equal values
+     */
+    public void testLessThanGreaterThan() {
+        BigRational half = new BigRational(1, 2);
+
+        assertThat(half.lessThan(BigRational.ONE), is(true));
+        assertThat(half.greaterThan(BigRational.ZERO), is(true));
+        assertThat(half.lessThan(new BigRational(2, 4)), is(false));
+        assertThat(half.greaterThan(new BigRational(2, 4)), is(false));
+        assertThat(half.lessThan(null), is(false));
+        assertThat(half.greaterThan(null), is(false));
+    }
+
+    /**
+     * Equal values are equal and hash equally
+     */
+    public void testEqualsAndHashCode() {
+        BigRational half = new BigRational(1, 2);
+
+        assertThat(half.equals(half), is(true));
+        assertThat(half.equals(new BigRational(-2, -4)), is(true));
+        assertThat(half.hashCode(), is(new BigRational(-2, -4).hashCode()));
+        assertThat(half.equals(new BigRational(1, 3)), is(false));
+        assertThat(half.equals(new BigRational(3, 2)), is(false));
+        assertThat(half.equals(new Rational(1, 2)), is(false));
+        assertThat(half.equals(null), is(false));
+    }
+
+    ///////////////////////////////////
+    // CONVERSION TESTS
+    ///////////////////////////////////
+
+    /**
+     * Strings put the sign at the front
+     */
+    public void testToString() {
+        assertThat(new BigRational(4, 2).toString(), is("2"));
+        assertThat(new BigRational(1, -2).toString(), is("-1/2"));
+        assertThat(new BigRational(BigInteger.ONE, twoTo(70)).toString(), is("1/1180591620717411303424"));
+    }
+
+    /**
+     * Number conversions truncate and round like `Rational`
+     */
+    public void testNumberValues() {
+        BigRational value = new BigRational(-7, 2);
+
+        assertThat(value.intValue(), is(-3));
+        assertThat(value.longValue(), is(-3L));
+        assertThat(value.floatValue(), is(-3.5F));
+        assertThat(value.doubleValue(), is(-3.5D));
+        assertThat(new BigRational(1, 3).doubleValue(), is(1D / 3D));
+
+        BigRational huge = new BigRational(twoTo(200).multiply(BigInteger.valueOf(3)), twoTo(201));
+        assertThat(huge.doubleValue(), is(1.5D));
+        assertThat(new BigRational(BigInteger.ONE, twoTo(1100)).doubleValue(), is(0D));
+        assertThat(new BigRational(twoTo(80)).longValue(), is(0L));
+    }
+
+    ///////////////////////////////////
+    // GCD TESTS
+    ///////////////////////////////////
+
+    /**
+     * The binary gcd handles signs, zeros and Long.MIN_VALUE
+     */
+    public void testLongGCD() {
+        assertThat(BigRational.gcd(12L, 18L), is(6L));
+        assertThat(BigRational.gcd(-12L, 18L), is(6L));
+        assertThat(BigRational.gcd(0L, -5L), is(5L));
+        assertThat(BigRational.gcd(5L, 0L), is(5L));
+        assertThat(BigRational.gcd(0L, 0L), is(0L));
+        assertThat(BigRational.gcd(Long.MIN_VALUE, 6L), is(2L));
+        assertThat(BigRational.gcd(17L, 5L), is(1L));
+
+        Random random = new Random(11);
+        for (int i = 0; i < 1000; i++) {
+            long a = random.nextLong() >> random.nextInt(63);
+            long b = random.nextLong() >> random.nextInt(63);
+            assertThat(BigRational.gcd(a, b), is(BigInteger.valueOf(a).gcd(BigInteger.valueOf(b)).longValue()));
+        }
+    }
+
+    /**
+     * Lehmer's algorithm agrees with `BigInteger.gcd` on random values
+     */
+    public void testLehmerGCD() {
+        Random random = new Random(13);
+        for (int bits : new int[] { 100, 512, 1000, 4000 }) {
+            for (int i = 0; i < 50; i++) {
+                BigInteger common = new BigInteger(bits / 4, random);
+                BigInteger a = new BigInteger(bits, random).multiply(common);
+                BigInteger b = new BigInteger(bits + random.nextInt(bits), random).multiply(common).negate();
+                assertThat(BigRational.gcd(a, b), is(a.gcd(b)));
+                assertThat(BigRational.gcd(b, a), is(a.gcd(b)));
+            }
+        }
+    }
+
+    /**
+     * Lehmer's algorithm handles consecutive Fibonacci numbers, whose quotients
+     * are all 1, and operands of very different sizes
+     */
+    public void testLehmerGCDEdgeCases() {
+        BigInteger previous = BigInteger.ONE;
+        BigInteger current = BigInteger.ONE;
+        for (int i = 0; i < 2000; i++) {
+            BigInteger next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+        assertThat(BigRational.gcd(current, previous), is(BigInteger.ONE));
+        assertThat(BigRational.gcd(current.multiply(previous), previous.pow(2)), is(previous));
+
+        BigInteger unbalanced = twoTo(5000).add(BigInteger.ONE);
+        assertThat(BigRational.gcd(unbalanced, twoTo(600)), is(BigInteger.ONE));
+        assertThat(BigRational.gcd(twoTo(5000), twoTo(600)), is(twoTo(600)));
+    }
+}
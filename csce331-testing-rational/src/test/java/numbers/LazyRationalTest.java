@@ -0,0 +1,272 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for LazyRational.
+ */
+public class LazyRationalTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public LazyRationalTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(LazyRationalTest.class);
+    }
+
+    ///////////////////////////////////
+    // CONSTRUCTOR TESTS
+    ///////////////////////////////////
+
+    /**
+     * Fractions are only simplified when observed
+     */
+    public void testConstructors() {
+        LazyRational value = new LazyRational(6, -8);
+
+        assertThat(value.isNormalized(), is(false));
+        assertThat(value.numerator(), is(-3L));
+        assertThat(value.denominator(), is(4L));
+        assertThat(new LazyRational().isNormalized(), is(true));
+        assertThat(new LazyRational(5).isNormalized(), is(true));
+        assertThat(new LazyRational(0, -5).denominator(), is(1L));
+        assertThat(new LazyRational(new Rational(3, Integer.MIN_VALUE)).toString(), is("-3/2147483648"));
+        assertThat(new LazyRational(new Rational(-3, 4)).isNormalized(), is(true));
+    }
+
+    /**
+     * Invalid denominators are rejected
+     */
+    public void testInvalidConstructors() {
+        assertThrows(IllegalArgumentException.class, () -> new LazyRational(1, 0));
+        assertThrows(ArithmeticException.class, () -> new LazyRational(1, Long.MIN_VALUE));
+        assertThrows(ArithmeticException.class, () -> new LazyRational(Long.MIN_VALUE, -1));
+    }
+
+    ///////////////////////////////////
+    // ARITHMETIC TESTS
+    ///////////////////////////////////
+
+    /**
+     * Chains of small values are not reduced until observed
+     */
+    public void testChainsStayUnreduced() {
+        LazyRational sum = new LazyRational(1, 2).plus(new LazyRational(1, 3)).plus(new LazyRational(1, 6));
+        LazyRational product = new LazyRational(2, 3).times(new LazyRational(3, 4)).times(new LazyRational(2));
+
+        assertThat(sum.isNormalized(), is(false));
+        assertThat(sum.isOne(), is(true));
+        assertThat(sum.toString(), is("1"));
+        assertThat(product.isNormalized(), is(false));
+        assertThat(product.isOne(), is(true));
+        assertThat(product, is(LazyRational.ONE));
+    }
+
+    /**
+     * Operands are reduced when an unreduced result would overflow
+     */
+    public void testReducesNearOverflow() {
+        LazyRational third = new LazyRational(1L << 40, 3L << 40);
+
+        LazyRational product = third.times(third);
+        assertThat(product.isNormalized(), is(true));
+        assertThat(product.toString(), is("1/9"));
+
+        LazyRational sum = third.plus(third);
+        assertThat(sum.isNormalized(), is(true));
+        assertThat(sum.toString(), is("2/3"));
+
+        LazyRational minimum = new LazyRational(-(1L << 62)).plus(new LazyRational(-(1L << 62)));
+        assertThat(minimum.isNormalized(), is(true));
+        assertThat(minimum.numerator(), is(Long.MIN_VALUE));
+        assertThat(new LazyRational(-(1L << 62)).times(new LazyRational(2)).isNormalized(), is(true));
+    }
+
+    /**
+     * Each member that would overflow on its own triggers a reduction
+     */
+    public void testReducesEachOverflowingMember() {
+        LazyRational small = new LazyRational(1L << 30, 1L << 50);
+        assertThat("Denominator product overflows", small.times(small).toString(), is("1/1099511627776"));
+
+        LazyRational tiny = new LazyRational(1, 1L << 40);
+        LazyRational half = new LazyRational(1L << 30, 1L << 31);
+        assertThat("Second cross term overflows", tiny.plus(half).toString(), is("549755813889/1099511627776"));
+
+        LazyRational large = new LazyRational(3L << 60, 2);
+        assertThat("Sum of cross terms overflows", large.plus(large).toString(), is("3458764513820540928"));
+
+        LazyRational quarter = new LazyRational(1, 1L << 32);
+        assertThat("Denominator product overflows", quarter.plus(quarter).toString(), is("1/2147483648"));
+    }
+
+    /**
+     * Results which don't fit even when reduced are rejected
+     */
+    public void testOverflow() {
+        LazyRational large = new LazyRational(Long.MAX_VALUE, 3);
+
+        assertThrows(ArithmeticException.class, () -> large.times(large));
+        assertThrows(ArithmeticException.class, () -> large.plus(new LazyRational(1, 2)));
+        assertThrows(ArithmeticException.class, () -> large.raisedToThePowerOf(2));
+    }
+
+    /**
+     * Opposites and reciprocals keep the sign in the numerator
+     */
+    public void testOppositeAndReciprocal() {
+        LazyRational value = new LazyRational(-4, 6);
+
+        assertThat(value.opposite(), is(new LazyRational(2, 3)));
+        assertThat(value.opposite().isNormalized(), is(false));
+        assertThat(value.reciprocal(), is(new LazyRational(-3, 2)));
+        assertThat(new LazyRational(5, 7).reciprocal().toString(), is("7/5"));
+        assertThrows(IllegalArgumentException.class, () -> LazyRational.ZERO.reciprocal());
+
+        LazyRational minimum = new LazyRational(Long.MIN_VALUE, 2);
+        assertThat(minimum.opposite().numerator(), is(1L << 62));
+        assertThat(minimum.reciprocal().toString(), is("-1/4611686018427387904"));
+        assertThrows(ArithmeticException.class, () -> new LazyRational(Long.MIN_VALUE).opposite());
+        assertThrows(ArithmeticException.class, () -> new LazyRational(Long.MIN_VALUE).reciprocal());
+    }
+
+    /**
+     * Differences and quotients are correct
+     */
+    public void testMinusAndDividedBy() {
+        assertThat(new LazyRational(3, 4).minus(new LazyRational(5, 6)), is(new LazyRational(-1, 12)));
+        assertThat(new LazyRational(1, 2).dividedBy(new LazyRational(-1, 4)), is(new LazyRational(-2)));
+        assertThrows(IllegalArgumentException.class, () -> LazyRational.ONE.dividedBy(LazyRational.ZERO));
+    }
+
+    /**
+     * Powers are reduced first
+     */
+    public void testRaisedToThePowerOf() {
+        LazyRational value = new LazyRational(-4, 6);
+
+        assertThat(value.raisedToThePowerOf(0), is(LazyRational.ONE));
+        assertThat(value.raisedToThePowerOf(3).toString(), is("-8/27"));
+        assertThat(value.raisedToThePowerOf(-2).toString(), is("9/4"));
+        assertThat(value.raisedToThePowerOf(3).isNormalized(), is(true));
+        assertThrows(IllegalArgumentException.class, () -> LazyRational.ZERO.raisedToThePowerOf(-1));
+    }
+
+    /**
+     * Long chains agree with `BigRational`, which reduces after every step
+     */
+    public void testMatchesBigRational() {
+        Random random = new Random(19);
+        for (int chain = 0; chain < 200; chain++) {
+            LazyRational lazy = LazyRational.ZERO;
+            BigRational exact = BigRational.ZERO;
+            for (int i = 0; i < 12; i++) {
+                long numerator = random.nextInt(41) - 20;
+                long denominator = random.nextInt(12) + 1;
+                LazyRational operand = new LazyRational(numerator, denominator);
+                BigRational exactOperand = new BigRational(numerator, denominator);
+                if (random.nextBoolean()) {
+                    lazy = lazy.plus(operand);
+                    exact = exact.plus(exactOperand);
+                } else if (!operand.isZero()) {
+                    lazy = lazy.times(operand).plus(LazyRational.ONE);
+                    exact = exact.times(exactOperand).plus(BigRational.ONE);
+                }
+            }
+            assertThat(lazy.toString(), is(exact.toString()));
+        }
+    }
+
+    ///////////////////////////////////
+    // COMPARISON TESTS
+    ///////////////////////////////////
+
+    /**
+     * Identity values are recognized without reducing
+     */
+    public void testIdentities() {
+        assertThat(new LazyRational(0, 3).isZero(), is(true));
+        assertThat(new LazyRational(3, 3).isOne(), is(true));
+        assertThat(new LazyRational(-3, 3).isMinusOne(), is(true));
+        assertThat(new LazyRational(3, -3).isMinusOne(), is(true));
+        assertThat(new LazyRational(1, 2).isOne(), is(false));
+        assertThat(new LazyRational(1, 2).isMinusOne(), is(false));
+        assertThat(new LazyRational(3, 3).isNormalized(), is(false));
+    }
+
+    /**
+     * Unreduced values are ordered by 128-bit cross multiplication
+     */
+    public void testCompareTo() {
+        LazyRational large = new LazyRational(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        LazyRational larger = new LazyRational(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1);
+
+        assertThat(new LazyRational(2, 6).compareTo(new LazyRational(1, 2)) < 0, is(true));
+        assertThat(new LazyRational(2, 6).compareTo(new LazyRational(3, 9)), is(0));
+        assertThat(new LazyRational(-1, 2).compareTo(new LazyRational(-1, 3)) < 0, is(true));
+        assertThat(large.compareTo(larger) > 0, is(true));
+        assertThat(larger.compareTo(large) < 0, is(true));
+
+        assertThat(new LazyRational(Long.MAX_VALUE).compareTo(new LazyRational(-Long.MAX_VALUE)) > 0, is(true));
+
+        assertThat(larger.lessThan(large), is(true));
+        assertThat(large.lessThan(larger), is(false));
+        assertThat(large.greaterThan(larger), is(true));
+        assertThat(larger.greaterThan(large), is(false));
+        assertThat(large.lessThan(null), is(false));
+        assertThat(large.greaterThan(null), is(false));
+    }
+
+    /**
+     * Equal values are equal and hash equally whatever their unreduced form
+     */
+    public void testEqualsAndHashCode() {
+        LazyRational half = new LazyRational(1, 2);
+        LazyRational unreduced = new LazyRational(-7, -14);
+
+        assertThat(half.equals(half), is(true));
+        assertThat(half.equals(unreduced), is(true));
+        assertThat(half.hashCode(), is(unreduced.hashCode()));
+        assertThat(half.equals(new LazyRational(1, 3)), is(false));
+        assertThat(half.equals(new LazyRational(3, 2)), is(false));
+        assertThat(half.equals(new Rational(1, 2)), is(false));
+        assertThat(unreduced.isNormalized(), is(false));
+    }
+
+    ///////////////////////////////////
+    // CONVERSION TESTS
+    ///////////////////////////////////
+
+    /**
+     * Conversions observe the reduced value
+     */
+    public void testConversions() {
+        LazyRational value = new LazyRational(-14, 4);
+
+        assertThat(value.toString(), is("-7/2"));
+        assertThat(value.intValue(), is(-3));
+        assertThat(value.longValue(), is(-3L));
+        assertThat(value.floatValue(), is(-3.5F));
+        assertThat(value.doubleValue(), is(-3.5D));
+        assertThat(value.toRational(), is(new Rational(-7, 2)));
+        assertThat(new LazyRational(3L << 40, 1L << 40).toRational(), is(new Rational(3)));
+        assertThrows(ArithmeticException.class, () -> new LazyRational(1L << 40).toRational());
+    }
+}
@@ -0,0 +1,297 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for MutableRational.
+ */
+public class MutableRationalTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public MutableRationalTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(MutableRationalTest.class);
+    }
+
+    /**
+     * A new accumulator starts at 0 / 1
+     */
+    public void testDefaultConstructor() {
+        MutableRational value = new MutableRational();
+
+        assertThat("The numerator is 0", value.numerator(), is(0L));
+        assertThat("The denominator is 1", value.denominator(), is(1L));
+        assertThat("The value is zero", value.isZero(), is(true));
+    }
+
+    /**
+     * Copying a `Rational` keeps its numerator and denominator
+     */
+    public void testRationalConstructor() {
+        MutableRational value = new MutableRational(new Rational(-6, 8));
+
+        assertThat("The numerator is -3", value.numerator(), is(-3L));
+        assertThat("The denominator is 4", value.denominator(), is(4L));
+        assertThat("The value is not zero", value.isZero(), is(false));
+    }
+
+    /**
+     * A denominator of `Integer.MIN_VALUE` is read as a positive 2^31
+     */
+    public void testRationalConstructorMinValueDenominator() {
+        MutableRational value = new MutableRational(new Rational(3, Integer.MIN_VALUE));
+
+        assertThat("The numerator is -3", value.numerator(), is(-3L));
+        assertThat("The denominator is 2147483648", value.denominator(), is(2147483648L));
+    }
+
+    /**
+     * Sums of fractions with different denominators are reduced
+     */
+    public void testAdd() {
+        MutableRational sum = new MutableRational();
+
+        sum.add(new Rational(1, 6)).add(new Rational(1, 3)).add(new Rational(1, 4));
+
+        assertThat("1/6 + 1/3 + 1/4 = 3/4: numerator", sum.numerator(), is(3L));
+        assertThat("1/6 + 1/3 + 1/4 = 3/4: denominator", sum.denominator(), is(4L));
+    }
+
+    /**
+     * Adding a value and its opposite gives canonical zero
+     */
+    public void testAddToZero() {
+        MutableRational sum = new MutableRational(new Rational(5, 12));
+
+        sum.add(new Rational(-5, 12));
+
+        assertThat("The numerator is 0", sum.numerator(), is(0L));
+        assertThat("The denominator is 1", sum.denominator(), is(1L));
+    }
+
+    /**
+     * Adding zero doesn't change the value
+     */
+    public void testAddZero() {
+        MutableRational sum = new MutableRational(new Rational(5, 12));
+
+        sum.add(new Rational());
+
+        assertThat(sum.toRational(), is(new Rational(5, 12)));
+    }
+
+    /**
+     * Accumulators can be added together
+     */
+    public void testAddMutableRational() {
+        MutableRational first = new MutableRational(new Rational(1, 10));
+        MutableRational second = new MutableRational(new Rational(2, 15));
+
+        first.add(second);
+
+        assertThat("1/10 + 2/15 = 7/30", first.toRational(), is(new Rational(7, 30)));
+        assertThat("second is unchanged", second.toRational(), is(new Rational(2, 15)));
+    }
+
+    /**
+     * Running sums can exceed the int range as long as they fit in long components
+     */
+    public void testAddBeyondIntRange() {
+        MutableRational sum = new MutableRational();
+
+        for (int i = 0; i < 4; i++) {
+            sum.add(new Rational(Integer.MAX_VALUE));
+        }
+
+        assertThat("4 * MAX_INT", sum.numerator(), is(4L * Integer.MAX_VALUE));
+        assertThat(sum.denominator(), is(1L));
+        assertThat(sum.toString(), is("8589934588"));
+    }
+
+    /**
+     * Subtraction gives the same result as `Rational.minus`
+     */
+    public void testSubtract() {
+        MutableRational difference = new MutableRational(new Rational(1, 10));
+
+        difference.subtract(new Rational(3, 10));
+
+        assertThat("1/10 - 3/10 = -1/5", difference.toRational(), is(new Rational(-1, 5)));
+    }
+
+    /**
+     * Products are cross cancelled
+     */
+    public void testMultiply() {
+        MutableRational product = new MutableRational(new Rational(1));
+
+        product.multiply(new Rational(4, 9)).multiply(new Rational(-3, 8));
+
+        assertThat("4/9 * -3/8 = -1/6: numerator", product.numerator(), is(-1L));
+        assertThat("4/9 * -3/8 = -1/6: denominator", product.denominator(), is(6L));
+    }
+
+    /**
+     * Multiplying by zero resets to canonical zero
+     */
+    public void testMultiplyZero() {
+        MutableRational product = new MutableRational(new Rational(7, 3));
+
+        product.multiply(new Rational(0));
+
+        assertThat("The numerator is 0", product.numerator(), is(0L));
+        assertThat("The denominator is 1", product.denominator(), is(1L));
+    }
+
+    /**
+     * Accumulators can be multiplied together
+     */
+    public void testMultiplyMutableRational() {
+        MutableRational first = new MutableRational(new Rational(2, 3));
+        MutableRational second = new MutableRational(new Rational(9, 4));
+
+        first.multiply(second);
+
+        assertThat("2/3 * 9/4 = 3/2", first.toRational(), is(new Rational(3, 2)));
+    }
+
+    /**
+     * The factorial of 10 computed by repeated multiplication
+     */
+    public void testFactorial() {
+        MutableRational product = new MutableRational(new Rational(1));
+
+        for (int i = 1; i <= 10; i++) {
+            product.multiply(new Rational(i));
+        }
+
+        assertThat(product.toRational(), is(new Rational(3628800)));
+    }
+
+    /**
+     * Division multiplies by the reciprocal
+     */
+    public void testDivide() {
+        MutableRational quotient = new MutableRational(new Rational(3, 4));
+
+        quotient.divide(new Rational(9, 8));
+        assertThat("3/4 / 9/8 = 2/3", quotient.toRational(), is(new Rational(2, 3)));
+
+        quotient.divide(new Rational(-1, 3));
+        assertThat("2/3 / -1/3 = -2", quotient.toRational(), is(new Rational(-2)));
+    }
+
+    /**
+     * Dividing by zero throws and keeps the value
+     */
+    public void testDivideByZero() {
+        MutableRational quotient = new MutableRational(new Rational(3, 4));
+
+        assertThrows(IllegalArgumentException.class, () -> quotient.divide(new Rational()));
+        assertThat(quotient.toRational(), is(new Rational(3, 4)));
+    }
+
+    /**
+     * Overflowing long components throws and keeps the value
+     */
+    public void testOverflow() {
+        MutableRational product = new MutableRational(new Rational(Integer.MAX_VALUE));
+        product.multiply(new Rational(Integer.MAX_VALUE));
+
+        assertThrows(ArithmeticException.class, () -> product.multiply(new Rational(Integer.MAX_VALUE)));
+        assertThat(product.numerator(), is((long) Integer.MAX_VALUE * Integer.MAX_VALUE));
+
+        MutableRational sum = new MutableRational(new Rational(1, Integer.MAX_VALUE));
+        sum.add(new Rational(1, Integer.MAX_VALUE - 1));
+
+        assertThrows(ArithmeticException.class, () -> sum.add(new Rational(1, Integer.MAX_VALUE - 2)));
+        assertThat(sum.denominator(), is((long) Integer.MAX_VALUE * (Integer.MAX_VALUE - 1)));
+    }
+
+    /**
+     * Snapshots which don't fit in int components throw
+     */
+    public void testToRationalOverflow() {
+        MutableRational sum = new MutableRational(new Rational(Integer.MAX_VALUE));
+        sum.add(new Rational(1));
+
+        assertThrows(ArithmeticException.class, () -> sum.toRational());
+
+        MutableRational quotient = new MutableRational(new Rational(1, Integer.MAX_VALUE));
+        quotient.divide(new Rational(Integer.MAX_VALUE));
+
+        assertThrows(ArithmeticException.class, () -> quotient.toRational());
+    }
+
+    /**
+     * Denominators of 2^31 come back as `Integer.MIN_VALUE` like `Rational` stores
+     * them
+     */
+    public void testToRationalMinValueDenominator() {
+        MutableRational value = new MutableRational(new Rational(1, 1 << 30));
+        value.divide(new Rational(-2));
+
+        Rational result = value.toRational();
+        assertThat(result.numerator(), is(1));
+        assertThat(result.denominator(), is(Integer.MIN_VALUE));
+        assertThat(result.toString(), is("-1/2147483648"));
+
+        assertThat(new MutableRational(result).toRational(), is(result));
+    }
+
+    /**
+     * Resetting goes back to zero so the accumulator can be reused
+     */
+    public void testReset() {
+        MutableRational value = new MutableRational(new Rational(5, 7));
+
+        value.reset();
+        assertThat(value.isZero(), is(true));
+        assertThat(value.denominator(), is(1L));
+
+        value.set(new Rational(2, 9));
+        assertThat(value.toRational(), is(new Rational(2, 9)));
+    }
+
+    /**
+     * String representation matches `Rational.toString()` for whole numbers and
+     * fractions
+     */
+    public void testToString() {
+        assertThat(new MutableRational(new Rational(-26)).toString(), is("-26"));
+        assertThat(new MutableRational(new Rational(2, -3)).toString(), is("-2/3"));
+        assertThat(new MutableRational(new Rational(1543243, 29)).toString(), is("1543243/29"));
+    }
+
+    /**
+     * Summing many values gives the same result as chaining `Rational.plus`
+     */
+    public void testMatchesRationalPlus() {
+        MutableRational sum = new MutableRational();
+        Rational expected = new Rational();
+
+        for (int i = 1; i <= 20; i++) {
+            Rational term = new Rational(i % 2 == 0 ? i : -i, i + 1);
+            sum.add(term);
+            expected = expected.plus(term);
+        }
+
+        assertThat(sum.toRational(), is(expected));
+    }
+}
@@ -0,0 +1,220 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.NoSuchElementException;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalArray.
+ */
+public class RationalArrayTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalArrayTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalArrayTest.class);
+    }
+
+    /**
+     * A new array is filled with 0 / 1
+     */
+    public void testLengthConstructor() {
+        RationalArray values = new RationalArray(3);
+
+        assertThat(values.length(), is(3));
+        for (int i = 0; i < 3; i++) {
+            assertThat("The numerator is 0", values.numerator(i), is(0));
+            assertThat("The denominator is 1", values.denominator(i), is(1));
+        }
+        assertThrows(NegativeArraySizeException.class, () -> new RationalArray(-1));
+    }
+
+    /**
+     * Values round trip through `Rational[]` unchanged
+     */
+    public void testRationalArrayRoundTrip() {
+        Rational[] original = { new Rational(1, 2), new Rational(-9, 5), new Rational(3, Integer.MIN_VALUE),
+                new Rational() };
+        RationalArray values = new RationalArray(original);
+
+        Rational[] copy = values.toArray();
+        assertThat(copy.length, is(original.length));
+        for (int i = 0; i < original.length; i++) {
+            assertThat(copy[i], is(original[i]));
+            assertThat(values.get(i), is(original[i]));
+        }
+    }
+
+    /**
+     * Setting from components simplifies like the `Rational` constructor
+     */
+    public void testSet() {
+        RationalArray values = new RationalArray(2);
+
+        values.set(0, 48, -72);
+        values.set(1, new Rational(7, 3));
+
+        assertThat(values.numerator(0), is(-2));
+        assertThat(values.denominator(0), is(3));
+        assertThat(values.get(1), is(new Rational(7, 3)));
+        assertThrows(IllegalArgumentException.class, () -> values.set(0, 1, 0));
+    }
+
+    /**
+     * Element sums match `Rational.plus`
+     */
+    public void testPlusArray() {
+        RationalArray first = new RationalArray(new Rational[] { new Rational(1, 6), new Rational(1, 2) });
+        RationalArray second = new RationalArray(new Rational[] { new Rational(1, 3), new Rational(-1, 2) });
+
+        RationalArray sum = first.plus(second);
+
+        assertThat(sum.get(0), is(new Rational(1, 2)));
+        assertThat(sum.get(1), is(new Rational()));
+        assertThat("first is unchanged", first.get(0), is(new Rational(1, 6)));
+    }
+
+    /**
+     * Adding a scalar adds it to every element
+     */
+    public void testPlusScalar() {
+        RationalArray values = new RationalArray(new Rational[] { new Rational(1, 6), new Rational(-1, 4) });
+
+        RationalArray sum = values.plus(new Rational(1, 2));
+
+        assertThat(sum.get(0), is(new Rational(2, 3)));
+        assertThat(sum.get(1), is(new Rational(1, 4)));
+    }
+
+    /**
+     * Element products match `Rational.times`
+     */
+    public void testTimesArray() {
+        RationalArray first = new RationalArray(new Rational[] { new Rational(4, 9), new Rational(5) });
+        RationalArray second = new RationalArray(new Rational[] { new Rational(-3, 8), new Rational() });
+
+        RationalArray product = first.times(second);
+
+        assertThat(product.get(0), is(new Rational(-1, 6)));
+        assertThat(product.get(1), is(new Rational()));
+    }
+
+    /**
+     * Multiplying by a scalar multiplies every element
+     */
+    public void testTimesScalar() {
+        RationalArray values = new RationalArray(new Rational[] { new Rational(1, 6), new Rational(-3, 4) });
+
+        RationalArray product = values.times(new Rational(2, 3));
+
+        assertThat(product.get(0), is(new Rational(1, 9)));
+        assertThat(product.get(1), is(new Rational(-1, 2)));
+    }
+
+    /**
+     * Powering raises every element, including to negative exponents
+     */
+    public void testPow() {
+        RationalArray values = new RationalArray(
+                new Rational[] { new Rational(2, 3), new Rational(-1, 2), new Rational(1) });
+
+        RationalArray cubes = values.pow(3);
+        assertThat(cubes.get(0), is(new Rational(8, 27)));
+        assertThat(cubes.get(1), is(new Rational(-1, 8)));
+        assertThat(cubes.get(2), is(new Rational(1)));
+        assertThat(values.pow(-2).toString(), is("[9/4, 4, 1]"));
+        assertThat(values.pow(0).toString(), is("[1, 1, 1]"));
+
+        assertThrows(ArithmeticException.class, () -> values.pow(40));
+        assertThrows(IllegalArgumentException.class, () -> new RationalArray(1).pow(-1));
+    }
+
+    /**
+     * Element-wise operations need arrays of the same length
+     */
+    public void testLengthMismatch() {
+        RationalArray first = new RationalArray(2);
+        RationalArray second = new RationalArray(3);
+
+        assertThrows(IllegalArgumentException.class, () -> first.plus(second));
+        assertThrows(IllegalArgumentException.class, () -> first.times(second));
+    }
+
+    /**
+     * Element results which don't fit in int components throw
+     */
+    public void testOverflow() {
+        RationalArray values = new RationalArray(new Rational[] { new Rational(Integer.MAX_VALUE) });
+
+        assertThrows(ArithmeticException.class, () -> values.plus(new Rational(1)));
+        assertThrows(ArithmeticException.class, () -> values.times(values));
+    }
+
+    /**
+     * The sum may pass through values larger than an int
+     */
+    public void testSum() {
+        RationalArray values = new RationalArray(new Rational[] { new Rational(Integer.MAX_VALUE),
+                new Rational(Integer.MAX_VALUE), new Rational(1, 3), new Rational(-Integer.MAX_VALUE),
+                new Rational(-Integer.MAX_VALUE), new Rational(1, 6) });
+
+        assertThat(values.sum(), is(new Rational(1, 2)));
+        assertThat(new RationalArray(0).sum(), is(new Rational()));
+
+        // The running denominator p * q * r outgrows a long before the sum cancels
+        int p = 2147483647;
+        int q = 2147483629;
+        int r = 2147483587;
+        RationalArray cancelling = new RationalArray(new Rational[] { new Rational(1, p), new Rational(1, q),
+                new Rational(1, r), new Rational(-1, p), new Rational(-1, q), new Rational(-1, r) });
+        assertThat(cancelling.sum(), is(new Rational()));
+    }
+
+    /**
+     * Minimum and maximum compare values exactly
+     */
+    public void testMinMax() {
+        RationalArray values = new RationalArray(new Rational[] { new Rational(1, 3), new Rational(-500),
+                new Rational(1, Integer.MIN_VALUE), new Rational(Integer.MAX_VALUE, Integer.MAX_VALUE - 1),
+                new Rational(1, 2) });
+
+        assertThat(values.min(), is(new Rational(-500)));
+        assertThat(values.max(), is(new Rational(Integer.MAX_VALUE, Integer.MAX_VALUE - 1)));
+    }
+
+    /**
+     * Minimum and maximum of an empty array throw
+     */
+    public void testMinMaxEmpty() {
+        RationalArray values = new RationalArray(0);
+
+        assertThrows(NoSuchElementException.class, () -> values.min());
+        assertThrows(NoSuchElementException.class, () -> values.max());
+    }
+
+    /**
+     * String representation lists the elements like `Arrays.toString`
+     */
+    public void testToString() {
+        RationalArray values = new RationalArray(new Rational[] { new Rational(1, 2), new Rational(-3) });
+
+        assertThat(values.toString(), is("[1/2, -3]"));
+        assertThat(new RationalArray(0).toString(), is("[]"));
+    }
+}
@@ -0,0 +1,150 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalCodec.
+ */
+public class RationalCodecTest
+        extends TestCase {
+    private static final Rational[] EDGES = { new Rational(0), new Rational(1), new Rational(-1),
+            new Rational(Integer.MAX_VALUE), new Rational(Integer.MIN_VALUE), new Rational(-1, 100),
+            new Rational(3, Integer.MIN_VALUE), new Rational(-3, Integer.MIN_VALUE),
+            new Rational(Integer.MAX_VALUE, Integer.MIN_VALUE), new Rational(Integer.MIN_VALUE, Integer.MAX_VALUE),
+            new Rational(Integer.MAX_VALUE, Integer.MAX_VALUE - 1) };
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalCodecTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalCodecTest.class);
+    }
+
+    /**
+     * Small components take few bytes, and no value takes more than MAX_LENGTH
+     */
+    public void testEncodedLength() {
+        assertThat(RationalCodec.encodedLength(new Rational(0)), is(2));
+        assertThat(RationalCodec.encodedLength(new Rational(-1, 100)), is(2));
+        assertThat(RationalCodec.encodedLength(new Rational(-64, 129)), is(3));
+        assertThat(RationalCodec.encodedLength(new Rational(1000, 1001)), is(4));
+        assertThat(RationalCodec.encodedLength(new Rational(Integer.MIN_VALUE, Integer.MAX_VALUE)),
+                is(RationalCodec.MAX_LENGTH));
+        assertThat(RationalCodec.encodedLength(new Rational(1, Integer.MIN_VALUE)), is(6));
+
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+        RationalCodec.encode(new Rational(-1, 100), buffer);
+        assertThat(buffer.array(), is(new byte[] { 1, 99 }));
+    }
+
+    /**
+     * Every value round trips through heap and direct buffers
+     */
+    public void testRoundTrip() {
+        Random random = new Random(71);
+        Rational[] values = new Rational[2000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i < EDGES.length ? EDGES[i]
+                    : new Rational(random.nextInt() >> random.nextInt(32), (random.nextInt() >> random.nextInt(32)) | 1);
+        }
+        for (ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.allocate(values.length * RationalCodec.MAX_LENGTH),
+                ByteBuffer.allocateDirect(values.length * RationalCodec.MAX_LENGTH) }) {
+            int expected = 0;
+            for (Rational value : values) {
+                RationalCodec.encode(value, buffer);
+                expected += RationalCodec.encodedLength(value);
+                assertThat(buffer.position(), is(expected));
+            }
+            buffer.flip();
+            for (Rational value : values) {
+                Rational decoded = RationalCodec.decode(buffer);
+                assertThat(decoded, is(value));
+                assertThat(decoded.toString(), is(value.toString()));
+            }
+            assertThat(buffer.hasRemaining(), is(false));
+        }
+    }
+
+    /**
+     * Arrays are written with their length, and `Rational[]` and `RationalArray`
+     * write the same bytes
+     */
+    public void testArrays() {
+        RationalArray array = new RationalArray(EDGES);
+        ByteBuffer fromArray = RationalCodec.encode(array, ByteBuffer.allocateDirect(256)).flip();
+        ByteBuffer fromValues = RationalCodec.encode(EDGES, ByteBuffer.allocate(256)).flip();
+        assertThat(fromArray, is(fromValues));
+
+        assertThat(RationalCodec.decodeArray(fromArray).toArray(), is(EDGES));
+        assertThat(fromArray.hasRemaining(), is(false));
+        assertThat(RationalCodec.decodeArray(fromValues).toArray(), is(EDGES));
+
+        ByteBuffer empty = RationalCodec.encode(new RationalArray(0), ByteBuffer.allocate(1)).flip();
+        assertThat(RationalCodec.decodeArray(empty).length(), is(0));
+    }
+
+    /**
+     * Buffers which are too small are left untouched
+     */
+    public void testOverflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(5);
+        assertThrows(BufferOverflowException.class, () -> RationalCodec.encode(new Rational(1000, 1001), buffer.position(2)));
+        assertThrows(BufferOverflowException.class, () -> RationalCodec.encode(EDGES, buffer));
+        assertThrows(BufferOverflowException.class, () -> RationalCodec.encode(new RationalArray(EDGES), buffer));
+        assertThat(buffer.position(), is(2));
+        assertThat(buffer.array(), is(new byte[5]));
+    }
+
+    /**
+     * Truncated and malformed bytes are rejected without moving the position
+     */
+    public void testMalformed() {
+        assertDecodeThrows(BufferUnderflowException.class, new byte[0]);
+        assertDecodeThrows(BufferUnderflowException.class, new byte[] { 2 });
+        assertDecodeThrows(BufferUnderflowException.class, new byte[] { 2, (byte) 0x80 });
+        assertDecodeThrows(IllegalArgumentException.class, new byte[] { (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x80, 0x10, 0 });
+        assertDecodeThrows(IllegalArgumentException.class, new byte[] { (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x80, (byte) 0x80, 0 });
+        // Denominator minus 1 of 2^31
+        assertDecodeThrows(IllegalArgumentException.class, new byte[] { 2, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x80, 0x08 });
+
+        ByteBuffer large = ByteBuffer.wrap(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F });
+        assertThrows(BufferUnderflowException.class, () -> RationalCodec.decodeArray(large));
+        assertThat(large.position(), is(0));
+        ByteBuffer truncated = ByteBuffer.wrap(new byte[] { 2, 2, 0, 2 });
+        assertThrows(BufferUnderflowException.class, () -> RationalCodec.decodeArray(truncated));
+        assertThat(truncated.position(), is(0));
+    }
+
+    /**
+     * Helper method which checks that decoding bytes throws and leaves the position
+     * unchanged
+     */
+    private static void assertDecodeThrows(Class<? extends RuntimeException> type, byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        assertThrows(type, () -> RationalCodec.decode(buffer));
+        assertThat(buffer.position(), is(0));
+    }
+}
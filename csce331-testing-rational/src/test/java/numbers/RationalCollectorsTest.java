@@ -0,0 +1,159 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalCollectors.
+ */
+public class RationalCollectorsTest
+        extends TestCase {
+    private static final int[] PRIMES = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61, 67, 71,
+            73, 79, 83, 89, 97, 101, 103, 107, 109, 113 };
+    // Divisors of 120, so sums of many values keep small denominators
+    private static final int[] DIVISORS = { 1, 2, 3, 4, 5, 6, 8, 10, 12, 15, 20, 24, 30, 40, 60, 120 };
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalCollectorsTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalCollectorsTest.class);
+    }
+
+    /**
+     * Empty streams collect to the identity of each operation
+     */
+    public void testEmptyStreams() {
+        assertThat(Stream.<Rational>empty().collect(RationalCollectors.summing()), is(Rational.ZERO));
+        assertThat(Stream.<Rational>empty().collect(RationalCollectors.product()), is(Rational.ONE));
+        assertThat(Stream.<Rational>empty().collect(RationalCollectors.averaging()), is(Rational.ZERO));
+    }
+
+    /**
+     * Small streams are summed, multiplied and averaged exactly
+     */
+    public void testSmallStreams() {
+        List<Rational> values = List.of(new Rational(1, 2), new Rational(1, 3), new Rational(-5, 6),
+                new Rational(3, Integer.MIN_VALUE));
+
+        assertThat(values.stream().collect(RationalCollectors.summing()).toString(), is("-3/2147483648"));
+        assertThat(values.subList(0, 3).stream().collect(RationalCollectors.product()), is(new Rational(-5, 36)));
+        assertThat(values.subList(0, 3).stream().collect(RationalCollectors.averaging()), is(Rational.ZERO));
+        assertThat(Stream.of(Rational.ONE, new Rational(2)).collect(RationalCollectors.averaging()),
+                is(new Rational(3, 2)));
+    }
+
+    /**
+     * Running values which overflow long members are carried in partials, and
+     * only the result has to fit in a `Rational`
+     */
+    public void testIntermediateOverflow() {
+        List<Rational> values = new ArrayList<>();
+        for (int prime : PRIMES) {
+            values.add(new Rational(1, prime));
+        }
+        for (int prime : PRIMES) {
+            values.add(new Rational(-1, prime));
+        }
+        values.add(new Rational(7, 9));
+        assertThat(values.stream().collect(RationalCollectors.summing()), is(new Rational(7, 9)));
+        assertThat(values.stream().collect(RationalCollectors.averaging()), is(new Rational(7, 9 * values.size())));
+
+        values.clear();
+        for (int prime : PRIMES) {
+            values.add(new Rational(prime));
+        }
+        for (int prime : PRIMES) {
+            values.add(new Rational(1, prime));
+        }
+        values.add(new Rational(-7, 9));
+        assertThat(values.stream().collect(RationalCollectors.product()), is(new Rational(-7, 9)));
+    }
+
+    /**
+     * A zero element makes the whole product zero, even after partials were
+     * carried
+     */
+    public void testProductWithZero() {
+        List<Rational> values = new ArrayList<>();
+        for (int prime : PRIMES) {
+            values.add(new Rational(prime));
+        }
+        values.add(Rational.ZERO);
+        values.add(new Rational(3, 4));
+
+        assertThat(values.stream().collect(RationalCollectors.product()), is(Rational.ZERO));
+        assertThat(values.parallelStream().collect(RationalCollectors.product()), is(Rational.ZERO));
+    }
+
+    /**
+     * Results which do not fit in a `Rational` are rejected
+     */
+    public void testResultOverflow() {
+        Stream<Rational> large = Stream.of(new Rational(Integer.MAX_VALUE), new Rational(Integer.MAX_VALUE));
+        Stream<Rational> primes = IntStream.of(PRIMES).mapToObj(Rational::new);
+
+        assertThrows(ArithmeticException.class, () -> large.collect(RationalCollectors.summing()));
+        assertThrows(ArithmeticException.class, () -> primes.collect(RationalCollectors.product()));
+    }
+
+    /**
+     * Parallel streams agree with an exact sequential fold
+     */
+    public void testParallelMatchesBigRational() {
+        Random random = new Random(37);
+        List<Rational> values = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            values.add(new Rational(random.nextInt(201) - 100, DIVISORS[random.nextInt(DIVISORS.length)]));
+        }
+        BigRational sum = sumOf(values);
+
+        assertThat(values.parallelStream().collect(RationalCollectors.summing()), is(sum.toRational()));
+        assertThat(values.stream().collect(RationalCollectors.summing()), is(sum.toRational()));
+        assertThat(values.parallelStream().collect(RationalCollectors.averaging()),
+                is(sum.dividedBy(new BigRational(values.size())).toRational()));
+
+        List<Rational> factors = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int prime = PRIMES[random.nextInt(PRIMES.length)];
+            factors.add(new Rational(prime));
+            factors.add(new Rational(-1, prime));
+        }
+        factors.add(new Rational(2, 3));
+        Collections.shuffle(factors, random);
+
+        assertThat(factors.parallelStream().collect(RationalCollectors.product()), is(new Rational(2, 3)));
+    }
+
+    /**
+     * Helper method which sums values exactly with `BigRational`
+     */
+    private static BigRational sumOf(List<Rational> values) {
+        BigRational sum = BigRational.ZERO;
+        for (Rational value : values) {
+            sum = sum.plus(new BigRational(value));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,173 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalColumnFile.
+ */
+public class RationalColumnFileTest
+        extends TestCase {
+    private Path path;
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalColumnFileTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalColumnFileTest.class);
+    }
+
+    @Override
+    protected void setUp() throws IOException {
+        this.path = Files.createTempFile("rational", ".col");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(this.path);
+    }
+
+    /**
+     * Values read by index, by range and by stream match the values written
+     */
+    public void testRead() throws IOException {
+        Rational[] values = randomValues(1000);
+        this.write(values, 64);
+        RationalColumnFile file = RationalColumnFile.open(this.path);
+        assertThat(file.size(), is(1000L));
+        assertThat(file.chunkSize(), is(64));
+        assertThat(file.chunkCount(), is(16));
+        assertThat(file.verify(), is(true));
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(file.get(i), is(values[i]));
+            assertThat(file.numerator(i), is(values[i].numerator()));
+            assertThat(file.denominator(i), is(values[i].denominator()));
+        }
+        assertThat(file.read(0, 1000).toArray(), is(values));
+        Rational[] range = new Rational[300];
+        System.arraycopy(values, 950 - 300, range, 0, 300);
+        assertThat(file.read(650, 300).toArray(), is(range));
+        assertThat(file.read(1000, 0).length(), is(0));
+        assertThat(file.stream().toArray(), is(values));
+        assertThat(file.stream().parallel().collect(Collectors.toList()).toArray(), is(values));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> file.get(1000));
+        assertThrows(IndexOutOfBoundsException.class, () -> file.numerator(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> file.denominator(1000));
+        assertThrows(IndexOutOfBoundsException.class, () -> file.read(990, 11));
+    }
+
+    /**
+     * Chunk statistics hold the exact smallest and largest value of each chunk
+     */
+    public void testStatistics() throws IOException {
+        Rational[] values = randomValues(100);
+        values[7] = new Rational(1, Integer.MIN_VALUE);
+        values[8] = new Rational(-1, Integer.MIN_VALUE);
+        this.write(values, 10);
+        RationalColumnFile file = RationalColumnFile.open(this.path);
+        for (int chunk = 0; chunk < 10; chunk++) {
+            Rational min = values[10 * chunk];
+            Rational max = values[10 * chunk];
+            for (int i = 10 * chunk; i < 10 * chunk + 10; i++) {
+                min = values[i].compareTo(min) < 0 ? values[i] : min;
+                max = values[i].compareTo(max) > 0 ? values[i] : max;
+            }
+            assertThat(file.chunkMin(chunk), is(min));
+            assertThat(file.chunkMax(chunk), is(max));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> file.chunkMin(10));
+    }
+
+    /**
+     * Files without values can be opened
+     */
+    public void testEmpty() throws IOException {
+        this.write(new Rational[0], 8);
+        RationalColumnFile file = RationalColumnFile.open(this.path);
+        assertThat(file.size(), is(0L));
+        assertThat(file.chunkCount(), is(0));
+        assertThat(file.stream().count(), is(0L));
+        assertThat(file.verify(), is(true));
+    }
+
+    /**
+     * Files with a wrong header are rejected when opened, and changed values are
+     * found by `verify()`
+     */
+    public void testCorrupt() throws IOException {
+        Files.write(this.path, new byte[10]);
+        assertThrows(IOException.class, () -> RationalColumnFile.open(this.path));
+        Files.write(this.path, new byte[64]);
+        assertThrows(IOException.class, () -> RationalColumnFile.open(this.path));
+
+        Rational[] values = randomValues(20);
+        for (int[] field : new int[][] { { 8, 2 }, { 12, 0 }, { 12, 1 << 28 }, { 16, -1 }, { 24, 0 }, { 16, 19 } }) {
+            this.write(values, 8);
+            this.patch(field[0], field[1]);
+            assertThrows(IOException.class, () -> RationalColumnFile.open(this.path));
+        }
+
+        this.write(values, 8);
+        this.patch(64, 12345);
+        assertThat(RationalColumnFile.open(this.path).verify(), is(false));
+        this.write(values, 8);
+        Files.write(this.path, new byte[16], StandardOpenOption.APPEND);
+        assertThrows(IOException.class, () -> RationalColumnFile.open(this.path));
+    }
+
+    /**
+     * Helper method which writes values with a given chunk size
+     */
+    private void write(Rational[] values, int chunkSize) throws IOException {
+        try (RationalColumnWriter writer = new RationalColumnWriter(this.path, chunkSize)) {
+            for (Rational value : values) {
+                writer.append(value);
+            }
+        }
+    }
+
+    /**
+     * Helper method which overwrites the int at an offset of the file
+     */
+    private void patch(long offset, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).flip();
+            channel.write(bytes, offset);
+        }
+    }
+
+    private static Rational[] randomValues(int count) {
+        Random random = new Random(73);
+        Rational[] values = new Rational[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = new Rational(random.nextInt() >> random.nextInt(32), (random.nextInt() >> random.nextInt(32)) | 1);
+        }
+        return values;
+    }
+}
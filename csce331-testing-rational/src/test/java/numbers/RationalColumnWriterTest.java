@@ -0,0 +1,97 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalColumnWriter.
+ */
+public class RationalColumnWriterTest
+        extends TestCase {
+    private Path path;
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalColumnWriterTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalColumnWriterTest.class);
+    }
+
+    @Override
+    protected void setUp() throws IOException {
+        this.path = Files.createTempFile("rational", ".col");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(this.path);
+    }
+
+    /**
+     * Chunks hold a column of numerators followed by a column of denominators, and
+     * the footer holds the smallest and largest value of each chunk
+     */
+    public void testLayout() throws IOException {
+        try (RationalColumnWriter writer = new RationalColumnWriter(this.path, 2)) {
+            writer.append(new Rational(1, 2));
+            writer.append(new RationalArray(new Rational[] { new Rational(-3), new Rational(5, Integer.MIN_VALUE) }));
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(this.path)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(bytes.capacity(), is(64 + 24 + 32));
+        assertThat(bytes.getLong(0), is(RationalColumnWriter.MAGIC));
+        assertThat(bytes.getInt(8), is(1));
+        assertThat(bytes.getInt(12), is(2));
+        assertThat(bytes.getLong(16), is(3L));
+        assertThat(bytes.getLong(24), is(88L));
+
+        bytes.position(64);
+        int[] expected = { 1, -3, 2, 1, 5, Integer.MIN_VALUE, -3, 1, 1, 2, 5, Integer.MIN_VALUE, 5, Integer.MIN_VALUE };
+        for (int value : expected) {
+            assertThat(bytes.getInt(), is(value));
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes.position(64));
+        assertThat(bytes.getLong(32), is(checksum.getValue()));
+    }
+
+    /**
+     * Writers without values give a file with only a header, and closing twice does
+     * nothing
+     */
+    public void testEmpty() throws IOException {
+        RationalColumnWriter writer = new RationalColumnWriter(this.path);
+        writer.close();
+        writer.close();
+        assertThat(Files.size(this.path), is(64L));
+        assertThrows(IllegalStateException.class, () -> writer.append(Rational.ONE));
+    }
+
+    /**
+     * Chunk sizes which cannot be mapped are rejected
+     */
+    public void testChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new RationalColumnWriter(this.path, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RationalColumnWriter(this.path, (1 << 27) + 1));
+    }
+}
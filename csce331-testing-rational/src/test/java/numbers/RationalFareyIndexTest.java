@@ -0,0 +1,173 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalFareyIndex.
+ */
+public class RationalFareyIndexTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalFareyIndexTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalFareyIndexTest.class);
+    }
+
+    public void testSequence() {
+        RationalFareyIndex index = new RationalFareyIndex(5);
+        Rational[] expected = { new Rational(0), new Rational(1, 5), new Rational(1, 4), new Rational(1, 3),
+                new Rational(2, 5), new Rational(1, 2), new Rational(3, 5), new Rational(2, 3), new Rational(3, 4),
+                new Rational(4, 5), new Rational(1) };
+        assertThat(index.order(), is(5));
+        assertThat(index.size(), is(expected.length));
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(index.get(i), is(expected[i]));
+        }
+        assertThat(index.footprint(), is(32L + 8 * expected.length + 4 * 5));
+        assertThat(new RationalFareyIndex(1).size(), is(2));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(expected.length));
+        assertThrows(IllegalArgumentException.class, () -> new RationalFareyIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> new RationalFareyIndex(RationalFareyIndex.MAX_ORDER + 1));
+        assertThrows(IllegalArgumentException.class, () -> new RationalFareyIndex(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Sequences above the threshold are filled by several tasks, which must meet
+     * exactly: consecutive fractions are Farey neighbours and every fraction is
+     * present
+     */
+    public void testParallelBuild() {
+        int order = 600;
+        RationalFareyIndex index = new RationalFareyIndex(order);
+        long expectedSize = 1;
+        for (int q = 1; q <= order; q++) {
+            for (int p = 1; p <= q; p++) {
+                if (Rational.gcd(p, q) == 1) {
+                    expectedSize++;
+                }
+            }
+        }
+        assertThat(index.size() > RationalFareyIndex.PARALLEL_THRESHOLD, is(true));
+        assertThat((long) index.size(), is(expectedSize));
+        assertThat(index.get(0), is(new Rational(0)));
+        assertThat(index.get(index.size() - 1), is(new Rational(1)));
+        for (int i = 1; i < index.size(); i++) {
+            Rational low = index.get(i - 1);
+            Rational high = index.get(i);
+            assertThat((long) low.denominator() * high.numerator() - (long) low.numerator() * high.denominator(),
+                    is(1L));
+            assertThat(high.denominator() <= order, is(true));
+        }
+    }
+
+    /**
+     * Snapping to the closest fraction agrees with Rational.approximate, ties
+     * included
+     */
+    public void testNearest() {
+        RationalFareyIndex index = new RationalFareyIndex(100);
+        assertThat(index.nearest(Math.PI), is(new Rational(311, 99)));
+        assertThat(index.nearest(-0.1), is(new Rational(-1, 10)));
+        assertThat(index.nearest(0.0), is(new Rational(0)));
+        assertThat(index.nearest(-3.0), is(new Rational(-3)));
+        assertThat(index.nearest(2.9999), is(new Rational(3)));
+        assertThat("Small values are cached", index.nearest(0.5), is(sameInstance(Rational.valueOf(1, 2))));
+        assertThat(index.nearestPacked(1.0 / 3), is(RationalLong.pack(1, 3)));
+        assertThat(index.nearestPacked(-2147483648.0), is(RationalLong.pack(Integer.MIN_VALUE, 1)));
+
+        RationalFareyIndex unit = new RationalFareyIndex(1);
+        assertThat(unit.nearest(0.5), is(new Rational(0)));
+        assertThat(unit.nearest(-2.5), is(new Rational(-2)));
+        assertThat(new RationalFareyIndex(2).nearest(0.25), is(new Rational(0)));
+
+        Random random = new Random(73);
+        for (int order : new int[] { 1, 2, 7, 100, 1000 }) {
+            RationalFareyIndex orderIndex = new RationalFareyIndex(order);
+            for (int i = 0; i < 2000; i++) {
+                double value = (random.nextDouble() - 0.5) * Math.scalb(1.0, random.nextInt(24) - 12);
+                if (i % 4 == 0) {
+                    // Midpoints of small fractions, to hit ties
+                    value = (random.nextInt(41) - 20) / (2.0 * (1 + random.nextInt(8)));
+                }
+                assertThat(value + " of order " + order, orderIndex.nearest(value),
+                        is(Rational.approximate(value, order)));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> index.nearest(1e10));
+        assertThrows(ArithmeticException.class, () -> index.nearest(2147483647.999));
+    }
+
+    /**
+     * Floor and ceiling agree with the best fraction found by trying every
+     * denominator
+     */
+    public void testFloorAndCeiling() {
+        RationalFareyIndex index = new RationalFareyIndex(7);
+        assertThat(index.floor(0.3), is(new Rational(2, 7)));
+        assertThat(index.ceiling(0.3), is(new Rational(1, 3)));
+        assertThat(index.floor(-0.3), is(new Rational(-1, 3)));
+        assertThat(index.ceiling(-0.3), is(new Rational(-2, 7)));
+        assertThat(index.floor(0.25), is(new Rational(1, 4)));
+        assertThat(index.ceiling(0.25), is(new Rational(1, 4)));
+        assertThat(index.floorPacked(2.0), is(RationalLong.pack(2, 1)));
+        assertThat(index.ceilingPacked(-1.99), is(RationalLong.pack(-13, 7)));
+        assertThat(index.ceilingPacked(-1e-300), is(RationalLong.ZERO));
+        assertThat(index.floorPacked(-1e-300), is(RationalLong.pack(-1, 7)));
+
+        Random random = new Random(79);
+        for (int i = 0; i < 2000; i++) {
+            double value = (random.nextDouble() - 0.5) * 16;
+            if (i % 4 == 0) {
+                value = (random.nextInt(161) - 80) / (double) (1 << random.nextInt(4));
+            }
+            assertThat(value + " down", index.floor(value), is(bound(value, 7, RoundingMode.FLOOR)));
+            assertThat(value + " up", index.ceiling(value), is(bound(value, 7, RoundingMode.CEILING)));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> index.floor(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> index.ceiling(-1e10));
+    }
+
+    /**
+     * Helper method which finds the closest fraction in one direction by trying
+     * every denominator, with exact products
+     */
+    private static Rational bound(double value, int order, RoundingMode mode) {
+        BigDecimal exact = new BigDecimal(value);
+        Rational best = null;
+        for (int q = 1; q <= order; q++) {
+            int p = exact.multiply(BigDecimal.valueOf(q)).setScale(0, mode).intValueExact();
+            Rational candidate = new Rational(p, q);
+            if (best == null || (mode == RoundingMode.FLOOR ? candidate.compareTo(best) > 0
+                    : candidate.compareTo(best) < 0)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,200 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalHashMap.
+ */
+public class RationalHashMapTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalHashMapTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalHashMapTest.class);
+    }
+
+    /**
+     * A new map is empty
+     */
+    public void testEmpty() {
+        RationalHashMap<String> map = new RationalHashMap<>();
+
+        assertThat(map.isEmpty(), is(true));
+        assertThat(map.size(), is(0));
+        assertThat(map.get(new Rational(1, 2)), is(nullValue()));
+        assertThat(map.containsKey(new Rational(1, 2)), is(false));
+    }
+
+    /**
+     * Values can be looked up by `Rational`, by components and by packed value
+     */
+    public void testPutAndGet() {
+        RationalHashMap<String> map = new RationalHashMap<>();
+
+        assertThat(map.put(new Rational(1, 2), "half"), is(nullValue()));
+        map.put(-3, 4, "minus three quarters");
+        map.put(RationalLong.of(5), "five");
+
+        assertThat(map.size(), is(3));
+        assertThat(map.isEmpty(), is(false));
+        assertThat(map.get(new Rational(1, 2)), is("half"));
+        assertThat("Unsimplified components find the same key", map.get(2, 4), is("half"));
+        assertThat(map.get(new Rational(3, -4)), is("minus three quarters"));
+        assertThat(map.get(RationalLong.of(10, 2)), is("five"));
+        assertThat(map.containsKey(RationalLong.of(-6, 8)), is(true));
+        assertThat(map.containsKey(RationalLong.of(6, 8)), is(false));
+    }
+
+    /**
+     * Packed keys which are not in lowest terms are simplified before they are
+     * stored
+     */
+    public void testPutSimplifiesPackedKeys() {
+        RationalHashMap<String> map = new RationalHashMap<>();
+
+        assertThat(map.put(RationalLong.pack(2, 4), "half"), is(nullValue()));
+        assertThat(map.get(1, 2), is("half"));
+        assertThat(map.get(new Rational(1, 2)), is("half"));
+        assertThat(map.put(RationalLong.pack(-3, -6), "still half"), is("half"));
+        assertThat(map.put(RationalLong.pack(0, 7), "zero"), is(nullValue()));
+        assertThat(map.get(Rational.ZERO), is("zero"));
+        assertThat(map.size(), is(2));
+    }
+
+    /**
+     * Putting an existing key replaces its value
+     */
+    public void testPutReplaces() {
+        RationalHashMap<String> map = new RationalHashMap<>();
+
+        map.put(new Rational(1, 3), "first");
+        assertThat(map.put(new Rational(2, 6), "second"), is("first"));
+
+        assertThat(map.size(), is(1));
+        assertThat(map.get(new Rational(1, 3)), is("second"));
+    }
+
+    /**
+     * A denominator of 0 is never a valid key
+     */
+    public void testInvalidKeys() {
+        RationalHashMap<String> map = new RationalHashMap<>();
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, "zero"));
+        assertThrows(IllegalArgumentException.class, () -> map.put(5L << 32, "five over zero"));
+        assertThrows(IllegalArgumentException.class, () -> map.put(RationalLong.pack(-1, 0), "zero"));
+        assertThat(map.size(), is(0));
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, 0, "zero"));
+        assertThrows(IllegalArgumentException.class, () -> map.get(1, 0));
+        assertThat(map.containsKey(0L), is(false));
+        assertThat(map.get(0L), is(nullValue()));
+        assertThat(map.remove(0L), is(nullValue()));
+        assertThrows(IllegalArgumentException.class, () -> new RationalHashMap<String>(-1));
+    }
+
+    /**
+     * Missing keys give the default value
+     */
+    public void testGetOrDefault() {
+        RationalHashMap<Integer> map = new RationalHashMap<>();
+        map.put(new Rational(7), 1);
+
+        assertThat(map.getOrDefault(new Rational(7), 0), is(1));
+        assertThat(map.getOrDefault(new Rational(8), 0), is(0));
+    }
+
+    /**
+     * Removing keys keeps every other key reachable
+     */
+    public void testRemove() {
+        RationalHashMap<Integer> map = new RationalHashMap<>();
+        for (int i = 1; i <= 100; i++) {
+            map.put(new Rational(i, 7), i);
+        }
+
+        for (int i = 1; i <= 100; i += 2) {
+            assertThat(map.remove(new Rational(i, 7)), is(i));
+        }
+        assertThat(map.remove(new Rational(1, 7)), is(nullValue()));
+
+        assertThat(map.size(), is(50));
+        for (int i = 1; i <= 100; i++) {
+            assertThat("Key " + i + "/7", map.get(new Rational(i, 7)), is(i % 2 == 0 ? i : null));
+        }
+    }
+
+    /**
+     * Clearing removes every entry
+     */
+    public void testClear() {
+        RationalHashMap<Integer> map = new RationalHashMap<>(100);
+        for (int i = 0; i < 100; i++) {
+            map.put(new Rational(i), i);
+        }
+
+        map.clear();
+
+        assertThat(map.isEmpty(), is(true));
+        assertThat(map.containsKey(new Rational(5)), is(false));
+    }
+
+    /**
+     * Every entry is visited once
+     */
+    public void testForEach() {
+        RationalHashMap<Integer> map = new RationalHashMap<>();
+        map.put(new Rational(1, 2), 1);
+        map.put(new Rational(3, Integer.MIN_VALUE), 2);
+
+        Map<Rational, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+
+        assertThat(visited.size(), is(2));
+        assertThat(visited.get(new Rational(1, 2)), is(1));
+        assertThat(visited.get(new Rational(3, Integer.MIN_VALUE)), is(2));
+    }
+
+    /**
+     * Random puts and removes agree with `java.util.HashMap`
+     */
+    public void testMatchesHashMap() {
+        RationalHashMap<Integer> map = new RationalHashMap<>();
+        Map<Rational, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            Rational key = new Rational(random.nextInt(201) - 100, random.nextInt(50) + 1);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key), is(expected.remove(key)));
+            } else {
+                assertThat(map.put(key, i), is(expected.put(key, i)));
+            }
+        }
+
+        assertThat(map.size(), is(expected.size()));
+        for (Map.Entry<Rational, Integer> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey()), is(entry.getValue()));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalHashSet.
+ */
+public class RationalHashSetTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalHashSetTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalHashSetTest.class);
+    }
+
+    /**
+     * Equal values are only added once
+     */
+    public void testAdd() {
+        RationalHashSet set = new RationalHashSet();
+
+        assertThat(set.isEmpty(), is(true));
+        assertThat(set.add(new Rational(1, 2)), is(true));
+        assertThat(set.add(new Rational(2, 4)), is(false));
+        assertThat(set.add(RationalLong.of(3)), is(true));
+        assertThat(set.add(RationalLong.of(6, 2)), is(false));
+
+        assertThat(set.size(), is(2));
+        assertThat(set.isEmpty(), is(false));
+        assertThrows(IllegalArgumentException.class, () -> set.add(0L));
+        assertThrows(IllegalArgumentException.class, () -> set.add(5L << 32));
+        assertThat(set.size(), is(2));
+
+        assertThat("Packed values are simplified", set.add(RationalLong.pack(4, 8)), is(false));
+        assertThat(set.add(RationalLong.pack(-2, 6)), is(true));
+        assertThat(set.contains(-1, 3), is(true));
+    }
+
+    /**
+     * Membership can be checked by `Rational`, by components and by packed value
+     */
+    public void testContains() {
+        RationalHashSet set = new RationalHashSet(10);
+        set.add(new Rational(-3, 4));
+
+        assertThat(set.contains(new Rational(3, -4)), is(true));
+        assertThat(set.contains(-6, 8), is(true));
+        assertThat(set.contains(RationalLong.of(-3, 4)), is(true));
+        assertThat(set.contains(new Rational(3, 4)), is(false));
+    }
+
+    /**
+     * Removed values are no longer present
+     */
+    public void testRemoveAndClear() {
+        RationalHashSet set = new RationalHashSet();
+        set.add(new Rational(1, 3));
+        set.add(new Rational(2, 3));
+
+        assertThat(set.remove(new Rational(1, 3)), is(true));
+        assertThat(set.remove(new Rational(1, 3)), is(false));
+        assertThat(set.contains(new Rational(2, 3)), is(true));
+
+        set.clear();
+        assertThat(set.isEmpty(), is(true));
+    }
+
+    /**
+     * Every value is visited once
+     */
+    public void testForEach() {
+        RationalHashSet set = new RationalHashSet();
+        for (int i = 1; i <= 12; i++) {
+            set.add(new Rational(i, 4));
+        }
+
+        Set<Rational> visited = new HashSet<>();
+        set.forEach(visited::add);
+
+        assertThat(visited.size(), is(12));
+        assertThat(visited.contains(new Rational(3)), is(true));
+    }
+}
@@ -0,0 +1,218 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalLong.
+ */
+public class RationalLongTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalLongTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalLongTest.class);
+    }
+
+    /**
+     * Packing an integer gives a denominator of 1
+     */
+    public void testOfInteger() {
+        long value = RationalLong.of(-7);
+
+        assertThat("The numerator is -7", RationalLong.numerator(value), is(-7));
+        assertThat("The denominator is 1", RationalLong.denominator(value), is(1));
+    }
+
+    /**
+     * Packing simplifies the same way the `Rational` constructor does
+     */
+    public void testOfMatchesConstructor() {
+        int[] components = { 0, 1, -1, 2, -2, 48, -72, 125, Integer.MAX_VALUE, Integer.MAX_VALUE - 1,
+                Integer.MIN_VALUE, Integer.MIN_VALUE + 1 };
+
+        for (int numerator : components) {
+            for (int denominator : components) {
+                if (denominator == 0) {
+                    continue;
+                }
+                Rational expected = new Rational(numerator, denominator);
+                long value = RationalLong.of(numerator, denominator);
+                assertThat(numerator + "/" + denominator + " numerator", RationalLong.numerator(value),
+                        is(expected.numerator()));
+                assertThat(numerator + "/" + denominator + " denominator", RationalLong.denominator(value),
+                        is(expected.denominator()));
+            }
+        }
+    }
+
+    /**
+     * A denominator of 0 is not allowed
+     */
+    public void testOfInvalidDenominator() {
+        assertThrows(IllegalArgumentException.class, () -> RationalLong.of(1, 0));
+    }
+
+    /**
+     * Values round trip through `Rational` unchanged
+     */
+    public void testRationalRoundTrip() {
+        Rational[] values = { new Rational(), new Rational(-9, 5), new Rational(3, Integer.MIN_VALUE),
+                new Rational(Integer.MIN_VALUE, 3) };
+
+        for (Rational value : values) {
+            assertThat(value.toString(), RationalLong.toRational(RationalLong.fromRational(value)), is(value));
+        }
+    }
+
+    /**
+     * Sums match `Rational.plus` when nothing overflows
+     */
+    public void testPlus() {
+        long sum = RationalLong.plus(RationalLong.of(1, 6), RationalLong.of(1, 3));
+        assertThat("1/6 + 1/3 = 1/2", sum, is(RationalLong.of(1, 2)));
+
+        sum = RationalLong.plus(RationalLong.of(5, 12), RationalLong.of(-5, 12));
+        assertThat("5/12 - 5/12 = 0", sum, is(RationalLong.ZERO));
+
+        sum = RationalLong.plus(RationalLong.of(1, 1 << 30), RationalLong.of(-1, 1 << 29));
+        assertThat("1/2^30 - 2/2^30 = -1/2^30", sum, is(RationalLong.of(-1, 1 << 30)));
+    }
+
+    /**
+     * Sums which land on a denominator of 2^31 are stored like `Rational` stores
+     * them
+     */
+    public void testPlusMinValueDenominator() {
+        long sum = RationalLong.plus(RationalLong.of(1, Integer.MIN_VALUE), RationalLong.of(-1, Integer.MIN_VALUE));
+        assertThat(sum, is(RationalLong.ZERO));
+
+        sum = RationalLong.plus(RationalLong.of(1, Integer.MIN_VALUE), RationalLong.of(1, 1 << 30));
+        assertThat("-1/2^31 + 2/2^31 = 1/2^31", sum, is(RationalLong.of(-1, Integer.MIN_VALUE)));
+        assertThat(RationalLong.toRational(sum).toString(), is("1/2147483648"));
+    }
+
+    /**
+     * Sums which don't fit in int components throw
+     */
+    public void testPlusOverflow() {
+        assertThrows(ArithmeticException.class,
+                () -> RationalLong.plus(RationalLong.of(Integer.MAX_VALUE), RationalLong.ONE));
+        assertThrows(ArithmeticException.class,
+                () -> RationalLong.plus(RationalLong.of(1, 3), RationalLong.of(1, Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Differences match `Rational.minus`
+     */
+    public void testMinus() {
+        long difference = RationalLong.minus(RationalLong.of(1, 10), RationalLong.of(3, 10));
+        assertThat("1/10 - 3/10 = -1/5", difference, is(RationalLong.of(-1, 5)));
+    }
+
+    /**
+     * Products are cross cancelled
+     */
+    public void testTimes() {
+        long product = RationalLong.times(RationalLong.of(4, 9), RationalLong.of(-3, 8));
+        assertThat("4/9 * -3/8 = -1/6", product, is(RationalLong.of(-1, 6)));
+
+        product = RationalLong.times(RationalLong.of(Integer.MAX_VALUE, 3), RationalLong.of(3, Integer.MAX_VALUE));
+        assertThat("Cancels before overflowing", product, is(RationalLong.ONE));
+
+        product = RationalLong.times(RationalLong.of(1, 1 << 16), RationalLong.of(-1, 1 << 15));
+        assertThat("Lands on a denominator of 2^31", product, is(RationalLong.of(1, Integer.MIN_VALUE)));
+    }
+
+    /**
+     * Multiplying by zero gives zero
+     */
+    public void testTimesZero() {
+        assertThat(RationalLong.times(RationalLong.ZERO, RationalLong.of(7, 3)), is(RationalLong.ZERO));
+        assertThat(RationalLong.times(RationalLong.of(7, 3), RationalLong.ZERO), is(RationalLong.ZERO));
+    }
+
+    /**
+     * Products which don't fit in int components throw
+     */
+    public void testTimesOverflow() {
+        assertThrows(ArithmeticException.class,
+                () -> RationalLong.times(RationalLong.of(1 << 16), RationalLong.of(1 << 16)));
+    }
+
+    /**
+     * Division multiplies by the reciprocal
+     */
+    public void testDividedBy() {
+        long quotient = RationalLong.dividedBy(RationalLong.of(3, 4), RationalLong.of(9, 8));
+        assertThat("3/4 / 9/8 = 2/3", quotient, is(RationalLong.of(2, 3)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RationalLong.dividedBy(RationalLong.ONE, RationalLong.ZERO));
+    }
+
+    /**
+     * Reciprocals keep the sign in the numerator
+     */
+    public void testReciprocal() {
+        assertThat(RationalLong.reciprocal(RationalLong.of(2, 3)), is(RationalLong.of(3, 2)));
+        assertThat(RationalLong.reciprocal(RationalLong.of(-2, 3)), is(RationalLong.of(-3, 2)));
+        assertThat(RationalLong.reciprocal(RationalLong.of(1, Integer.MIN_VALUE)),
+                is(RationalLong.of(Integer.MIN_VALUE)));
+        assertThrows(IllegalArgumentException.class, () -> RationalLong.reciprocal(RationalLong.ZERO));
+        assertThrows(ArithmeticException.class,
+                () -> RationalLong.reciprocal(RationalLong.of(-1, Integer.MIN_VALUE)));
+    }
+
+    /**
+     * Powers match `Rational.raisedToThePowerOf`
+     */
+    public void testPow() {
+        assertThat("(4/12)^2 = 1/9", RationalLong.pow(RationalLong.of(4, 12), 2), is(RationalLong.of(1, 9)));
+        assertThat("(-5/7)^3 = -125/343", RationalLong.pow(RationalLong.of(-5, 7), 3),
+                is(RationalLong.of(-125, 343)));
+        assertThat("4^-10 = 1/1048576", RationalLong.pow(RationalLong.of(4), -10), is(RationalLong.of(1, 1048576)));
+        assertThat("x^0 = 1", RationalLong.pow(RationalLong.of(13532, 2314), 0), is(RationalLong.ONE));
+        assertThat("(-1/2)^31 = -1/2^31", RationalLong.pow(RationalLong.of(-1, 2), 31),
+                is(RationalLong.of(1, Integer.MIN_VALUE)));
+        assertThat("(-1)^MAX_INT = -1", RationalLong.pow(RationalLong.of(-1), Integer.MAX_VALUE),
+                is(RationalLong.of(-1)));
+    }
+
+    /**
+     * Powers which don't fit in int components throw
+     */
+    public void testPowOverflow() {
+        assertThrows(ArithmeticException.class, () -> RationalLong.pow(RationalLong.of(2), 31));
+        assertThrows(ArithmeticException.class, () -> RationalLong.pow(RationalLong.of(3, 2), 1000));
+        assertThrows(IllegalArgumentException.class, () -> RationalLong.pow(RationalLong.ZERO, -1));
+    }
+
+    /**
+     * Comparison orders values by magnitude, including denominators of 2^31
+     */
+    public void testCompare() {
+        assertThat(RationalLong.compare(RationalLong.of(1, 3), RationalLong.of(1, 2)) < 0, is(true));
+        assertThat(RationalLong.compare(RationalLong.of(1, 2), RationalLong.of(2, 4)), is(0));
+        assertThat(RationalLong.compare(RationalLong.of(-1, 2), RationalLong.of(-2, 3)) > 0, is(true));
+        assertThat(RationalLong.compare(RationalLong.of(Integer.MAX_VALUE), RationalLong.of(Integer.MIN_VALUE)) > 0,
+                is(true));
+        assertThat(RationalLong.compare(RationalLong.of(1, Integer.MIN_VALUE), RationalLong.ZERO) < 0, is(true));
+        assertThat(RationalLong.compare(RationalLong.of(-1, Integer.MIN_VALUE), RationalLong.ZERO) > 0, is(true));
+    }
+}
@@ -0,0 +1,430 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalMatrix.
+ */
+public class RationalMatrixTest
+        extends TestCase {
+    // Primes close to 2^31, whose least common multiples overflow a long
+    private static final int[] LARGE_PRIMES = { 2147483647, 2147483629, 2147483587, 2147483579 };
+    // Primes close to 2^16, whose least common multiples fit in a long
+    private static final int[] SMALL_PRIMES = { 65521, 65519, 65497, 65479 };
+    // Divisors of 12, so long dot products keep small denominators
+    private static final int[] DIVISORS = { 1, 2, 3, 4, 6, 12 };
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalMatrixTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalMatrixTest.class);
+    }
+
+    /**
+     * New matrices are filled with 0 / 1 and entries can be read and written
+     */
+    public void testConstructors() {
+        RationalMatrix zeros = new RationalMatrix(2, 3);
+        assertThat(zeros.rows(), is(2));
+        assertThat(zeros.columns(), is(3));
+        assertThat(zeros.toString(), is("[[0, 0, 0], [0, 0, 0]]"));
+
+        zeros.set(1, 2, new Rational(3, Integer.MIN_VALUE));
+        assertThat(zeros.get(1, 2), is(new Rational(3, Integer.MIN_VALUE)));
+        assertThat(zeros.get(0, 0), is(Rational.ZERO));
+        zeros.set(0, 1, new Rational(2, 4));
+        assertThat("Small values are cached", zeros.get(0, 1), is(sameInstance(Rational.valueOf(1, 2))));
+
+        RationalMatrix values = new RationalMatrix(new Rational[][] { { new Rational(1, 2), new Rational(-2) },
+                { new Rational(0), new Rational(3, 4) } });
+        assertThat(values.toString(), is("[[1/2, -2], [0, 3/4]]"));
+        assertThat(RationalMatrix.identity(2).toString(), is("[[1, 0], [0, 1]]"));
+        assertThat(new RationalMatrix(new Rational[0][]).toString(), is("[]"));
+
+        assertThrows(IllegalArgumentException.class, () -> new RationalMatrix(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new RationalMatrix(2, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RationalMatrix(new Rational[][] { { Rational.ONE }, { Rational.ONE, Rational.ONE } }));
+        assertThrows(IndexOutOfBoundsException.class, () -> zeros.get(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> zeros.get(2, 0));
+    }
+
+    /**
+     * Determinants are exact, including for Hilbert matrices whose naive
+     * elimination produces large denominators
+     */
+    public void testDeterminant() {
+        assertThat(matrix(new int[][] { { 1, 2, 1, 3 }, { 1, 4, 1, 5 } }).determinant(),
+                is(new BigRational(1, 60)));
+        assertThat(hilbert(3).determinant(), is(new BigRational(1, 2160)));
+        assertThat(hilbert(4).determinant(), is(new BigRational(1, 6048000)));
+        assertThat(hilbert(8).determinant(), is(referenceDeterminant(hilbert(8))));
+        assertThat(integers(new int[][] { { 0, 1 }, { 1, 0 } }).determinant(), is(BigRational.MINUS_ONE));
+        assertThat(integers(new int[][] { { 0, 0, 1 }, { 0, 1, 0 }, { 1, 0, 0 } }).determinant(),
+                is(BigRational.MINUS_ONE));
+        assertThat(integers(new int[][] { { 1, 2 }, { 2, 4 } }).determinant(), is(BigRational.ZERO));
+        assertThat(new RationalMatrix(0, 0).determinant(), is(BigRational.ONE));
+
+        assertThrows(IllegalArgumentException.class, () -> new RationalMatrix(2, 3).determinant());
+    }
+
+    /**
+     * Rank counts independent rows, skipping columns without a pivot
+     */
+    public void testRank() {
+        assertThat(integers(new int[][] { { 1, 2, 3 }, { 2, 4, 6 }, { 1, 0, 1 } }).rank(), is(2));
+        assertThat(integers(new int[][] { { 0, 1, 2 }, { 0, 2, 5 } }).rank(), is(2));
+        assertThat(integers(new int[][] { { 0, 1 }, { 0, 2 }, { 0, 3 } }).rank(), is(1));
+        assertThat(new RationalMatrix(3, 4).rank(), is(0));
+        assertThat(hilbert(6).rank(), is(6));
+    }
+
+    /**
+     * Inverses are exact, and the inverse of a Hilbert matrix has integer entries
+     */
+    public void testInverse() {
+        BigRational[][] inverse = hilbert(3).inverse();
+        long[][] expected = { { 9, -36, 30 }, { -36, 192, -180 }, { 30, -180, 180 } };
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertThat(inverse[i][j], is(new BigRational(expected[i][j])));
+            }
+        }
+
+        RationalMatrix swap = integers(new int[][] { { 0, 2 }, { 4, 0 } });
+        BigRational[][] swapInverse = swap.inverse();
+        assertThat(swapInverse[0][1], is(new BigRational(1, 4)));
+        assertThat(swapInverse[1][0], is(new BigRational(1, 2)));
+        assertThat(swapInverse[0][0], is(BigRational.ZERO));
+
+        assertThrows(ArithmeticException.class, () -> integers(new int[][] { { 1, 2 }, { 2, 4 } }).inverse());
+        assertThrows(IllegalArgumentException.class, () -> new RationalMatrix(1, 2).inverse());
+    }
+
+    /**
+     * Solutions are exact and rejected for singular systems
+     */
+    public void testSolve() {
+        RationalMatrix system = matrix(new int[][] { { 1, 2, 1, 3 }, { 1, 4, 1, 5 } });
+        BigRational[] solution = system.solve(new Rational[] { new Rational(1, 6), new Rational(-1, 7) });
+        assertThat(solution[0], is(new BigRational(34, 7)));
+        assertThat(solution[1], is(new BigRational(-95, 14)));
+
+        assertThrows(ArithmeticException.class,
+                () -> integers(new int[][] { { 0, 1 }, { 0, 2 } }).solve(new Rational[] { Rational.ONE, Rational.ONE }));
+        assertThrows(IllegalArgumentException.class, () -> system.solve(new Rational[] { Rational.ONE }));
+        assertThrows(IllegalArgumentException.class, () -> new RationalMatrix(2, 1).solve(new Rational[2]));
+    }
+
+    /**
+     * Random systems agree with naive elimination over `BigRational`, including
+     * rows whose common denominator does not fit in a long
+     */
+    public void testMatchesBigRationalElimination() {
+        Random random = new Random(41);
+        for (int trial = 0; trial < 20; trial++) {
+            int size = 1 + random.nextInt(6);
+            RationalMatrix matrix = randomMatrix(random, size, size);
+            if (trial % 4 == 0) {
+                for (int j = 0; j < Math.min(size, LARGE_PRIMES.length); j++) {
+                    matrix.set(0, j, new Rational(random.nextInt(7) - 3, LARGE_PRIMES[j]));
+                }
+            }
+            Rational[] constants = new Rational[size];
+            for (int i = 0; i < size; i++) {
+                constants[i] = new Rational(random.nextInt(21) - 10, 1 + random.nextInt(12));
+            }
+
+            BigRational determinant = referenceDeterminant(matrix);
+            assertThat(matrix.determinant(), is(determinant));
+            assertThat(matrix.rank(), is(referenceRank(matrix)));
+            if (!determinant.isZero()) {
+                BigRational[] solution = matrix.solve(constants);
+                BigRational[] expected = referenceSolve(matrix, constants);
+                for (int i = 0; i < size; i++) {
+                    assertThat(solution[i], is(expected[i]));
+                }
+                assertIdentity(matrix, matrix.inverse());
+            }
+        }
+    }
+
+    /**
+     * Systems large enough to update rows in parallel are still solved exactly
+     */
+    public void testLargeSystem() {
+        Random random = new Random(43);
+        int size = 72;
+        RationalMatrix matrix = randomMatrix(random, size, size);
+        Rational[] constants = new Rational[size];
+        for (int i = 0; i < size; i++) {
+            constants[i] = new Rational(random.nextInt(21) - 10, 1 + random.nextInt(12));
+        }
+
+        BigRational[] solution = matrix.solve(constants);
+        for (int i = 0; i < size; i++) {
+            BigRational sum = BigRational.ZERO;
+            for (int j = 0; j < size; j++) {
+                sum = sum.plus(new BigRational(matrix.get(i, j)).times(solution[j]));
+            }
+            assertThat(sum, is(new BigRational(constants[i])));
+        }
+        assertThat(matrix.rank(), is(size));
+    }
+
+    /**
+     * Products agree with `Rational.dot` of rows and columns, across several
+     * blocks and fork-join tasks
+     */
+    public void testTimes() {
+        Random random = new Random(47);
+        RationalMatrix left = divisorMatrix(random, 130, 70);
+        RationalMatrix right = divisorMatrix(random, 70, 150);
+        assertProduct(left, right);
+        assertProduct(randomMatrix(random, 3, 5), randomMatrix(random, 5, 2));
+        assertProduct(new RationalMatrix(2, 0), new RationalMatrix(0, 3));
+
+        RationalMatrix identity = RationalMatrix.identity(70);
+        assertThat(identity.times(right).toString(), is(right.toString()));
+
+        assertThrows(IllegalArgumentException.class, () -> left.times(left));
+        RationalMatrix large = integers(new int[][] { { Integer.MAX_VALUE } });
+        assertThrows(ArithmeticException.class, () -> large.times(large));
+    }
+
+    /**
+     * Products whose common denominators or accumulators do not fit in primitive
+     * storage are still exact
+     */
+    public void testTimesWithLargeDenominators() {
+        int p = LARGE_PRIMES[0];
+        int q = LARGE_PRIMES[1];
+        int r = LARGE_PRIMES[2];
+        int s = LARGE_PRIMES[3];
+        // Scaled entries need about 64 bits on both sides
+        RationalMatrix left = new RationalMatrix(new Rational[][] { { new Rational(r, p), new Rational(s, q) } });
+        RationalMatrix right = new RationalMatrix(
+                new Rational[][] { { new Rational(p, r) }, { new Rational(q, s) } });
+        assertThat(left.times(right).get(0, 0), is(new Rational(2)));
+        assertProduct(left, right);
+
+        // Common denominator of the row does not fit in a long
+        RationalMatrix wide = new RationalMatrix(new Rational[][] {
+                { new Rational(1, p), new Rational(1, q), new Rational(1, r), new Rational(-1, s) } });
+        RationalMatrix column = new RationalMatrix(new Rational[][] { { new Rational(p) }, { new Rational(q) },
+                { new Rational(r) }, { new Rational(s) } });
+        assertThat(wide.times(column).get(0, 0), is(new Rational(2)));
+
+        // Product of the row and column denominators does not fit in a long
+        int a = SMALL_PRIMES[0];
+        int b = SMALL_PRIMES[1];
+        int c = SMALL_PRIMES[2];
+        int d = SMALL_PRIMES[3];
+        RationalMatrix row = new RationalMatrix(
+                new Rational[][] { { new Rational(1, a), new Rational(1, b), Rational.ONE } });
+        RationalMatrix cancelling = new RationalMatrix(
+                new Rational[][] { { new Rational(a, c) }, { new Rational(b, d) }, { new Rational(-1, d) } });
+        assertThat(row.times(cancelling).get(0, 0), is(new Rational(1, c)));
+    }
+
+    /**
+     * Helper method which checks a product entry by entry against `Rational.dot`
+     */
+    private static void assertProduct(RationalMatrix left, RationalMatrix right) {
+        RationalMatrix product = left.times(right);
+        assertThat(product.rows(), is(left.rows()));
+        assertThat(product.columns(), is(right.columns()));
+        for (int i = 0; i < left.rows(); i++) {
+            Rational[] row = new Rational[left.columns()];
+            for (int k = 0; k < row.length; k++) {
+                row[k] = left.get(i, k);
+            }
+            for (int j = 0; j < right.columns(); j++) {
+                Rational[] column = new Rational[right.rows()];
+                for (int k = 0; k < column.length; k++) {
+                    column[k] = right.get(k, j);
+                }
+                assertThat(product.get(i, j), is(Rational.dot(row, column)));
+            }
+        }
+    }
+
+    /**
+     * Helper method which checks that an inverse multiplies back to the identity
+     */
+    private static void assertIdentity(RationalMatrix matrix, BigRational[][] inverse) {
+        int size = matrix.rows();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                BigRational sum = BigRational.ZERO;
+                for (int k = 0; k < size; k++) {
+                    sum = sum.plus(new BigRational(matrix.get(i, k)).times(inverse[k][j]));
+                }
+                assertThat(sum, is(i == j ? BigRational.ONE : BigRational.ZERO));
+            }
+        }
+    }
+
+    /**
+     * Helper method which creates a matrix from numerator and denominator pairs
+     */
+    private static RationalMatrix matrix(int[][] pairs) {
+        RationalMatrix matrix = new RationalMatrix(pairs.length, pairs[0].length / 2);
+        for (int i = 0; i < pairs.length; i++) {
+            for (int j = 0; j < matrix.columns(); j++) {
+                matrix.set(i, j, new Rational(pairs[i][2 * j], pairs[i][2 * j + 1]));
+            }
+        }
+        return matrix;
+    }
+
+    private static RationalMatrix integers(int[][] values) {
+        RationalMatrix matrix = new RationalMatrix(values.length, values[0].length);
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[i].length; j++) {
+                matrix.set(i, j, new Rational(values[i][j]));
+            }
+        }
+        return matrix;
+    }
+
+    private static RationalMatrix hilbert(int size) {
+        RationalMatrix matrix = new RationalMatrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix.set(i, j, new Rational(1, i + j + 1));
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Helper method which creates a matrix with small entries, some of them zero
+     */
+    private static RationalMatrix randomMatrix(Random random, int rows, int columns) {
+        RationalMatrix matrix = new RationalMatrix(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (random.nextInt(5) > 0) {
+                    matrix.set(i, j, new Rational(random.nextInt(41) - 20, 1 + random.nextInt(16)));
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Helper method which creates a matrix whose denominators divide 12
+     */
+    private static RationalMatrix divisorMatrix(Random random, int rows, int columns) {
+        RationalMatrix matrix = new RationalMatrix(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix.set(i, j, new Rational(random.nextInt(41) - 20, DIVISORS[random.nextInt(DIVISORS.length)]));
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Helper method which copies a matrix into `BigRational` rows with room for
+     * extra columns
+     */
+    private static BigRational[][] bigRows(RationalMatrix matrix, int extraColumns) {
+        BigRational[][] rows = new BigRational[matrix.rows()][matrix.columns() + extraColumns];
+        for (int i = 0; i < matrix.rows(); i++) {
+            for (int j = 0; j < matrix.columns(); j++) {
+                rows[i][j] = new BigRational(matrix.get(i, j));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Helper method which runs naive Gauss-Jordan elimination with
+     * `BigRational.dividedBy` on the first pivotColumns columns, returning the
+     * determinant of those columns when they are square
+     */
+    private static BigRational referenceEliminate(BigRational[][] rows, int pivotColumns, int[] rank) {
+        BigRational determinant = BigRational.ONE;
+        int pivotRow = 0;
+        for (int column = 0; column < pivotColumns; column++) {
+            int found = pivotRow;
+            while (found < rows.length && rows[found][column].isZero()) {
+                found++;
+            }
+            if (found == rows.length) {
+                determinant = BigRational.ZERO;
+                continue;
+            }
+            if (found != pivotRow) {
+                BigRational[] swapped = rows[found];
+                rows[found] = rows[pivotRow];
+                rows[pivotRow] = swapped;
+                determinant = determinant.opposite();
+            }
+            BigRational pivot = rows[pivotRow][column];
+            determinant = determinant.times(pivot);
+            for (int j = 0; j < rows[pivotRow].length; j++) {
+                rows[pivotRow][j] = rows[pivotRow][j].dividedBy(pivot);
+            }
+            for (int i = 0; i < rows.length; i++) {
+                BigRational factor = rows[i][column];
+                if (i == pivotRow || factor.isZero()) {
+                    continue;
+                }
+                for (int j = 0; j < rows[i].length; j++) {
+                    rows[i][j] = rows[i][j].minus(factor.times(rows[pivotRow][j]));
+                }
+            }
+            pivotRow++;
+            if (pivotRow == rows.length) {
+                break;
+            }
+        }
+        rank[0] = pivotRow;
+        return determinant;
+    }
+
+    private static BigRational referenceDeterminant(RationalMatrix matrix) {
+        return referenceEliminate(bigRows(matrix, 0), matrix.columns(), new int[1]);
+    }
+
+    private static int referenceRank(RationalMatrix matrix) {
+        int[] rank = new int[1];
+        referenceEliminate(bigRows(matrix, 0), matrix.columns(), rank);
+        return rank[0];
+    }
+
+    private static BigRational[] referenceSolve(RationalMatrix matrix, Rational[] constants) {
+        BigRational[][] rows = bigRows(matrix, 1);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i][matrix.columns()] = new BigRational(constants[i]);
+        }
+        referenceEliminate(rows, matrix.columns(), new int[1]);
+        BigRational[] solution = new BigRational[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            solution[i] = rows[i][matrix.columns()];
+        }
+        return solution;
+    }
+}
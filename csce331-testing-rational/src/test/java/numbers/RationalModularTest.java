@@ -0,0 +1,163 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalModular.
+ */
+public class RationalModularTest
+        extends TestCase {
+    private static final int[] PRIMES = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61, 67, 71,
+            73, 79, 83, 89, 97, 101, 103, 107, 109, 113 };
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalModularTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalModularTest.class);
+    }
+
+    /**
+     * Small sums are exact, including 0 and values with a denominator of 2^31
+     */
+    public void testSmallSums() {
+        assertThat(RationalModular.sum(new Rational[0]), is(BigRational.ZERO));
+        assertThat(RationalModular.sum(new Rational[] { new Rational(1, 2), new Rational(1, 3) }),
+                is(new BigRational(5, 6)));
+        assertThat(RationalModular.sum(new Rational[] { new Rational(1, 2), new Rational(-1, 2) }),
+                is(BigRational.ZERO));
+        assertThat(RationalModular.sum(new Rational[] { new Rational(3, Integer.MIN_VALUE), new Rational(-5, 7) }),
+                is(new BigRational(-3, 2147483648L).plus(new BigRational(-5, 7))));
+        assertThat(RationalModular.sum(new Rational[] { new Rational(Integer.MAX_VALUE),
+                new Rational(Integer.MAX_VALUE), new Rational(Integer.MIN_VALUE) }),
+                is(new BigRational(Integer.MAX_VALUE - 1)));
+    }
+
+    /**
+     * Sums whose common denominator does not fit in a long agree with a
+     * `BigRational` fold, including denominators divisible by the primes used
+     */
+    public void testLargeSums() {
+        Random random = new Random(53);
+        Rational[] values = new Rational[50000];
+        for (int i = 0; i < values.length; i++) {
+            int denominator = i % 3 == 0 ? PRIMES[random.nextInt(PRIMES.length)]
+                    : Integer.MAX_VALUE - random.nextInt(64);
+            values[i] = new Rational(random.nextInt(), denominator);
+        }
+        values[1] = new Rational(1, (int) RationalModular.primes(1)[0]);
+        values[2] = new Rational(1, (int) RationalModular.primes(2)[1]);
+
+        assertThat(RationalModular.sum(values), is(sumOf(values)));
+    }
+
+    /**
+     * Solutions agree with `RationalMatrix.solve`
+     */
+    public void testSolve() {
+        Random random = new Random(59);
+        for (int trial = 0; trial < 10; trial++) {
+            int size = 1 + random.nextInt(12);
+            RationalMatrix matrix = new RationalMatrix(size, size);
+            Rational[] constants = new Rational[size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    matrix.set(i, j, new Rational(random.nextInt(2001) - 1000, 1 + random.nextInt(1000)));
+                }
+                constants[i] = new Rational(random.nextInt(), 1 + random.nextInt(Integer.MAX_VALUE));
+            }
+            assertThat(RationalModular.solve(matrix, constants), is(matrix.solve(constants)));
+        }
+
+        RationalMatrix hilbert = new RationalMatrix(10, 10);
+        Rational[] ones = new Rational[10];
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                hilbert.set(i, j, new Rational(1, i + j + 1));
+            }
+            ones[i] = Rational.ONE;
+        }
+        assertThat(RationalModular.solve(hilbert, ones), is(hilbert.solve(ones)));
+        assertThat(RationalModular.solve(new RationalMatrix(0, 0), new Rational[0]).length, is(0));
+    }
+
+    /**
+     * Matrices which are singular modulo a few primes but not over the rationals
+     * are still solved, and singular matrices are rejected
+     */
+    public void testUnluckyPrimes() {
+        long first = RationalModular.primes(1)[0];
+        RationalMatrix matrix = new RationalMatrix(2, 2);
+        matrix.set(0, 0, new Rational((int) first));
+        matrix.set(1, 1, new Rational(1));
+        Rational[] constants = { new Rational(1), new Rational(2) };
+        assertThat(RationalModular.solve(matrix, constants), is(matrix.solve(constants)));
+
+        RationalMatrix singular = new RationalMatrix(2, 2);
+        singular.set(0, 0, new Rational(1, 2));
+        singular.set(0, 1, new Rational(1, 3));
+        singular.set(1, 0, new Rational(3, 2));
+        singular.set(1, 1, Rational.ONE);
+        assertThrows(ArithmeticException.class, () -> RationalModular.solve(singular, constants));
+        assertThrows(IllegalArgumentException.class, () -> RationalModular.solve(singular, new Rational[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> RationalModular.solve(new RationalMatrix(1, 2), new Rational[1]));
+    }
+
+    /**
+     * Rational reconstruction recovers small fractions and rejects residues without
+     * a fraction inside the bounds
+     */
+    public void testReconstruct() {
+        BigInteger modulus = BigInteger.valueOf(1000003);
+        BigInteger bound = BigInteger.valueOf(500);
+        // -3/7 modulo 1000003
+        BigInteger residue = BigInteger.valueOf(-3).multiply(BigInteger.valueOf(7).modInverse(modulus)).mod(modulus);
+        assertThat(RationalModular.reconstruct(residue, modulus, bound, bound), is(new BigRational(-3, 7)));
+        assertThat(RationalModular.reconstruct(BigInteger.ZERO, modulus, bound, bound), is(BigRational.ZERO));
+        assertThrows(ArithmeticException.class,
+                () -> RationalModular.reconstruct(BigInteger.valueOf(123456), modulus, BigInteger.TEN, BigInteger.TEN));
+    }
+
+    /**
+     * The primes found are the largest primes below 2^31
+     */
+    public void testPrimes() {
+        long[] primes = RationalModular.primes(3);
+        assertThat(primes[0], is(2147483647L));
+        assertThat(primes[1], is(2147483629L));
+        assertThat(primes[2], is(2147483587L));
+        assertThat(RationalModular.isPrime(2147483649L), is(false));
+        assertThat(RationalModular.isPrime(1000003L), is(true));
+        assertThat(RationalModular.isPrime(25326001L), is(false));
+    }
+
+    /**
+     * Helper method which sums values exactly with `BigRational`
+     */
+    private static BigRational sumOf(Rational[] values) {
+        BigRational sum = BigRational.ZERO;
+        for (Rational value : values) {
+            sum = sum.plus(new BigRational(value));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,171 @@
+package numbers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for RationalParser.
+ */
+public class RationalParserTest
+        extends TestCase {
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RationalParserTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(RationalParserTest.class);
+    }
+
+    /**
+     * Fractions are reduced and written in the form `toString()` uses
+     */
+    public void testFractions() {
+        assertThat(parse("0"), is(new Rational(0)));
+        assertThat(parse("-0/-7"), is(new Rational(0)));
+        assertThat(parse("+12/-18"), is(new Rational(-2, 3)));
+        assertThat(parse("-12/+18"), is(new Rational(-2, 3)));
+        assertThat(parse("100/30"), is(new Rational(10, 3)));
+        assertThat(parse("-2147483648"), is(new Rational(Integer.MIN_VALUE)));
+        assertThat(parse("2147483647/2147483646"), is(new Rational(Integer.MAX_VALUE, Integer.MAX_VALUE - 1)));
+        assertThat(parse("4294967296/8589934592"), is(new Rational(1, 2)));
+        assertThat(parse("1/2147483648"), is(new Rational(-1, Integer.MIN_VALUE)));
+        assertThat(parse("-7/2147483648"), is(new Rational(7, Integer.MIN_VALUE)));
+        assertThat(parse("-7/2147483648").toString(), is("-7/2147483648"));
+    }
+
+    /**
+     * Decimal and scientific notation are converted exactly
+     */
+    public void testDecimals() {
+        assertThat(parse("0.1"), is(new Rational(1, 10)));
+        assertThat(parse("-.5"), is(new Rational(-1, 2)));
+        assertThat(parse("5."), is(new Rational(5)));
+        assertThat(parse("1.50"), is(new Rational(3, 2)));
+        assertThat(parse("0.000"), is(new Rational(0)));
+        assertThat(parse("0e99999999999"), is(new Rational(0)));
+        assertThat(parse("1.25E+2"), is(new Rational(125)));
+        assertThat(parse("12500e-4"), is(new Rational(5, 4)));
+        assertThat(parse("3e-9"), is(new Rational(3, 1000000000)));
+        assertThat(parse("-5e-9"), is(new Rational(-1, 200000000)));
+        assertThat(parse("9.5367431640625e-7"), is(new Rational(1, 1048576)));
+        assertThat(parse("0.00000000000000000000000000000000000000000000000000000000000000000000000000000000005e80"),
+                is(new Rational(1, 200)));
+        assertThat(parse("2147483647.0000000000000000000000"), is(new Rational(Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Invalid values are reported with the reason they are invalid
+     */
+    public void testInvalid() {
+        assertFails("", RationalParser.EMPTY);
+        assertFails("-", RationalParser.MISSING_DIGITS);
+        assertFails(".", RationalParser.MISSING_DIGITS);
+        assertFails("e5", RationalParser.MISSING_DIGITS);
+        assertFails("1/", RationalParser.MISSING_DIGITS);
+        assertFails("1/-", RationalParser.MISSING_DIGITS);
+        assertFails("1e", RationalParser.MISSING_DIGITS);
+        assertFails("1e+", RationalParser.MISSING_DIGITS);
+        assertFails("x", RationalParser.INVALID_CHARACTER);
+        assertFails("1x", RationalParser.INVALID_CHARACTER);
+        assertFails("1..2", RationalParser.INVALID_CHARACTER);
+        assertFails("1.5/2", RationalParser.INVALID_CHARACTER);
+        assertFails("1/2/3", RationalParser.INVALID_CHARACTER);
+        assertFails("1/2.0", RationalParser.INVALID_CHARACTER);
+        assertFails("1e5x", RationalParser.INVALID_CHARACTER);
+        assertFails("3/0", RationalParser.ZERO_DENOMINATOR);
+        assertFails("2147483648", RationalParser.TOO_LARGE);
+        assertFails("1/4294967296", RationalParser.TOO_LARGE);
+        assertFails("99999999999999999999", RationalParser.TOO_LARGE);
+        assertFails("1/99999999999999999999", RationalParser.TOO_LARGE);
+        assertFails("10000000000000000000/3", RationalParser.TOO_LARGE);
+        assertFails("1e10", RationalParser.TOO_LARGE);
+        assertFails("1e19", RationalParser.TOO_LARGE);
+        assertFails("1e-10", RationalParser.TOO_LARGE);
+        assertFails("3e-1000", RationalParser.TOO_LARGE);
+        assertFails("1.1e-10", RationalParser.TOO_LARGE);
+        assertFails("0.7e-9", RationalParser.TOO_LARGE);
+        assertFails("4.656612873077392578125e-10", RationalParser.TOO_LARGE);
+    }
+
+    /**
+     * Values separated by whitespace or commas are parsed from every kind of input
+     */
+    public void testParseAll() {
+        String text = " 1/2,\t-3\n\r0.25 ,, 7/-14 ";
+        Rational[] expected = { new Rational(1, 2), new Rational(-3), new Rational(1, 4), new Rational(-1, 2) };
+        byte[] bytes = ("#" + text + "#").getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(RationalParser.failFast().parseAll(text).toArray(), is(expected));
+        assertThat(RationalParser.failFast().parseAll(bytes, 1, text.length()).toArray(), is(expected));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, text.length());
+        assertThat(RationalParser.failFast().parseAll(buffer).toArray(), is(expected));
+        assertThat("Position is unchanged", buffer.position(), is(1));
+        assertThat(RationalParser.failFast().parseAll(" , ").length(), is(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> RationalParser.failFast().parseAll(bytes, 2, bytes.length));
+
+        StringBuilder many = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            many.append(i).append('/').append(i + 1).append(' ');
+        }
+        RationalArray values = RationalParser.failFast().parseAll(many);
+        assertThat(values.length(), is(1000));
+        assertThat(values.get(999), is(new Rational(999, 1000)));
+    }
+
+    /**
+     * A fail-fast parser throws on the first invalid value, while an error
+     * collecting parser records it and keeps going
+     */
+    public void testErrorModes() {
+        String text = "1/2 oops 3/0 0.75 1e";
+        NumberFormatException exception = assertThrows(NumberFormatException.class,
+                () -> RationalParser.failFast().parseAll(text));
+        assertThat(exception.getMessage(), is("Invalid character at offset 4"));
+
+        RationalParser parser = RationalParser.collectingErrors();
+        assertThat(parser.parseAll(text).toArray(), is(new Rational[] { new Rational(1, 2), new Rational(3, 4) }));
+        List<RationalParser.ParseError> errors = parser.errors();
+        assertThat(errors.size(), is(3));
+        assertThat(errors.get(0).offset(), is(4));
+        assertThat(errors.get(0).length(), is(4));
+        assertThat(errors.get(0).reason(), is(RationalParser.INVALID_CHARACTER));
+        assertThat(errors.get(1).toString(), is("Denominator must not be 0 at offset 9 (length 3)"));
+        assertThat(errors.get(2).reason(), is(RationalParser.MISSING_DIGITS));
+        assertThrows(UnsupportedOperationException.class, () -> errors.clear());
+
+        parser.parseAll("x");
+        assertThat("Errors accumulate across calls", parser.errors().size(), is(4));
+    }
+
+    /**
+     * Helper method which parses a single value
+     */
+    private static Rational parse(String text) {
+        return Rational.parse(text);
+    }
+
+    /**
+     * Helper method which checks that text fails to parse with a given reason
+     */
+    private static void assertFails(String text, String reason) {
+        NumberFormatException exception = assertThrows(NumberFormatException.class, () -> Rational.parse(text));
+        assertThat(text, exception.getMessage(), is(reason + " at offset 0"));
+    }
+}
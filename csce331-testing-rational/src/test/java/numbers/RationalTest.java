@@ -2,10 +2,24 @@ package numbers;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThrows;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -642,6 +656,22 @@ public class RationalTest
         assertThat("Denominator of resut is 49", result.denominator(), is(49));
     }
 
+    /**
+     * Powers which do not fit in a `Rational` throw instead of overflowing, while
+     * powers of 1 and -1 never overflow
+     */
+    public void testPowerOverflow() {
+        assertThrows(ArithmeticException.class, () -> new Rational(2).raisedToThePowerOf(31));
+        assertThrows(ArithmeticException.class, () -> new Rational(3, 2).raisedToThePowerOf(1000));
+        assertThrows(ArithmeticException.class, () -> new Rational(1, 10).raisedToThePowerOf(Integer.MIN_VALUE));
+
+        assertThat(new Rational(-1, 2).raisedToThePowerOf(31).toString(), is("-1/2147483648"));
+        assertThat(new Rational(-1).raisedToThePowerOf(Integer.MAX_VALUE), is(new Rational(-1)));
+        assertThat(new Rational(-1).raisedToThePowerOf(Integer.MIN_VALUE), is(Rational.ONE));
+        assertThat(new Rational(1, Integer.MIN_VALUE).raisedToThePowerOf(-1), is(new Rational(Integer.MIN_VALUE)));
+        assertThat(new Rational(11, 10).raisedToThePowerOf(8), is(new Rational(214358881, 100000000)));
+    }
+
     public void testIsZero() {
         Rational value1 = new Rational(0, -2523);
         Rational value2 = new Rational();
@@ -1375,9 +1405,13 @@ public class RationalTest
 
     public void testHashCode() {
         Rational value = new Rational(1, 2);
-        assertThat("Hashcode comes from string of numerator and denominator", value.hashCode(), is("1/2".hashCode()));
+        assertThat("Equal values have equal hashcodes", value.hashCode(), is(new Rational(2, 4).hashCode()));
+        assertThat("Equal values have equal hashcodes", value.hashCode(), is(new Rational(-3, -6).hashCode()));
+        assertThat("Hashcode comes from numerator and denominator", value.hashCode(), is(31 * 1 + 2));
         value = new Rational(2, 1);
-        assertThat("Hashcode comes from string of numerator and denominator", value.hashCode(), is("2".hashCode()));
+        assertThat("Hashcode comes from numerator and denominator", value.hashCode(), is(31 * 2 + 1));
+        assertThat("Reciprocals have different hashcodes", value.hashCode() == value.reciprocal().hashCode(),
+                is(false));
     }
 
     public void testComparisonCloseValues() {
@@ -1700,4 +1734,604 @@ public class RationalTest
 
         assertThat(value2.compareTo(value1), is(1));
     }
+
+    /////////////////////////////////////////
+    // VALUEOF TESTS
+    /////////////////////////////////////////
+
+    public void testValueOfInteger() {
+        Rational value = Rational.valueOf(-7);
+
+        assertThat("Numerator is -7", value.numerator(), is(-7));
+        assertThat("Denominator is 1", value.denominator(), is(1));
+    }
+
+    public void testValueOfSimplifies() {
+        Rational value = Rational.valueOf(48, -72);
+
+        assertThat("48 / -72 = -2 / 3", value.numerator(), is(-2));
+        assertThat("48 / -72 = -2 / 3", value.denominator(), is(3));
+        assertThat("Matches the constructor", value, is(new Rational(48, -72)));
+    }
+
+    public void testValueOfCachesSmallValues() {
+        assertThat("Same instance for the same value", Rational.valueOf(1, 2) == Rational.valueOf(1, 2), is(true));
+        assertThat("Unreduced values share the reduced instance", Rational.valueOf(2, 4) == Rational.valueOf(1, 2),
+                is(true));
+        assertThat("Negative denominators share the instance", Rational.valueOf(1, -2) == Rational.valueOf(-1, 2),
+                is(true));
+        assertThat("Zero is shared", Rational.valueOf(0, 7) == Rational.ZERO, is(true));
+    }
+
+    public void testValueOfLargeValues() {
+        Rational value = Rational.valueOf(Integer.MAX_VALUE, Integer.MAX_VALUE - 1);
+        assertThat(value.numerator(), is(Integer.MAX_VALUE));
+        assertThat(value.denominator(), is(Integer.MAX_VALUE - 1));
+
+        assertThat(Rational.valueOf(3, Integer.MIN_VALUE).toString(), is("-3/2147483648"));
+        assertThat(Rational.valueOf(Integer.MIN_VALUE, -2), is(new Rational(Integer.MIN_VALUE, -2)));
+        assertThat(Rational.valueOf(Integer.MIN_VALUE, -1), is(new Rational(Integer.MIN_VALUE, -1)));
+        assertThat(Rational.valueOf(1000, 3), is(new Rational(1000, 3)));
+    }
+
+    public void testValueOfInvalidDenominator() {
+        assertThrows(IllegalArgumentException.class, () -> Rational.valueOf(1, 0));
+    }
+
+    public void testConstants() {
+        assertThat(Rational.ZERO.isZero(), is(true));
+        assertThat(Rational.ONE.isOne(), is(true));
+        assertThat(Rational.MINUS_ONE.isMinusOne(), is(true));
+        assertThat(Rational.valueOf(5, 5) == Rational.ONE, is(true));
+        assertThat(Rational.valueOf(-3, 3) == Rational.MINUS_ONE, is(true));
+    }
+
+    public void testOperationsReturnCachedResults() {
+        assertThat("x * 0 is ZERO", new Rational(7, 3).times(new Rational()) == Rational.ZERO, is(true));
+        assertThat("x^0 is ONE", new Rational(7, 3).raisedToThePowerOf(0) == Rational.ONE, is(true));
+        assertThat("1/3 + 1/6 is cached", new Rational(1, 3).plus(new Rational(1, 6)) == Rational.valueOf(1, 2),
+                is(true));
+        assertThat("Opposite is cached", new Rational(1, 3).opposite() == Rational.valueOf(-1, 3), is(true));
+    }
+
+    /////////////////////////////////////////
+    // COMPARATOR TESTS
+    /////////////////////////////////////////
+
+    public void testCompare() {
+        assertThat(Rational.compare(new Rational(1, 3), new Rational(1, 2)), is(-1));
+        assertThat(Rational.compare(new Rational(1, 2), new Rational(2, 4)), is(0));
+        assertThat(Rational.compare(new Rational(-1, 2), new Rational(-1, 3)), is(-1));
+        assertThat(Rational.compare(new Rational(Integer.MAX_VALUE, Integer.MAX_VALUE - 1),
+                new Rational(Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 2)), is(-1));
+        assertThat(Rational.compare(new Rational(Integer.MIN_VALUE), new Rational(Integer.MAX_VALUE)), is(-1));
+    }
+
+    public void testCompareMinValueDenominator() {
+        Rational negative = new Rational(1, Integer.MIN_VALUE);
+        Rational positive = new Rational(-1, Integer.MIN_VALUE);
+
+        assertThat("-1/2^31 < 0", Rational.compare(negative, Rational.ZERO), is(-1));
+        assertThat("1/2^31 > 0", Rational.compare(positive, Rational.ZERO), is(1));
+        assertThat("-1/2^31 < 1/2^31", Rational.compare(negative, positive), is(-1));
+        assertThat("1/2^31 < 1/2^30", Rational.compare(positive, new Rational(1, 1 << 30)), is(-1));
+        assertThat(negative.lessThan(positive), is(true));
+        assertThat(positive.greaterThan(negative), is(true));
+        assertThat(negative.compareTo(positive), is(-1));
+    }
+
+    public void testCompareToRationalMatchesLessThanAndGreaterThan() {
+        Random random = new Random(23);
+        for (int i = 0; i < 1000; i++) {
+            Rational first = new Rational(random.nextInt(41) - 20, random.nextInt(20) + 1);
+            Rational second = new Rational(random.nextInt(41) - 20, random.nextInt(20) + 1);
+            int expected = first.lessThan(second) ? -1 : first.greaterThan(second) ? 1 : 0;
+
+            assertThat(first.compareTo(second), is(expected));
+            assertThat(first.compareTo((Number) second), is(expected));
+            assertThat(Rational.COMPARATOR.compare(first, second), is(expected));
+            assertThat(expected == 0, is(first.equals(second)));
+        }
+    }
+
+    public void testComparatorSorts() {
+        List<Rational> values = new ArrayList<>();
+        Random random = new Random(29);
+        for (int i = 0; i < 500; i++) {
+            values.add(new Rational(random.nextInt(), random.nextInt(Integer.MAX_VALUE) + 1));
+        }
+        values.add(new Rational(1, Integer.MIN_VALUE));
+        values.add(new Rational(-1, Integer.MIN_VALUE));
+
+        values.sort(Rational.COMPARATOR);
+
+        for (int i = 1; i < values.size(); i++) {
+            BigRational previous = new BigRational(values.get(i - 1));
+            BigRational current = new BigRational(values.get(i));
+            assertThat(values.get(i - 1) + " <= " + values.get(i), previous.compareTo(current) <= 0, is(true));
+        }
+    }
+
+    ///////////////////////////////////
+    // EXACT COMPARISON TESTS
+    ///////////////////////////////////
+
+    public void testCompareExactLong() {
+        Rational value = new Rational(50, 3);
+
+        assertThat("50/3 < 17", value.compareExact(17L), is(-1));
+        assertThat("50/3 > 16", value.compareExact(16L), is(1));
+        assertThat("50/3 > -17", value.compareExact(-17L), is(1));
+        assertThat("-50/3 < -16", value.opposite().compareExact(-16L), is(-1));
+        assertThat("25 == 25", new Rational(50, 2).compareExact(25L), is(0));
+        assertThat("MAX_INT < MAX_LONG", new Rational(Integer.MAX_VALUE).compareExact(Long.MAX_VALUE), is(-1));
+        assertThat("MIN_INT > MIN_LONG", new Rational(Integer.MIN_VALUE).compareExact(Long.MIN_VALUE), is(1));
+        assertThat("1/MAX_INT > MIN_LONG", new Rational(1, Integer.MAX_VALUE).compareExact(Long.MIN_VALUE), is(1));
+        assertThat("-1/2^31 < 0", new Rational(1, Integer.MIN_VALUE).compareExact(0L), is(-1));
+        assertThat("Integer", value.compareExact(Integer.valueOf(16)), is(1));
+        assertThat("Short", value.compareExact(Short.valueOf((short) 17)), is(-1));
+        assertThat("Byte", value.compareExact(Byte.valueOf((byte) 16)), is(1));
+        assertThat("AtomicLong", value.compareExact(new AtomicLong(17)), is(-1));
+    }
+
+    public void testCompareExactDouble() {
+        Rational third = new Rational(1, 3);
+
+        assertThat("1/3 > (double) 1/3", third.compareExact(1D / 3D), is(1));
+        assertThat("1/3 < (float) 1/3", third.compareExact((Number) (1F / 3F)), is(-1));
+        assertThat("1/3 == (double) 1/3 within tolerance", third.compareTo(1D / 3D), is(0));
+        assertThat("1/2 == 0.5", new Rational(1, 2).compareExact(0.5D), is(0));
+        assertThat("-1/2^31 == -2^-31", new Rational(1, Integer.MIN_VALUE).compareExact(-Math.scalb(1D, -31)), is(0));
+        assertThat("0 == -0.0", Rational.ZERO.compareExact(-0D), is(0));
+        assertThat("0 > -MIN_VALUE", Rational.ZERO.compareExact(-Double.MIN_VALUE), is(1));
+        assertThat("1/MAX_INT > MIN_VALUE", new Rational(1, Integer.MAX_VALUE).compareExact(Double.MIN_VALUE), is(1));
+        assertThat("-1/MAX_INT < -MIN_VALUE", new Rational(-1, Integer.MAX_VALUE).compareExact(-Double.MIN_VALUE),
+                is(-1));
+        assertThat("1/MAX_INT > 2^-70", new Rational(1, Integer.MAX_VALUE).compareExact(Math.scalb(1D, -70)), is(1));
+        assertThat("MAX_INT < 2^32", new Rational(Integer.MAX_VALUE).compareExact(Math.scalb(1D, 32)), is(-1));
+        assertThat("MAX_INT > MAX_INT - 0.5", new Rational(Integer.MAX_VALUE).compareExact(Integer.MAX_VALUE - 0.5D),
+                is(1));
+        assertThat("MAX_INT == MAX_INT", new Rational(Integer.MAX_VALUE).compareExact((double) Integer.MAX_VALUE),
+                is(0));
+        assertThat("1 < Infinity", Rational.ONE.compareExact(Double.POSITIVE_INFINITY), is(-1));
+        assertThat("-1 > -Infinity", Rational.MINUS_ONE.compareExact(Double.NEGATIVE_INFINITY), is(1));
+        assertThat("NaN is greatest", Rational.ONE.compareExact(Double.NaN), is(-1));
+        assertThat("null is greatest", Rational.ONE.compareExact((Number) null), is(-1));
+    }
+
+    public void testCompareExactDoubleMatchesBigDecimal() {
+        Random random = new Random(31);
+        for (int i = 0; i < 2000; i++) {
+            Rational value = new Rational(random.nextInt(), random.nextInt(Integer.MAX_VALUE) + 1);
+            double comparand = i % 2 == 0 ? value.doubleValue() : random.nextGaussian() * Math.scalb(1D, i % 64 - 32);
+            if (i % 3 == 0) {
+                comparand = Math.nextUp(comparand);
+            }
+            BigDecimal numerator = BigDecimal.valueOf(value.numerator());
+            BigDecimal product = new BigDecimal(comparand).multiply(BigDecimal.valueOf(value.denominator()));
+
+            assertThat(value + " <=> " + comparand, value.compareExact(comparand),
+                    is(numerator.compareTo(product)));
+        }
+    }
+
+    public void testCompareExactBigInteger() {
+        Rational value = new Rational(-7, 2);
+
+        assertThat("-7/2 < -3", value.compareExact(BigInteger.valueOf(-3)), is(-1));
+        assertThat("-7/2 > -4", value.lessThan(BigInteger.valueOf(-4)), is(false));
+        assertThat("-7/2 < 2^100", value.compareExact(BigInteger.ONE.shiftLeft(100)), is(-1));
+        assertThat("-7/2 > -2^100", value.compareExact(BigInteger.ONE.shiftLeft(100).negate()), is(1));
+        assertThat("-7/2 > -2^100", value.greaterThan(BigInteger.ONE.shiftLeft(100).negate()), is(true));
+    }
+
+    public void testCompareExactBigDecimal() {
+        Rational third = new Rational(1, 3);
+
+        assertThat("1/2 == 0.5", new Rational(1, 2).compareExact(new BigDecimal("0.5")), is(0));
+        assertThat("1/2 == 0.50", new Rational(1, 2).equals(new BigDecimal("0.50")), is(true));
+        assertThat("1/3 > 0.333...", third.compareExact(new BigDecimal("0.33333333333333333333333")), is(1));
+        assertThat("1/3 < 0.333...4", third.compareExact(new BigDecimal("0.33333333333333333333334")), is(-1));
+        assertThat("1/3 < 0.75", third.lessThan(new BigDecimal("0.75")), is(true));
+        assertThat("1/3 > -0.75", third.greaterThan(new BigDecimal("-0.75")), is(true));
+        assertThat("1/3 > 0", third.compareExact(BigDecimal.ZERO), is(1));
+        assertThat("0 == 0.000", Rational.ZERO.compareExact(new BigDecimal("0.000")), is(0));
+        assertThat("MAX_INT < 1E10", new Rational(Integer.MAX_VALUE).compareExact(new BigDecimal("1E10")), is(-1));
+        assertThat("-MAX_INT > -1E12", new Rational(-Integer.MAX_VALUE).compareExact(new BigDecimal("-1E12")),
+                is(1));
+        assertThat("100 == 1E2", new Rational(100).compareExact(new BigDecimal("1E2")), is(0));
+        assertThat("100 == 100", new Rational(100).compareTo(BigDecimal.valueOf(100)), is(0));
+    }
+
+    ///////////////////////////////////
+    // BATCH TESTS
+    ///////////////////////////////////
+
+    public void testSum() {
+        Rational[] values = { new Rational(1, 2), new Rational(1, 3), new Rational(1, 6), new Rational(-3, 4),
+                new Rational(5, 4), new Rational(1, 2) };
+
+        assertThat("Empty sum is 0", Rational.sum(new Rational[0]), is(Rational.ZERO));
+        assertThat("1/2 + 1/3 + 1/6 - 3/4 + 5/4 + 1/2 = 2", Rational.sum(values), is(new Rational(2)));
+        assertThat("Sign of 2^31 denominators", Rational.sum(new Rational[] { new Rational(1, Integer.MIN_VALUE),
+                new Rational(1, Integer.MIN_VALUE) }), is(new Rational(-1, 1 << 30)));
+        assertThat("Equal denominators", Rational.sum(new Rational[] { new Rational(Integer.MAX_VALUE, 3),
+                new Rational(1 - Integer.MAX_VALUE, 3) }), is(new Rational(1, 3)));
+    }
+
+    public void testSumNormalizesBeforeOverflow() {
+        // Unreduced denominators grow past 2^63 long before the reduced sum does
+        Rational[] values = new Rational[200];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new Rational(i % 2 == 0 ? 1 : -1, 2 + i % 7);
+        }
+        assertThat(Rational.sum(values), is(sumOf(values).toRational()));
+
+        Rational[] large = { new Rational(Integer.MAX_VALUE, 2), new Rational(Integer.MAX_VALUE, 4),
+                new Rational(Integer.MIN_VALUE + 1, 4), new Rational(-Integer.MAX_VALUE, 2) };
+        assertThat(Rational.sum(large), is(Rational.ZERO));
+    }
+
+    public void testSumFallsBackToBigRational() {
+        // The running sum of these needs more than 64 bits, but cancels out
+        int[] primes = { 1000003, 1000033, 1000037, 1000039, 1000081, 1000099 };
+        Rational[] values = new Rational[2 * primes.length + 1];
+        for (int i = 0; i < primes.length; i++) {
+            values[i] = new Rational(1, primes[i]);
+            values[primes.length + i] = new Rational(-1, primes[i]);
+        }
+        values[2 * primes.length] = new Rational(2, 7);
+
+        assertThat(Rational.sum(values), is(new Rational(2, 7)));
+        assertThrows(ArithmeticException.class, () -> Rational.sum(Arrays.copyOf(values, primes.length)));
+        assertThrows(ArithmeticException.class, () -> Rational.sum(new Rational[] { new Rational(Integer.MAX_VALUE),
+                new Rational(Integer.MAX_VALUE) }));
+    }
+
+    public void testSumReducesUnreducedRegisters() {
+        // Pairs cancel, but the unreduced denominator keeps collecting primes
+        int[] primes = { 1000003, 1000033, 1000037, 1000039, 1000081, 1000099 };
+        Rational[] values = new Rational[2 * primes.length];
+        for (int i = 0; i < primes.length; i++) {
+            values[2 * i] = new Rational(1, primes[i]);
+            values[2 * i + 1] = new Rational(-1, primes[i]);
+        }
+        assertThat(Rational.sum(values), is(Rational.ZERO));
+    }
+
+    public void testDotOverflow() {
+        Rational max = new Rational(Integer.MAX_VALUE);
+        Rational halfMax = new Rational(Integer.MAX_VALUE, 2);
+        Rational third = new Rational(1, 3);
+        Rational minimum = new Rational(Integer.MIN_VALUE);
+
+        assertThrows("Sum of cross terms overflows", ArithmeticException.class,
+                () -> Rational.dot(new Rational[] { max, halfMax }, new Rational[] { max, max }));
+        assertThrows("First cross term overflows", ArithmeticException.class,
+                () -> Rational.dot(new Rational[] { max, third }, new Rational[] { max, Rational.ONE }));
+        assertThrows("Scaled term overflows", ArithmeticException.class,
+                () -> Rational.dot(new Rational[] { third, max }, new Rational[] { Rational.ONE, max }));
+        assertThrows("Equal denominators overflow", ArithmeticException.class,
+                () -> Rational.dot(new Rational[] { minimum, minimum }, new Rational[] { minimum, minimum }));
+        assertThat("Large terms cancel", Rational.dot(new Rational[] { max, max, third },
+                new Rational[] { max, max.opposite(), Rational.ONE }), is(third));
+    }
+
+    public void testProduct() {
+        Rational[] values = new Rational[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new Rational(i + 2, i + 1);
+        }
+
+        assertThat("Empty product is 1", Rational.product(new Rational[0]), is(Rational.ONE));
+        assertThat("Telescoping product", Rational.product(values), is(new Rational(101)));
+        assertThat("Zero", Rational.product(new Rational[] { new Rational(3), Rational.ZERO, null }),
+                is(Rational.ZERO));
+        assertThat("Sign", Rational.product(new Rational[] { new Rational(-2, 3), new Rational(3, Integer.MIN_VALUE) }),
+                is(new Rational(1, 1 << 30)));
+        assertThrows(ArithmeticException.class, () -> Rational.product(new Rational[] {
+                new Rational(1 << 20), new Rational(1 << 20) }));
+        assertThrows(ArithmeticException.class, () -> Rational.product(new Rational[] {
+                new Rational(1, 1 << 30), new Rational(1, 1 << 30), new Rational(1, 1 << 30) }));
+    }
+
+    public void testProductFallsBackToBigRational() {
+        int[] primes = { 1000003, 1000033, 1000037, 1000039, 1000081, 1000099 };
+        Rational[] values = new Rational[2 * primes.length];
+        for (int i = 0; i < primes.length; i++) {
+            values[i] = new Rational(primes[i], 3);
+            values[primes.length + i] = new Rational(3, primes[i]);
+        }
+        assertThat(Rational.product(values), is(Rational.ONE));
+    }
+
+    public void testDot() {
+        Rational[] first = { new Rational(1, 2), new Rational(2, 3), new Rational(Integer.MIN_VALUE) };
+        Rational[] second = { new Rational(4), new Rational(3, 4), Rational.ZERO };
+
+        assertThat("1/2 * 4 + 2/3 * 3/4 = 5/2", Rational.dot(first, second), is(new Rational(5, 2)));
+        assertThat("Empty dot product is 0", Rational.dot(new Rational[0], new Rational[0]), is(Rational.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> Rational.dot(first, new Rational[1]));
+    }
+
+    public void testBatchMatchesBigRational() {
+        Random random = new Random(41);
+        for (int trial = 0; trial < 200; trial++) {
+            Rational[] first = new Rational[random.nextInt(40)];
+            Rational[] second = new Rational[first.length];
+            BigRational dot = BigRational.ZERO;
+            for (int i = 0; i < first.length; i++) {
+                first[i] = new Rational(random.nextInt(201) - 100, DIVISORS[random.nextInt(DIVISORS.length)]);
+                second[i] = new Rational(random.nextInt(21) - 10, DIVISORS[random.nextInt(DIVISORS.length)]);
+                dot = dot.plus(new BigRational(first[i]).times(new BigRational(second[i])));
+            }
+
+            assertThat(Rational.sum(first), is(sumOf(first).toRational()));
+            assertThat(Rational.dot(first, second), is(dot.toRational()));
+        }
+    }
+
+    public void testCommonDenominator() {
+        Rational[] values = { new Rational(1, 100), new Rational(7, 1000), new Rational(5, 12), new Rational(3, 100),
+                new Rational(1, 12), new Rational(2) };
+
+        assertThat("Empty batch", Rational.commonDenominator(new Rational[0]), is(1L));
+        assertThat("lcm(100, 1000, 12, 100, 12, 1) = 3000", Rational.commonDenominator(values), is(3000L));
+        assertThat("2^31 denominators", Rational.commonDenominator(new Rational[] { new Rational(1, Integer.MIN_VALUE),
+                new Rational(1, 3) }), is(3L << 31));
+        assertThrows(ArithmeticException.class, () -> Rational.commonDenominator(new Rational[] {
+                new Rational(1, Integer.MAX_VALUE), new Rational(1, Integer.MAX_VALUE - 1),
+                new Rational(1, Integer.MAX_VALUE - 2) }));
+    }
+
+    public void testAlignNumerators() {
+        Rational[] values = { new Rational(1, 100), new Rational(-7, 1000), new Rational(5, 12),
+                new Rational(1, Integer.MIN_VALUE) };
+        long denominator = Rational.commonDenominator(values);
+        long[] numerators = Rational.alignNumerators(values, denominator);
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(new BigRational(numerators[i], denominator), is(new BigRational(values[i])));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Rational.alignNumerators(values, 3000));
+        assertThrows(IllegalArgumentException.class, () -> Rational.alignNumerators(values, -denominator));
+        assertThrows(ArithmeticException.class, () -> Rational.alignNumerators(new Rational[] {
+                new Rational(Integer.MAX_VALUE) }, 1L << 40));
+    }
+
+    public void testAlignedSum() {
+        Random random = new Random(43);
+        int[] denominators = { 100, 1000, 12 };
+        Rational[] values = new Rational[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new Rational(random.nextInt(20001) - 10000, denominators[random.nextInt(denominators.length)]);
+        }
+
+        assertThat("Empty sum is 0", Rational.alignedSum(new Rational[0]), is(Rational.ZERO));
+        assertThat("Shared denominators", Rational.alignedSum(values), is(sumOf(values).toRational()));
+        assertThat("Cancelling sum", Rational.alignedSum(new Rational[] { new Rational(1, 6), new Rational(1, 3),
+                new Rational(-1, 2) }), is(Rational.ZERO));
+    }
+
+    public void testAlignedSumFallsBack() {
+        // The common denominator of these does not fit in a long
+        int[] primes = { 1000003, 1000033, 1000037, 1000039, 1000081, 1000099 };
+        Rational[] values = new Rational[2 * primes.length + 1];
+        for (int i = 0; i < primes.length; i++) {
+            values[i] = new Rational(1, primes[i]);
+            values[primes.length + i] = new Rational(-1, primes[i]);
+        }
+        values[2 * primes.length] = new Rational(2, 7);
+        assertThat("Common denominator overflows", Rational.alignedSum(values), is(new Rational(2, 7)));
+
+        Rational[] scaled = { new Rational(Integer.MIN_VALUE), new Rational(1, Integer.MAX_VALUE),
+                new Rational(-1, Integer.MAX_VALUE), new Rational(1, Integer.MAX_VALUE - 2),
+                new Rational(-1, Integer.MAX_VALUE - 2) };
+        assertThat("Scaled numerator overflows", Rational.alignedSum(scaled), is(new Rational(Integer.MIN_VALUE)));
+
+        Rational large = new Rational(Integer.MAX_VALUE, Integer.MAX_VALUE - 1);
+        Rational[] many = { large, large, large, large.opposite(), large.opposite(), large.opposite(),
+                new Rational(1, Integer.MAX_VALUE) };
+        assertThat("Sum of numerators overflows", Rational.alignedSum(many), is(new Rational(1, Integer.MAX_VALUE)));
+    }
+
+    public void testParse() {
+        assertThat(Rational.parse("-3/4"), is(new Rational(-3, 4)));
+        assertThat(Rational.parse("6/-8"), is(new Rational(-3, 4)));
+        assertThat(Rational.parse("17"), is(new Rational(17)));
+        assertThat(Rational.parse("2.375"), is(new Rational(19, 8)));
+        assertThat(Rational.parse("-1.25e-3"), is(new Rational(-1, 800)));
+        assertThat(Rational.parse(new StringBuilder("3E2")), is(new Rational(300)));
+        assertThat("Small values are cached", Rational.parse("1/2"), is(sameInstance(Rational.valueOf(1, 2))));
+
+        Random random = new Random(61);
+        for (int i = 0; i < 1000; i++) {
+            Rational value = new Rational(random.nextInt(), random.nextInt() | 1);
+            assertThat(Rational.parse(value.toString()), is(value));
+        }
+        for (Rational value : new Rational[] { new Rational(3, Integer.MIN_VALUE), new Rational(-3, Integer.MIN_VALUE),
+                new Rational(Integer.MIN_VALUE), new Rational(Integer.MAX_VALUE, Integer.MIN_VALUE) }) {
+            assertThat(Rational.parse(value.toString()), is(value));
+        }
+
+        assertThrows(NumberFormatException.class, () -> Rational.parse("1/0"));
+        assertThrows(NumberFormatException.class, () -> Rational.parse("1/2 "));
+        assertThrows(NumberFormatException.class, () -> Rational.parse(""));
+    }
+
+    public void testParseBytes() {
+        byte[] bytes = "[-5/2147483648]".getBytes(StandardCharsets.US_ASCII);
+        assertThat(Rational.parse(bytes, 1, bytes.length - 2), is(new Rational(5, Integer.MIN_VALUE)));
+        assertThrows(IndexOutOfBoundsException.class, () -> Rational.parse(bytes, 1, bytes.length));
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 2).slice();
+        buffer.position(1).limit(buffer.limit() - 1);
+        assertThat(Rational.parse(buffer), is(new Rational(5, 214748364)));
+        assertThat("Position is unchanged", buffer.position(), is(1));
+        assertThat(Rational.parse(ByteBuffer.allocateDirect(4).put("0.25".getBytes(StandardCharsets.US_ASCII)).flip()),
+                is(new Rational(1, 4)));
+    }
+
+    public void testFromDouble() {
+        assertThat(Rational.fromDouble(0.375), is(new Rational(3, 8)));
+        assertThat(Rational.fromDouble(-2.5), is(new Rational(-5, 2)));
+        assertThat(Rational.fromDouble(-0.0), is(new Rational(0)));
+        assertThat(Rational.fromDouble(1e9), is(new Rational(1000000000)));
+        assertThat(Rational.fromDouble(-2147483648.0), is(new Rational(Integer.MIN_VALUE)));
+        assertThat(Rational.fromDouble(Math.scalb(3.0, -31)), is(new Rational(3, Integer.MIN_VALUE).opposite()));
+        assertThat(Rational.fromDouble(Math.scalb(-3.0, -31)), is(new Rational(3, Integer.MIN_VALUE)));
+        assertThat("Small values are cached", Rational.fromDouble(0.5), is(sameInstance(Rational.valueOf(1, 2))));
+
+        Random random = new Random(67);
+        for (int i = 0; i < 1000; i++) {
+            Rational value = Rational.valueOf(random.nextInt(), 1 << random.nextInt(31));
+            assertThat(Rational.fromDouble(value.doubleValue()), is(value));
+        }
+
+        assertThrows(ArithmeticException.class, () -> Rational.fromDouble(0.1));
+        assertThrows(ArithmeticException.class, () -> Rational.fromDouble(2147483648.0));
+        assertThrows(ArithmeticException.class, () -> Rational.fromDouble(1e300));
+        assertThrows(ArithmeticException.class, () -> Rational.fromDouble(Double.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> Rational.fromDouble(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Rational.fromDouble(Double.NEGATIVE_INFINITY));
+    }
+
+    public void testApproximate() {
+        assertThat(Rational.approximate(0.1, 100), is(new Rational(1, 10)));
+        assertThat(Rational.approximate(-1.0 / 3, Integer.MAX_VALUE), is(new Rational(-1, 3)));
+        assertThat(Rational.approximate(Math.PI, 7), is(new Rational(22, 7)));
+        assertThat(Rational.approximate(Math.PI, 113), is(new Rational(355, 113)));
+        assertThat(Rational.approximate(Math.PI, 1000), is(new Rational(355, 113)));
+        assertThat(Rational.approximate(0.375, 1000), is(new Rational(3, 8)));
+        assertThat(Rational.approximate(0.375, 7), is(new Rational(2, 5)));
+        assertThat(Rational.approximate(12, 5), is(new Rational(12)));
+        assertThat("Ties keep the smaller magnitude", Rational.approximate(0.5, 1), is(new Rational(0)));
+        assertThat("Ties keep the smaller magnitude", Rational.approximate(-0.5, 1), is(new Rational(0)));
+        assertThat("Ties keep the smaller magnitude", Rational.approximate(-1.5, 1), is(new Rational(-1)));
+        assertThat("Ties keep the smaller denominator", Rational.approximate(-0.75, 2), is(new Rational(-1)));
+
+        // Values below 2^-10 whose exponent needs more than a long
+        assertThat(Rational.approximate(1e-20, 1000), is(new Rational(0)));
+        assertThat(Rational.approximate(1e-5, 40000), is(new Rational(0)));
+        assertThat(Rational.approximate(-1e-5, 60000), is(new Rational(-1, 60000)));
+        assertThat(Rational.approximate(1e-5, 200000), is(new Rational(1, 100000)));
+        assertThat(Rational.approximate(1.0 / 2000000000, Integer.MAX_VALUE), is(new Rational(1, 2000000000)));
+        assertThat(Rational.approximate(Double.MIN_VALUE, Integer.MAX_VALUE), is(new Rational(0)));
+        assertThat(Rational.approximate(Math.scalb(1.0, -32), Integer.MAX_VALUE), is(new Rational(0)));
+        assertThat(Rational.approximate(Math.scalb(3.0, -33), Integer.MAX_VALUE), is(new Rational(1, Integer.MAX_VALUE)));
+
+        // Numerators are bounded by the int range as well
+        assertThat(Rational.approximate(2147483647.7, 10), is(new Rational(Integer.MAX_VALUE)));
+        assertThat(Rational.approximate(-2147483648.2, 10), is(new Rational(Integer.MIN_VALUE)));
+        assertThat(Rational.approximate(1e9 + 0.5, 3), is(new Rational(2000000001, 2)));
+        assertThat(Rational.approximate(2e7 + 1.0 / 3, 1000), is(new Rational(60000001, 3)));
+
+        Random random = new Random(71);
+        for (int i = 0; i < 2000; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.scalb(1.0, random.nextInt(12) - 4);
+            int maxDenominator = 1 + random.nextInt(60);
+            assertThat(value + " with " + maxDenominator, Rational.approximate(value, maxDenominator),
+                    is(closest(value, maxDenominator)));
+        }
+
+        assertThrows(ArithmeticException.class, () -> Rational.approximate(2147483648.0, 10));
+        assertThrows(ArithmeticException.class, () -> Rational.approximate(3e9 + 0.5, 10));
+        assertThrows(IllegalArgumentException.class, () -> Rational.approximate(0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> Rational.approximate(Double.NaN, 10));
+    }
+
+    /**
+     * Helper method which finds the closest fraction by trying every denominator,
+     * with exact distances, keeping the first on a tie
+     */
+    private static Rational closest(double value, int maxDenominator) {
+        BigDecimal exact = new BigDecimal(Math.abs(value));
+        long bestNumerator = 0;
+        long bestDenominator = 1;
+        BigDecimal bestDistance = exact;
+        for (long q = 1; q <= maxDenominator; q++) {
+            BigDecimal scaled = exact.multiply(BigDecimal.valueOf(q));
+            BigDecimal floor = scaled.setScale(0, RoundingMode.FLOOR);
+            for (BigDecimal p : new BigDecimal[] { floor, floor.add(BigDecimal.ONE) }) {
+                BigDecimal distance = scaled.subtract(p).abs();
+                if (distance.multiply(BigDecimal.valueOf(bestDenominator))
+                        .compareTo(bestDistance.multiply(BigDecimal.valueOf(q))) < 0) {
+                    bestNumerator = p.longValueExact();
+                    bestDenominator = q;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return new Rational((int) (value < 0 ? -bestNumerator : bestNumerator), (int) bestDenominator);
+    }
+
+    public void testFormatting() {
+        Rational[] values = { new Rational(0), new Rational(7), new Rational(-7), new Rational(Integer.MIN_VALUE),
+                new Rational(Integer.MAX_VALUE), new Rational(-1, 2), new Rational(1543243, -29),
+                new Rational(Integer.MIN_VALUE, 3), new Rational(3, Integer.MIN_VALUE),
+                new Rational(-3, Integer.MIN_VALUE), new Rational(Integer.MAX_VALUE, Integer.MIN_VALUE),
+                new Rational(Integer.MAX_VALUE, Integer.MAX_VALUE - 1) };
+        String[] expected = { "0", "7", "-7", "-2147483648", "2147483647", "-1/2", "-1543243/29",
+                "-2147483648/3", "-3/2147483648", "3/2147483648", "-2147483647/2147483648",
+                "2147483647/2147483646" };
+        for (int i = 0; i < values.length; i++) {
+            assertFormatted(values[i], expected[i]);
+        }
+
+        Random random = new Random(67);
+        for (int i = 0; i < 1000; i++) {
+            int numerator = random.nextInt() >> random.nextInt(32);
+            int denominator = (random.nextInt() >> random.nextInt(32)) | 1;
+            Rational value = new Rational(numerator, denominator);
+            assertFormatted(value, new BigRational(numerator, denominator).toString());
+        }
+    }
+
+    public void testWriteTo() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(9);
+        new Rational(-1, 2).writeTo(buffer);
+        assertThrows(BufferOverflowException.class, () -> new Rational(1, 1000).writeTo(buffer));
+        assertThat("Nothing is written on overflow", buffer.position(), is(4));
+        new Rational(1, 100).writeTo(buffer);
+        assertThat(new String(buffer.array(), StandardCharsets.US_ASCII), is("-1/21/100"));
+        assertThrows(ReadOnlyBufferException.class, () -> new Rational(1).writeTo(ByteBuffer.allocate(1).asReadOnlyBuffer()));
+
+        StringBuilder builder = new StringBuilder("x=");
+        assertThat(new Rational(3, Integer.MIN_VALUE).appendTo((Appendable) builder).toString(), is("x=-3/2147483648"));
+        assertThat(new RationalArray(new Rational[] { new Rational(1, 2), new Rational(3, Integer.MIN_VALUE) })
+                .toString(), is("[1/2, -3/2147483648]"));
+    }
+
+    /**
+     * Helper method which checks that every way of formatting a value gives the
+     * same characters
+     */
+    private static void assertFormatted(Rational value, String expected) {
+        assertThat(value.toString(), is(expected));
+        assertThat(value.appendTo(new StringBuilder()).toString(), is(expected));
+        try {
+            assertThat(value.appendTo(new StringWriter()).toString(), is(expected));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        ByteBuffer heap = value.writeTo(ByteBuffer.allocate(32).position(3)).flip().position(3);
+        assertThat(StandardCharsets.US_ASCII.decode(heap).toString(), is(expected));
+        ByteBuffer direct = value.writeTo(ByteBuffer.allocateDirect(32)).flip();
+        assertThat(StandardCharsets.US_ASCII.decode(direct).toString(), is(expected));
+    }
+
+    // Divisors of 720, so sums of many values keep small denominators
+    private static final int[] DIVISORS = { 1, 2, 3, 4, 5, 6, 8, 9, 10, 12, 15, 16, 18, 20, 24, 30, 36, 40, 45, 48,
+            60, 72, 80, 90, 120, 144, 180, 240, 360, 720 };
+
+    /**
+     * Helper method which sums values exactly with `BigRational`
+     */
+    private static BigRational sumOf(Rational[] values) {
+        BigRational sum = BigRational.ZERO;
+        for (Rational value : values) {
+            sum = sum.plus(new BigRational(value));
+        }
+        return sum;
+    }
 }